@@ -0,0 +1,242 @@
+/*
+ * This file is part of the ONT API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright (c) 2023, owl.cs group.
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package com.github.owlcs.ontapi;
+
+import org.apache.jena.graph.Graph;
+import org.apache.jena.graph.Node;
+import org.semanticweb.owlapi.model.OWLAxiom;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * A page of axioms of some type, that is produced by a direct (cache-less) graph traversal.
+ * Each page, except the last one, carries a continuation token, that allows to resume the traversal.
+ * The token is an opaque string; it encodes the segment and the key of the last processed subject.
+ * <p>
+ * The traversal goes over statement subjects in the order of their {@link #subjectKey(Graph, Node) keys}:
+ * URIs first, sorted lexicographically, then blank nodes, sorted by the digests of their content.
+ * A key does not depend on the graph instance,
+ * so a token can be used to continue the traversal even in another process (e.g. after a failure),
+ * provided the ontology graph is the same.
+ * A page never splits the statements of subjects with the same key,
+ * so the next page starts just after the last processed key, and resuming is a seek, not a skip.
+ * Nothing is kept between pages:
+ * each page re-scans the statements and holds only the subjects that fit into it.
+ * <p>
+ * To split the work between several consumers the traversal space can be divided into disjoint
+ * segments, see {@link #startToken(int, int)}.
+ *
+ * @param <A> subtype of {@link OWLAxiom}
+ * @see Ontology#axioms(org.semanticweb.owlapi.model.AxiomType, String, int)
+ * @since 3.5.0
+ */
+public class AxiomsPage<A extends OWLAxiom> {
+
+    private final List<A> axioms;
+    private final String next;
+
+    public AxiomsPage(List<A> axioms, String next) {
+        this.axioms = Objects.requireNonNull(axioms);
+        this.next = next;
+    }
+
+    /**
+     * Returns the axioms of this page.
+     *
+     * @return unmodifiable {@code List} of {@link A}s
+     */
+    public List<A> getAxioms() {
+        return axioms;
+    }
+
+    /**
+     * Returns the token to fetch the next page.
+     *
+     * @return {@code String} or {@code null} if this page is the last one
+     */
+    public String getNextToken() {
+        return next;
+    }
+
+    /**
+     * Answers {@code true} if there are no more pages.
+     *
+     * @return boolean
+     */
+    public boolean isLast() {
+        return next == null;
+    }
+
+    /**
+     * Creates a token to start traversal over the specified segment.
+     * All segments with the same {@code segments} number are disjoint and together cover the whole data:
+     * a subject belongs to the segment chosen by the hash of its key.
+     *
+     * @param segment  int, the segment index, from {@code 0} to {@code segments - 1}
+     * @param segments int, positive, the total number of segments
+     * @return {@code String} token
+     * @throws OntApiException.IllegalArgument if parameters are wrong
+     */
+    public static String startToken(int segment, int segments) {
+        return new Cursor(segment, segments, null).toToken();
+    }
+
+    /**
+     * Returns the stable key of the subject, which defines the traversal order.
+     * For a URI it is the URI itself in angle brackets.
+     * For a blank node it is the SHA-256 digest of its content,
+     * that is, the sorted predicate-object pairs, with nested blank nodes described in the same way,
+     * so the key does not depend on blank node labels.
+     * Blank nodes with the same content get the same key.
+     *
+     * @param graph   {@link Graph} to describe blank nodes
+     * @param subject {@link Node}, URI or blank
+     * @return {@code String}
+     */
+    public static String subjectKey(Graph graph, Node subject) {
+        if (!subject.isBlank()) {
+            return "<" + subject.getURI() + ">";
+        }
+        byte[] digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256")
+                    .digest(describe(graph, subject, new HashSet<>()).getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException e) {
+            throw new OntApiException.IllegalState("Can't find SHA-256", e);
+        }
+        StringBuilder res = new StringBuilder("_:");
+        for (byte b : digest) {
+            res.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+        return res.toString();
+    }
+
+    private static String describe(Graph graph, Node node, Set<Node> path) {
+        if (!node.isBlank()) {
+            return node.toString();
+        }
+        if (!path.add(node)) {
+            return "_:";
+        }
+        try {
+            return graph.find(node, Node.ANY, Node.ANY)
+                    .mapWith(t -> t.getPredicate() + " " + describe(graph, t.getObject(), path))
+                    .toList().stream().sorted().collect(Collectors.joining(";", "[", "]"));
+        } finally {
+            path.remove(node);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return String.format("AxiomsPage{size=%d, last=%s}", axioms.size(), isLast());
+    }
+
+    /**
+     * The decoded state of a continuation token.
+     */
+    public static final class Cursor {
+        private static final Cursor START = new Cursor(0, 1, null);
+
+        private final int segment;
+        private final int segments;
+        private final String last;
+
+        private Cursor(int segment, int segments, String last) {
+            if (segments <= 0 || segment < 0 || segment >= segments) {
+                throw new OntApiException.IllegalArgument("Wrong segment: " + segment + "/" + segments);
+            }
+            this.segment = segment;
+            this.segments = segments;
+            this.last = last;
+        }
+
+        /**
+         * Parses the token.
+         *
+         * @param token {@code String}, or {@code null} to start from the beginning of the whole data
+         * @return {@link Cursor}
+         * @throws OntApiException.IllegalArgument if the token is broken
+         */
+        public static Cursor parse(String token) {
+            if (token == null) {
+                return START;
+            }
+            try {
+                String[] parts = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8)
+                        .split("\n", 3);
+                if (parts.length != 3) {
+                    throw new IllegalArgumentException("Wrong number of parts: " + parts.length);
+                }
+                String last = parts[2];
+                if (!last.isEmpty() && !last.startsWith("<") && !last.startsWith("_:")) {
+                    throw new IllegalArgumentException("Wrong subject key: " + last);
+                }
+                return new Cursor(Integer.parseInt(parts[0]), Integer.parseInt(parts[1]),
+                        last.isEmpty() ? null : last);
+            } catch (IllegalArgumentException e) {
+                throw new OntApiException.IllegalArgument("Wrong token: '" + token + "'", e);
+            }
+        }
+
+        /**
+         * Answers {@code true} if the subject with the given key belongs to the segment
+         * and goes after the last processed one.
+         *
+         * @param key {@code String}, see {@link #subjectKey(Graph, Node)}
+         * @return boolean
+         */
+        public boolean accepts(String key) {
+            return Math.floorMod(key.hashCode(), segments) == segment && (last == null || key.compareTo(last) > 0);
+        }
+
+        /**
+         * Returns the key of the last processed subject.
+         *
+         * @return {@code String} or {@code null} for a start cursor
+         */
+        public String getLastKey() {
+            return last;
+        }
+
+        /**
+         * Creates a cursor for the next page.
+         *
+         * @param last {@code String} the key of the last processed subject, not {@code null}
+         * @return {@link Cursor}
+         */
+        public Cursor next(String last) {
+            return new Cursor(segment, segments, Objects.requireNonNull(last));
+        }
+
+        /**
+         * Encodes this cursor as a token string.
+         *
+         * @return {@code String}
+         */
+        public String toToken() {
+            String res = segment + "\n" + segments + "\n" + (last == null ? "" : last);
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(res.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+}
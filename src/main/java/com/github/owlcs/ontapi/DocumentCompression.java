@@ -0,0 +1,325 @@
+/*
+ * This file is part of the ONT API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright (c) 2023, owl.cs group.
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package com.github.owlcs.ontapi;
+
+import org.apache.commons.compress.compressors.bzip2.BZip2CompressorInputStream;
+import org.apache.commons.compress.compressors.bzip2.BZip2CompressorOutputStream;
+import org.apache.commons.compress.compressors.zstandard.ZstdCompressorInputStream;
+import org.apache.commons.compress.compressors.zstandard.ZstdCompressorOutputStream;
+import org.apache.commons.compress.compressors.zstandard.ZstdUtils;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * The compression formats, that are recognized while loading and saving ontology documents.
+ * While loading, the compression is detected by the magic bytes at the beginning of the stream,
+ * and the decompression runs in a separate thread, so it overlaps with parsing.
+ * While saving, the compression is chosen by the file extension of the document IRI,
+ * both for the formats written by Jena and for those written by OWL-API storers.
+ * <p>
+ * Note: {@link #ZSTD} requires the optional {@code com.github.luben:zstd-jni} library in the class-path.
+ *
+ * @see OntGraphUtils#openInputStream(org.semanticweb.owlapi.io.OWLOntologyDocumentSource, com.github.owlcs.ontapi.config.OntLoaderConfiguration)
+ * @see OntGraphUtils#openOutputStream(org.semanticweb.owlapi.model.IRI)
+ * @see OntologyManagerImpl#writeUsingOWLStore(Ontology, org.semanticweb.owlapi.model.OWLDocumentFormat, org.semanticweb.owlapi.io.OWLOntologyDocumentTarget)
+ * @since 3.5.0
+ */
+public enum DocumentCompression {
+    NONE(new byte[0]),
+    GZIP(new byte[]{0x1f, (byte) 0x8b}, ".gz", ".gzip"),
+    BZIP2(new byte[]{'B', 'Z', 'h'}, ".bz2"),
+    ZSTD(new byte[]{0x28, (byte) 0xb5, 0x2f, (byte) 0xfd}, ".zst", ".zstd"),
+    ;
+
+    /**
+     * The size of a single block passed from the decompressing thread to the parser.
+     */
+    protected static final int BLOCK_SIZE = 64 * 1024;
+    /**
+     * The maximum number of decompressed blocks, that are waiting for the parser.
+     */
+    protected static final int QUEUE_SIZE = 16;
+    private static final int MAGIC_SIZE = 4;
+
+    private final byte[] magic;
+    private final String[] extensions;
+
+    DocumentCompression(byte[] magic, String... extensions) {
+        this.magic = magic;
+        this.extensions = extensions;
+    }
+
+    /**
+     * Returns the compression format by the file extension of the given document name.
+     *
+     * @param name {@code String} file name or IRI, can be {@code null}
+     * @return {@link DocumentCompression}, not {@code null}
+     */
+    public static DocumentCompression fromName(String name) {
+        if (name == null) {
+            return NONE;
+        }
+        String n = name.toLowerCase(Locale.ROOT);
+        return Arrays.stream(values())
+                .filter(c -> Arrays.stream(c.extensions).anyMatch(n::endsWith))
+                .findFirst().orElse(NONE);
+    }
+
+    /**
+     * Returns the document name without the compression extension,
+     * e.g. {@code file:/x/pizza.ttl} for {@code file:/x/pizza.ttl.gz}.
+     * It is used to guess the syntax format of a compressed document.
+     *
+     * @param name {@code String} file name or IRI, can be {@code null}
+     * @return {@code String}
+     */
+    public static String stripExtension(String name) {
+        if (name == null) {
+            return null;
+        }
+        String n = name.toLowerCase(Locale.ROOT);
+        for (String ext : fromName(name).extensions) {
+            if (n.endsWith(ext)) {
+                return name.substring(0, name.length() - ext.length());
+            }
+        }
+        return name;
+    }
+
+    /**
+     * Detects the compression format by the magic bytes.
+     *
+     * @param head {@code byte[]} the first bytes of a document
+     * @param size {@code int} the number of significant bytes in the {@code head} array
+     * @return {@link DocumentCompression}, not {@code null}
+     */
+    public static DocumentCompression detect(byte[] head, int size) {
+        for (DocumentCompression c : values()) {
+            if (c == NONE || c.magic.length > size) {
+                continue;
+            }
+            if (Arrays.equals(c.magic, 0, c.magic.length, head, 0, c.magic.length)) {
+                return c;
+            }
+        }
+        return NONE;
+    }
+
+    /**
+     * Wraps the given input stream so that it returns decompressed data, if the data is compressed.
+     * If the compression is detected, the decompression is performed in a separate daemon thread,
+     * which is connected with the returned stream by a bounded buffer.
+     *
+     * @param in {@link InputStream}, not {@code null}
+     * @return {@link InputStream}
+     * @throws IOException if the stream cannot be read
+     */
+    public static InputStream decompress(InputStream in) throws IOException {
+        BufferedInputStream res = new BufferedInputStream(Objects.requireNonNull(in), BLOCK_SIZE);
+        res.mark(MAGIC_SIZE);
+        byte[] head = res.readNBytes(MAGIC_SIZE);
+        res.reset();
+        DocumentCompression c = detect(head, head.length);
+        if (c == NONE) {
+            return res;
+        }
+        return new PipedInputStream(c.openInputStream(res), c.name());
+    }
+
+    /**
+     * Wraps the given output stream with a compressor.
+     *
+     * @param out {@link OutputStream}, not {@code null}
+     * @return {@link OutputStream}
+     * @throws IOException if the compressor cannot be created
+     */
+    public OutputStream compress(OutputStream out) throws IOException {
+        switch (this) {
+            case NONE:
+                return out;
+            case GZIP:
+                return new GZIPOutputStream(out, BLOCK_SIZE);
+            case BZIP2:
+                return new BZip2CompressorOutputStream(out);
+            case ZSTD:
+                requireZstd();
+                return new ZstdCompressorOutputStream(out);
+            default:
+                throw new OntApiException.IllegalState();
+        }
+    }
+
+    /**
+     * Opens a decompressing stream over the given input.
+     *
+     * @param in {@link InputStream}, not {@code null}
+     * @return {@link InputStream}
+     * @throws IOException if the stream header is broken
+     */
+    protected InputStream openInputStream(InputStream in) throws IOException {
+        switch (this) {
+            case NONE:
+                return in;
+            case GZIP:
+                return new GZIPInputStream(in, BLOCK_SIZE);
+            case BZIP2:
+                return new BZip2CompressorInputStream(in, true);
+            case ZSTD:
+                requireZstd();
+                return new ZstdCompressorInputStream(in);
+            default:
+                throw new OntApiException.IllegalState();
+        }
+    }
+
+    private static void requireZstd() {
+        if (!ZstdUtils.isZstdCompressionAvailable()) {
+            throw new OntApiException.Unsupported("Zstandard compression requires the zstd-jni library");
+        }
+    }
+
+    /**
+     * An {@link InputStream}, that is filled by a background thread reading some other (e.g. decompressing) stream.
+     * The threads are connected by a bounded queue of blocks,
+     * so the producer cannot run ahead of the consumer more than {@link #QUEUE_SIZE} blocks.
+     * Closing this stream stops the producer and closes the source.
+     */
+    protected static class PipedInputStream extends InputStream {
+        private static final byte[] EOF = new byte[0];
+
+        private final BlockingQueue<byte[]> queue = new ArrayBlockingQueue<>(QUEUE_SIZE);
+        private final InputStream source;
+        private final Thread producer;
+        private volatile IOException error;
+        private volatile boolean closed;
+        private byte[] current;
+        private int position;
+
+        protected PipedInputStream(InputStream source, String name) {
+            this.source = Objects.requireNonNull(source);
+            this.producer = new Thread(this::produce, "ont-api-" + name.toLowerCase(Locale.ROOT) + "-reader");
+            this.producer.setDaemon(true);
+            this.producer.start();
+        }
+
+        private void produce() {
+            try {
+                while (!closed) {
+                    byte[] block = source.readNBytes(BLOCK_SIZE);
+                    if (block.length == 0) {
+                        break;
+                    }
+                    queue.put(block);
+                }
+            } catch (IOException e) {
+                error = e;
+            } catch (RuntimeException e) {
+                error = new IOException(e);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                try {
+                    source.close();
+                } catch (IOException e) {
+                    if (error == null && !closed) {
+                        error = e;
+                    }
+                }
+                if (!closed) {
+                    try {
+                        queue.put(EOF);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+            }
+        }
+
+        private boolean fill() throws IOException {
+            if (current == EOF) {
+                return false;
+            }
+            if (current != null && position < current.length) {
+                return true;
+            }
+            try {
+                current = queue.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while waiting for data");
+            }
+            position = 0;
+            if (current == EOF) {
+                if (error != null) {
+                    throw error;
+                }
+                return false;
+            }
+            return true;
+        }
+
+        @Override
+        public int read() throws IOException {
+            if (closed) {
+                throw new IOException("Stream closed");
+            }
+            return fill() ? current[position++] & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] bytes, int offset, int length) throws IOException {
+            Objects.checkFromIndexSize(offset, length, bytes.length);
+            if (closed) {
+                throw new IOException("Stream closed");
+            }
+            if (length == 0) {
+                return 0;
+            }
+            if (!fill()) {
+                return -1;
+            }
+            int res = Math.min(length, current.length - position);
+            System.arraycopy(current, position, bytes, offset, res);
+            position += res;
+            return res;
+        }
+
+        @Override
+        public int available() {
+            return current == null || current == EOF ? 0 : current.length - position;
+        }
+
+        @Override
+        public void close() {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            producer.interrupt();
+            queue.clear();
+        }
+    }
+}
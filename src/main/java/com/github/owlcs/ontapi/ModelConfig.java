@@ -116,6 +116,52 @@ public class ModelConfig implements InternalConfig, Serializable {
         return Map.of(IRI.class, manager.iris.asCache());
     }
 
+    /**
+     * Returns the manager's store for content cache buckets.
+     *
+     * @return {@link InternalCache} or {@code null} if the manager has no content cache budget
+     * @see com.github.owlcs.ontapi.config.OntConfig#getManagerContentCacheBudget()
+     */
+    @Override
+    public InternalCache<Object, Object> getContentCacheStore() {
+        OntologyManagerImpl m = this.manager;
+        return m == null ? null : m.contentCache;
+    }
+
+    /**
+     * Answers whether the structurally equal anonymous expressions should share the same b-node while writing.
+     *
+     * @return boolean
+     * @see OntWriterConfiguration#isReuseAnonymousExpressions()
+     */
+    @Override
+    public boolean isReuseAnonymousExpressions() {
+        OntWriterConfiguration res = this.writerConf;
+        if (res == null) {
+            OntologyManagerImpl m = this.manager;
+            if (m == null) {
+                return false;
+            }
+            res = m.getOntologyWriterConfiguration();
+        }
+        return res.isReuseAnonymousExpressions();
+    }
+
+    /**
+     * Returns the metrics, that always delegates to the current manager's one.
+     * So changing metrics in the manager does not require recreating the config snapshots.
+     *
+     * @return {@link OntMetrics}
+     * @see OntologyManager#getMetrics()
+     */
+    @Override
+    public OntMetrics getMetrics() {
+        return OntMetrics.forwarding(() -> {
+            OntologyManagerImpl m = this.manager;
+            return m == null ? OntMetrics.NO_OP : m.getMetrics();
+        });
+    }
+
     public OntSpecification getSpecification() {
         return getLoaderConfig().getSpecification();
     }
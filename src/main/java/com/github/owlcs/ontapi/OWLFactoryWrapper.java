@@ -205,12 +205,16 @@ public class OWLFactoryWrapper implements OntologyFactory.Loader {
 
                             @Override
                             public ChangeApplied visit(AddAxiom change) {
-                                return of(getGraphModel().add(change.getAxiom()));
+                                // stream the axiom straight into the graph:
+                                // the caches are reset anyway once the loading is complete
+                                getGraphModel().write(change.getAxiom());
+                                return ChangeApplied.SUCCESSFULLY;
                             }
 
                             @Override
                             public ChangeApplied visit(AddOntologyAnnotation change) {
-                                return of(getGraphModel().add(change.getAnnotation()));
+                                getGraphModel().write(change.getAnnotation());
+                                return ChangeApplied.SUCCESSFULLY;
                             }
 
                             @Override
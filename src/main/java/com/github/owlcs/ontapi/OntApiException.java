@@ -86,6 +86,10 @@ public class OntApiException extends OWLRuntimeException {
         public IllegalArgument(String message) {
             super(message);
         }
+
+        public IllegalArgument(String message, Throwable cause) {
+            super(message, cause);
+        }
     }
 
     /**
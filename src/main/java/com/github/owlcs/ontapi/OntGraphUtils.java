@@ -18,6 +18,7 @@ import com.github.owlcs.ontapi.config.OntConfig;
 import com.github.owlcs.ontapi.config.OntLoaderConfiguration;
 import com.github.owlcs.ontapi.transforms.GraphStats;
 import com.github.sszuev.graphs.ReadWriteLockingGraph;
+import com.github.sszuev.jena.ontapi.OntModelFactory;
 import com.github.sszuev.jena.ontapi.UnionGraph;
 import com.github.sszuev.jena.ontapi.impl.UnionGraphImpl;
 import com.github.sszuev.jena.ontapi.model.OntID;
@@ -26,6 +27,7 @@ import com.github.sszuev.jena.ontapi.utils.Graphs;
 import com.github.sszuev.jena.ontapi.utils.Iterators;
 import com.github.sszuev.jena.ontapi.vocabulary.OWL;
 import org.apache.jena.graph.Graph;
+import org.apache.jena.graph.GraphUtil;
 import org.apache.jena.graph.Node;
 import org.apache.jena.graph.NodeFactory;
 import org.apache.jena.graph.Node_Blank;
@@ -34,7 +36,11 @@ import org.apache.jena.graph.Node_URI;
 import org.apache.jena.graph.Triple;
 import org.apache.jena.riot.Lang;
 import org.apache.jena.riot.RDFDataMgr;
+import org.apache.jena.riot.RDFFormat;
 import org.apache.jena.riot.RDFLanguages;
+import org.apache.jena.riot.RDFParser;
+import org.apache.jena.riot.lang.LabelToNode;
+import org.apache.jena.riot.system.StreamRDFLib;
 import org.apache.jena.shared.JenaException;
 import org.apache.jena.shared.PrefixMapping;
 import org.semanticweb.owlapi.io.DocumentSources;
@@ -61,21 +67,29 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.io.Reader;
+import java.io.UncheckedIOException;
 import java.io.Writer;
 import java.net.URL;
 import java.net.URLConnection;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.Deque;
 import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.UUID;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
@@ -108,6 +122,16 @@ public class OntGraphUtils {
     public static final String DEFAULT_REQUEST = "application/rdf+xml, application/xml; q=0.7, text/xml; q=0.6" +
             TEXT_PLAIN_REQUEST_TYPE + LAST_REQUEST_TYPE;
 
+    /**
+     * The minimal size of a local N-Triples or N-Quads file to be read by chunks in parallel.
+     *
+     * @see #readGraphInParallel(Graph, Path, String, Lang)
+     * @since 3.5.0
+     */
+    public static final long PARALLEL_READ_MIN_FILE_SIZE = 32L << 20;
+    protected static final long PARALLEL_READ_MIN_CHUNK_SIZE = 8L << 20;
+    protected static final long PARALLEL_READ_MAX_CHUNK_SIZE = 256L << 20;
+
     /**
      * Gets an OWL Ontology ID parsed from the given graph.
      * The method treats graphs without {@code owl:Ontology} section inside as anonymous.
@@ -357,11 +381,16 @@ public class OntGraphUtils {
                 continue;
             }
             Lang lang = format.getLang();
-            try (Closeable stream = openInputStream(source, conf)) {
+            Path file = getParallelReadFile(source, conf, lang);
+            try (Closeable stream = file == null ? openInputStream(source, conf) : null) {
                 if (LOGGER.isDebugEnabled()) {
                     LOGGER.debug("read {}, try <{}>", iri, lang);
                 }
-                readGraph(graph, stream, iri.toString(), lang);
+                if (file != null) {
+                    readGraphInParallel(graph, file, iri.toString(), lang);
+                } else {
+                    readGraph(graph, stream, iri.toString(), lang);
+                }
                 return format;
             } catch (OWLOntologyInputSourceException | IOException e) {
                 throw new OWLOntologyCreationException(source.getClass().getSimpleName() +
@@ -389,6 +418,140 @@ public class OntGraphUtils {
         }
     }
 
+    /**
+     * Returns a local file if the source can be read by chunks in parallel, otherwise {@code null}.
+     * This is possible for a large enough uncompressed N-Triples or N-Quads document,
+     * that is specified by a {@code file:} IRI (e.g. {@link org.semanticweb.owlapi.io.FileDocumentSource}).
+     *
+     * @param source {@link OWLOntologyDocumentSource}
+     * @param conf   {@link OntLoaderConfiguration}
+     * @param lang   {@link Lang}
+     * @return {@link Path} or {@code null}
+     * @see #PARALLEL_READ_MIN_FILE_SIZE
+     */
+    protected static Path getParallelReadFile(OWLOntologyDocumentSource source,
+                                              OntLoaderConfiguration conf,
+                                              Lang lang) {
+        if (!RDFLanguages.NTRIPLES.equals(lang) && !RDFLanguages.NQUADS.equals(lang)) {
+            return null;
+        }
+        if (Runtime.getRuntime().availableProcessors() < 2) {
+            return null;
+        }
+        IRI iri = source.getDocumentIRI();
+        if (!"file".equalsIgnoreCase(iri.getScheme()) || conf.getSupportedSchemes().stream().noneMatch(s -> s.same(iri))) {
+            return null;
+        }
+        if (source.getInputStream().isPresent() || source.getReader().isPresent()) {
+            return null;
+        }
+        try {
+            Path res = Paths.get(iri.toURI());
+            if (!Files.isRegularFile(res) || Files.size(res) < PARALLEL_READ_MIN_FILE_SIZE) {
+                return null;
+            }
+            try (InputStream in = Files.newInputStream(res)) {
+                byte[] head = in.readNBytes(4);
+                if (DocumentCompression.detect(head, head.length) != DocumentCompression.NONE
+                        || head.length > 1 && head[0] == 'P' && head[1] == 'K') { // compressed or zip
+                    return null;
+                }
+            }
+            return res;
+        } catch (IOException | RuntimeException e) {
+            LOGGER.debug("Can't use the parallel reading for {}: '{}'", iri, e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Reads the given local line-based (N-Triples or N-Quads) file into the graph using all available processors.
+     * The file is memory-mapped and split into chunks at line boundaries,
+     * the chunks are parsed concurrently and then bulk-inserted into the {@code graph}.
+     * All chunks share the same blank node label scope,
+     * so the same label {@code _:b} in different chunks produces the same blank node.
+     * Note: on a parsing error, line numbers in the message are relative to the chunk.
+     *
+     * @param graph {@link Graph} to put in
+     * @param file  {@link Path} to the file
+     * @param base  {@code String} base IRI
+     * @param lang  {@link Lang}, either {@link RDFLanguages#NTRIPLES} or {@link RDFLanguages#NQUADS}
+     * @throws IOException in case of IO problem
+     * @since 3.5.0
+     */
+    public static void readGraphInParallel(Graph graph, Path file, String base, Lang lang) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            List<long[]> chunks = splitByLines(channel, Runtime.getRuntime().availableProcessors());
+            if (LOGGER.isDebugEnabled()) {
+                LOGGER.debug("read {} by {} chunks", file, chunks.size());
+            }
+            UUID scope = UUID.randomUUID();
+            chunks.parallelStream().forEach(chunk -> {
+                Graph res = OntModelFactory.createDefaultGraph();
+                MappedByteBuffer buffer;
+                try {
+                    buffer = channel.map(FileChannel.MapMode.READ_ONLY, chunk[0], chunk[1] - chunk[0]);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                RDFParser.create()
+                        .source(new ByteBufferInputStream(buffer))
+                        .lang(lang)
+                        .base(base)
+                        .labelToNode(LabelToNode.createScopeByDocumentHash(scope))
+                        .parse(StreamRDFLib.graph(res));
+                synchronized (graph) {
+                    GraphUtil.addInto(graph, res);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Splits the channel content into chunks, each chunk ends with a line separator or with the end of the file.
+     *
+     * @param channel {@link FileChannel}
+     * @param threads {@code int} the desired parallelism
+     * @return {@code List} of {@code long[]}-pairs (start inclusive, end exclusive)
+     * @throws IOException in case of IO problem
+     */
+    protected static List<long[]> splitByLines(FileChannel channel, int threads) throws IOException {
+        long size = channel.size();
+        long step = Math.min(PARALLEL_READ_MAX_CHUNK_SIZE,
+                Math.max(PARALLEL_READ_MIN_CHUNK_SIZE, size / (4L * threads)));
+        List<long[]> res = new ArrayList<>();
+        ByteBuffer buffer = ByteBuffer.allocate(8192);
+        long start = 0;
+        while (start < size) {
+            long end = Math.min(size, start + step);
+            while (end < size) {
+                buffer.clear();
+                int n = channel.read(buffer, end);
+                if (n <= 0) {
+                    end = size;
+                    break;
+                }
+                int i = 0;
+                while (i < n && buffer.get(i) != '\n') {
+                    i++;
+                }
+                end += i;
+                if (i < n) {
+                    end++;
+                    break;
+                }
+                if (end - start > Integer.MAX_VALUE - 8192) {
+                    throw new IOException("Too long line at " + end);
+                }
+            }
+            res.add(new long[]{start, end});
+            start = end;
+        }
+        return res;
+    }
+
     /**
      * Returns supported formats related to the source.
      * The result (ordered set) can only contain a single format in case the source has {@link OWLDocumentFormat},
@@ -431,13 +594,14 @@ public class OntGraphUtils {
         if ((mime = OntApiException.notNull(source, "Null document source.").getMIMEType()).isPresent()) {
             lang = RDFLanguages.contentTypeToLang(mime.get());
         } else {
-            lang = RDFLanguages.filenameToLang(source.getDocumentIRI().getIRIString());
+            lang = RDFLanguages.filenameToLang(DocumentCompression.stripExtension(source.getDocumentIRI().getIRIString()));
         }
         return lang == null ? null : OntFormat.get(lang);
     }
 
     /**
      * Opens the input stream for the specified {@code source} taking settings from {@code conf} if needed.
+     * A compressed input stream is decompressed transparently, see {@link DocumentCompression}.
      *
      * @param source {@link OWLOntologyDocumentSource}
      * @param conf   {@link OntLoaderConfiguration}
@@ -449,7 +613,7 @@ public class OntGraphUtils {
                                                OntLoaderConfiguration conf) throws OWLOntologyInputSourceException, ConfigMismatchException {
         InputStream in = source.getInputStream().orElse(null);
         if (in != null) {
-            return in;
+            return decompress(in, source);
         }
         Reader rd = source.getReader().orElse(null);
         if (rd != null) {
@@ -461,8 +625,18 @@ public class OntGraphUtils {
         }
         // OWLAPI methods call:
         String header = source.getAcceptHeaders().orElse(DEFAULT_REQUEST);
-        return DocumentSources.getInputStream(iri, conf, header)
+        in = DocumentSources.getInputStream(iri, conf, header)
                 .orElseThrow(() -> new OWLOntologyInputSourceException("Can't get input-stream from " + iri));
+        return decompress(in, source);
+    }
+
+    private static InputStream decompress(InputStream in,
+                                          OWLOntologyDocumentSource source) throws OWLOntologyInputSourceException {
+        try {
+            return DocumentCompression.decompress(in);
+        } catch (IOException e) {
+            throw new OWLOntologyInputSourceException("Can't read " + source.getDocumentIRI(), e);
+        }
     }
 
     /**
@@ -475,8 +649,30 @@ public class OntGraphUtils {
      * @param target {@link OWLOntologyDocumentTarget}}, not empty, not {@code null}
      * @throws OWLOntologyStorageException in case of any error
      */
-    @SuppressWarnings("deprecation") // for RDFDataMgr#write
     public static void writeGraph(Graph graph, Lang lang, OWLOntologyDocumentTarget target) throws OWLOntologyStorageException {
+        writeGraph(graph, lang, target, false);
+    }
+
+    /**
+     * Writes the given {@code graph} to the {@code target}.
+     * If {@code streaming} is {@code true}, then Turtle is written by {@link OntTurtleWriter}
+     * and RDF/XML in the {@link RDFFormat#RDFXML_PLAIN plain} form,
+     * otherwise the default serialization for {@code lang} is used.
+     * <b>Note: the method calls {@link Writer#close()} produced by {@link OWLOntologyDocumentTarget#getWriter()},
+     * but DOES not call {@link OutputStream#close()} produced by {@link OWLOntologyDocumentTarget#getOutputStream()}</b>.
+     *
+     * @param graph     {@link Graph}, not {@code null}
+     * @param lang      {@link Lang}}, not {@code null}
+     * @param target    {@link OWLOntologyDocumentTarget}}, not empty, not {@code null}
+     * @param streaming boolean to use single-pass writers for large graphs
+     * @throws OWLOntologyStorageException in case of any error
+     * @see com.github.owlcs.ontapi.config.OntWriterConfiguration#isUseStreamingWriter()
+     * @since 3.5.0
+     */
+    public static void writeGraph(Graph graph,
+                                  Lang lang,
+                                  OWLOntologyDocumentTarget target,
+                                  boolean streaming) throws OWLOntologyStorageException {
         String name = getOntologyGraphPrintName(graph);
         try {
             OutputStream outputStreamFromTarget = target.getOutputStream().orElse(null);
@@ -484,7 +680,7 @@ public class OntGraphUtils {
                 if (LOGGER.isDebugEnabled()) {
                     LOGGER.debug("Save {} to the output stream in the default serialization for {}", name, lang);
                 }
-                RDFDataMgr.write(outputStreamFromTarget, graph, lang);
+                write(outputStreamFromTarget, graph, lang, streaming);
                 return;
             }
         } catch (JenaException ex) {
@@ -498,7 +694,7 @@ public class OntGraphUtils {
                 //Using Java Writers risks corruption because of mismatch of a character set.
                 // Only UTF-8 is safe.
                 //No inspection deprecation <- we take the risk, assuming that the provider knows what he is doing
-                RDFDataMgr.write(writerFromTarget, graph, lang);
+                write(writerFromTarget, graph, lang, streaming);
                 return;
             }
         } catch (JenaException | IOException ex) {
@@ -512,14 +708,37 @@ public class OntGraphUtils {
             if (LOGGER.isDebugEnabled()) {
                 LOGGER.debug("Save {} to the {} in the default serialization for {}", name, iri, lang);
             }
-            RDFDataMgr.write(outputStreamFromIri, graph, lang);
+            write(outputStreamFromIri, graph, lang, streaming);
         } catch (JenaException | IOException ex) {
             throw new OWLOntologyStorageException(String.format("Exception while writing %s to %s; format=%s", name, iri, lang), ex);
         }
     }
 
+    protected static void write(OutputStream out, Graph graph, Lang lang, boolean streaming) {
+        if (streaming && RDFLanguages.TURTLE.equals(lang)) {
+            OntTurtleWriter.write(graph, out);
+        } else if (streaming && RDFLanguages.RDFXML.equals(lang)) {
+            RDFDataMgr.write(out, graph, RDFFormat.RDFXML_PLAIN);
+        } else {
+            RDFDataMgr.write(out, graph, lang);
+        }
+    }
+
+    @SuppressWarnings("deprecation") // for RDFDataMgr#write
+    protected static void write(Writer out, Graph graph, Lang lang, boolean streaming) {
+        if (streaming && RDFLanguages.TURTLE.equals(lang)) {
+            OntTurtleWriter.write(graph, out);
+        } else if (streaming && RDFLanguages.RDFXML.equals(lang)) {
+            RDFDataMgr.write(out, graph, RDFFormat.RDFXML_PLAIN);
+        } else {
+            RDFDataMgr.write(out, graph, lang);
+        }
+    }
+
     /**
      * Opens the output stream for the specified {@code IRI}.
+     * If the IRI has a compression extension (e.g. {@code .gz}), the output is compressed,
+     * see {@link DocumentCompression#fromName(String)}.
      *
      * @param iri {@link IRI}
      * @return {@link OutputStream}
@@ -529,11 +748,11 @@ public class OntGraphUtils {
         if (OntConfig.DefaultScheme.FILE.same(iri)) {
             Path file = Paths.get(iri.toURI());
             Files.createDirectories(file.getParent());
-            return Files.newOutputStream(file);
+            return DocumentCompression.fromName(iri.getIRIString()).compress(Files.newOutputStream(file));
         }
         URL url = iri.toURI().toURL();
         URLConnection conn = url.openConnection();
-        return conn.getOutputStream();
+        return DocumentCompression.fromName(iri.getIRIString()).compress(conn.getOutputStream());
     }
 
     /**
@@ -680,4 +899,38 @@ public class OntGraphUtils {
         }
         return String.format("<%s>::<%s>", id.get(), versions.iterator().next());
     }
+
+    /**
+     * An {@link InputStream} over a {@link ByteBuffer}.
+     */
+    protected static class ByteBufferInputStream extends InputStream {
+        private final ByteBuffer buffer;
+
+        protected ByteBufferInputStream(ByteBuffer buffer) {
+            this.buffer = Objects.requireNonNull(buffer);
+        }
+
+        @Override
+        public int read() {
+            return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] bytes, int offset, int length) {
+            if (length == 0) {
+                return 0;
+            }
+            if (!buffer.hasRemaining()) {
+                return -1;
+            }
+            int res = Math.min(length, buffer.remaining());
+            buffer.get(bytes, offset, res);
+            return res;
+        }
+
+        @Override
+        public int available() {
+            return buffer.remaining();
+        }
+    }
 }
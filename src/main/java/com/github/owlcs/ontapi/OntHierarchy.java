@@ -0,0 +1,84 @@
+/*
+ * This file is part of the ONT API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright (c) 2023, owl.cs group.
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package com.github.owlcs.ontapi;
+
+import org.semanticweb.owlapi.model.EntityType;
+import org.semanticweb.owlapi.model.OWLEntity;
+
+import java.util.stream.Stream;
+
+/**
+ * A view of the told (asserted) hierarchy of named entities of some kind,
+ * that is formed by named-to-named {@code SubClassOf}, {@code SubObjectPropertyOf},
+ * {@code SubDataPropertyOf} or {@code SubAnnotationPropertyOf} axioms of the base ontology.
+ * No reasoning is performed: neither equivalence nor imports are taken into account.
+ * The view is alive, i.e. it reflects the current state of the ontology.
+ *
+ * @param <E> subtype of {@link OWLEntity}
+ * @see Ontology#toldHierarchy(EntityType)
+ * @since 3.5.0
+ */
+public interface OntHierarchy<E extends OWLEntity> {
+
+    /**
+     * Lists the direct told super-entities of the given entity.
+     *
+     * @param entity {@link E}, not {@code null}
+     * @return distinct {@code Stream} of {@link E}
+     */
+    Stream<E> parents(E entity);
+
+    /**
+     * Lists the direct told sub-entities of the given entity.
+     *
+     * @param entity {@link E}, not {@code null}
+     * @return distinct {@code Stream} of {@link E}
+     */
+    Stream<E> children(E entity);
+
+    /**
+     * Lists all told super-entities of the given entity (the transitive closure of {@link #parents(OWLEntity)}).
+     * The entity itself is included only if it belongs to a cycle.
+     *
+     * @param entity {@link E}, not {@code null}
+     * @return distinct {@code Stream} of {@link E}
+     */
+    Stream<E> ancestors(E entity);
+
+    /**
+     * Lists all told sub-entities of the given entity (the transitive closure of {@link #children(OWLEntity)}).
+     * The entity itself is included only if it belongs to a cycle.
+     *
+     * @param entity {@link E}, not {@code null}
+     * @return distinct {@code Stream} of {@link E}
+     */
+    Stream<E> descendants(E entity);
+
+    /**
+     * Lists the top entities of the hierarchy, i.e. those that have sub-entities, but have no super-entities.
+     *
+     * @return distinct {@code Stream} of {@link E}
+     */
+    Stream<E> roots();
+
+    /**
+     * Returns the length of the shortest told path from the given entity up to some root.
+     *
+     * @param entity {@link E}, not {@code null}
+     * @return int, {@code 0} for a root or an entity that is not in the hierarchy,
+     * {@code -1} if the entity has super-entities, but there is no way to a root (i.e. all ways go to cycles)
+     */
+    int depth(E entity);
+}
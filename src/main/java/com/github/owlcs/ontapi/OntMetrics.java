@@ -0,0 +1,221 @@
+/*
+ * This file is part of the ONT API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright (c) 2023, owl.cs group.
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package com.github.owlcs.ontapi;
+
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLOntologyID;
+
+import java.util.Objects;
+import java.util.function.Supplier;
+
+/**
+ * A metrics SPI, that allows to observe the behaviour of the internal caches and the loading process.
+ * An instance can be installed into a manager using the method {@link OntologyManager#setMetrics(OntMetrics)}.
+ * All methods have empty default implementations, so a custom implementation may override only what it needs.
+ * Implementations must be thread-safe and fast, since some events (e.g. cache hits) are very frequent.
+ * <p>
+ * Each event is bound to an ontology name, which is the ontology IRI (or document IRI while parsing),
+ * or {@code null} if the event relates to the whole manager (e.g. the manager's IRI cache).
+ * <p>
+ * Note: the caches are instrumented at the moment of their creation,
+ * so the metrics should be installed before ontologies are loaded,
+ * otherwise cache hit/miss events appear only after the corresponding caches are rebuilt.
+ *
+ * @see OntMetricsCollector
+ * @since 3.5.0
+ */
+public interface OntMetrics {
+
+    /**
+     * The metrics that does nothing.
+     * It is used by default.
+     */
+    OntMetrics NO_OP = new OntMetrics() {
+        @Override
+        public boolean isEnabled() {
+            return false;
+        }
+
+        @Override
+        public String toString() {
+            return "OntMetrics.NO_OP";
+        }
+    };
+
+    /**
+     * Answers {@code true} if the metrics should be collected.
+     * If {@code false}, the system will not fire events and will not instrument caches.
+     *
+     * @return boolean
+     */
+    default boolean isEnabled() {
+        return true;
+    }
+
+    /**
+     * Records a cache access.
+     *
+     * @param ontology {@code String} the ontology name or {@code null} for manager-wide caches
+     * @param cache    {@link Cache} the cache kind, not {@code null}
+     * @param hit      {@code true} if the value has been found in the cache, {@code false} if it had to be computed
+     */
+    default void onCacheAccess(String ontology, Cache cache, boolean hit) {
+    }
+
+    /**
+     * Records a cache eviction.
+     *
+     * @param ontology {@code String} the ontology name or {@code null} for manager-wide caches
+     * @param cache    {@link Cache} the cache kind, not {@code null}
+     * @param weight   {@code long} the weight of the evicted value, e.g. the number of objects in a bucket
+     */
+    default void onCacheEviction(String ontology, Cache cache, long weight) {
+    }
+
+    /**
+     * Records the time of some lengthy operation.
+     *
+     * @param ontology {@code String} the ontology name, can be {@code null}
+     * @param timer    {@link Timer} the operation kind, not {@code null}
+     * @param nanos    {@code long} the elapsed time in nanoseconds
+     */
+    default void onTimer(String ontology, Timer timer, long nanos) {
+    }
+
+    /**
+     * Records the strategy chosen to answer some search query.
+     *
+     * @param ontology {@code String} the ontology name, can be {@code null}
+     * @param query    {@code String} a short description of the query, not {@code null}
+     * @param strategy {@link Strategy} the chosen strategy, not {@code null}
+     */
+    default void onQuery(String ontology, String query, Strategy strategy) {
+    }
+
+    /**
+     * Returns the name of the ontology to be used as a key in the metrics.
+     *
+     * @param id {@link OWLOntologyID}, not {@code null}
+     * @return {@code String}, the ontology IRI or {@code String} representation of the anonymous id
+     */
+    static String name(OWLOntologyID id) {
+        return id.getOntologyIRI().map(IRI::getIRIString).orElseGet(id::toString);
+    }
+
+    /**
+     * Creates a metrics that delegates all calls to the instance provided by the {@code supplier}.
+     * It allows replacing the actual metrics without rebuilding the components it is installed to.
+     *
+     * @param supplier a {@code Supplier} of {@link OntMetrics}, not {@code null}
+     * @return {@link OntMetrics}
+     */
+    static OntMetrics forwarding(Supplier<OntMetrics> supplier) {
+        Objects.requireNonNull(supplier);
+        return new OntMetrics() {
+            @Override
+            public boolean isEnabled() {
+                return supplier.get().isEnabled();
+            }
+
+            @Override
+            public void onCacheAccess(String ontology, Cache cache, boolean hit) {
+                supplier.get().onCacheAccess(ontology, cache, hit);
+            }
+
+            @Override
+            public void onCacheEviction(String ontology, Cache cache, long weight) {
+                supplier.get().onCacheEviction(ontology, cache, weight);
+            }
+
+            @Override
+            public void onTimer(String ontology, Timer timer, long nanos) {
+                supplier.get().onTimer(ontology, timer, nanos);
+            }
+
+            @Override
+            public void onQuery(String ontology, String query, Strategy strategy) {
+                supplier.get().onQuery(ontology, query, strategy);
+            }
+        };
+    }
+
+    /**
+     * The observable caches.
+     */
+    enum Cache {
+        /**
+         * The manager IRI cache, that is shared between ontologies.
+         *
+         * @see com.github.owlcs.ontapi.config.OntConfig#getManagerIRIsCacheSize()
+         */
+        IRIS,
+        /**
+         * The OWL entities cache ({@link com.github.owlcs.ontapi.internal.CacheObjectFactory}).
+         *
+         * @see com.github.owlcs.ontapi.config.CacheSettings#getLoadObjectsCacheSize()
+         */
+        OBJECTS,
+        /**
+         * The nodes cache of {@link com.github.owlcs.ontapi.internal.SearchModel}.
+         *
+         * @see com.github.owlcs.ontapi.config.CacheSettings#getLoadNodesCacheSize()
+         */
+        NODES,
+        /**
+         * The manager store of content cache buckets, that is shared between ontologies.
+         *
+         * @see com.github.owlcs.ontapi.config.OntConfig#getManagerContentCacheBudget()
+         */
+        CONTENT,
+    }
+
+    /**
+     * The timed operations.
+     */
+    enum Timer {
+        /**
+         * Reading a document into a graph.
+         */
+        PARSE,
+        /**
+         * Performing graph transformations.
+         *
+         * @see com.github.owlcs.ontapi.config.LoadSettings#isPerformTransformation()
+         */
+        TRANSFORM,
+        /**
+         * The first loading of a content cache bucket (a warm-up).
+         */
+        CACHE_LOAD,
+        /**
+         * Reloading of a content cache bucket, that has been collected by GC.
+         */
+        CACHE_RELOAD,
+    }
+
+    /**
+     * The strategies to answer a search query.
+     */
+    enum Strategy {
+        /**
+         * A direct search over the graph.
+         */
+        GRAPH_SEARCH,
+        /**
+         * A scan over the content cache.
+         */
+        CACHE_SCAN,
+    }
+}
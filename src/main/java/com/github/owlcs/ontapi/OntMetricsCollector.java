@@ -0,0 +1,266 @@
+/*
+ * This file is part of the ONT API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright (c) 2023, owl.cs group.
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package com.github.owlcs.ontapi;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * A simple in-memory implementation of {@link OntMetrics}, that accumulates per-ontology counters and timers.
+ * It can be exposed as a JMX MBean using the method {@link #register(String)}.
+ * Events, that are not bound to any ontology, are collected under the {@link #MANAGER} name.
+ *
+ * @see OntologyManager#setMetrics(OntMetrics)
+ * @since 3.5.0
+ */
+@SuppressWarnings("WeakerAccess")
+public class OntMetricsCollector implements OntMetrics, OntMetricsCollectorMBean {
+    /**
+     * The name for the manager-wide events.
+     */
+    public static final String MANAGER = "";
+    /**
+     * The default JMX object name.
+     */
+    public static final String DEFAULT_JMX_NAME = "com.github.owlcs.ontapi:type=OntMetrics";
+
+    protected final Map<String, Counters> counters = new ConcurrentHashMap<>();
+
+    protected Counters counters(String ontology) {
+        return counters.computeIfAbsent(ontology == null ? MANAGER : ontology, x -> new Counters());
+    }
+
+    @Override
+    public void onCacheAccess(String ontology, Cache cache, boolean hit) {
+        Counters res = counters(ontology);
+        (hit ? res.hits : res.misses)[cache.ordinal()].increment();
+    }
+
+    @Override
+    public void onCacheEviction(String ontology, Cache cache, long weight) {
+        counters(ontology).evictions[cache.ordinal()].increment();
+    }
+
+    @Override
+    public void onTimer(String ontology, Timer timer, long nanos) {
+        Counters res = counters(ontology);
+        res.timerCounts[timer.ordinal()].increment();
+        res.timerNanos[timer.ordinal()].add(nanos);
+    }
+
+    @Override
+    public void onQuery(String ontology, String query, Strategy strategy) {
+        Counters res = counters(ontology);
+        res.queries[strategy.ordinal()].increment();
+        res.queryKinds.computeIfAbsent(query, x -> Counters.create(Strategy.values().length))[strategy.ordinal()]
+                .increment();
+    }
+
+    /**
+     * Returns the number of cache hits.
+     *
+     * @param ontology {@code String} ontology name or {@code null} for manager-wide caches
+     * @param cache    {@link Cache}
+     * @return {@code long}
+     */
+    public long getHits(String ontology, Cache cache) {
+        return get(ontology, c -> c.hits[cache.ordinal()]);
+    }
+
+    /**
+     * Returns the number of cache misses.
+     *
+     * @param ontology {@code String} ontology name or {@code null} for manager-wide caches
+     * @param cache    {@link Cache}
+     * @return {@code long}
+     */
+    public long getMisses(String ontology, Cache cache) {
+        return get(ontology, c -> c.misses[cache.ordinal()]);
+    }
+
+    /**
+     * Returns the number of cache evictions.
+     *
+     * @param ontology {@code String} ontology name or {@code null} for manager-wide caches
+     * @param cache    {@link Cache}
+     * @return {@code long}
+     */
+    public long getEvictions(String ontology, Cache cache) {
+        return get(ontology, c -> c.evictions[cache.ordinal()]);
+    }
+
+    /**
+     * Returns the number of timed operations of the given kind.
+     *
+     * @param ontology {@code String} ontology name
+     * @param timer    {@link Timer}
+     * @return {@code long}
+     */
+    public long getCount(String ontology, Timer timer) {
+        return get(ontology, c -> c.timerCounts[timer.ordinal()]);
+    }
+
+    /**
+     * Returns the total time of operations of the given kind in nanoseconds.
+     *
+     * @param ontology {@code String} ontology name
+     * @param timer    {@link Timer}
+     * @return {@code long}
+     */
+    public long getNanos(String ontology, Timer timer) {
+        return get(ontology, c -> c.timerNanos[timer.ordinal()]);
+    }
+
+    /**
+     * Returns the number of queries that were answered using the given strategy.
+     *
+     * @param ontology {@code String} ontology name
+     * @param strategy {@link Strategy}
+     * @return {@code long}
+     */
+    public long getQueries(String ontology, Strategy strategy) {
+        return get(ontology, c -> c.queries[strategy.ordinal()]);
+    }
+
+    /**
+     * Returns the number of queries of the given kind that were answered using the given strategy.
+     *
+     * @param ontology {@code String} ontology name
+     * @param query    {@code String} the query description, e.g. {@code referencingAxioms}
+     * @param strategy {@link Strategy}
+     * @return {@code long}
+     */
+    public long getQueries(String ontology, String query, Strategy strategy) {
+        Counters res = counters.get(ontology == null ? MANAGER : ontology);
+        LongAdder[] kind = res == null ? null : res.queryKinds.get(query);
+        return kind == null ? 0 : kind[strategy.ordinal()].sum();
+    }
+
+    private long get(String ontology, Function<Counters, LongAdder> getter) {
+        Counters res = counters.get(ontology == null ? MANAGER : ontology);
+        return res == null ? 0 : getter.apply(res).sum();
+    }
+
+    @Override
+    public String[] getOntologies() {
+        return counters.keySet().toArray(String[]::new);
+    }
+
+    @Override
+    public long getCacheHits(String ontology, String cache) {
+        return getHits(ontology, Cache.valueOf(cache));
+    }
+
+    @Override
+    public long getCacheMisses(String ontology, String cache) {
+        return getMisses(ontology, Cache.valueOf(cache));
+    }
+
+    @Override
+    public long getCacheEvictions(String ontology, String cache) {
+        return getEvictions(ontology, Cache.valueOf(cache));
+    }
+
+    @Override
+    public long getTimerCount(String ontology, String timer) {
+        return getCount(ontology, Timer.valueOf(timer));
+    }
+
+    @Override
+    public long getTimerMillis(String ontology, String timer) {
+        return TimeUnit.NANOSECONDS.toMillis(getNanos(ontology, Timer.valueOf(timer)));
+    }
+
+    @Override
+    public long getQueryCount(String ontology, String strategy) {
+        return getQueries(ontology, Strategy.valueOf(strategy));
+    }
+
+    @Override
+    public long getQueryCount(String ontology, String query, String strategy) {
+        return getQueries(ontology, query, Strategy.valueOf(strategy));
+    }
+
+    @Override
+    public void reset() {
+        counters.clear();
+    }
+
+    /**
+     * Registers this instance as an MBean in the platform MBean server.
+     *
+     * @param name {@code String} JMX object name, e.g. {@link #DEFAULT_JMX_NAME}, not {@code null}
+     * @return {@link ObjectName}
+     * @throws OntApiException if the registration fails
+     */
+    public ObjectName register(String name) throws OntApiException {
+        try {
+            ObjectName res = new ObjectName(Objects.requireNonNull(name, "Null JMX name"));
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            server.registerMBean(this, res);
+            return res;
+        } catch (JMException e) {
+            throw new OntApiException("Can't register MBean " + name, e);
+        }
+    }
+
+    /**
+     * Unregisters the MBean with the given name from the platform MBean server.
+     *
+     * @param name {@link ObjectName}, not {@code null}
+     * @throws OntApiException if the operation fails
+     */
+    public static void unregister(ObjectName name) throws OntApiException {
+        try {
+            ManagementFactory.getPlatformMBeanServer().unregisterMBean(name);
+        } catch (JMException e) {
+            throw new OntApiException("Can't unregister MBean " + name, e);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return String.format("OntMetricsCollector{ontologies=%d}", counters.size());
+    }
+
+    /**
+     * A container for all counters related to a single ontology.
+     */
+    protected static class Counters {
+        protected final LongAdder[] hits = create(Cache.values().length);
+        protected final LongAdder[] misses = create(Cache.values().length);
+        protected final LongAdder[] evictions = create(Cache.values().length);
+        protected final LongAdder[] timerCounts = create(Timer.values().length);
+        protected final LongAdder[] timerNanos = create(Timer.values().length);
+        protected final LongAdder[] queries = create(Strategy.values().length);
+        protected final Map<String, LongAdder[]> queryKinds = new ConcurrentHashMap<>();
+
+        private static LongAdder[] create(int size) {
+            LongAdder[] res = new LongAdder[size];
+            for (int i = 0; i < size; i++) {
+                res[i] = new LongAdder();
+            }
+            return res;
+        }
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ * This file is part of the ONT API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright (c) 2023, owl.cs group.
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package com.github.owlcs.ontapi;
+
+/**
+ * The JMX management interface for {@link OntMetricsCollector}.
+ * Enum-typed parameters are passed as their names to keep the interface JMX-friendly.
+ *
+ * @since 3.5.0
+ */
+public interface OntMetricsCollectorMBean {
+
+    /**
+     * Lists the names of all ontologies that have metrics.
+     *
+     * @return {@code Array} of {@code String}s
+     */
+    String[] getOntologies();
+
+    /**
+     * Returns the number of cache hits.
+     *
+     * @param ontology {@code String} ontology name
+     * @param cache    {@code String} the name of {@link OntMetrics.Cache} constant
+     * @return {@code long}
+     */
+    long getCacheHits(String ontology, String cache);
+
+    /**
+     * Returns the number of cache misses.
+     *
+     * @param ontology {@code String} ontology name
+     * @param cache    {@code String} the name of {@link OntMetrics.Cache} constant
+     * @return {@code long}
+     */
+    long getCacheMisses(String ontology, String cache);
+
+    /**
+     * Returns the number of cache evictions.
+     *
+     * @param ontology {@code String} ontology name
+     * @param cache    {@code String} the name of {@link OntMetrics.Cache} constant
+     * @return {@code long}
+     */
+    long getCacheEvictions(String ontology, String cache);
+
+    /**
+     * Returns the number of timed operations.
+     *
+     * @param ontology {@code String} ontology name
+     * @param timer    {@code String} the name of {@link OntMetrics.Timer} constant
+     * @return {@code long}
+     */
+    long getTimerCount(String ontology, String timer);
+
+    /**
+     * Returns the total time of timed operations in milliseconds.
+     *
+     * @param ontology {@code String} ontology name
+     * @param timer    {@code String} the name of {@link OntMetrics.Timer} constant
+     * @return {@code long}
+     */
+    long getTimerMillis(String ontology, String timer);
+
+    /**
+     * Returns the number of queries answered with the given strategy.
+     *
+     * @param ontology {@code String} ontology name
+     * @param strategy {@code String} the name of {@link OntMetrics.Strategy} constant
+     * @return {@code long}
+     */
+    long getQueryCount(String ontology, String strategy);
+
+    /**
+     * Returns the number of queries of the given kind answered with the given strategy.
+     *
+     * @param ontology {@code String} ontology name
+     * @param query    {@code String} the query description, e.g. {@code referencingAxioms}
+     * @param strategy {@code String} the name of {@link OntMetrics.Strategy} constant
+     * @return {@code long}
+     */
+    long getQueryCount(String ontology, String query, String strategy);
+
+    /**
+     * Discards all collected metrics.
+     */
+    void reset();
+}
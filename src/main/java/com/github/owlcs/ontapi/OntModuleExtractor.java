@@ -0,0 +1,304 @@
+/*
+ * This file is part of the ONT API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright (c) 2023, owl.cs group.
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package com.github.owlcs.ontapi;
+
+import com.github.owlcs.ontapi.internal.InternalGraphModel;
+import org.apache.jena.graph.Graph;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLEntity;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.parameters.Imports;
+import uk.ac.manchester.cs.owlapi.modularity.LocalityClass;
+import uk.ac.manchester.cs.owlapi.modularity.ModuleType;
+import uk.ac.manchester.cs.owlapi.modularity.SyntacticLocalityEvaluator;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * A syntactic locality-based module extractor, that is an alternative to
+ * the {@link uk.ac.manchester.cs.owlapi.modularity.SyntacticLocalityModuleExtractor OWL-API extractor},
+ * which repeatedly calls {@code axioms()}, {@code referencingAxioms()} and signature methods.
+ * <p>
+ * This implementation reads the logical axioms only once (in the constructor),
+ * assigns {@code int} ids to all entities and axioms, and builds an entity-to-axioms adjacency.
+ * Then each extraction is a fixpoint iteration over these ids,
+ * an axiom is checked for locality only when an entity of its signature enters the module signature.
+ * Declarations and annotation assertions for the module signature are added by the per-entity searchers.
+ * The extractor is a snapshot, it does not track changes in the ontology.
+ * The method {@link #extract(Collection)} is thread-safe.
+ * <p>
+ * Note that the adjacency is built from the {@link OWLAxiom OWL-API axioms}, not from the graph directly,
+ * and the locality itself is checked by the OWL-API {@link SyntacticLocalityEvaluator},
+ * since the locality rules are defined over the structure of OWL class expressions.
+ * So the constructor loads the whole axioms cache of each source ontology, as {@code axioms()} does,
+ * and the extractor holds it in memory all its lifetime:
+ * an array of references to the (shared with the cache) axioms,
+ * an {@code int[]} signature per axiom and an {@code int[]} adjacency per entity,
+ * i.e. the extra memory is linear in the total size of the axiom signatures.
+ * For a large ontology, which is read mostly by the graph searchers,
+ * a short-lived extractor should be preferred.
+ *
+ * @see <a href="http://owl.cs.manchester.ac.uk/research/modularity/">Modularity</a>
+ * @since 3.5.0
+ */
+@SuppressWarnings("WeakerAccess")
+public class OntModuleExtractor {
+    protected final ModuleType type;
+    protected final List<Ontology> ontologies;
+    /**
+     * All logical axioms, the index in this array is the axiom id.
+     */
+    protected final OWLAxiom[] axioms;
+    /**
+     * All entities from the axioms signatures, the index in this array is the entity id.
+     */
+    protected final OWLEntity[] entities;
+    protected final Map<OWLEntity, Integer> ids;
+    /**
+     * The entity ids for each axiom id.
+     */
+    protected final int[][] signatures;
+    /**
+     * The axiom ids for each entity id.
+     */
+    protected final int[][] adjacency;
+    /**
+     * Axioms, that are non-local w.r.t. the empty signature, and, therefore, belong to any module.
+     */
+    protected final Map<LocalityClass, BitSet> globals = new HashMap<>();
+
+    /**
+     * Creates an extractor for the given ontology without imports.
+     *
+     * @param ontology {@link Ontology}, not {@code null}
+     * @param type     {@link ModuleType}, not {@code null}
+     */
+    public OntModuleExtractor(Ontology ontology, ModuleType type) {
+        this(ontology, type, Imports.EXCLUDED);
+    }
+
+    /**
+     * Creates an extractor for the given ontology.
+     *
+     * @param ontology {@link Ontology}, not {@code null}
+     * @param type     {@link ModuleType}, not {@code null}
+     * @param imports  {@link Imports#INCLUDED} to extract modules from the whole imports closure, not {@code null}
+     */
+    public OntModuleExtractor(Ontology ontology, ModuleType type, Imports imports) {
+        this.type = Objects.requireNonNull(type, "Null module type");
+        Objects.requireNonNull(ontology, "Null ontology");
+        this.ontologies = new ArrayList<>();
+        this.ontologies.add(ontology);
+        if (Objects.requireNonNull(imports, "Null imports") == Imports.INCLUDED) {
+            ontology.importsClosure().filter(x -> x != ontology && x instanceof Ontology)
+                    .map(Ontology.class::cast)
+                    .forEach(this.ontologies::add);
+        }
+        this.axioms = ontologies.stream().flatMap(OWLOntology::logicalAxioms).distinct().toArray(OWLAxiom[]::new);
+        this.ids = new HashMap<>();
+        List<OWLEntity> entityList = new ArrayList<>();
+        List<int[]> counts = new ArrayList<>();
+        this.signatures = new int[axioms.length][];
+        for (int i = 0; i < axioms.length; i++) {
+            signatures[i] = axioms[i].signature().mapToInt(e -> {
+                Integer res = ids.get(e);
+                if (res == null) {
+                    ids.put(e, res = entityList.size());
+                    entityList.add(e);
+                    counts.add(new int[1]);
+                }
+                counts.get(res)[0]++;
+                return res;
+            }).toArray();
+        }
+        this.entities = entityList.toArray(new OWLEntity[0]);
+        this.adjacency = new int[entities.length][];
+        for (int i = 0; i < entities.length; i++) {
+            adjacency[i] = new int[counts.get(i)[0]];
+            counts.get(i)[0] = 0;
+        }
+        for (int i = 0; i < axioms.length; i++) {
+            for (int e : signatures[i]) {
+                adjacency[e][counts.get(e)[0]++] = i;
+            }
+        }
+    }
+
+    /**
+     * Extracts a module for the given signature.
+     *
+     * @param signature a {@code Collection} of {@link OWLEntity}s, not {@code null}
+     * @return a {@code Set} of module {@link OWLAxiom}s, that includes the declarations and annotation assertions
+     * for the module signature
+     */
+    public Set<OWLAxiom> extract(Collection<? extends OWLEntity> signature) {
+        Set<OWLEntity> sig = new HashSet<>(signature);
+        BitSet module;
+        if (type == ModuleType.STAR) {
+            module = new BitSet(axioms.length);
+            module.set(0, axioms.length);
+            int size;
+            do {
+                size = module.cardinality();
+                module = extract(module, LocalityClass.BOTTOM_BOTTOM, sig);
+                module = extract(module, LocalityClass.TOP_TOP, sig);
+            } while (module.cardinality() != size);
+        } else {
+            BitSet all = new BitSet(axioms.length);
+            all.set(0, axioms.length);
+            module = extract(all, type == ModuleType.TOP ? LocalityClass.TOP_TOP : LocalityClass.BOTTOM_BOTTOM, sig);
+        }
+        Set<OWLAxiom> res = new LinkedHashSet<>();
+        Set<OWLEntity> moduleSignature = new HashSet<>(signature);
+        module.stream().forEach(i -> {
+            res.add(axioms[i]);
+            for (int e : signatures[i]) {
+                moduleSignature.add(entities[e]);
+            }
+        });
+        // enrich the module with declarations and annotations:
+        ontologies.forEach(o -> moduleSignature.forEach(e -> {
+            o.declarationAxioms(e).forEach(res::add);
+            o.annotationAssertionAxioms(e.getIRI()).forEach(res::add);
+        }));
+        return res;
+    }
+
+    /**
+     * Extracts a module for the given signature as a new ontology.
+     * The ontology is backed by the triples of the selected axioms, which are copied from the source graphs as is.
+     *
+     * @param signature a {@code Collection} of {@link OWLEntity}s, not {@code null}
+     * @param manager   {@link OntologyManager} to put the new ontology, not {@code null}
+     * @param iri       {@link IRI} of the new ontology, can be {@code null}
+     * @return {@link Ontology}
+     */
+    public Ontology extractAsOntology(Collection<? extends OWLEntity> signature, OntologyManager manager, IRI iri) {
+        Set<OWLAxiom> module = extract(signature);
+        Ontology res = Objects.requireNonNull(manager, "Null manager").createOntology(iri);
+        Graph graph = res.asGraphModel().getBaseGraph();
+        module.forEach(a -> {
+            for (Ontology o : ontologies) {
+                if (o.containsAxiom(a)) {
+                    ((OntBaseModel) o).getGraphModel().listTriples(a).forEach(graph::add);
+                    return;
+                }
+            }
+        });
+        res.asGraphModel().setNsPrefixes(ontologies.get(0).asGraphModel().getNsPrefixMap());
+        res.clearCache();
+        return res;
+    }
+
+    /**
+     * Runs the fixpoint iteration within the given candidates.
+     *
+     * @param candidates {@code BitSet} of axiom ids
+     * @param locality   {@link LocalityClass}
+     * @param seed       a {@code Set} of seed {@link OWLEntity}s
+     * @return {@code BitSet} - the module, a subset of the {@code candidates}
+     */
+    protected BitSet extract(BitSet candidates, LocalityClass locality, Set<OWLEntity> seed) {
+        SyntacticLocalityEvaluator evaluator = new SyntacticLocalityEvaluator(locality);
+        Set<OWLEntity> signature = new HashSet<>(seed);
+        BitSet known = new BitSet(entities.length);
+        int[] queue = new int[entities.length];
+        int head = 0;
+        int tail = 0;
+        for (OWLEntity e : seed) {
+            Integer id = ids.get(e);
+            if (id != null && !known.get(id)) {
+                known.set(id);
+                queue[tail++] = id;
+            }
+        }
+        BitSet res = new BitSet(axioms.length);
+        BitSet globals = getGlobals(locality).get(0, axioms.length);
+        globals.and(candidates);
+        for (int a = globals.nextSetBit(0); a >= 0; a = globals.nextSetBit(a + 1)) {
+            res.set(a);
+            for (int e : signatures[a]) {
+                if (!known.get(e)) {
+                    known.set(e);
+                    signature.add(entities[e]);
+                    queue[tail++] = e;
+                }
+            }
+        }
+        while (head < tail) {
+            int e = queue[head++];
+            for (int a : adjacency[e]) {
+                if (res.get(a) || !candidates.get(a) || evaluator.isLocal(axioms[a], signature)) {
+                    continue;
+                }
+                res.set(a);
+                for (int x : signatures[a]) {
+                    if (!known.get(x)) {
+                        known.set(x);
+                        signature.add(entities[x]);
+                        queue[tail++] = x;
+                    }
+                }
+            }
+        }
+        return res;
+    }
+
+    /**
+     * Returns the axioms, that are non-local w.r.t. the empty signature.
+     *
+     * @param locality {@link LocalityClass}
+     * @return {@code BitSet} of axiom ids
+     */
+    protected BitSet getGlobals(LocalityClass locality) {
+        synchronized (globals) {
+            return globals.computeIfAbsent(locality, k -> {
+                SyntacticLocalityEvaluator evaluator = new SyntacticLocalityEvaluator(k);
+                BitSet res = new BitSet(axioms.length);
+                Set<OWLEntity> empty = Set.of();
+                for (int i = 0; i < axioms.length; i++) {
+                    if (!evaluator.isLocal(axioms[i], empty)) {
+                        res.set(i);
+                    }
+                }
+                return res;
+            });
+        }
+    }
+
+    /**
+     * Returns the source ontologies.
+     *
+     * @return a {@code List} of {@link OWLOntology}s, the first is the main ontology
+     */
+    public List<OWLOntology> getOntologies() {
+        return List.copyOf(ontologies);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("OntModuleExtractor{type=%s, axioms=%d, entities=%d}", type, axioms.length, entities.length);
+    }
+}
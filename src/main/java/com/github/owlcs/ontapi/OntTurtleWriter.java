@@ -0,0 +1,407 @@
+/*
+ * This file is part of the ONT API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright (c) 2023, owl.cs group.
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package com.github.owlcs.ontapi;
+
+import com.github.sszuev.jena.ontapi.vocabulary.OWL;
+import com.github.sszuev.jena.ontapi.vocabulary.RDF;
+import org.apache.jena.atlas.io.AWriter;
+import org.apache.jena.atlas.io.IO;
+import org.apache.jena.graph.Graph;
+import org.apache.jena.graph.Node;
+import org.apache.jena.graph.Triple;
+import org.apache.jena.riot.out.NodeFormatter;
+import org.apache.jena.riot.out.NodeFormatterTTL;
+import org.apache.jena.riot.out.NodeToLabel;
+import org.apache.jena.riot.system.PrefixMap;
+import org.apache.jena.riot.system.PrefixMapFactory;
+import org.apache.jena.util.iterator.ExtendedIterator;
+
+import java.io.OutputStream;
+import java.io.Writer;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * A single-pass Turtle writer, that is intended for large ontological graphs.
+ * <p>
+ * Unlike the Jena's pretty Turtle writer, it does not analyse the whole graph before writing.
+ * Instead, it relies on the structure of OWL2 RDF serialization:
+ * each anonymous class expression, data range, restriction or RDF list is a b-node tree,
+ * which is referenced exactly once (by its axiom or by the enclosing expression).
+ * So, a b-node is written inline ({@code [ ... ]} or {@code ( ... )} for a well-formed RDF list)
+ * if and only if it is the object of exactly one triple, this is decided with a single graph lookup.
+ * All other b-nodes (e.g. anonymous individuals, axiom annotation roots, shared expressions) are written with labels.
+ * <p>
+ * The written subjects are not remembered: a subject is written when its first triple is met,
+ * so the memory used does not depend on the number of subjects, triples or anonymous expressions.
+ * Too deep b-node trees and b-node cycles (which are never produced by ONT-API) are written with labels as well.
+ *
+ * @see com.github.owlcs.ontapi.config.OntWriterConfiguration#isUseStreamingWriter()
+ * @since 3.5.0
+ */
+@SuppressWarnings("WeakerAccess")
+public class OntTurtleWriter {
+    protected static final int MAX_DEPTH = 64;
+    protected static final String INDENT = "    ";
+
+    protected final Graph graph;
+    protected final AWriter out;
+    protected final PrefixMap prefixes;
+    protected final NodeFormatter formatter;
+    // b-nodes that are too deep to be nested, they are written at the top level after the main pass
+    protected final Deque<Node> deferred = new ArrayDeque<>();
+    // b-nodes that are referenced once, but are not reachable from any top-level subject
+    protected Set<Node> orphans = Collections.emptySet();
+    protected long nested;
+
+    protected OntTurtleWriter(Graph graph, AWriter out) {
+        this.graph = Objects.requireNonNull(graph, "Null graph");
+        this.out = Objects.requireNonNull(out, "Null writer");
+        this.prefixes = PrefixMapFactory.create(graph.getPrefixMapping());
+        this.formatter = new NodeFormatterTTL(null, prefixes, NodeToLabel.createBNodeByLabelEncoded());
+    }
+
+    /**
+     * Writes the graph into the output stream in Turtle (UTF-8).
+     * The stream is flushed but not closed.
+     *
+     * @param graph {@link Graph}, not {@code null}
+     * @param out   {@link OutputStream}, not {@code null}
+     */
+    public static void write(Graph graph, OutputStream out) {
+        AWriter writer = IO.wrapUTF8(out);
+        try {
+            new OntTurtleWriter(graph, writer).write();
+        } finally {
+            writer.flush();
+        }
+    }
+
+    /**
+     * Writes the graph into the writer in Turtle.
+     * The writer is flushed but not closed.
+     *
+     * @param graph  {@link Graph}, not {@code null}
+     * @param writer {@link Writer}, not {@code null}
+     */
+    public static void write(Graph graph, Writer writer) {
+        AWriter res = IO.wrap(writer);
+        try {
+            new OntTurtleWriter(graph, res).write();
+        } finally {
+            res.flush();
+        }
+    }
+
+    /**
+     * Writes the whole graph.
+     */
+    protected void write() {
+        writePrefixes();
+        long expected = 0;
+        // the ontology header goes first
+        ExtendedIterator<Triple> headers = graph.find(Node.ANY, RDF.type.asNode(), OWL.Ontology.asNode());
+        try {
+            while (headers.hasNext()) {
+                Node s = headers.next().getSubject();
+                if (isTopLevel(s)) {
+                    writeSubject(s);
+                }
+            }
+        } finally {
+            headers.close();
+        }
+        ExtendedIterator<Triple> triples = graph.find();
+        try {
+            Node prev = null;
+            // true if the current subject has already been written or skipped
+            boolean done = false;
+            while (triples.hasNext()) {
+                Triple t = triples.next();
+                if (isNestable(t.getObject())) {
+                    expected++;
+                }
+                Node s = t.getSubject();
+                if (!s.equals(prev)) {
+                    prev = s;
+                    done = !isTopLevel(s) || isHeader(s);
+                }
+                if (done || !isFirst(t)) {
+                    continue;
+                }
+                done = true;
+                writeSubject(s);
+            }
+        } finally {
+            triples.close();
+        }
+        writeDeferred();
+        if (nested != expected) {
+            writeOrphans();
+        }
+    }
+
+    protected void writePrefixes() {
+        prefixes.forEach((prefix, uri) -> {
+            out.print("@prefix ");
+            out.print(prefix);
+            out.print(": <");
+            out.print(uri);
+            out.print("> .\n");
+        });
+        if (!prefixes.isEmpty()) {
+            out.print("\n");
+        }
+    }
+
+    protected void writeDeferred() {
+        while (!deferred.isEmpty()) {
+            writeSubject(deferred.removeFirst());
+        }
+    }
+
+    /**
+     * Writes all b-nodes, that are referenced once, but have not been written yet, since they form a cycle.
+     * This is a fallback, that is not expected to happen for OWL2 graphs.
+     */
+    protected void writeOrphans() {
+        Set<Node> res = new HashSet<>();
+        ExtendedIterator<Triple> triples = graph.find();
+        try {
+            while (triples.hasNext()) {
+                Node o = triples.next().getObject();
+                if (isNestable(o) && !res.contains(o) && isOrphan(o)) {
+                    res.add(o);
+                }
+            }
+        } finally {
+            triples.close();
+        }
+        orphans = res;
+        res.forEach(this::writeSubject);
+        writeDeferred();
+    }
+
+    /**
+     * Answers {@code true} if the given b-node, that is referenced once,
+     * does not have a top-level ancestor, i.e. its chain of referring subjects is a cycle.
+     *
+     * @param node {@link Node}
+     * @return boolean
+     */
+    protected boolean isOrphan(Node node) {
+        Set<Node> seen = new HashSet<>();
+        Node current = node;
+        while (isNestable(current)) {
+            if (!seen.add(current)) {
+                return true;
+            }
+            current = graph.find(Node.ANY, Node.ANY, current).next().getSubject();
+        }
+        return false;
+    }
+
+    /**
+     * Answers {@code true} if the triple is the first one among the triples of its subject.
+     * Since each subject has exactly one such triple, the subject is written when this triple is met,
+     * so there is no need to remember the written subjects, and the triples need not be grouped by subject.
+     * This relies on the graph returning its triples in the same order on each search,
+     * which holds for an unmodified in-memory graph.
+     *
+     * @param triple {@link Triple}
+     * @return boolean
+     */
+    protected boolean isFirst(Triple triple) {
+        ExtendedIterator<Triple> it = graph.find(triple.getSubject(), Node.ANY, Node.ANY);
+        try {
+            return it.hasNext() && triple.equals(it.next());
+        } finally {
+            it.close();
+        }
+    }
+
+    /**
+     * Answers {@code true} if the node is an ontology header, which is written before the rest of the graph.
+     *
+     * @param node {@link Node}
+     * @return boolean
+     */
+    protected boolean isHeader(Node node) {
+        return graph.contains(node, RDF.type.asNode(), OWL.Ontology.asNode());
+    }
+
+    /**
+     * Answers {@code true} if the node is written as a subject of the top level.
+     *
+     * @param node {@link Node}
+     * @return boolean
+     */
+    protected boolean isTopLevel(Node node) {
+        return !node.isBlank() || !isNestable(node);
+    }
+
+    /**
+     * Answers {@code true} if the node is a b-node that is referenced by exactly one triple,
+     * such a node can be written inline.
+     *
+     * @param node {@link Node}
+     * @return boolean
+     */
+    protected boolean isNestable(Node node) {
+        if (!node.isBlank() || orphans.contains(node)) {
+            return false;
+        }
+        ExtendedIterator<Triple> it = graph.find(Node.ANY, Node.ANY, node);
+        try {
+            if (!it.hasNext()) {
+                return false;
+            }
+            it.next();
+            return !it.hasNext();
+        } finally {
+            it.close();
+        }
+    }
+
+    protected void writeSubject(Node subject) {
+        formatter.format(out, subject);
+        out.print(" ");
+        writePredicateObjectList(subject, 1);
+        out.print(" .\n\n");
+    }
+
+    protected void writePredicateObjectList(Node subject, int depth) {
+        ExtendedIterator<Triple> it = graph.find(subject, Node.ANY, Node.ANY);
+        try {
+            boolean first = true;
+            while (it.hasNext()) {
+                Triple t = it.next();
+                if (!first) {
+                    out.print(" ;\n");
+                    indent(depth);
+                }
+                first = false;
+                if (RDF.type.asNode().equals(t.getPredicate())) {
+                    out.print("a");
+                } else {
+                    formatter.format(out, t.getPredicate());
+                }
+                out.print(" ");
+                writeObject(t.getObject(), depth);
+            }
+        } finally {
+            it.close();
+        }
+    }
+
+    protected void writeObject(Node object, int depth) {
+        if (!isNestable(object)) {
+            formatter.format(out, object);
+            return;
+        }
+        nested++;
+        if (depth >= MAX_DEPTH) {
+            deferred.add(object);
+            formatter.format(out, object);
+            return;
+        }
+        if (isList(object)) {
+            writeList(object, depth);
+            return;
+        }
+        if (!graph.contains(object, Node.ANY, Node.ANY)) {
+            out.print("[]");
+            return;
+        }
+        out.print("[ ");
+        writePredicateObjectList(object, depth + 1);
+        out.print(" ]");
+    }
+
+    protected void writeList(Node head, int depth) {
+        out.print("(");
+        Node current = head;
+        while (!RDF.nil.asNode().equals(current)) {
+            if (current != head) {
+                nested++;
+            }
+            out.print(" ");
+            writeObject(getListItem(current, RDF.first.asNode()), depth + 1);
+            current = getListItem(current, RDF.rest.asNode());
+        }
+        out.print(" )");
+    }
+
+    /**
+     * Answers {@code true} if the given b-node is the head of a well-formed RDF list,
+     * that can be written in the collection syntax {@code ( ... )}.
+     * Each cell of such a list must have exactly one {@code rdf:first} and one {@code rdf:rest}
+     * and nothing else, and each cell except the head must be referenced only by the previous cell.
+     *
+     * @param head {@link Node}, a b-node that is referenced once
+     * @return boolean
+     */
+    protected boolean isList(Node head) {
+        Node current = head;
+        while (true) {
+            Node first = null;
+            Node rest = null;
+            int count = 0;
+            ExtendedIterator<Triple> it = graph.find(current, Node.ANY, Node.ANY);
+            try {
+                while (it.hasNext() && count < 3) {
+                    Triple t = it.next();
+                    count++;
+                    if (RDF.first.asNode().equals(t.getPredicate())) {
+                        first = t.getObject();
+                    } else if (RDF.rest.asNode().equals(t.getPredicate())) {
+                        rest = t.getObject();
+                    }
+                }
+            } finally {
+                it.close();
+            }
+            if (count != 2 || first == null || rest == null) {
+                return false;
+            }
+            if (RDF.nil.asNode().equals(rest)) {
+                return true;
+            }
+            if (!isNestable(rest)) {
+                return false;
+            }
+            current = rest;
+        }
+    }
+
+    private Node getListItem(Node cell, Node predicate) {
+        ExtendedIterator<Triple> it = graph.find(cell, predicate, Node.ANY);
+        try {
+            return it.next().getObject();
+        } finally {
+            it.close();
+        }
+    }
+
+    protected void indent(int depth) {
+        for (int i = 0; i < depth; i++) {
+            out.print(INDENT);
+        }
+    }
+}
@@ -16,7 +16,17 @@ package com.github.owlcs.ontapi;
 
 import com.github.owlcs.ontapi.config.AxiomsSettings;
 import com.github.sszuev.jena.ontapi.model.OntModel;
+import org.semanticweb.owlapi.model.AxiomType;
+import org.semanticweb.owlapi.model.EntityType;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLEntity;
 import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.parameters.Imports;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.stream.Stream;
 
 /**
  * A Structural Ontological Model, that is an extended {@link OWLOntology OWL-API Ontology}.
@@ -83,6 +93,88 @@ public interface Ontology extends OWLOntology {
      */
     void clearCache();
 
+    /**
+     * Returns a page of axioms of the given type.
+     * Unlike the method {@link #axioms(AxiomType)}, the axioms are read directly from the graph
+     * and are not stored in the content cache,
+     * so this method is suitable for traversing huge ontologies in bounded memory,
+     * e.g. when the content cache is disabled (see {@link com.github.owlcs.ontapi.config.CacheSettings#useContentCache()}).
+     * The traversal is resumable: each page, except the last, provides a continuation token,
+     * which records the key of the last processed subject, so the next page seeks to the following subject.
+     * The keys do not depend on blank node labels, so a token can be saved to continue after a restart,
+     * see {@link AxiomsPage}.
+     * Nothing is kept between the calls: each page re-scans the statements of the given type,
+     * holding in memory no more than {@code limit} subjects.
+     * To split the traversal between several parallel consumers use the tokens
+     * produced by the method {@link AxiomsPage#startToken(int, int)}.
+     *
+     * @param type  {@link AxiomType}, not {@code null}
+     * @param token {@code String} continuation token, or {@code null} to start from the beginning
+     * @param limit int, positive, the maximum number of source statements to process within the page;
+     *              a page never splits the statements of one subject,
+     *              so it may be exceeded only if a single subject has more statements;
+     *              note that the number of axioms may differ if the axioms annotations splitting is enabled
+     * @param <A>   type of axiom
+     * @return {@link AxiomsPage}
+     * @throws OntApiException.IllegalArgument if the token is broken
+     * @since 3.5.0
+     */
+    <A extends OWLAxiom> AxiomsPage<A> axioms(AxiomType<A> type, String token, int limit);
+
+    /**
+     * Renames the given IRIs in the ontology graph (and, optionally, in the graphs of its imports closure).
+     * Unlike the {@link org.semanticweb.owlapi.util.OWLEntityRenamer OWL-API entity renamer},
+     * which produces a pair of {@code RemoveAxiom}/{@code AddAxiom} changes for each referencing axiom,
+     * this method rewrites triples in place in a single pass over each graph,
+     * and keeps loaded those caches, that are not affected by the renaming.
+     * All occurrences of an IRI are replaced, including IRIs of annotation values and literal datatypes.
+     * Note that this is a direct graph modification, no {@code OWLOntologyChange}s are fired.
+     * The ontology IRIs and import declarations cannot be renamed this way,
+     * use the {@link org.semanticweb.owlapi.model.SetOntologyID} change instead.
+     * The IRIs of the built-in vocabularies ({@code rdf:}, {@code rdfs:}, {@code owl:}, {@code xsd:})
+     * can be neither renamed nor used as new names.
+     *
+     * @param mapping {@code Map} of old {@link IRI}s to new {@link IRI}s, not {@code null}
+     * @param imports {@link Imports#INCLUDED} to rename IRIs in the whole imports closure, not {@code null}
+     * @return long, the number of rewritten triples
+     * @throws OntApiException.IllegalArgument if the mapping contains an ontology IRI or a built-in IRI
+     * @since 3.5.0
+     */
+    long renameIRIs(Map<IRI, IRI> mapping, Imports imports);
+
+    /**
+     * Finds IRIs of entities (and other annotation subjects) by their labels.
+     * A label is the literal value of an annotation assertion with one of the given properties,
+     * e.g. {@code rdfs:label} or {@code skos:prefLabel}; the comparison is case-insensitive.
+     * The lookup uses an in-memory text index, which is built on the first call for the given set of properties,
+     * and then is maintained while adding and removing axioms, so subsequent lookups do not scan the axioms.
+     * Any other change (e.g. through the {@link #asGraphModel() graph model}) drops the index.
+     *
+     * @param text       {@code String} the text to search, not {@code null}
+     * @param substring  if {@code true} the label must contain the text, otherwise it must start with the text
+     * @param properties {@code Collection} of annotation property {@link IRI}s, not {@code null}
+     * @param imports    {@link Imports#INCLUDED} to search in the whole imports closure, not {@code null}
+     * @return distinct {@code Stream} of {@link IRI}s
+     * @since 3.5.0
+     */
+    Stream<IRI> findIRIsByLabel(String text, boolean substring, Collection<IRI> properties, Imports imports);
+
+    /**
+     * Returns the told hierarchy of entities of the given type.
+     * The queries are answered by an in-memory index of integer ids,
+     * which is built in one pass on the first call and then is maintained while adding and removing axioms,
+     * so a traversal does not materialize any axioms.
+     * Any other change (e.g. through the {@link #asGraphModel() graph model}) drops the index.
+     *
+     * @param type {@link EntityType#CLASS}, {@link EntityType#OBJECT_PROPERTY},
+     *             {@link EntityType#DATA_PROPERTY} or {@link EntityType#ANNOTATION_PROPERTY}, not {@code null}
+     * @param <E>  subtype of {@link OWLEntity}
+     * @return {@link OntHierarchy}
+     * @throws OntApiException.Unsupported if there is no hierarchy for the given entity type
+     * @since 3.5.0
+     */
+    <E extends OWLEntity> OntHierarchy<E> toldHierarchy(EntityType<E> type);
+
     /**
      * Returns the manager, that is responsible for referencing between different ontologies.
      * Each ontology must have a link to the manager,
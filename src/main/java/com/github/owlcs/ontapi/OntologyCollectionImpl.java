@@ -22,6 +22,7 @@ import org.semanticweb.owlapi.model.OWLOntologyID;
 import java.io.Serializable;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
@@ -39,8 +40,12 @@ import java.util.stream.Stream;
  * like in the original OWL-API implementation,
  * since anything, including that ID, can be changed externally (e.g. directly from the jena graph
  * using shadow {@link OntModel} interface or something else).
- * On the other hand, it is not expected that this collection will hold a large number of elements,
- * so using reordering operation in every method is OK.
+ * To keep lookups cheap, there is a reverse index (element-container -&gt; key-id),
+ * so that inserting and deleting do not require scanning the whole collection.
+ * If the key-id of some element-container is changed in a controlled way (e.g. via {@code SetOntologyID} change),
+ * the element-container should be re-{@link #add(HasOntologyID) add}ed to refresh its key-id in {@code O(1)}.
+ * A miss in the index falls back to re-checking the stored key-ids against the current ids of element-containers,
+ * so that a key-id, that has been changed externally, is still found; this costs a full scan.
  * <p>
  * Created by @ssz on 08.12.2018.
  */
@@ -49,6 +54,8 @@ public class OntologyCollectionImpl<O extends HasOntologyID> implements Ontology
     private static final long serialVersionUID = 3693502109998760296L;
 
     protected final Map<OWLOntologyID, O> map;
+    // the reverse index: element-container -> the key-id under which it is stored in the map
+    protected final Map<O, OWLOntologyID> keys;
     protected final ReadWriteLock lock;
 
     /**
@@ -94,6 +101,8 @@ public class OntologyCollectionImpl<O extends HasOntologyID> implements Ontology
     protected OntologyCollectionImpl(ReadWriteLock lock, Map<OWLOntologyID, O> map) {
         this.map = Objects.requireNonNull(map, "Null ontology map");
         this.lock = Objects.requireNonNull(lock, "Null lock");
+        this.keys = createMap(lock);
+        map.forEach((k, v) -> keys.put(v, k));
     }
 
     /**
@@ -135,6 +144,7 @@ public class OntologyCollectionImpl<O extends HasOntologyID> implements Ontology
         lock.writeLock().lock();
         try {
             map.clear();
+            keys.clear();
             return this;
         } finally {
             lock.writeLock().unlock();
@@ -155,20 +165,11 @@ public class OntologyCollectionImpl<O extends HasOntologyID> implements Ontology
     public Optional<O> get(OWLOntologyID key) {
         lock.readLock().lock();
         try {
-            O res = map.get(key);
-            if (res != null) {
-                // this is fast as Map:
-                if (key.equals(res.getOntologyID())) {
-                    return Optional.of(res);
-                }
-                replace(key, res);
-            }
-            res = findValue(key).orElse(null);
-            if (res != null) {
-                replace(key, res);
-                return Optional.of(res);
+            O res = find(key);
+            if (res == null && reindex()) {
+                res = find(key);
             }
-            return Optional.empty();
+            return Optional.ofNullable(res);
         } finally {
             lock.readLock().unlock();
         }
@@ -190,7 +191,7 @@ public class OntologyCollectionImpl<O extends HasOntologyID> implements Ontology
         lock.writeLock().lock();
         try {
             Optional<O> res = get(key);
-            res.ifPresent(k -> map.remove(k.getOntologyID()));
+            res.ifPresent(this::unmap);
             return res;
         } finally {
             lock.writeLock().unlock();
@@ -201,31 +202,69 @@ public class OntologyCollectionImpl<O extends HasOntologyID> implements Ontology
     public OntologyCollectionImpl<O> delete(O value) {
         lock.writeLock().lock();
         try {
-            findKey(value).ifPresent(map::remove);
+            unmap(value);
             return this;
         } finally {
             lock.writeLock().unlock();
         }
     }
 
+    /**
+     * Looks up the index, refreshing the key-id of the found element-container if it is stale.
+     *
+     * @param key {@link OWLOntologyID}
+     * @return {@link O} or {@code null}
+     */
+    protected O find(OWLOntologyID key) {
+        O res = map.get(key);
+        if (res == null) {
+            return null;
+        }
+        // this is fast as Map:
+        if (key.equals(res.getOntologyID())) {
+            return res;
+        }
+        replace(key, res);
+        return null;
+    }
+
+    /**
+     * Refreshes the key-ids of all element-containers whose ids have been changed externally.
+     *
+     * @return {@code true} if some key-id has been refreshed
+     */
+    protected boolean reindex() {
+        List<O> stale = keys.entrySet().stream()
+                .filter(e -> !e.getValue().equals(e.getKey().getOntologyID()))
+                .map(Map.Entry::getKey)
+                .collect(Collectors.toList());
+        stale.forEach(this::put);
+        return !stale.isEmpty();
+    }
+
     protected void replace(OWLOntologyID oldKey, O newValue) {
-        map.remove(oldKey);
+        map.remove(oldKey, newValue);
         put(newValue);
     }
 
     protected void put(O value) {
-        findKey(value).ifPresent(map::remove);
-        map.put(value.getOntologyID(), value);
-    }
-
-    protected Optional<O> findValue(OWLOntologyID key) {
-        return map.values().stream()
-                .filter(o -> o.getOntologyID().hashCode() == key.hashCode() && key.equals(o.getOntologyID()))
-                .findFirst();
+        OWLOntologyID key = value.getOntologyID();
+        OWLOntologyID prev = keys.put(value, key);
+        if (prev != null && !prev.equals(key)) {
+            map.remove(prev, value);
+        }
+        O other = map.put(key, value);
+        if (other != null && !other.equals(value)) {
+            // the previous element-container with the same key-id is pushed out
+            keys.remove(other, key);
+        }
     }
 
-    protected Optional<OWLOntologyID> findKey(O value) {
-        return map.entrySet().stream().filter(x -> x.getValue().equals(value)).map(Map.Entry::getKey).findFirst();
+    protected void unmap(O value) {
+        OWLOntologyID key = keys.remove(value);
+        if (key != null) {
+            map.remove(key, value);
+        }
     }
 
     @Override
@@ -0,0 +1,861 @@
+/*
+ * This file is part of the ONT API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright (c) 2023, owl.cs group.
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package com.github.owlcs.ontapi;
+
+import org.apache.jena.graph.Graph;
+import org.apache.jena.graph.Node;
+import org.apache.jena.graph.NodeFactory;
+import org.apache.jena.graph.Triple;
+import org.apache.jena.riot.Lang;
+import org.apache.jena.riot.RDFParser;
+import org.apache.jena.riot.RiotException;
+import org.apache.jena.riot.lang.LabelToNode;
+import org.apache.jena.riot.out.NodeFmtLib;
+import org.apache.jena.riot.system.StreamRDFBase;
+import org.apache.jena.util.iterator.ExtendedIterator;
+import org.semanticweb.owlapi.model.AddAxiom;
+import org.semanticweb.owlapi.model.AddOntologyAnnotation;
+import org.semanticweb.owlapi.model.OWLAnnotation;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLObject;
+import org.semanticweb.owlapi.model.OWLOntologyChange;
+import org.semanticweb.owlapi.model.RemoveAxiom;
+import org.semanticweb.owlapi.model.RemoveOntologyAnnotation;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.stream.Collectors;
+
+/**
+ * A triple-wise difference between two ontology graphs (a left, or old, graph and a right, or new, graph).
+ * <p>
+ * Triples without blank nodes are compared directly, using the {@link Graph#contains(Triple)} lookups,
+ * so they do not consume any memory, except for the changed triples themselves.
+ * Blank nodes are not comparable between different graphs, so they are replaced by canonical labels,
+ * which are hashes of their content (all outgoing triples, recursively)
+ * and of their context (the single incoming reference, if any).
+ * Triples with b-nodes are grouped into structures, one per each root b-node
+ * (a b-node that is not referenced by exactly one other b-node),
+ * e.g. a class expression together with its referencing triple, or an {@code owl:Axiom} annotation.
+ * Each structure is compared as a value with the structures of the other graph, that are found by some its
+ * ground triple (e.g. the referencing one), and is discarded once it is matched:
+ * so the memory consumption is bounded by the largest structure and the change, not by the size of the graphs.
+ * If something is changed inside a structure, the whole structure is reported as removed and added.
+ * <p>
+ * The changed triples can be mapped to the OWL-API changes (see {@link #changes(Ontology, Ontology)}),
+ * only the axioms that own these triples are read, not the whole content of the ontologies.
+ * The difference can be also stored as a patch (see {@link #write(OutputStream)} and {@link #read(InputStream)})
+ * and applied to any graph, which is equal (up to b-nodes) to the left graph (see {@link #apply(Graph)}).
+ * The patch format is line-based: each line is an N-Triples statement prefixed by
+ * {@code D} (delete) or {@code A} (add), canonical b-nodes are written with their labels;
+ * the labels of the b-nodes, that belong to the added structures, start with {@code n},
+ * such b-nodes are always created anew when applying the patch.
+ *
+ * @since 3.5.0
+ */
+@SuppressWarnings("WeakerAccess")
+public class OntologyDiff {
+    protected static final String DELETE = "D";
+    protected static final String ADD = "A";
+
+    /**
+     * Deleted triples in the canonical form.
+     */
+    protected final List<Triple> deletions;
+    /**
+     * Added triples in the canonical form.
+     */
+    protected final List<Triple> additions;
+    /**
+     * Deleted triples of the left graph, empty if this diff is read from a patch.
+     */
+    protected final List<Triple> removed;
+    /**
+     * Added triples of the right graph, empty if this diff is read from a patch.
+     */
+    protected final List<Triple> added;
+
+    protected OntologyDiff(List<Triple> deletions, List<Triple> additions, List<Triple> removed, List<Triple> added) {
+        this.deletions = Objects.requireNonNull(deletions);
+        this.additions = Objects.requireNonNull(additions);
+        this.removed = Objects.requireNonNull(removed);
+        this.added = Objects.requireNonNull(added);
+    }
+
+    /**
+     * Computes the difference between the base graphs of the given ontologies.
+     *
+     * @param left  {@link Ontology} - the old version, not {@code null}
+     * @param right {@link Ontology} - the new version, not {@code null}
+     * @return {@link OntologyDiff}
+     */
+    public static OntologyDiff compute(Ontology left, Ontology right) {
+        return compute(left.asGraphModel().getBaseGraph(), right.asGraphModel().getBaseGraph());
+    }
+
+    /**
+     * Computes the difference between the given graphs.
+     *
+     * @param left  {@link Graph} - the old version, not {@code null}
+     * @param right {@link Graph} - the new version, not {@code null}
+     * @return {@link OntologyDiff}
+     */
+    public static OntologyDiff compute(Graph left, Graph right) {
+        Objects.requireNonNull(left, "Null left graph");
+        Objects.requireNonNull(right, "Null right graph");
+        List<Triple> removed = new ArrayList<>(left.find().filterKeep(t -> isGround(t) && !right.contains(t)).toList());
+        List<Triple> added = new ArrayList<>(right.find().filterKeep(t -> isGround(t) && !left.contains(t)).toList());
+        List<Triple> deletions = new ArrayList<>(removed);
+        List<Triple> additions = new ArrayList<>(added);
+        forEachStructure(left, (s, cyclic) -> {
+            if (s.isEmpty() || !cyclic && s.isFoundIn(right)) {
+                return;
+            }
+            removed.addAll(s.triples);
+            deletions.addAll(s.canonical());
+        });
+        List<Structure> plus = new ArrayList<>();
+        forEachStructure(right, (s, cyclic) -> {
+            if (s.isEmpty() || !cyclic && s.isFoundIn(left)) {
+                return;
+            }
+            plus.add(s);
+        });
+        Set<Long> owned = new HashSet<>();
+        plus.forEach(s -> s.nodes.forEach(n -> owned.add(s.labels.labelHash(n))));
+        Map<Long, Integer> copies = new HashMap<>();
+        plus.forEach(s -> {
+            int copy = copies.merge(s.labels.labelHash(s.root), 1, Integer::sum) - 1;
+            added.addAll(s.triples);
+            additions.addAll(s.added(owned, copy));
+        });
+        return new OntologyDiff(deletions, additions, removed, added);
+    }
+
+    /**
+     * Reads the difference from the patch.
+     *
+     * @param in {@link InputStream}, not {@code null}
+     * @return {@link OntologyDiff}, which can only be {@link #apply(Graph) applied}
+     * @throws OntApiException if the patch is broken
+     * @see #write(OutputStream)
+     */
+    public static OntologyDiff read(InputStream in) throws OntApiException {
+        StringBuilder deletions = new StringBuilder();
+        StringBuilder additions = new StringBuilder();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                line = line.trim();
+                if (line.isEmpty() || line.startsWith("#")) {
+                    continue;
+                }
+                if (line.startsWith(DELETE + " ")) {
+                    deletions.append(line.substring(2)).append("\n");
+                } else if (line.startsWith(ADD + " ")) {
+                    additions.append(line.substring(2)).append("\n");
+                } else {
+                    throw new OntApiException("Wrong patch line: '" + line + "'");
+                }
+            }
+        } catch (IOException e) {
+            throw new OntApiException("Can't read the patch", e);
+        }
+        return new OntologyDiff(parse(deletions), parse(additions), List.of(), List.of());
+    }
+
+    private static List<Triple> parse(CharSequence txt) {
+        List<Triple> res = new ArrayList<>();
+        try {
+            RDFParser.create().fromString(txt.toString()).lang(Lang.NTRIPLES)
+                    .labelToNode(LabelToNode.createUseLabelAsGiven())
+                    .parse(new StreamRDFBase() {
+                        @Override
+                        public void triple(Triple triple) {
+                            res.add(triple);
+                        }
+                    });
+        } catch (RiotException e) {
+            throw new OntApiException("Can't parse the patch", e);
+        }
+        return res;
+    }
+
+    /**
+     * Answers {@code true} if there is no difference.
+     *
+     * @return boolean
+     */
+    public boolean isEmpty() {
+        return deletions.isEmpty() && additions.isEmpty();
+    }
+
+    /**
+     * Returns the triples of the left graph that are absent in the right graph.
+     *
+     * @return unmodifiable {@code List} of {@link Triple}s, empty if this diff has been read from a patch
+     */
+    public List<Triple> getRemovedTriples() {
+        return List.copyOf(removed);
+    }
+
+    /**
+     * Returns the triples of the right graph that are absent in the left graph.
+     *
+     * @return unmodifiable {@code List} of {@link Triple}s, empty if this diff has been read from a patch
+     */
+    public List<Triple> getAddedTriples() {
+        return List.copyOf(added);
+    }
+
+    /**
+     * Maps the changed triples to the OWL-API changes, that turn the {@code left} ontology into the {@code right} one.
+     * Only the axioms and header annotations, that own the changed triples, are read;
+     * an object, which is present in both ontologies, is not reported.
+     * Note that an axiom, whose own triples are not changed, but whose reading depends on the changed triples
+     * (e.g. on a removed declaration), is not reported either, so the changes are exact at the triple level,
+     * but not necessarily at the axiomatic level.
+     *
+     * @param left  {@link Ontology} - the old version, that has been used to compute this diff, not {@code null}
+     * @param right {@link Ontology} - the new version, that has been used to compute this diff, not {@code null}
+     * @return a {@code List} of {@link OWLOntologyChange}s, all targeted at the {@code left} ontology
+     * @throws OntApiException.IllegalState if this diff has been read from a patch
+     */
+    public List<OWLOntologyChange> changes(Ontology left, Ontology right) {
+        if (removed.size() != deletions.size() || added.size() != additions.size()) {
+            throw new OntApiException.IllegalState("No source triples, the diff has been read from a patch");
+        }
+        Set<OWLObject> minus = containers(left, removed);
+        Set<OWLObject> plus = containers(right, added);
+        Set<OWLObject> common = minus.stream().filter(plus::contains).collect(Collectors.toSet());
+        List<OWLOntologyChange> res = new ArrayList<>();
+        minus.stream().filter(x -> !common.contains(x)).forEach(x -> res.add(x instanceof OWLAxiom ?
+                new RemoveAxiom(left, (OWLAxiom) x) : new RemoveOntologyAnnotation(left, (OWLAnnotation) x)));
+        plus.stream().filter(x -> !common.contains(x)).forEach(x -> res.add(x instanceof OWLAxiom ?
+                new AddAxiom(left, (OWLAxiom) x) : new AddOntologyAnnotation(left, (OWLAnnotation) x)));
+        return res;
+    }
+
+    private static Set<OWLObject> containers(Ontology ontology, Collection<Triple> triples) {
+        if (!(ontology instanceof OntBaseModel)) {
+            throw new OntApiException.Unsupported("Unsupported ontology " + ontology);
+        }
+        return ((OntBaseModel) ontology).getGraphModel().listOWLContainers(triples)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+    }
+
+    /**
+     * Applies this diff to the given graph, which is expected to be equal (up to b-nodes) to the left graph.
+     * Canonical b-nodes are resolved against the graph,
+     * those of the added triples, that are not found, are replaced by fresh b-nodes.
+     *
+     * @param graph {@link Graph} to modify, not {@code null}
+     */
+    public void apply(Graph graph) {
+        Map<Node, List<Node>> nodes = resolve(graph);
+        Map<Node, Node> fresh = new HashMap<>();
+        deletions.forEach(t -> {
+            for (Node s : candidates(t.getSubject(), nodes)) {
+                for (Node o : candidates(t.getObject(), nodes)) {
+                    Triple res = Triple.create(s, t.getPredicate(), o);
+                    if (graph.contains(res)) {
+                        graph.delete(res);
+                        return;
+                    }
+                }
+            }
+        });
+        additions.forEach(t -> graph.add(Triple.create(toNode(t.getSubject(), nodes, fresh),
+                t.getPredicate(), toNode(t.getObject(), nodes, fresh))));
+    }
+
+    private Map<Node, List<Node>> resolve(Graph graph) {
+        Set<Node> labels = new HashSet<>();
+        deletions.forEach(t -> collectBlankNodes(t, labels));
+        additions.forEach(t -> collectBlankNodes(t, labels));
+        labels.removeIf(OntologyDiff::isAdded);
+        if (labels.isEmpty()) {
+            return Map.of();
+        }
+        Map<Node, List<Node>> res = new HashMap<>();
+        forEachStructure(graph, (s, cyclic) -> s.nodes.forEach(n -> {
+            Node label = s.labels.label(n);
+            if (labels.contains(label)) {
+                res.computeIfAbsent(label, x -> new ArrayList<>()).add(n);
+            }
+        }));
+        return res;
+    }
+
+    private static List<Node> candidates(Node n, Map<Node, List<Node>> nodes) {
+        return n.isBlank() ? nodes.getOrDefault(n, List.of()) : List.of(n);
+    }
+
+    private static Node toNode(Node n, Map<Node, List<Node>> nodes, Map<Node, Node> fresh) {
+        if (!n.isBlank()) {
+            return n;
+        }
+        if (isAdded(n)) {
+            return fresh.computeIfAbsent(n, x -> NodeFactory.createBlankNode());
+        }
+        List<Node> res = nodes.get(n);
+        if (res != null) {
+            return res.get(0);
+        }
+        return fresh.computeIfAbsent(n, x -> NodeFactory.createBlankNode());
+    }
+
+    /**
+     * Writes this diff as a patch.
+     *
+     * @param out {@link OutputStream}, not {@code null}
+     * @see #read(InputStream)
+     */
+    public void write(OutputStream out) {
+        try {
+            Writer writer = new OutputStreamWriter(out, StandardCharsets.UTF_8);
+            for (Triple t : deletions) {
+                writer.write(toString(DELETE, t));
+            }
+            for (Triple t : additions) {
+                writer.write(toString(ADD, t));
+            }
+            writer.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static String toString(String op, Triple t) {
+        return op + " " + toString(t.getSubject()) + " " + toString(t.getPredicate()) + " " + toString(t.getObject()) + " .\n";
+    }
+
+    private static String toString(Node n) {
+        return n.isBlank() ? "_:" + n.getBlankNodeLabel() : NodeFmtLib.strNT(n);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("OntologyDiff{deletions=%d, additions=%d}", deletions.size(), additions.size());
+    }
+
+    private static boolean isAdded(Node label) {
+        return label.getBlankNodeLabel().startsWith("n");
+    }
+
+    private static void collectBlankNodes(Triple t, Set<Node> res) {
+        if (t.getSubject().isBlank()) {
+            res.add(t.getSubject());
+        }
+        if (t.getObject().isBlank()) {
+            res.add(t.getObject());
+        }
+    }
+
+    private static boolean isGround(Triple t) {
+        return !t.getSubject().isBlank() && !t.getObject().isBlank();
+    }
+
+    /**
+     * Lists all b-node {@link Structure structure}s of the graph, one by one, without keeping them.
+     * A root b-node is taken when its first triple is met, so no set of already processed roots is needed.
+     * Roots of pure b-node cycles, that cannot be detected cheaply,
+     * are searched in the second pass, and only if the first pass does not cover all the triples.
+     *
+     * @param graph  {@link Graph}
+     * @param action {@link BiConsumer} that accepts a {@link Structure} and a flag, which is {@code true} for cycles
+     */
+    protected static void forEachStructure(Graph graph, BiConsumer<Structure, Boolean> action) {
+        long total = 0;
+        long covered = 0;
+        ExtendedIterator<Triple> it = graph.find().filterDrop(OntologyDiff::isGround);
+        try {
+            while (it.hasNext()) {
+                Triple t = it.next();
+                total++;
+                Set<Node> nodes = new HashSet<>(2);
+                collectBlankNodes(t, nodes);
+                for (Node n : nodes) {
+                    if (isRoot(graph, n) && isFirst(graph, n, t)) {
+                        Structure s = new Structure(graph, n);
+                        covered += s.triples.size();
+                        action.accept(s, false);
+                    }
+                }
+            }
+        } finally {
+            it.close();
+        }
+        if (covered == total) {
+            return;
+        }
+        graph.find().filterKeep(t -> t.getSubject().isBlank()).forEachRemaining(t -> {
+            Node n = t.getSubject();
+            if (!isRoot(graph, n) && isCycleRoot(graph, n) && isFirst(graph, n, t)) {
+                action.accept(new Structure(graph, n), true);
+            }
+        });
+    }
+
+    /**
+     * Answers {@code true} if the b-node is not referenced by exactly one other b-node.
+     *
+     * @param graph {@link Graph}
+     * @param node  {@link Node} - b-node
+     * @return boolean
+     */
+    private static boolean isRoot(Graph graph, Node node) {
+        Triple in = singleIncoming(graph, node);
+        return in == null || !in.getSubject().isBlank();
+    }
+
+    /**
+     * Answers {@code true} if the b-node belongs to a pure cycle of b-nodes and has the least label in it.
+     *
+     * @param graph {@link Graph}
+     * @param node  {@link Node} - b-node
+     * @return boolean
+     */
+    private static boolean isCycleRoot(Graph graph, Node node) {
+        Set<Node> path = new HashSet<>();
+        path.add(node);
+        Node current = node;
+        while (true) {
+            Triple in = singleIncoming(graph, current);
+            if (in == null || !in.getSubject().isBlank()) {
+                return false;
+            }
+            Node s = in.getSubject();
+            if (s.equals(node)) {
+                String label = node.getBlankNodeLabel();
+                return path.stream().allMatch(x -> label.compareTo(x.getBlankNodeLabel()) <= 0);
+            }
+            if (!path.add(s)) {
+                return false;
+            }
+            current = s;
+        }
+    }
+
+    /**
+     * Answers {@code true} if the triple is the first one (either outgoing or, if none, incoming) of the b-node.
+     *
+     * @param graph  {@link Graph}
+     * @param node   {@link Node} - b-node
+     * @param triple {@link Triple}
+     * @return boolean
+     */
+    private static boolean isFirst(Graph graph, Node node, Triple triple) {
+        Triple res = first(graph.find(node, Node.ANY, Node.ANY));
+        if (res == null) {
+            res = first(graph.find(Node.ANY, Node.ANY, node));
+        }
+        return triple.equals(res);
+    }
+
+    private static Triple first(ExtendedIterator<Triple> it) {
+        try {
+            return it.hasNext() ? it.next() : null;
+        } finally {
+            it.close();
+        }
+    }
+
+    private static Triple singleIncoming(Graph graph, Node node) {
+        ExtendedIterator<Triple> it = graph.find(Node.ANY, Node.ANY, node);
+        try {
+            if (!it.hasNext()) {
+                return null;
+            }
+            Triple res = it.next();
+            return it.hasNext() ? null : res;
+        } finally {
+            it.close();
+        }
+    }
+
+    private static long count(ExtendedIterator<Triple> it, long limit) {
+        long res = 0;
+        try {
+            while (res < limit && it.hasNext()) {
+                it.next();
+                res++;
+            }
+        } finally {
+            it.close();
+        }
+        return res;
+    }
+
+    /**
+     * A b-node structure: the root b-node with all the b-nodes that are referenced by exactly one b-node
+     * of the structure, and the triples, that belong to it:
+     * the outgoing triples of all these b-nodes and the incoming triples of the root with URI subjects.
+     * Each triple with b-nodes belongs to exactly one structure.
+     */
+    protected static class Structure {
+        // there is no need to count all the matches to choose a selective anchor
+        private static final long ANCHOR_LIMIT = 64;
+
+        protected final Graph graph;
+        protected final Node root;
+        protected final BlankNodeLabels labels;
+        protected final Set<Node> nodes = new LinkedHashSet<>();
+        protected final List<Triple> triples = new ArrayList<>();
+        private Map<Triple, Integer> signature;
+
+        protected Structure(Graph graph, Node root) {
+            this.graph = Objects.requireNonNull(graph);
+            this.root = Objects.requireNonNull(root);
+            this.labels = new BlankNodeLabels(graph);
+            graph.find(Node.ANY, Node.ANY, root).filterDrop(t -> t.getSubject().isBlank()).forEachRemaining(triples::add);
+            Deque<Node> queue = new ArrayDeque<>();
+            nodes.add(root);
+            queue.add(root);
+            while (!queue.isEmpty()) {
+                graph.find(queue.poll(), Node.ANY, Node.ANY).forEachRemaining(t -> {
+                    triples.add(t);
+                    Node o = t.getObject();
+                    if (o.isBlank() && !nodes.contains(o) && singleIncoming(graph, o) != null) {
+                        nodes.add(o);
+                        queue.add(o);
+                    }
+                });
+            }
+        }
+
+        public boolean isEmpty() {
+            return triples.isEmpty();
+        }
+
+        /**
+         * Returns the triples in the canonical form.
+         *
+         * @return {@code List} of {@link Triple}s
+         */
+        public List<Triple> canonical() {
+            return triples.stream().map(labels::canonical).collect(Collectors.toList());
+        }
+
+        /**
+         * Returns the triples in the canonical form, where the own b-nodes, and the b-nodes of other added structures,
+         * are marked as added.
+         *
+         * @param owned {@code Set} of hashes of the b-nodes that belong to the added structures
+         * @param copy  int, the number of the same added structures that go before this one
+         * @return {@code List} of {@link Triple}s
+         */
+        public List<Triple> added(Set<Long> owned, int copy) {
+            return triples.stream().map(t -> Triple.create(added(t.getSubject(), owned, copy),
+                    t.getPredicate(), added(t.getObject(), owned, copy))).collect(Collectors.toList());
+        }
+
+        private Node added(Node n, Set<Long> owned, int copy) {
+            if (!n.isBlank()) {
+                return n;
+            }
+            long hash = labels.labelHash(n);
+            if (nodes.contains(n)) {
+                return NodeFactory.createBlankNode("n" + Long.toHexString(hash) + (copy == 0 ? "" : "_" + copy));
+            }
+            if (owned.contains(hash)) {
+                return NodeFactory.createBlankNode("n" + Long.toHexString(hash));
+            }
+            return labels.label(n);
+        }
+
+        /**
+         * Returns the canonical triples of this structure as a multiset.
+         *
+         * @return {@code Map} with counts
+         */
+        protected Map<Triple, Integer> signature() {
+            if (signature == null) {
+                Map<Triple, Integer> res = new HashMap<>();
+                triples.forEach(t -> res.merge(labels.canonical(t), 1, Integer::sum));
+                signature = res;
+            }
+            return signature;
+        }
+
+        /**
+         * Answers {@code true} if the other graph contains the same structure.
+         * Equal structures of the same graph are matched in order, so the duplicates are taken into account.
+         *
+         * @param other {@link Graph}
+         * @return boolean
+         */
+        public boolean isFoundIn(Graph other) {
+            Triple anchor = anchor();
+            long hash = labels.labelHash(root);
+            int rank = 0;
+            for (Node n : candidates(graph, anchor)) {
+                if (n.equals(root)) {
+                    break;
+                }
+                if (isSame(graph, n, hash)) {
+                    rank++;
+                }
+            }
+            int found = 0;
+            for (Node n : candidates(other, anchor)) {
+                if (isSame(other, n, hash) && ++found > rank) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private boolean isSame(Graph g, Node n, long hash) {
+            // the hash of the root covers the content of the whole structure, so it is compared first
+            return new BlankNodeLabels(g).labelHash(n) == hash && new Structure(g, n).signature().equals(signature());
+        }
+
+        /**
+         * Returns a pattern to find the roots of the similar structures:
+         * the incoming triple with URI subject, if any, otherwise the least frequent outgoing triple of the root.
+         *
+         * @return {@link Triple} with {@link Node#ANY} in place of the root
+         */
+        protected Triple anchor() {
+            Triple res = null;
+            long best = ANCHOR_LIMIT;
+            for (Triple t : triples) {
+                if (!t.getSubject().equals(root)) {
+                    if (t.getObject().equals(root)) {
+                        return Triple.create(t.getSubject(), t.getPredicate(), Node.ANY);
+                    }
+                    continue;
+                }
+                if (t.getObject().isBlank()) {
+                    if (res == null) {
+                        res = Triple.create(Node.ANY, t.getPredicate(), Node.ANY);
+                    }
+                    continue;
+                }
+                long count = count(graph.find(Node.ANY, t.getPredicate(), t.getObject()), best);
+                if (count < best || res == null || !res.getObject().isConcrete()) {
+                    best = count;
+                    res = Triple.create(Node.ANY, t.getPredicate(), t.getObject());
+                }
+            }
+            return res;
+        }
+
+        private static Set<Node> candidates(Graph graph, Triple anchor) {
+            boolean bySubject = anchor.getSubject().isConcrete();
+            return new LinkedHashSet<>(graph.find(anchor).mapWith(t -> bySubject ? t.getObject() : t.getSubject())
+                    .filterKeep(n -> n.isBlank() && isRoot(graph, n)).toList());
+        }
+    }
+
+    /**
+     * A helper to calculate canonical labels for blank nodes of a graph.
+     * The label of a b-node is a 64-bit hash of its content (outgoing triples, recursively)
+     * combined with the label of its context (the subject and predicate of the single incoming triple, if any).
+     * Both are calculated without recursion, so deep structures (e.g. long RDF lists) are supported.
+     * Note: for cyclic structures the labels depend on the traversal order,
+     * this does not break the diff, but may make it larger than necessary.
+     * The calculated hashes are cached, so an instance is created for each {@link Structure} and discarded with it.
+     */
+    protected static class BlankNodeLabels {
+        private static final long SEED = 0x9E3779B97F4A7C15L;
+        private static final long CYCLE = 0xC2B2AE3D27D4EB4FL;
+
+        protected final Graph graph;
+        protected final Map<Node, Long> contents = new HashMap<>();
+        protected final Map<Node, Long> labels = new HashMap<>();
+
+        protected BlankNodeLabels(Graph graph) {
+            this.graph = Objects.requireNonNull(graph);
+        }
+
+        /**
+         * Replaces all b-nodes in the triple with canonical b-nodes.
+         *
+         * @param t {@link Triple}
+         * @return {@link Triple}
+         */
+        public Triple canonical(Triple t) {
+            if (isGround(t)) {
+                return t;
+            }
+            Node s = t.getSubject().isBlank() ? label(t.getSubject()) : t.getSubject();
+            Node o = t.getObject().isBlank() ? label(t.getObject()) : t.getObject();
+            return Triple.create(s, t.getPredicate(), o);
+        }
+
+        /**
+         * Returns the canonical b-node for the given b-node.
+         *
+         * @param node {@link Node} - b-node
+         * @return {@link Node} - b-node
+         */
+        public Node label(Node node) {
+            return NodeFactory.createBlankNode("c" + Long.toHexString(labelHash(node)));
+        }
+
+        protected long labelHash(Node node) {
+            Long found = labels.get(node);
+            if (found != null) {
+                return found;
+            }
+            // walk up through the single incoming references until a known or a root node
+            Deque<Node> path = new ArrayDeque<>();
+            Deque<Long> links = new ArrayDeque<>();
+            Set<Node> seen = new HashSet<>();
+            Node current = node;
+            long context = 0;
+            while (true) {
+                path.push(current);
+                seen.add(current);
+                Triple in = singleIncoming(graph, current);
+                if (in == null) {
+                    links.push(0L);
+                    break;
+                }
+                long p = hash(in.getPredicate());
+                Node s = in.getSubject();
+                if (!s.isBlank()) {
+                    links.push(p);
+                    context = hash(s);
+                    break;
+                }
+                Long known = labels.get(s);
+                if (known != null) {
+                    links.push(p);
+                    context = known;
+                    break;
+                }
+                if (seen.contains(s)) {
+                    links.push(0L);
+                    break;
+                }
+                links.push(p);
+                current = s;
+            }
+            long res = 0;
+            while (!path.isEmpty()) {
+                Node n = path.pop();
+                long p = links.pop();
+                res = p == 0 ? contentHash(n) : mix(contentHash(n) + mix(context * 31 + p));
+                labels.put(n, res);
+                context = res;
+            }
+            return res;
+        }
+
+        protected long contentHash(Node node) {
+            Long found = contents.get(node);
+            if (found != null) {
+                return found;
+            }
+            Deque<Node> stack = new ArrayDeque<>();
+            Set<Node> path = new HashSet<>();
+            stack.push(node);
+            while (!stack.isEmpty()) {
+                Node b = stack.peek();
+                if (contents.containsKey(b)) {
+                    stack.pop();
+                    continue;
+                }
+                if (path.add(b)) {
+                    // first visit: process children before the node itself
+                    graph.find(b, Node.ANY, Node.ANY).forEachRemaining(t -> {
+                        Node o = t.getObject();
+                        if (o.isBlank() && !contents.containsKey(o) && !path.contains(o)) {
+                            stack.push(o);
+                        }
+                    });
+                    continue;
+                }
+                long res = SEED;
+                ExtendedIterator<Triple> it = graph.find(b, Node.ANY, Node.ANY);
+                try {
+                    while (it.hasNext()) {
+                        Triple t = it.next();
+                        Node o = t.getObject();
+                        long h = o.isBlank() ? contents.getOrDefault(o, CYCLE) : hash(o);
+                        // the sum does not depend on the order of triples
+                        res += mix(hash(t.getPredicate()) * 31 + h);
+                    }
+                } finally {
+                    it.close();
+                }
+                contents.put(b, mix(res));
+                path.remove(b);
+                stack.pop();
+            }
+            return contents.get(node);
+        }
+
+        private static long hash(Node n) {
+            if (n.isURI()) {
+                return hash(n.getURI());
+            }
+            if (n.isLiteral()) {
+                return mix(hash(n.getLiteralLexicalForm()) * 31 +
+                        hash(n.getLiteralDatatypeURI() + "@" + n.getLiteralLanguage()));
+            }
+            return hash(n.toString());
+        }
+
+        /**
+         * Calculates FNV-1a 64-bit hash.
+         *
+         * @param s {@code String}
+         * @return long
+         */
+        private static long hash(String s) {
+            long res = 0xcbf29ce484222325L;
+            for (int i = 0; i < s.length(); i++) {
+                res ^= s.charAt(i);
+                res *= 0x100000001b3L;
+            }
+            return mix(res);
+        }
+
+        /**
+         * The SplitMix64 finalizer.
+         *
+         * @param z long
+         * @return long
+         */
+        private static long mix(long z) {
+            z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+            z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+            return z ^ (z >>> 31);
+        }
+    }
+}
@@ -251,11 +251,13 @@ public class OntologyLoaderImpl implements OntologyFactory.Loader {
                 .collect(Collectors.toSet());
         if (LOGGER.isDebugEnabled())
             LOGGER.debug("Perform graph transformations on <{}>.", info.name());
+        long start = System.nanoTime();
         try {
             stats = config.getGraphTransformers().transform(graph, transformed);
         } catch (TransformException t) {
             throw new OntologyFactoryImpl.OWLTransformException(t);
         }
+        reportTimer(manager, info.metricsName(), OntMetrics.Timer.TRANSFORM, start);
         info.setStats(stats);
         stats.stats(true)
                 .filter(GraphStats::isNotEmpty)
@@ -275,6 +277,21 @@ public class OntologyLoaderImpl implements OntologyFactory.Loader {
         return graph;
     }
 
+    /**
+     * Reports the time of the given operation to the manager's metrics.
+     *
+     * @param manager  {@link OntologyManager}
+     * @param ontology {@code String} the ontology name, see {@link GraphInfo#metricsName()}
+     * @param timer    {@link OntMetrics.Timer}
+     * @param start    {@code long} the start time in nanoseconds
+     */
+    protected static void reportTimer(OntologyManager manager, String ontology, OntMetrics.Timer timer, long start) {
+        OntMetrics metrics = manager.getMetrics();
+        if (metrics.isEnabled()) {
+            metrics.onTimer(ontology, timer, System.nanoTime() - start);
+        }
+    }
+
     /**
      * Assembles the {@link UnionGraph} from the inner collection ({@link #graphs}).
      * Note: this collection can be modified by this method.
@@ -541,8 +558,10 @@ public class OntologyLoaderImpl implements OntologyFactory.Loader {
         try {
             // jena:
             Graph graph = builder.createDataGraph();
+            long start = System.nanoTime();
             OntFormat format = OntGraphUtils.readGraph(graph, src, config);
             GraphInfo res = createGraphInfo(graph, format.newOWLFormat(), doc, true);
+            reportTimer(manager, res.metricsName(), OntMetrics.Timer.PARSE, start);
             if (LOGGER.isDebugEnabled()) {
                 LOGGER.debug("Graph <{}> is loaded by jena. Source: {}[{}]. Format: {}",
                         res.name(), source.getClass().getSimpleName(), res.getSource(), res.getFormat());
@@ -743,6 +762,20 @@ public class OntologyLoaderImpl implements OntologyFactory.Loader {
             return ontology().toString();
         }
 
+        /**
+         * Returns the name to report metrics, the same as the ontology model uses for its own events.
+         *
+         * @return {@code String}
+         * @see OntMetrics#name(org.semanticweb.owlapi.model.OWLOntologyID)
+         */
+        protected String metricsName() {
+            Node res = ontology();
+            if (res.isURI()) {
+                return res.getURI();
+            }
+            return res.isBlank() ? OntMetrics.name(new ID(res, null)) : name();
+        }
+
         protected Set<String> getImports() {
             return imports == null ? imports = Graphs.getImports(graph) : imports;
         }
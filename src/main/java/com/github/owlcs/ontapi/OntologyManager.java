@@ -169,6 +169,25 @@ public interface OntologyManager extends OWLOntologyManager {
      */
     void setOntologyWriterConfiguration(@Nullable OWLOntologyWriterConfiguration conf);
 
+    /**
+     * Returns the {@link OntMetrics metrics} that is used to observe the manager's caches and loading process.
+     *
+     * @return {@link OntMetrics}, not {@code null}; {@link OntMetrics#NO_OP} by default
+     * @since 3.5.0
+     */
+    OntMetrics getMetrics();
+
+    /**
+     * Sets the {@link OntMetrics metrics} to observe the manager's caches and loading process.
+     * Note: caches are instrumented at the moment of their creation,
+     * so it is better to set metrics before any ontology is loaded.
+     *
+     * @param metrics {@link OntMetrics} or {@code null} to disable metrics
+     * @see OntMetricsCollector
+     * @since 3.5.0
+     */
+    void setMetrics(@Nullable OntMetrics metrics);
+
     /**
      * Gets an {@link RWLockedCollection extended OWL-API PriorityCollection}
      * of {@link OntologyFactory Ontology Factories} - iterable object,
@@ -458,6 +477,45 @@ public interface OntologyManager extends OWLOntologyManager {
     @Override
     Ontology copyOntology(OWLOntology source, OntologyCopy settings);
 
+    /**
+     * Creates a copy-on-write copy of the specified ontology and puts it into this manager.
+     * The base graph of the returned ontology is an {@link OverlayGraph} layered over the source base graph:
+     * all changes are recorded in the overlay, the source graph remains untouched.
+     * So the operation takes {@code O(1)} time and memory until the copy is edited.
+     * The source graph must not be changed while the copy is attached to it:
+     * a change in the source is detected by a graph listener,
+     * and after that any access to the copy's graph fails with {@link OntApiException.IllegalState}.
+     * To detach the copy from its source use the method {@link #materializeOntology(OWLOntology)}.
+     * A copy that is still attached is closed when it is removed from the manager,
+     * so that its listener does not remain on the source graph.
+     * <p>
+     * Similar to {@link OntologyCopy#SHALLOW SHALLOW} copying, no transformations are performed,
+     * no imports are processed, but all missed import references are restored if possible.
+     * Note that, since the ontology id is preserved,
+     * the source and its copy cannot belong to the same manager.
+     *
+     * @param source {@link Ontology} the source, not {@code null}
+     * @return a new (overlaid) {@link Ontology}
+     * @throws OntApiException if any unexpected error occurs or input parameters are wrong
+     * @see OverlayGraph
+     * @since 3.5.0
+     */
+    Ontology overlayOntology(Ontology source);
+
+    /**
+     * Detaches the specified ontology, which has been obtained by the method {@link #overlayOntology(Ontology)},
+     * from its source graph, copying all data into its own in-memory storage.
+     * Does nothing if the ontology is not an overlay, or it has already been materialized.
+     *
+     * @param ontology {@link OWLOntology}, not {@code null}
+     * @return {@code true} if the ontology has been materialized by this call
+     * @throws UnknownOWLOntologyException if the specified ontology is not managed by this manager
+     * @throws OntApiException.IllegalState if the source graph has been changed while the copy was attached
+     * @see OverlayGraph#materialize()
+     * @since 3.5.0
+     */
+    boolean materializeOntology(OWLOntology ontology);
+
     /**
      * Loads an ontology by the specified {@code source} IRI.
      * Note: if a loaded ontology contains any {@code owl:imports} they will also be processed,
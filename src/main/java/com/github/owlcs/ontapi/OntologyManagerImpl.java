@@ -17,17 +17,22 @@ package com.github.owlcs.ontapi;
 import com.github.owlcs.ontapi.config.OntConfig;
 import com.github.owlcs.ontapi.config.OntLoaderConfiguration;
 import com.github.owlcs.ontapi.config.OntWriterConfiguration;
+import com.github.owlcs.ontapi.internal.CacheObjectMapImpl;
 import com.github.owlcs.ontapi.internal.InternalCache;
 import com.github.owlcs.ontapi.internal.InternalConfig;
 import com.github.owlcs.ontapi.internal.InternalGraphModel;
 import com.github.sszuev.jena.ontapi.UnionGraph;
+import com.github.sszuev.jena.ontapi.impl.GraphListenerBase;
 import com.github.sszuev.jena.ontapi.model.OntModel;
 import com.github.sszuev.jena.ontapi.utils.Graphs;
+import com.github.sszuev.jena.ontapi.vocabulary.OWL;
+import com.github.sszuev.jena.ontapi.vocabulary.RDF;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import org.apache.jena.graph.Graph;
 import org.apache.jena.graph.GraphUtil;
 import org.apache.jena.graph.Node;
+import org.apache.jena.graph.Triple;
 import org.apache.jena.graph.impl.WrappedGraph;
 import org.apache.jena.shared.PrefixMapping;
 import org.semanticweb.owlapi.io.IRIDocumentSource;
@@ -36,6 +41,7 @@ import org.semanticweb.owlapi.io.OWLOntologyDocumentTarget;
 import org.semanticweb.owlapi.io.OWLOntologyStorageIOException;
 import org.semanticweb.owlapi.io.OWLParserFactory;
 import org.semanticweb.owlapi.io.OntologyIRIMappingNotFoundException;
+import org.semanticweb.owlapi.io.StreamDocumentTarget;
 import org.semanticweb.owlapi.model.AddAxiom;
 import org.semanticweb.owlapi.model.AddImport;
 import org.semanticweb.owlapi.model.AddOntologyAnnotation;
@@ -97,20 +103,25 @@ import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
 import java.io.ObjectInputStream;
+import java.io.OutputStream;
 import java.io.Serializable;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Deque;
 import java.util.HashMap;
 import java.util.HashSet;
-import java.util.LinkedHashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.function.Function;
@@ -139,6 +150,15 @@ public class OntologyManagerImpl
     protected OntWriterConfiguration writerConfig;
     // Loading Cache for IRIs, that is shared between ontologies that belong to this manager.
     protected transient InternalCache.Loading<String, IRI> iris;
+    // The store for content cache buckets of all ontologies within the memory budget, null means no budget:
+    protected transient InternalCache<Object, Object> contentCache;
+    // Materialized imports closures, that are valid while the version is not changed:
+    protected transient Map<OWLOntology, ImportsClosure> importsClosures;
+    protected transient AtomicLong importsVersion;
+    // Metrics to observe caches and loading process, null means no metrics:
+    protected transient volatile OntMetrics metrics;
+    // Watches the graphs of all ontologies to catch changes made bypassing the manager:
+    protected transient ContentListener contentListener;
     // OntologyFactory collection:
     protected final RWLockedCollection<OWLOntologyFactory> ontologyFactories;
     // IRI mappers
@@ -215,6 +235,10 @@ public class OntologyManagerImpl
         this.ontologyStorers = new RWLockedCollection<>(this.lock, sorting);
         this.content = new OntologyCollectionImpl<>(this.lock);
         this.iris = createIRICache();
+        this.contentCache = createContentCache();
+        this.importsClosures = new ConcurrentHashMap<>();
+        this.importsVersion = new AtomicLong();
+        this.contentListener = new ContentListener();
         this.readLock = this.lock.readLock();
         this.writeLock = this.lock.writeLock();
     }
@@ -236,7 +260,65 @@ public class OntologyManagerImpl
         if (size < 0) {
             return InternalCache.createEmpty().asLoading(IRI::create);
         }
-        return InternalCache.createBounded(IRI::create, NoOpReadWriteLock.isConcurrent(lock), size);
+        OntMetrics metrics = getMetrics();
+        if (!metrics.isEnabled()) {
+            return InternalCache.createBounded(IRI::create, NoOpReadWriteLock.isConcurrent(lock), size);
+        }
+        InternalCache<String, IRI> res = InternalCache.createBounded(NoOpReadWriteLock.isConcurrent(lock), size);
+        return InternalCache.monitor(res, hit -> metrics.onCacheAccess(null, OntMetrics.Cache.IRIS, hit))
+                .asLoading(IRI::create);
+    }
+
+    /**
+     * Creates a fresh store for the content cache buckets depending on this manager settings.
+     * The weight of a bucket is the number of objects it holds,
+     * and the total weight is limited by {@link OntConfig#getManagerContentCacheBudget()}.
+     * Each eviction is reported to the {@link #getMetrics() metrics} under the name of the ontology owning the bucket.
+     * If the budget is not positive, {@code null} is returned,
+     * which means the buckets are held by soft references.
+     *
+     * @return {@link InternalCache} or {@code null}
+     * @see com.github.owlcs.ontapi.internal.CacheObjectMapImpl
+     * @since 3.5.0
+     */
+    protected InternalCache<Object, Object> createContentCache() {
+        int budget = this.config.getManagerContentCacheBudget();
+        if (budget <= 0) {
+            return null;
+        }
+        return InternalCache.createWeighted(budget, CacheObjectMapImpl::weigh, (k, v) -> {
+            OntMetrics metrics = getMetrics();
+            if (metrics.isEnabled()) {
+                metrics.onCacheEviction(CacheObjectMapImpl.getOwner(k), OntMetrics.Cache.CONTENT,
+                        CacheObjectMapImpl.weigh(v));
+            }
+        });
+    }
+
+    @Override
+    public OntMetrics getMetrics() {
+        OntMetrics res = this.metrics;
+        return res == null ? OntMetrics.NO_OP : res;
+    }
+
+    /**
+     * {@inheritDoc}
+     * Note: the manager IRI cache is recreated if the given metrics is enabled or the previous one was enabled.
+     *
+     * @param metrics {@link OntMetrics} or {@code null} to disable metrics
+     */
+    @Override
+    public void setMetrics(OntMetrics metrics) {
+        writeLock.lock();
+        try {
+            boolean reset = getMetrics().isEnabled() || metrics != null && metrics.isEnabled();
+            this.metrics = metrics;
+            if (reset) {
+                this.iris = createIRICache();
+            }
+        } finally {
+            writeLock.unlock();
+        }
     }
 
     /**
@@ -292,11 +374,16 @@ public class OntologyManagerImpl
             // just copying all settings is not suitable in this case.
             // This fact greatly and unnecessarily complicates the matter
             int size = this.config.getManagerIRIsCacheSize();
+            int budget = this.config.getManagerContentCacheBudget();
             this.config = OntConfig.withLock(getAdapter().asONT(conf), lock);
             if (size != this.config.getManagerIRIsCacheSize()) {
                 // reset cache:
                 this.iris = createIRICache();
             }
+            if (budget != this.config.getManagerContentCacheBudget()) {
+                // the existing ontologies continue to use the previous store until their caches are rebuilt:
+                this.contentCache = createContentCache();
+            }
         } finally {
             writeLock.unlock();
         }
@@ -353,7 +440,15 @@ public class OntologyManagerImpl
         writeLock.lock();
         try {
             if (Objects.equals(writerConfig, conf)) return;
-            writerConfig = getAdapter().asONT(conf);
+            OntWriterConfiguration res = getAdapter().asONT(conf);
+            if (getOntologyWriterConfiguration().isReuseAnonymousExpressions() != res.isReuseAnonymousExpressions()) {
+                // the setting is fixed in the model config snapshots
+                content.values()
+                        .filter(x -> x.getModelConfig().writerConf == null)
+                        .map(OntInfo::get)
+                        .forEach(Ontology::clearCache);
+            }
+            writerConfig = res;
         } finally {
             writeLock.unlock();
         }
@@ -947,12 +1042,34 @@ public class OntologyManagerImpl
     public void removeOntology(@Nonnull OWLOntologyID id) {
         writeLock.lock();
         try {
-            content.remove(id).map(OntInfo::getModelConfig).ifPresent(x -> x.setManager(null));
+            content.remove(id).ifPresent(this::release);
+            resetImportsClosures();
         } finally {
             writeLock.unlock();
         }
     }
 
+    /**
+     * Detaches the removed ontology from this manager.
+     * If there is a content cache budget, the ontology caches are cleared while the manager is still attached,
+     * otherwise the loaded buckets would occupy the shared store until evicted.
+     * An attached overlay is closed to unregister its listener from the source graph.
+     * No lock.
+     *
+     * @param info {@link OntInfo}
+     */
+    protected void release(OntInfo info) {
+        if (info.getModelConfig().getContentCacheStore() != null) {
+            info.get().clearCache();
+        }
+        info.getModelConfig().setManager(null);
+        Graph base = info.getBaseGraph();
+        base.getEventManager().unregister(contentListener);
+        if (base instanceof OverlayGraph && !((OverlayGraph) base).isMaterialized()) {
+            base.close();
+        }
+    }
+
     /**
      * Clears all ontologies, listeners and maps from the manager. Leave injected factories, storers and parsers.
      */
@@ -961,8 +1078,9 @@ public class OntologyManagerImpl
         writeLock.lock();
         try {
             listeners.clear();
-            content.values().map(OntInfo::getModelConfig).forEach(x -> x.setManager(null));
+            content.values().forEach(this::release);
             content.clear();
+            resetImportsClosures();
         } finally {
             writeLock.unlock();
         }
@@ -1109,7 +1227,10 @@ public class OntologyManagerImpl
         // set of loaded ontologies.
         writeLock.lock();
         try {
-            content.add(new OntInfo(getAdapter().asONT(ont)));
+            OntInfo info = new OntInfo(getAdapter().asONT(ont));
+            content.add(info);
+            info.getBaseGraph().getEventManager().register(contentListener);
+            resetImportsClosures();
         } finally {
             writeLock.unlock();
         }
@@ -1142,24 +1263,12 @@ public class OntologyManagerImpl
     public Stream<OWLOntology> imports(@Nonnull OWLOntology ontology) {
         readLock.lock();
         try {
-            return getImports(ontology, new LinkedHashSet<>()).stream();
+            return getImportsClosure(ontology).imports().stream();
         } finally {
             readLock.unlock();
         }
     }
 
-    /**
-     * No lock.
-     *
-     * @param ont    {@link OWLOntology}
-     * @param result Set of {@link OWLOntology}
-     * @return the same set of {@link OWLOntology}
-     */
-    protected Set<OWLOntology> getImports(OWLOntology ont, Set<OWLOntology> result) {
-        directImports(ont).filter(result::add).forEach(o -> getImports(o, result));
-        return result;
-    }
-
     /**
      * @param ontology {@link OWLOntology}
      * @return {@code Stream} of {@link OWLOntology}
@@ -1168,21 +1277,46 @@ public class OntologyManagerImpl
     public Stream<OWLOntology> importsClosure(@Nonnull OWLOntology ontology) {
         readLock.lock();
         try {
-            Set<OWLOntology> res = new HashSet<>();
-            collectImportsClosure(ontology, res);
-            return res.stream();
+            return getImportsClosure(ontology).closure().stream();
         } finally {
             readLock.unlock();
         }
     }
 
     /**
-     * @param ontology {@link OWLOntology}
-     * @param res      Set {@link OWLOntology}
+     * Returns the materialized imports closure of the given ontology.
+     * The closure is computed once and then reused until something that may affect it is changed:
+     * an ontology is added or removed, an ontology id is changed, an import declaration is added or removed.
+     * Changes made directly in the graph bypassing the manager are caught by the {@link ContentListener}.
+     * No lock.
+     *
+     * @param ontology {@link OWLOntology}, not {@code null}
+     * @return {@link ImportsClosure}
+     * @throws UnknownOWLOntologyException if the ontology does not belong to this manager
+     */
+    public ImportsClosure getImportsClosure(@Nonnull OWLOntology ontology) {
+        if (!contains(ontology)) {
+            throw new UnknownOWLOntologyException(ontology.getOntologyID());
+        }
+        long version = importsVersion.get();
+        ImportsClosure res = importsClosures.get(ontology);
+        if (res != null && res.version == version) {
+            return res;
+        }
+        res = ImportsClosure.create(ontology, this::getImportedOntology, version);
+        if (version == importsVersion.get()) {
+            importsClosures.put(ontology, res);
+        }
+        return res;
+    }
+
+    /**
+     * Invalidates all materialized imports closures.
+     * No lock.
      */
-    protected void collectImportsClosure(OWLOntology ontology, Set<OWLOntology> res) {
-        res.add(ontology);
-        directImports(ontology).filter(o -> !res.contains(o)).forEach(o -> collectImportsClosure(o, res));
+    protected void resetImportsClosures() {
+        importsVersion.incrementAndGet();
+        importsClosures.clear();
     }
 
     /**
@@ -1392,16 +1526,26 @@ public class OntologyManagerImpl
             throw new ImmutableOWLOntologyChangeException(change.getChangeData(), owl.toString());
         }
 
+        OntInfo info = null;
         if (change instanceof SetOntologyID) {
             OWLOntologyID newId = ((SetOntologyID) change).getNewOntologyID();
             Optional<Ontology> existing = content.get(newId).map(OntInfo::get);
             if (existing.isPresent() && !ont.equals(existing.get())) {
                 throw new OWLOntologyRenameException(change.getChangeData(), newId);
             }
+            OWLOntologyID oldId = ont.getOntologyID();
+            info = content.get(oldId).orElseThrow(() -> new UnknownOWLOntologyException(oldId));
         }
         Collection<OWLOntologyChange> relatedChanges = collectRelatedChanges(change);
         ChangeApplied res = ont.applyDirectChange(change);
         relatedChanges.forEach(ont::applyDirectChange);
+        if (info != null) {
+            // refresh the key-id in the collection, so that subsequent lookups would not require a full scan
+            content.add(info);
+        }
+        if (info != null || change.isImportChange()) {
+            resetImportsClosures();
+        }
         return res;
     }
 
@@ -1520,6 +1664,48 @@ public class OntologyManagerImpl
         }
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * @param source {@link Ontology}
+     * @return {@link Ontology}
+     */
+    @Override
+    public Ontology overlayOntology(@Nonnull Ontology source) {
+        writeLock.lock();
+        try {
+            OntApiException.notNull(source, "Null source ontology.");
+            Graph overlay = new OverlayGraph(source.asGraphModel().getBaseGraph());
+            // no transformations, no import processing: the source is expected to be already prepared
+            Ontology res = addOntology(overlay,
+                    getOntologyLoaderConfiguration().setPerformTransformation(false).setProcessImports(false));
+            syncImports();
+            return res;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param ontology {@link OWLOntology}
+     * @return boolean
+     */
+    @Override
+    public boolean materializeOntology(@Nonnull OWLOntology ontology) {
+        writeLock.lock();
+        try {
+            if (!hasOntology(ontology)) {
+                throw new UnknownOWLOntologyException(ontology.getOntologyID());
+            }
+            Graph base = getAdapter().asONT(ontology).asGraphModel().getBaseGraph();
+            return base instanceof OverlayGraph && ((OverlayGraph) base).materialize();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
     /**
      * @param source {@link IRI}
      * @return {@link Ontology}
@@ -1794,13 +1980,43 @@ public class OntologyManagerImpl
             return;
         }
         Graph graph = getBaseGraphWithPrefixes(ont, doc);
-        OntGraphUtils.writeGraph(graph, format.getLang(), target);
+        boolean streaming = content.get(ont.getOntologyID()).map(OntInfo::getModelConfig)
+                .map(ModelConfig::getWriterConfig)
+                .map(OntWriterConfiguration::isUseStreamingWriter)
+                .orElseGet(() -> getOntologyWriterConfiguration().isUseStreamingWriter());
+        OntGraphUtils.writeGraph(graph, format.getLang(), target, streaming);
     }
 
+    /**
+     * Writes the ontology using the OWL-API {@link OWLStorer}s.
+     * If the target is an IRI with a compression extension (e.g. {@code .owx.gz}),
+     * the storer receives a compressing stream, see {@link DocumentCompression#fromName(String)}.
+     *
+     * @param ont    {@link Ontology}
+     * @param doc    {@link OWLDocumentFormat} format
+     * @param target {@link OWLOntologyDocumentTarget}
+     * @throws OWLOntologyStorageException if the ontology could not be saved
+     */
     protected void writeUsingOWLStore(Ontology ont,
                                       OWLDocumentFormat doc,
                                       OWLOntologyDocumentTarget target) throws OWLOntologyStorageException {
         getAdapter().asBaseModel(ont).getGraphModel().clearCacheIfNeeded();
+        IRI iri = target.getOutputStream().isPresent() || target.getWriter().isPresent() ?
+                null : target.getDocumentIRI().orElse(null);
+        if (iri == null || DocumentCompression.fromName(iri.getIRIString()) == DocumentCompression.NONE) {
+            storeUsingOWLStore(ont, doc, target);
+            return;
+        }
+        try (OutputStream out = OntGraphUtils.openOutputStream(iri)) {
+            storeUsingOWLStore(ont, doc, new StreamDocumentTarget(out));
+        } catch (IOException e) {
+            throw new OWLOntologyStorageIOException(e);
+        }
+    }
+
+    private void storeUsingOWLStore(Ontology ont,
+                                    OWLDocumentFormat doc,
+                                    OWLOntologyDocumentTarget target) throws OWLOntologyStorageException {
         try {
             for (OWLStorerFactory storer : getOntologyStorers()) {
                 OWLStorer writer = storer.createStorer();
@@ -1846,6 +2062,10 @@ public class OntologyManagerImpl
     private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
         in.defaultReadObject();
         this.iris = createIRICache();
+        this.contentCache = createContentCache();
+        this.importsClosures = new ConcurrentHashMap<>();
+        this.importsVersion = new AtomicLong();
+        this.contentListener = new ContentListener();
         this.content.values().forEach(info -> {
             ModelConfig conf = info.getModelConfig();
             OntBaseModel bm = getAdapter().asBaseModel(info.get());
@@ -1872,6 +2092,7 @@ public class OntologyManagerImpl
             InternalGraphModel internalModel = OntBaseModel.createInternalGraphModel(union, conf.getSpecification(), conf,
                     getOWLDataFactory(), conf.getManagerCaches());
             bm.setGraphModel(internalModel);
+            info.getBaseGraph().getEventManager().register(contentListener);
         });
     }
 
@@ -2146,6 +2367,137 @@ public class OntologyManagerImpl
         }
     }
 
+    /**
+     * A {@link org.apache.jena.graph.GraphListener Graph Listener},
+     * that is registered on the base graph of each ontology in the manager
+     * to catch ontology id and import changes made directly in the graph, bypassing the manager:
+     * both id and import changes invalidate the materialized imports closures.
+     */
+    public class ContentListener extends GraphListenerBase {
+
+        @Override
+        protected void addTripleEvent(Graph g, Triple t) {
+            onChange(t);
+        }
+
+        @Override
+        protected void deleteTripleEvent(Graph g, Triple t) {
+            onChange(t);
+        }
+
+        @Override
+        public void notifyAddGraph(Graph g, Graph other) {
+            resetImportsClosures();
+        }
+
+        @Override
+        public void notifyDeleteGraph(Graph g, Graph other) {
+            resetImportsClosures();
+        }
+
+        protected void onChange(Triple t) {
+            Node p = t.getPredicate();
+            if (OWL.imports.asNode().equals(p) || OWL.versionIRI.asNode().equals(p)
+                    || RDF.type.asNode().equals(p) && OWL.Ontology.asNode().equals(t.getObject())) {
+                resetImportsClosures();
+            }
+        }
+    }
+
+    /**
+     * A materialized imports closure of some ontology.
+     * The closure is topologically sorted: the ontology itself goes first,
+     * and every ontology precedes the ontologies it imports (in case of cyclic imports the order is arbitrary).
+     * The closure is valid while the manager's imports version is not changed.
+     *
+     * @see #getImportsClosure(OWLOntology)
+     */
+    public static class ImportsClosure {
+        protected final List<OWLOntology> closure;
+        protected final List<OWLOntology> imports;
+        protected final long version;
+
+        protected ImportsClosure(List<OWLOntology> closure, List<OWLOntology> imports, long version) {
+            this.closure = closure;
+            this.imports = imports;
+            this.version = version;
+        }
+
+        /**
+         * Builds the closure using the depth-first search,
+         * the order is reversed post-order, which is a topological order for an acyclic imports graph.
+         * The search is iterative to be safe for long chains of imports.
+         *
+         * @param root     {@link OWLOntology}, not {@code null}
+         * @param resolver a {@code Function} to find an ontology by import declaration, can return {@code null}
+         * @param version  {@code long}
+         * @return {@link ImportsClosure}
+         */
+        protected static ImportsClosure create(OWLOntology root,
+                                               Function<OWLImportsDeclaration, ? extends OWLOntology> resolver,
+                                               long version) {
+            Set<OWLOntology> seen = new HashSet<>();
+            List<OWLOntology> order = new ArrayList<>();
+            Deque<Iterator<OWLOntology>> stack = new ArrayDeque<>();
+            Deque<OWLOntology> path = new ArrayDeque<>();
+            boolean cyclic = false;
+            seen.add(root);
+            stack.push(directImports(root, resolver));
+            path.push(root);
+            while (!stack.isEmpty()) {
+                Iterator<OWLOntology> it = stack.peek();
+                if (!it.hasNext()) {
+                    stack.pop();
+                    order.add(path.pop());
+                    continue;
+                }
+                OWLOntology next = it.next();
+                if (next.equals(root)) {
+                    cyclic = true;
+                }
+                if (!seen.add(next)) {
+                    continue;
+                }
+                stack.push(directImports(next, resolver));
+                path.push(next);
+            }
+            Collections.reverse(order);
+            List<OWLOntology> closure = Collections.unmodifiableList(order);
+            return new ImportsClosure(closure, cyclic ? closure : closure.subList(1, closure.size()), version);
+        }
+
+        private static Iterator<OWLOntology> directImports(OWLOntology ont,
+                                                           Function<OWLImportsDeclaration, ? extends OWLOntology> resolver) {
+            List<OWLOntology> res = new ArrayList<>();
+            ont.importsDeclarations().sorted().forEach(d -> {
+                OWLOntology o = resolver.apply(d);
+                if (o != null) {
+                    res.add(o);
+                }
+            });
+            return res.iterator();
+        }
+
+        /**
+         * Returns the topologically sorted imports closure, the first element is the ontology itself.
+         *
+         * @return unmodifiable {@code List} of {@link OWLOntology}
+         */
+        public List<OWLOntology> closure() {
+            return closure;
+        }
+
+        /**
+         * Returns all (direct and indirect) imports of the ontology, in topological order.
+         * The ontology itself is included only if it imports itself through some chain of imports.
+         *
+         * @return unmodifiable {@code List} of {@link OWLOntology}
+         */
+        public List<OWLOntology> imports() {
+            return imports;
+        }
+    }
+
     /**
      * An internal container-wrapper for {@link Ontology}.
      * This class is designed to provide better synchronization of various parts of
@@ -2177,6 +2529,10 @@ public class OntologyManagerImpl
             return ont;
         }
 
+        public Graph getBaseGraph() {
+            return getAdapter().asBaseModel(ont).getGraphModel().getBaseGraph();
+        }
+
         public OntInfo addFormat(OWLDocumentFormat format) {
             this.format = Objects.requireNonNull(format);
             return this;
@@ -2184,11 +2540,13 @@ public class OntologyManagerImpl
 
         public OntInfo addDocumentIRI(IRI iri) {
             this.documentIRI = Objects.requireNonNull(iri);
+            resetImportsClosures();
             return this;
         }
 
         public OntInfo addImportDeclaration(IRI declaration) {
             this.declarationIRI = Objects.requireNonNull(declaration);
+            resetImportsClosures();
             return this;
         }
 
@@ -14,6 +14,7 @@
 
 package com.github.owlcs.ontapi;
 
+import com.github.owlcs.ontapi.internal.HierarchyIndex;
 import com.github.owlcs.ontapi.internal.InternalGraphModel;
 import com.github.sszuev.jena.ontapi.UnionGraph;
 import com.github.sszuev.jena.ontapi.common.OntPersonality;
@@ -22,13 +23,20 @@ import com.github.sszuev.jena.ontapi.model.OntModel;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import org.apache.jena.graph.Graph;
+import org.apache.jena.graph.Node;
+import org.apache.jena.graph.NodeFactory;
 import org.semanticweb.owlapi.model.AddAxiom;
 import org.semanticweb.owlapi.model.AddImport;
 import org.semanticweb.owlapi.model.AddOntologyAnnotation;
+import org.semanticweb.owlapi.model.AxiomType;
+import org.semanticweb.owlapi.model.EntityType;
+import org.semanticweb.owlapi.model.IRI;
 import org.semanticweb.owlapi.model.OWLAnnotation;
 import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLEntity;
 import org.semanticweb.owlapi.model.OWLImportsDeclaration;
 import org.semanticweb.owlapi.model.OWLMutableOntology;
+import org.semanticweb.owlapi.model.OWLOntology;
 import org.semanticweb.owlapi.model.OWLOntologyChange;
 import org.semanticweb.owlapi.model.OWLOntologyChangeVisitorEx;
 import org.semanticweb.owlapi.model.OWLOntologyID;
@@ -37,12 +45,20 @@ import org.semanticweb.owlapi.model.RemoveImport;
 import org.semanticweb.owlapi.model.RemoveOntologyAnnotation;
 import org.semanticweb.owlapi.model.SetOntologyID;
 import org.semanticweb.owlapi.model.parameters.ChangeApplied;
+import org.semanticweb.owlapi.model.parameters.Imports;
 
 import java.io.Serializable;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 /**
@@ -91,6 +107,92 @@ public class OntologyModelImpl extends OntBaseModelImpl implements Ontology, OWL
         getGraphModel().clearCache();
     }
 
+    @Override
+    public <A extends OWLAxiom> AxiomsPage<A> axioms(AxiomType<A> type, String token, int limit) {
+        return getGraphModel().listOWLAxioms(type, token, limit);
+    }
+
+    @Override
+    public long renameIRIs(Map<IRI, IRI> mapping, Imports imports) {
+        Map<Node, Node> nodes = new HashMap<>();
+        Objects.requireNonNull(mapping, "Null mapping").forEach((k, v) -> {
+            if (!k.equals(v)) {
+                nodes.put(NodeFactory.createURI(k.getIRIString()), NodeFactory.createURI(v.getIRIString()));
+            }
+        });
+        if (nodes.isEmpty()) {
+            return 0;
+        }
+        Stream<OWLOntology> ontologies = Objects.requireNonNull(imports, "Null imports") == Imports.INCLUDED ?
+                importsClosure() : Stream.of(this);
+        List<InternalGraphModel> models = ontologies.filter(OntBaseModel.class::isInstance)
+                .map(x -> ((OntBaseModel) x).getGraphModel())
+                .collect(Collectors.toList());
+        models.forEach(m -> Stream.concat(Stream.of(m.getOntologyID().getOntologyIRI(), m.getOntologyID().getVersionIRI())
+                                .flatMap(Optional::stream),
+                        m.listOWLImportDeclarations().map(OWLImportsDeclaration::getIRI))
+                .filter(mapping::containsKey)
+                .findFirst()
+                .ifPresent(x -> {
+                    throw new OntApiException.IllegalArgument("Can't rename the ontology IRI " + x);
+                }));
+        return models.stream().mapToLong(m -> m.renameNodes(nodes)).sum();
+    }
+
+    @Override
+    public Stream<IRI> findIRIsByLabel(String text, boolean substring, Collection<IRI> properties, Imports imports) {
+        Objects.requireNonNull(text, "Null text");
+        Set<IRI> keys = Set.copyOf(Objects.requireNonNull(properties, "Null properties"));
+        Stream<OWLOntology> ontologies = Objects.requireNonNull(imports, "Null imports") == Imports.INCLUDED ?
+                importsClosure() : Stream.of(this);
+        return ontologies.filter(OntBaseModel.class::isInstance)
+                .map(x -> ((OntBaseModel) x).getGraphModel())
+                .flatMap(m -> m.getLabelIndex(keys).find(text, substring))
+                .distinct();
+    }
+
+    @Override
+    public <E extends OWLEntity> OntHierarchy<E> toldHierarchy(EntityType<E> type) {
+        if (HierarchyIndex.getAxiomType(Objects.requireNonNull(type, "Null entity type")) == null) {
+            throw new OntApiException.Unsupported("No told hierarchy for " + type);
+        }
+        return new OntHierarchy<>() {
+            private HierarchyIndex<E> index() {
+                return getGraphModel().getHierarchyIndex(type);
+            }
+
+            @Override
+            public Stream<E> parents(E entity) {
+                return index().parents(entity).collect(Collectors.toList()).stream();
+            }
+
+            @Override
+            public Stream<E> children(E entity) {
+                return index().children(entity).collect(Collectors.toList()).stream();
+            }
+
+            @Override
+            public Stream<E> ancestors(E entity) {
+                return index().ancestors(entity).collect(Collectors.toList()).stream();
+            }
+
+            @Override
+            public Stream<E> descendants(E entity) {
+                return index().descendants(entity).collect(Collectors.toList()).stream();
+            }
+
+            @Override
+            public Stream<E> roots() {
+                return index().roots().collect(Collectors.toList()).stream();
+            }
+
+            @Override
+            public int depth(E entity) {
+                return index().depth(entity);
+            }
+        };
+    }
+
     /**
      * Returns the jena model shadow.
      *
@@ -302,6 +404,82 @@ public class OntologyModelImpl extends OntBaseModelImpl implements Ontology, OWL
             }
         }
 
+        @Override
+        public <A extends OWLAxiom> AxiomsPage<A> axioms(AxiomType<A> type, String token, int limit) {
+            lock.readLock().lock();
+            try {
+                return delegate().axioms(type, token, limit);
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        @Override
+        public long renameIRIs(Map<IRI, IRI> mapping, Imports imports) {
+            lock.writeLock().lock();
+            try {
+                return delegate().renameIRIs(mapping, imports);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        @Override
+        public Stream<IRI> findIRIsByLabel(String text, boolean substring, Collection<IRI> properties, Imports imports) {
+            lock.readLock().lock();
+            try {
+                return delegate().findIRIsByLabel(text, substring, properties, imports)
+                        .collect(Collectors.toList()).stream();
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        @Override
+        public <E extends OWLEntity> OntHierarchy<E> toldHierarchy(EntityType<E> type) {
+            OntHierarchy<E> res = delegate().toldHierarchy(type);
+            return new OntHierarchy<>() {
+                @Override
+                public Stream<E> parents(E entity) {
+                    return read(() -> res.parents(entity));
+                }
+
+                @Override
+                public Stream<E> children(E entity) {
+                    return read(() -> res.children(entity));
+                }
+
+                @Override
+                public Stream<E> ancestors(E entity) {
+                    return read(() -> res.ancestors(entity));
+                }
+
+                @Override
+                public Stream<E> descendants(E entity) {
+                    return read(() -> res.descendants(entity));
+                }
+
+                @Override
+                public Stream<E> roots() {
+                    return read(res::roots);
+                }
+
+                @Override
+                public int depth(E entity) {
+                    return read(() -> res.depth(entity));
+                }
+            };
+        }
+
+        private <X> X read(Supplier<X> action) {
+            lock.readLock().lock();
+            try {
+                return action.get();
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
         @Override
         public OntologyManager getOWLOntologyManager() {
             return (OntologyManager) super.getOWLOntologyManager();
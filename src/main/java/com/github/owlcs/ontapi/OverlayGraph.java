@@ -0,0 +1,257 @@
+/*
+ * This file is part of the ONT API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright (c) 2023, owl.cs group.
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package com.github.owlcs.ontapi;
+
+import com.github.sszuev.jena.ontapi.OntModelFactory;
+import com.github.sszuev.jena.ontapi.impl.GraphListenerBase;
+import org.apache.jena.graph.Graph;
+import org.apache.jena.graph.GraphEvents;
+import org.apache.jena.graph.Triple;
+import org.apache.jena.graph.impl.GraphBase;
+import org.apache.jena.shared.PrefixMapping;
+import org.apache.jena.shared.impl.PrefixMappingImpl;
+import org.apache.jena.util.iterator.ExtendedIterator;
+
+import java.util.Objects;
+
+/**
+ * A copy-on-write {@link Graph} that is layered over some other (source) graph.
+ * All modifications are recorded in two small in-memory delta graphs - additions and deletions (tombstones),
+ * the source graph itself is never modified.
+ * So creating an overlay is {@code O(1)} both in time and memory,
+ * the price is an additional lookup into the delta graphs while reading.
+ * <p>
+ * Note: the source graph must not be changed while the overlay is attached to it,
+ * since the delta graphs are computed against the source state.
+ * The overlay registers a listener on the source graph, and once the source is changed,
+ * the overlay becomes stale: any subsequent access (including {@link #materialize()})
+ * fails with {@link OntApiException.IllegalState}.
+ * The listener holds only a flag, not the overlay itself;
+ * it is unregistered on {@link #materialize() materialization} or {@link #close() closing}.
+ * To detach the overlay from its source, use the method {@link #materialize()}:
+ * it copies the whole content into the additions graph, after that the source graph is no longer needed.
+ * <p>
+ * Invariants: additions and the source graph are disjoint, deletions is a subset of the source graph.
+ *
+ * @see OntologyManager#overlayOntology(Ontology)
+ * @since 3.5.0
+ */
+@SuppressWarnings("WeakerAccess")
+public class OverlayGraph extends GraphBase {
+    protected final Graph additions;
+    protected final Graph deletions;
+    protected final SourceWatcher watcher = new SourceWatcher();
+    protected volatile Graph source;
+
+    /**
+     * Creates an overlay with default in-memory delta graphs.
+     *
+     * @param source {@link Graph} to overlay, not {@code null}
+     */
+    public OverlayGraph(Graph source) {
+        this(source, OntModelFactory.createDefaultGraph(), OntModelFactory.createDefaultGraph());
+    }
+
+    /**
+     * Creates an overlay with the given delta graphs.
+     *
+     * @param source    {@link Graph} to overlay, not {@code null}
+     * @param additions {@link Graph} to store added triples, must be empty, not {@code null}
+     * @param deletions {@link Graph} to store removed triples, must be empty, not {@code null}
+     */
+    protected OverlayGraph(Graph source, Graph additions, Graph deletions) {
+        this.source = Objects.requireNonNull(source, "Null source graph");
+        this.additions = Objects.requireNonNull(additions, "Null additions graph");
+        this.deletions = Objects.requireNonNull(deletions, "Null deletions graph");
+        source.getEventManager().register(watcher);
+    }
+
+    /**
+     * Returns the overlaid graph.
+     *
+     * @return {@link Graph}, it is an empty graph if this overlay is {@link #isMaterialized() materialized}
+     */
+    public Graph getSource() {
+        return source;
+    }
+
+    /**
+     * Returns the graph that holds triples which are present in this overlay but absent in the source.
+     *
+     * @return {@link Graph}
+     */
+    public Graph getAdditions() {
+        return additions;
+    }
+
+    /**
+     * Returns the graph that holds triples which are present in the source but hidden by this overlay.
+     *
+     * @return {@link Graph}
+     */
+    public Graph getDeletions() {
+        return deletions;
+    }
+
+    /**
+     * Answers {@code true} if this overlay is detached from its source graph.
+     *
+     * @return boolean
+     */
+    public boolean isMaterialized() {
+        return source == Graph.emptyGraph;
+    }
+
+    /**
+     * Answers {@code true} if the source graph has been changed while this overlay was attached to it.
+     * A stale overlay cannot be used anymore.
+     *
+     * @return boolean
+     */
+    public boolean isStale() {
+        return watcher.changed;
+    }
+
+    /**
+     * Copies all visible data into the additions graph and detaches this overlay from the source.
+     * After this operation, the overlay is an ordinary graph whose content does not depend on the source anymore.
+     * Note: no graph events are fired, since the visible content does not change.
+     *
+     * @return {@code false} if the overlay has already been materialized
+     * @throws OntApiException.IllegalState if the source has been changed before or during copying
+     */
+    public boolean materialize() {
+        Graph src = source;
+        if (src == Graph.emptyGraph) {
+            return false;
+        }
+        checkSource();
+        src.find().filterDrop(deletions::contains).forEachRemaining(additions::add);
+        // the source could be changed while copying, then the copy is inconsistent, and the overlay remains stale:
+        checkSource();
+        deletions.clear();
+        source = Graph.emptyGraph;
+        src.getEventManager().unregister(watcher);
+        return true;
+    }
+
+    /**
+     * Ensures that the source graph has not been changed since this overlay was created.
+     *
+     * @throws OntApiException.IllegalState if the overlay is stale
+     */
+    protected void checkSource() {
+        if (watcher.changed) {
+            throw new OntApiException.IllegalState("The source graph of the overlay has been changed");
+        }
+    }
+
+    @Override
+    public void performAdd(Triple t) {
+        checkSource();
+        if (source.contains(t)) {
+            deletions.delete(t);
+        } else {
+            additions.add(t);
+        }
+    }
+
+    @Override
+    public void performDelete(Triple t) {
+        checkSource();
+        additions.delete(t);
+        if (source.contains(t)) {
+            deletions.add(t);
+        }
+    }
+
+    @Override
+    protected ExtendedIterator<Triple> graphBaseFind(Triple t) {
+        Graph src = source;
+        if (src == Graph.emptyGraph) {
+            return additions.find(t);
+        }
+        checkSource();
+        ExtendedIterator<Triple> res = src.find(t);
+        if (!deletions.isEmpty()) {
+            res = res.filterDrop(deletions::contains);
+        }
+        return res.andThen(additions.find(t));
+    }
+
+    @Override
+    protected boolean graphBaseContains(Triple t) {
+        if (!t.isConcrete()) {
+            return super.graphBaseContains(t);
+        }
+        checkSource();
+        return additions.contains(t) || source.contains(t) && !deletions.contains(t);
+    }
+
+    @Override
+    protected int graphBaseSize() {
+        checkSource();
+        return source.size() - deletions.size() + additions.size();
+    }
+
+    @Override
+    protected PrefixMapping createPrefixMapping() {
+        return new PrefixMappingImpl().setNsPrefixes(source.getPrefixMapping());
+    }
+
+    @Override
+    public void close() {
+        source.getEventManager().unregister(watcher);
+        additions.close();
+        deletions.close();
+        super.close();
+    }
+
+    /**
+     * A listener to detect changes in the source graph.
+     * It is static and holds only the flag, so a forgotten registration does not retain the overlay.
+     */
+    protected static class SourceWatcher extends GraphListenerBase {
+        protected volatile boolean changed;
+
+        @Override
+        protected void addTripleEvent(Graph g, Triple t) {
+            changed = true;
+        }
+
+        @Override
+        protected void deleteTripleEvent(Graph g, Triple t) {
+            changed = true;
+        }
+
+        @Override
+        public void notifyAddGraph(Graph g, Graph other) {
+            changed = true;
+        }
+
+        @Override
+        public void notifyDeleteGraph(Graph g, Graph other) {
+            changed = true;
+        }
+
+        @Override
+        public void notifyEvent(Graph source, Object event) {
+            // e.g. GraphEvents.removeAll on clear()
+            if (event instanceof GraphEvents) {
+                changed = true;
+            }
+        }
+    }
+}
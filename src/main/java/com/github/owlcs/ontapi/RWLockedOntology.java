@@ -102,7 +102,9 @@ import java.util.Collection;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.function.Supplier;
@@ -286,6 +288,10 @@ public abstract class RWLockedOntology implements OWLMutableOntology {
      * @return long
      */
     protected long withImportsToLong(Imports imports, ToLongFunction<OWLOntology> map) {
+        List<OWLOntology> closure = parallelImportsClosure(imports);
+        if (closure != null) {
+            return closure.parallelStream().mapToLong(map).sum();
+        }
         return withReadLockToObject(() -> {
             if (Imports.EXCLUDED.equals(imports)) {
                 return map.applyAsLong(RWLockedOntology.this);
@@ -294,15 +300,73 @@ public abstract class RWLockedOntology implements OWLMutableOntology {
         });
     }
 
+    /**
+     * Performs the given {@code map} operation, that returns {@code Stream},
+     * on this ontology and all its {@link #imports() imports} and returns the distinct results.
+     * It is intended for set-like queries (e.g. signature), where the same item can appear in several ontologies.
+     * For a {@link #isConcurrent() concurrent} ontology with a non-trivial imports closure
+     * the members are queried in parallel and the results are merged into a concurrent set.
+     *
+     * @param imports {@link Imports}
+     * @param map     {@link Function}
+     * @param <X>     anything
+     * @return {@code Stream} of {@link X}
+     * @see #parallelImportsClosure(Imports)
+     */
+    protected <X> Stream<X> withImportsToDistinctStream(Imports imports, Function<OWLOntology, Stream<X>> map) {
+        List<OWLOntology> closure = parallelImportsClosure(imports);
+        if (closure == null) {
+            Stream<X> res = withImportsToStream(imports, map);
+            return Imports.EXCLUDED.equals(imports) ? res : res.distinct();
+        }
+        Set<X> res = ConcurrentHashMap.newKeySet();
+        closure.parallelStream().forEach(o -> {
+            try (Stream<X> items = map.apply(o)) {
+                items.forEach(res::add);
+            }
+        });
+        return res.stream();
+    }
+
+    /**
+     * Returns the imports closure if it is worth to query its members in parallel, otherwise {@code null}.
+     * Parallel processing is allowed only for a {@link #isConcurrent() concurrent} ontology,
+     * whose closure contains more than one member,
+     * and only if the current thread does not hold the lock:
+     * worker threads acquire the read lock by themselves, so holding it here
+     * could lead to a deadlock with a waiting writer.
+     * Note that, in this case, each member is queried in its own read-locked section,
+     * so the result is consistent per ontology, but not for the whole closure.
+     *
+     * @param imports {@link Imports}
+     * @return {@code List} of {@link OWLOntology} or {@code null}
+     */
+    protected List<OWLOntology> parallelImportsClosure(Imports imports) {
+        if (Imports.EXCLUDED.equals(imports) || !isConcurrent() || !(lock instanceof ReentrantReadWriteLock)) {
+            return null;
+        }
+        ReentrantReadWriteLock rw = (ReentrantReadWriteLock) lock;
+        if (rw.getReadHoldCount() != 0 || rw.isWriteLockedByCurrentThread()) {
+            return null;
+        }
+        List<OWLOntology> res = withReadLockToObject(() -> toList(importsClosure()));
+        return res.size() > 1 ? res : null;
+    }
+
     /**
      * Performs the given {@code test} operation on this ontology and all its {@link #imports() imports}
      * in the dedicated read-locked section.
+     * For a concurrent ontology the members can be tested in parallel, the search stops at the first match.
      *
      * @param imports {@link Imports}
      * @param test    {@link Predicate}
      * @return boolean
      */
     protected boolean withImportsToBoolean(Imports imports, Predicate<OWLOntology> test) {
+        List<OWLOntology> closure = parallelImportsClosure(imports);
+        if (closure != null) {
+            return closure.parallelStream().anyMatch(test);
+        }
         return withReadLockToObject(() -> {
             if (Imports.EXCLUDED.equals(imports)) {
                 return test.test(RWLockedOntology.this);
@@ -387,47 +451,47 @@ public abstract class RWLockedOntology implements OWLMutableOntology {
 
     @Override
     public Stream<OWLEntity> signature(Imports imports) {
-        return withImportsToStream(imports, HasSignature::signature);
+        return withImportsToDistinctStream(imports, HasSignature::signature);
     }
 
     @Override
     public Stream<OWLClass> classesInSignature(Imports imports) {
-        return withImportsToStream(imports, HasClassesInSignature::classesInSignature);
+        return withImportsToDistinctStream(imports, HasClassesInSignature::classesInSignature);
     }
 
     @Override
     public Stream<OWLDatatype> datatypesInSignature(Imports imports) {
-        return withImportsToStream(imports, HasDatatypesInSignature::datatypesInSignature);
+        return withImportsToDistinctStream(imports, HasDatatypesInSignature::datatypesInSignature);
     }
 
     @Override
     public Stream<OWLNamedIndividual> individualsInSignature(Imports imports) {
-        return withImportsToStream(imports, HasIndividualsInSignature::individualsInSignature);
+        return withImportsToDistinctStream(imports, HasIndividualsInSignature::individualsInSignature);
     }
 
     @Override
     public Stream<OWLObjectProperty> objectPropertiesInSignature(Imports imports) {
-        return withImportsToStream(imports, HasObjectPropertiesInSignature::objectPropertiesInSignature);
+        return withImportsToDistinctStream(imports, HasObjectPropertiesInSignature::objectPropertiesInSignature);
     }
 
     @Override
     public Stream<OWLDataProperty> dataPropertiesInSignature(Imports imports) {
-        return withImportsToStream(imports, HasDataPropertiesInSignature::dataPropertiesInSignature);
+        return withImportsToDistinctStream(imports, HasDataPropertiesInSignature::dataPropertiesInSignature);
     }
 
     @Override
     public Stream<OWLAnnotationProperty> annotationPropertiesInSignature(Imports imports) {
-        return withImportsToStream(imports, HasAnnotationPropertiesInSignature::annotationPropertiesInSignature);
+        return withImportsToDistinctStream(imports, HasAnnotationPropertiesInSignature::annotationPropertiesInSignature);
     }
 
     @Override
     public Stream<OWLAnonymousIndividual> referencedAnonymousIndividuals(Imports imports) {
-        return withImportsToStream(imports, OWLSignature::referencedAnonymousIndividuals);
+        return withImportsToDistinctStream(imports, OWLSignature::referencedAnonymousIndividuals);
     }
 
     @Override
     public Stream<OWLEntity> entitiesInSignature(IRI iri, Imports imports) {
-        return withImportsToStream(imports, x -> x.entitiesInSignature(iri));
+        return withImportsToDistinctStream(imports, x -> x.entitiesInSignature(iri));
     }
 
     @Override
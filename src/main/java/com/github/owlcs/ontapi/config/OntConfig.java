@@ -59,6 +59,7 @@ import java.util.stream.Stream;
  * Additional (new) ONT-API methods:
  * <ul>
  * <li>{@link #getManagerIRIsCacheSize()} (<b>since 1.4.0</b>)</li>
+ * <li>{@link #getManagerContentCacheBudget()} (<b>since 3.5.0</b>)</li>
  * <li>{@link #getLoadNodesCacheSize()} and {@link #setLoadNodesCacheSize(int)} (<b>since 1.4.0</b>)</li>
  * <li>{@link #getLoadObjectsCacheSize()} and {@link #setLoadObjectsCacheSize(int)} (<b>since 1.4.0</b>)</li>
  * <li>{@link #setModelCacheLevel(int, boolean)} (<b>since 1.4.2</b>), {@link #setModelCacheLevel(int)} (<b>since 1.4.0</b>)</li>
@@ -74,6 +75,8 @@ import java.util.stream.Stream;
  * <li>{@link #isIgnoreAnnotationAxiomOverlaps()} and {@link #setIgnoreAnnotationAxiomOverlaps(boolean)}</li>
  * <li>{@link #isUseOWLParsersToLoad()} and {@link #setUseOWLParsersToLoad(boolean)}</li>
  * <li>{@link #isControlImports()} and {@link #setControlImports(boolean)} </li>
+ * <li>{@link #isReuseAnonymousExpressions()} and {@link #setReuseAnonymousExpressions(boolean)} (<b>since 3.5.0</b>)</li>
+ * <li>{@link #isUseStreamingWriter()} and {@link #setUseStreamingWriter(boolean)} (<b>since 3.5.0</b>)</li>
  * <li>{@link #isIgnoreAxiomsReadErrors()} and {@link #setIgnoreAxiomsReadErrors(boolean)} (<b>since 1.1.0</b>)</li>
  * <li>{@link #isSplitAxiomAnnotations()} and {@link #setSplitAxiomAnnotations(boolean)} (<b>since 1.3.0</b>)</li>
  * </ul>
@@ -395,6 +398,39 @@ public class OntConfig extends OntologyConfigurator
         return put(OntSettings.ONT_API_MANAGER_CACHE_IRIS, size);
     }
 
+    /**
+     * An ONT-API manager's load config getter.
+     * Returns the memory budget for the content caches of all ontologies that belong to a manager.
+     * The budget is measured in cached objects (axioms, annotations and components):
+     * the weight of each cache bucket is the number of objects it holds.
+     * If the total weight exceeds the budget, the least used buckets are evicted first,
+     * independently of which ontology they belong to.
+     * A negative or zero number (the default) means that there is no budget,
+     * and each bucket is held by a {@link java.lang.ref.SoftReference soft reference},
+     * so it can be collected by GC under memory pressure.
+     *
+     * @return int, possible non-positive number to disable the budget
+     * @see OntSettings#ONT_API_MANAGER_CACHE_CONTENT
+     * @since 3.5.0
+     */
+    public int getManagerContentCacheBudget() {
+        return get(OntSettings.ONT_API_MANAGER_CACHE_CONTENT);
+    }
+
+    /**
+     * An ONT-API manager's load config setter.
+     * Sets a new memory budget for the content caches.
+     * Protected, since this is a manager's initialization setting,
+     * that must not be changed during manager's lifetime.
+     *
+     * @param budget int, possible negative
+     * @return this instance
+     * @since 3.5.0
+     */
+    protected OntConfig setManagerContentCacheBudget(int budget) {
+        return put(OntSettings.ONT_API_MANAGER_CACHE_CONTENT, budget);
+    }
+
     /**
      * An ONT-API manager's load config getter.
      * {@inheritDoc}
@@ -738,6 +774,54 @@ public class OntConfig extends OntologyConfigurator
         return put(OntSettings.ONT_API_WRITE_CONF_CONTROL_IMPORTS, b);
     }
 
+    /**
+     * An ONT-API manager's write config getter.
+     * By default 'ont.api.write.conf.reuse.anonymous.expressions' is disabled.
+     *
+     * @return {@code true} if 'ont.api.write.conf.reuse.anonymous.expressions' is enabled
+     * @see OntWriterConfiguration#isReuseAnonymousExpressions()
+     * @since 3.5.0
+     */
+    public boolean isReuseAnonymousExpressions() {
+        return get(OntSettings.ONT_API_WRITE_CONF_REUSE_ANONYMOUS_EXPRESSIONS);
+    }
+
+    /**
+     * An ONT-API manager's write config setter.
+     *
+     * @param b boolean to enable/disable this config parameter
+     * @return this instance
+     * @see OntWriterConfiguration#setReuseAnonymousExpressions(boolean)
+     * @since 3.5.0
+     */
+    public OntConfig setReuseAnonymousExpressions(boolean b) {
+        return put(OntSettings.ONT_API_WRITE_CONF_REUSE_ANONYMOUS_EXPRESSIONS, b);
+    }
+
+    /**
+     * An ONT-API manager's write config getter.
+     * By default 'ont.api.write.conf.use.streaming.writer' is disabled.
+     *
+     * @return {@code true} if 'ont.api.write.conf.use.streaming.writer' is enabled
+     * @see OntWriterConfiguration#isUseStreamingWriter()
+     * @since 3.5.0
+     */
+    public boolean isUseStreamingWriter() {
+        return get(OntSettings.ONT_API_WRITE_CONF_USE_STREAMING_WRITER);
+    }
+
+    /**
+     * An ONT-API manager's write config setter.
+     *
+     * @param b boolean to enable/disable this config parameter
+     * @return this instance
+     * @see OntWriterConfiguration#setUseStreamingWriter(boolean)
+     * @since 3.5.0
+     */
+    public OntConfig setUseStreamingWriter(boolean b) {
+        return put(OntSettings.ONT_API_WRITE_CONF_USE_STREAMING_WRITER, b);
+    }
+
     /**
      * The same as {@link #isLoadAnnotationAxioms()}
      *
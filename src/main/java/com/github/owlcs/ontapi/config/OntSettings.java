@@ -81,6 +81,7 @@ public enum OntSettings {
     ONT_API_LOAD_CONF_PROCESS_IMPORTS(true),
 
     ONT_API_MANAGER_CACHE_IRIS(2048),
+    ONT_API_MANAGER_CACHE_CONTENT(-1),
 
     OWL_API_LOAD_CONF_ACCEPT_HTTP_COMPRESSION(true),
     OWL_API_LOAD_CONF_CONNECTION_TIMEOUT(20_000),
@@ -98,6 +99,8 @@ public enum OntSettings {
     OWL_API_AUTHORIZATION_VALUE(""),
 
     ONT_API_WRITE_CONF_CONTROL_IMPORTS(false),
+    ONT_API_WRITE_CONF_REUSE_ANONYMOUS_EXPRESSIONS(false),
+    ONT_API_WRITE_CONF_USE_STREAMING_WRITER(false),
 
     OWL_API_WRITE_CONF_SAVE_IDS(false),
     OWL_API_WRITE_CONF_REMAP_IDS(true),
@@ -108,6 +108,64 @@ public class OntWriterConfiguration extends OWLOntologyWriterConfiguration {
         return set(OntSettings.ONT_API_WRITE_CONF_CONTROL_IMPORTS, b);
     }
 
+    /**
+     * ONT-API getter.
+     * By default it is {@code false}.
+     *
+     * @return true if anonymous expressions should be reused while writing axioms
+     * @see #setReuseAnonymousExpressions(boolean)
+     * @since 3.5.0
+     */
+    public boolean isReuseAnonymousExpressions() {
+        return get(OntSettings.ONT_API_WRITE_CONF_REUSE_ANONYMOUS_EXPRESSIONS);
+    }
+
+    /**
+     * ONT-API config setter to change the anonymous expressions writing mode.
+     * If it is true then a class expression or a data range, that is structurally equal
+     * to some anonymous expression already present in the base graph, is not written again,
+     * instead the existing b-node is referenced.
+     * E.g. adding a hundred axioms {@code SubClassOf(Ci, ObjectSomeValuesFrom(P, X))}
+     * produces a single {@code owl:Restriction} b-node.
+     * If it is false (default), each axiom gets its own copy of the expression, as in OWL-API.
+     *
+     * @param b boolean, to enable or disable the reusing of anonymous expressions
+     * @return this or new {@link OntWriterConfiguration} instance
+     * @see #isReuseAnonymousExpressions()
+     * @since 3.5.0
+     */
+    public OntWriterConfiguration setReuseAnonymousExpressions(boolean b) {
+        return set(OntSettings.ONT_API_WRITE_CONF_REUSE_ANONYMOUS_EXPRESSIONS, b);
+    }
+
+    /**
+     * ONT-API getter.
+     * By default it is {@code false}.
+     *
+     * @return true if the streaming writers should be used to save an ontology in Turtle or RDF/XML
+     * @see #setUseStreamingWriter(boolean)
+     * @since 3.5.0
+     */
+    public boolean isUseStreamingWriter() {
+        return get(OntSettings.ONT_API_WRITE_CONF_USE_STREAMING_WRITER);
+    }
+
+    /**
+     * ONT-API config setter to change the way an ontology is saved in Turtle and RDF/XML.
+     * If it is true then Turtle is written in a single pass by {@link com.github.owlcs.ontapi.OntTurtleWriter},
+     * which nests anonymous expressions and RDF lists without analysing the whole graph in memory,
+     * and RDF/XML is written in the plain (non-abbreviated) form.
+     * If it is false (default), the Jena's pretty writers are used.
+     *
+     * @param b boolean, to enable or disable the streaming writers
+     * @return this or new {@link OntWriterConfiguration} instance
+     * @see #isUseStreamingWriter()
+     * @since 3.5.0
+     */
+    public OntWriterConfiguration setUseStreamingWriter(boolean b) {
+        return set(OntSettings.ONT_API_WRITE_CONF_USE_STREAMING_WRITER, b);
+    }
+
     /**
      * @see OWLOntologyWriterConfiguration#shouldUseBanners()
      */
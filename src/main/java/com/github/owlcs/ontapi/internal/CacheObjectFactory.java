@@ -35,6 +35,8 @@ import java.util.function.Supplier;
 /**
  * The internal cache holder which is using while reading owl-objects.
  * Currently, it is based on caffeine cache since it is used widely by OWL-API.
+ * The caches for anonymous class expressions and data ranges (see {@link InternalObjectFactory})
+ * are bounded in the same way as the caches for OWL entities and IRIs.
  * <p>
  * Created by @ssz on 09.09.2018.
  */
@@ -70,7 +72,8 @@ public class CacheObjectFactory extends InternalObjectFactory {
     }
 
     /**
-     * Provides an instance with {@code 7} inner {@link InternalCache Loading Cache}s, for all OWL entities and IRIs.
+     * Provides an instance with {@code 9} inner {@link InternalCache Loading Cache}s,
+     * for all OWL entities, IRIs, anonymous class expressions and data ranges.
      * Each of them will be bounded with {@code size} limit
      *
      * @param factory {@link DataFactory}, not {@code null}
@@ -94,8 +97,10 @@ public class CacheObjectFactory extends InternalObjectFactory {
                                  Supplier<OntModel> model,
                                  Map<Class<? extends OWLPrimitive>, InternalCache<?, ?>> external,
                                  Supplier<InternalCache<?, ?>> cacheFactory) {
-        super(dataFactory, model);
+        super(dataFactory, model, cacheFactory);
         this.caches = new HashSet<>();
+        this.caches.add(classExpressions);
+        this.caches.add(dataRanges);
         this.iris = fetchCache(external, caches, cacheFactory, IRI.class).asLoading(super::toIRI);
         this.classes = fetchCache(external, caches, cacheFactory, OWLClass.class).asLoading(super::getClass);
         this.datatypes = fetchCache(external, caches, cacheFactory, OWLDatatype.class).asLoading(super::getDatatype);
@@ -49,8 +49,12 @@ public class CacheObjectMapImpl<X extends OWLObject> implements ObjectMap<X> {
 
     // objects provider:
     private final Supplier<Iterator<ONTObject<X>>> loader;
-    // soft reference:
+    // either soft reference or a shared store with memory budget:
     private final InternalCache.Loading<CacheObjectMapImpl<X>, CachedMap<X, ONTObject<X>>> map;
+    // true if the map is held by a shared store with memory budget, then it must be re-weighed on each change:
+    private final boolean weighted;
+    // the name of the owner ontology for eviction metrics, can be null:
+    private final Supplier<String> owner;
     // to control cache loading:
     // if true, then checking for duplicates and merging is performed,
     // otherwise possible duplicates will be overwritten
@@ -66,6 +70,8 @@ public class CacheObjectMapImpl<X extends OWLObject> implements ObjectMap<X> {
     // a state flag that responds whether the cache contains annotated axioms.
     // can be null, true or false
     private Boolean hasAnnotatedAxioms;
+    // a state flag that responds whether the cache has been loaded since the last explicit clearing
+    private volatile boolean wasLoaded;
 
     @SuppressWarnings("unused")
     public CacheObjectMapImpl(Supplier<Iterator<ONTObject<X>>> loader, boolean parallel) {
@@ -85,11 +91,73 @@ public class CacheObjectMapImpl<X extends OWLObject> implements ObjectMap<X> {
                               boolean withMerge,
                               boolean parallel,
                               boolean fastIterator) {
+        this(loader, withMerge, parallel, fastIterator, null, null);
+    }
+
+    /**
+     * Constructs a bucket instance.
+     *
+     * @param loader       a {@code Supplier} to load object-triples pairs, not {@code null}
+     * @param withMerge    if {@code true} merging is performed while loading cache,
+     *                     otherwise the source is assumed to be distinct
+     * @param parallel     if {@code true} use caffeine cache, otherwise LHM based cache
+     * @param fastIterator if {@code true} use Array-based cache to speedup iteration over {@link X}-keys
+     * @param store        a shared {@link InternalCache} with memory budget to hold the loaded data,
+     *                     or {@code null} to hold the data by a {@link java.lang.ref.SoftReference soft reference};
+     *                     in the store, the data is keyed by this bucket
+     * @param owner        a {@code Supplier} of the owner ontology name to report evictions from the {@code store},
+     *                     can be {@code null}
+     * @see InternalCache#createWeighted(long, java.util.function.ToIntFunction, java.util.function.BiConsumer)
+     * @see #getOwner(Object)
+     * @since 3.5.0
+     */
+    public CacheObjectMapImpl(Supplier<Iterator<ONTObject<X>>> loader,
+                              boolean withMerge,
+                              boolean parallel,
+                              boolean fastIterator,
+                              InternalCache<Object, Object> store,
+                              Supplier<String> owner) {
         this.loader = Objects.requireNonNull(loader);
         this.withMerge = withMerge;
         this.parallel = parallel;
         this.fastIterator = fastIterator;
-        this.map = InternalCache.createSoftSingleton(CacheObjectMapImpl::loadMap);
+        this.weighted = store != null;
+        this.owner = owner;
+        this.map = store == null ?
+                InternalCache.createSoftSingleton(CacheObjectMapImpl::loadMap) :
+                InternalCache.createSharedSingleton(store, this, CacheObjectMapImpl::loadMap);
+    }
+
+    /**
+     * Returns the owner ontology name of the bucket, that is a key in a shared store with memory budget.
+     *
+     * @param key {@code Object}, expected to be {@link CacheObjectMapImpl}
+     * @return {@code String} or {@code null} if the owner is unknown
+     * @since 3.5.0
+     */
+    public static String getOwner(Object key) {
+        if (key instanceof CacheObjectMapImpl) {
+            Supplier<String> res = ((CacheObjectMapImpl<?>) key).owner;
+            return res == null ? null : res.get();
+        }
+        return null;
+    }
+
+    /**
+     * Estimates the weight of a bucket's data stored in a shared store with memory budget.
+     * The weight is the number of cached objects plus one for the bucket itself,
+     * so even empty buckets are taken into account.
+     *
+     * @param value {@code Object}, expected to be {@link CachedMap}
+     * @return positive {@code int}
+     * @since 3.5.0
+     */
+    public static int weigh(Object value) {
+        if (value instanceof CachedMap) {
+            long size = ((CachedMap<?, ?>) value).size();
+            return (int) Math.min(Integer.MAX_VALUE - 1, size) + 1;
+        }
+        return 1;
     }
 
     /**
@@ -98,6 +166,7 @@ public class CacheObjectMapImpl<X extends OWLObject> implements ObjectMap<X> {
      * @return {@link CachedMap}
      */
     protected CachedMap<X, ONTObject<X>> loadMap() {
+        this.wasLoaded = true;
         this.hasNew = false;
         this.hasAnnotatedAxioms = null;
         Iterator<ONTObject<X>> it = loader.get();
@@ -166,6 +235,18 @@ public class CacheObjectMapImpl<X extends OWLObject> implements ObjectMap<X> {
         return new LinkedHashMap<>();
     }
 
+    /**
+     * Answers {@code true} if the cache has been loaded before, but its data has been collected by GC,
+     * i.e. the next access will cause reloading.
+     * An explicit {@link #clear()} resets this state.
+     *
+     * @return boolean
+     * @since 3.5.0
+     */
+    protected boolean isCollected() {
+        return wasLoaded && !isLoaded();
+    }
+
     protected CachedMap<X, ONTObject<X>> getMap() {
         return map.get(this);
     }
@@ -225,9 +306,11 @@ public class CacheObjectMapImpl<X extends OWLObject> implements ObjectMap<X> {
     @Override
     public void remove(X key) {
         if (!isLoaded()) return;
-        if (!getMap().remove(key)) {
+        CachedMap<X, ONTObject<X>> res = getMap();
+        if (!res.remove(key)) {
             return;
         }
+        reweigh(res);
         if (hasAnnotatedAxioms != null && key.isAxiom()) {
             hasAnnotatedAxioms = null;
         }
@@ -236,7 +319,9 @@ public class CacheObjectMapImpl<X extends OWLObject> implements ObjectMap<X> {
     @Override
     public void add(ONTObject<X> value) {
         X key = value.getOWLObject();
-        getMap().put(key, value);
+        CachedMap<X, ONTObject<X>> res = getMap();
+        res.put(key, value);
+        reweigh(res);
         hasNew = true;
         if (!key.isAxiom()) {
             return;
@@ -246,6 +331,20 @@ public class CacheObjectMapImpl<X extends OWLObject> implements ObjectMap<X> {
         }
     }
 
+    /**
+     * Puts the changed data back into the shared store, if any, so that its weight is recalculated.
+     * The weight is computed only on putting, and a bucket grown by {@link #add(ONTObject)}
+     * would otherwise stay with the weight it had when loaded.
+     * Note that the bucket may be evicted right away if it no longer fits the budget.
+     *
+     * @param data {@link CachedMap} of this bucket
+     */
+    private void reweigh(CachedMap<X, ONTObject<X>> data) {
+        if (weighted) {
+            map.put(this, data);
+        }
+    }
+
     @Override
     public ONTObject<X> get(X key) {
         return getMap().get(key);
@@ -254,6 +353,7 @@ public class CacheObjectMapImpl<X extends OWLObject> implements ObjectMap<X> {
     @Override
     public void clear() {
         map.clear();
+        wasLoaded = false;
         hasNew = false;
         hasAnnotatedAxioms = null;
     }
@@ -0,0 +1,218 @@
+/*
+ * This file is part of the ONT API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright (c) 2023, owl.cs group.
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package com.github.owlcs.ontapi.internal;
+
+import com.github.sszuev.jena.ontapi.model.OntClass;
+import com.github.sszuev.jena.ontapi.model.OntDataRange;
+import com.github.sszuev.jena.ontapi.model.OntModel;
+import com.github.sszuev.jena.ontapi.model.OntObject;
+import org.apache.jena.graph.Graph;
+import org.apache.jena.graph.Node;
+import org.apache.jena.rdf.model.RDFNode;
+import org.semanticweb.owlapi.model.OWLClassExpression;
+import org.semanticweb.owlapi.model.OWLDataRange;
+import org.semanticweb.owlapi.model.OWLObject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * An index of anonymous class expressions and data ranges that are present in the base graph.
+ * It maps an {@link OWLObject OWL expression} to the b-node, which is the root of its RDF structure.
+ * Since OWL-API objects have structural {@code equals} and {@code hashCode},
+ * the map works as a structural-hash index.
+ * It is used while writing to reuse the existing b-node instead of creating a new identical RDF structure.
+ * <p>
+ * The index is built lazily, on the first access, by reading all anonymous expressions of the base graph,
+ * after that it is supplemented by the {@link WriteHelper} with each newly written expression.
+ * On removing of a content object, the expressions whose b-nodes have left the base graph are dropped,
+ * see {@link #remove(Collection)}; the index is discarded only on the whole cache invalidation.
+ * To be safe, each found b-node is checked against the base graph before reusing.
+ * <p>
+ * Note: removing of an axiom, that shares an expression with some other axiom,
+ * does not delete the expression triples,
+ * see {@code InternalGraphModelImpl#getUsedTriples(OntModel, OWLObject)}.
+ *
+ * @see InternalConfig#isReuseAnonymousExpressions()
+ * @since 3.5.0
+ */
+public class ExpressionIndex {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ExpressionIndex.class);
+
+    protected final Graph base;
+    protected final Map<OWLObject, Node> nodes;
+    protected final Map<Node, OWLObject> expressions;
+
+    protected ExpressionIndex(Graph base, Map<OWLObject, Node> nodes) {
+        this.base = Objects.requireNonNull(base);
+        this.nodes = Objects.requireNonNull(nodes);
+        this.expressions = new HashMap<>();
+        nodes.forEach((k, v) -> expressions.putIfAbsent(v, k));
+    }
+
+    /**
+     * Gets the index from the model if it is supported and enabled.
+     *
+     * @param model {@link OntModel}, not {@code null}
+     * @return {@link ExpressionIndex} or {@code null}
+     */
+    public static ExpressionIndex get(OntModel model) {
+        return model instanceof InternalGraphModel ? ((InternalGraphModel) model).getExpressionIndex() : null;
+    }
+
+    /**
+     * Builds the index by reading all anonymous expressions, which are located in the base graph of the model.
+     * Broken expressions are skipped.
+     *
+     * @param model   {@link OntModel}, not {@code null}
+     * @param factory {@link ONTObjectFactory} to read expressions, not {@code null}
+     * @return {@link ExpressionIndex}
+     */
+    public static ExpressionIndex create(OntModel model, ONTObjectFactory factory) {
+        Graph base = model.getBaseGraph();
+        Map<OWLObject, Node> res = new HashMap<>();
+        collect(model, base, OntClass.class, factory::getClass, res);
+        collect(model, base, OntDataRange.class, factory::getDatatype, res);
+        return new ExpressionIndex(base, res);
+    }
+
+    private static <X extends OntObject> void collect(OntModel model,
+                                                      Graph base,
+                                                      Class<X> type,
+                                                      Function<X, ONTObject<?>> reader,
+                                                      Map<OWLObject, Node> res) {
+        model.ontObjects(type).filter(RDFNode::isAnon)
+                .filter(x -> base.contains(x.asNode(), Node.ANY, Node.ANY))
+                .forEach(x -> {
+                    OWLObject key;
+                    try {
+                        key = reader.apply(x).getOWLObject();
+                    } catch (Exception e) {
+                        LOGGER.debug("Can't read expression {}: {}", x, e.getMessage());
+                        return;
+                    }
+                    res.putIfAbsent(key, x.asNode());
+                });
+    }
+
+    /**
+     * Finds the existing class expression in the model to reuse it.
+     *
+     * @param model      {@link OntModel} to write in, not {@code null}
+     * @param expression {@link OWLClassExpression}, not {@code null}
+     * @return {@link OntClass} or {@code null} if there is no such expression in the base graph
+     * @see #touch(OntModel, ONTObject)
+     */
+    public OntClass reuse(OntModel model, OWLClassExpression expression) {
+        Node res = findNode(expression);
+        if (res == null) {
+            return null;
+        }
+        OntClass ce = model.wrapAsResource(res).as(OntClass.class);
+        touch(model, HasObjectFactory.getObjectFactory(model).getClass(ce));
+        return ce;
+    }
+
+    /**
+     * Finds the existing data range in the model to reuse it.
+     *
+     * @param model      {@link OntModel} to write in, not {@code null}
+     * @param expression {@link OWLDataRange}, not {@code null}
+     * @return {@link OntDataRange} or {@code null} if there is no such data range in the base graph
+     * @see #touch(OntModel, ONTObject)
+     */
+    public OntDataRange reuse(OntModel model, OWLDataRange expression) {
+        Node res = findNode(expression);
+        if (res == null) {
+            return null;
+        }
+        OntDataRange dr = model.wrapAsResource(res).as(OntDataRange.class);
+        touch(model, HasObjectFactory.getObjectFactory(model).getDatatype(dr));
+        return dr;
+    }
+
+    /**
+     * Re-adds all triples of the reused expression into the graph.
+     * This does not change the graph, but fires add-events,
+     * so that the triple-set of the axiom being written (see {@link OWLTriples.Listener})
+     * includes the whole expression, as if it had been written anew.
+     * Thus, the shared expression is properly handled while removing either of the axioms.
+     *
+     * @param model      {@link OntModel}, not {@code null}
+     * @param expression {@link ONTObject}, not {@code null}
+     */
+    protected void touch(OntModel model, ONTObject<?> expression) {
+        Graph g = model.getGraph();
+        expression.triples().forEach(g::add);
+    }
+
+    protected Node findNode(OWLObject expression) {
+        Node res = nodes.get(expression);
+        if (res == null) {
+            return null;
+        }
+        if (base.contains(res, Node.ANY, Node.ANY)) {
+            return res;
+        }
+        nodes.remove(expression);
+        expressions.remove(res, expression);
+        return null;
+    }
+
+    /**
+     * Records the b-node for the just written anonymous expression.
+     *
+     * @param expression either {@link OWLClassExpression} or {@link OWLDataRange}, not {@code null}
+     * @param node       {@link Node}, must be blank
+     */
+    public void put(OWLObject expression, Node node) {
+        if (node.isBlank() && nodes.putIfAbsent(expression, node) == null) {
+            expressions.putIfAbsent(node, expression);
+        }
+    }
+
+    /**
+     * Drops the expressions rooted at the given b-nodes, if those b-nodes are no longer in the base graph.
+     * Called after removing a content object with the blank subjects of its triples,
+     * so the cost is proportional to the size of the removed object, not to the size of the index.
+     * Nodes that are still in the graph (i.e. shared with some other content object) are kept.
+     *
+     * @param candidates {@code Collection} of blank {@link Node}s, not {@code null}
+     */
+    public void remove(Collection<Node> candidates) {
+        candidates.forEach(node -> {
+            OWLObject expression = expressions.get(node);
+            if (expression == null || base.contains(node, Node.ANY, Node.ANY)) {
+                return;
+            }
+            expressions.remove(node);
+            nodes.remove(expression, node);
+        });
+    }
+
+    /**
+     * Answers the number of indexed expressions.
+     *
+     * @return int
+     */
+    public int size() {
+        return nodes.size();
+    }
+}
@@ -0,0 +1,413 @@
+/*
+ * This file is part of the ONT API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright (c) 2023, owl.cs group.
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package com.github.owlcs.ontapi.internal;
+
+import org.semanticweb.owlapi.model.AxiomType;
+import org.semanticweb.owlapi.model.EntityType;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLEntity;
+import org.semanticweb.owlapi.model.OWLSubClassOfAxiom;
+import org.semanticweb.owlapi.model.OWLSubPropertyAxiom;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * An index of the told (asserted) hierarchy of named entities of a single kind,
+ * i.e. of the named-to-named {@code SubClassOf}, {@code SubObjectPropertyOf},
+ * {@code SubDataPropertyOf} or {@code SubAnnotationPropertyOf} axioms.
+ * <p>
+ * Entities are mapped to {@code int} ids, and the edges are kept in two compressed sparse row (CSR) arrays:
+ * sub-to-super and super-to-sub.
+ * Each edge has a multiplicity - the number of axioms that produce it
+ * (e.g. {@code SubClassOf(A B)} and {@code SubClassOf(Annotation(rdfs:comment "x") A B)}).
+ * The edits are collected in a small delta on top of the CSR arrays,
+ * which are rebuilt when the delta becomes large enough.
+ * So the traversal (ancestors, descendants, roots, depth) does not touch axioms at all.
+ * <p>
+ * The delta and the CSR arrays are mutated in place, and nothing here is synchronized:
+ * it is the owning model that separates readers and writers
+ * (for a concurrent ontology, the traversal runs under the read lock and the edits under the write lock).
+ *
+ * @param <E> subtype of {@link OWLEntity}
+ * @see com.github.owlcs.ontapi.Ontology#toldHierarchy(EntityType)
+ * @since 3.5.0
+ */
+public class HierarchyIndex<E extends OWLEntity> {
+    private static final Map<EntityType<?>, AxiomType<?>> TYPES = Map.of(
+            EntityType.CLASS, AxiomType.SUBCLASS_OF,
+            EntityType.OBJECT_PROPERTY, AxiomType.SUB_OBJECT_PROPERTY,
+            EntityType.DATA_PROPERTY, AxiomType.SUB_DATA_PROPERTY,
+            EntityType.ANNOTATION_PROPERTY, AxiomType.SUB_ANNOTATION_PROPERTY_OF);
+    protected static final int MIN_DELTA_SIZE = 1024;
+
+    protected final EntityType<E> type;
+    protected final Map<E, Integer> ids = new HashMap<>();
+    protected final List<E> entities = new ArrayList<>();
+    // CSR: the super-entities of i are supers[superStart[i]..superStart[i + 1]), with multiplicities in superCounts
+    protected int[] superStart = new int[1];
+    protected int[] supers = new int[0];
+    protected int[] superCounts = new int[0];
+    // CSR: the sub-entities of i are subs[subStart[i]..subStart[i + 1])
+    protected int[] subStart = new int[1];
+    protected int[] subs = new int[0];
+    // the delta: edge key -> change of multiplicity, and the edges that are absent in the CSR arrays
+    protected final Map<Long, Integer> delta = new HashMap<>();
+    protected final Map<Integer, Set<Integer>> extraSupers = new HashMap<>();
+    protected final Map<Integer, Set<Integer>> extraSubs = new HashMap<>();
+
+    protected HierarchyIndex(EntityType<E> type) {
+        this.type = Objects.requireNonNull(type);
+    }
+
+    /**
+     * Returns the axiom type, whose axioms form the hierarchy of entities of the given type.
+     *
+     * @param type {@link EntityType}, not {@code null}
+     * @return {@link AxiomType} or {@code null} if there is no hierarchy for the type (e.g. for individuals)
+     */
+    public static AxiomType<?> getAxiomType(EntityType<?> type) {
+        return TYPES.get(type);
+    }
+
+    /**
+     * Builds the index in one pass over the axioms.
+     *
+     * @param type   {@link EntityType}, not {@code null}
+     * @param axioms {@code Stream} of axioms of the {@link #getAxiomType(EntityType) corresponding type}
+     * @param <E>    subtype of {@link OWLEntity}
+     * @return {@link HierarchyIndex}
+     */
+    public static <E extends OWLEntity> HierarchyIndex<E> create(EntityType<E> type, Stream<? extends OWLAxiom> axioms) {
+        HierarchyIndex<E> res = new HierarchyIndex<>(type);
+        List<Long> edges = new ArrayList<>();
+        axioms.forEach(a -> {
+            OWLEntity[] edge = res.toEdge(a);
+            if (edge != null) {
+                edges.add(key(res.id(edge[0]), res.id(edge[1])));
+            }
+        });
+        res.build(edges.stream().mapToLong(Long::longValue).toArray());
+        return res;
+    }
+
+    /**
+     * Returns a pair of named sub- and super-entities for the given axiom.
+     *
+     * @param axiom {@link OWLAxiom}
+     * @return an array of two {@link OWLEntity}s or {@code null} if the axiom does not define a named edge
+     */
+    protected OWLEntity[] toEdge(OWLAxiom axiom) {
+        Object sub;
+        Object sup;
+        if (axiom instanceof OWLSubClassOfAxiom) {
+            sub = ((OWLSubClassOfAxiom) axiom).getSubClass();
+            sup = ((OWLSubClassOfAxiom) axiom).getSuperClass();
+        } else if (axiom instanceof OWLSubPropertyAxiom) {
+            sub = ((OWLSubPropertyAxiom<?>) axiom).getSubProperty();
+            sup = ((OWLSubPropertyAxiom<?>) axiom).getSuperProperty();
+        } else {
+            return null;
+        }
+        if (!(sub instanceof OWLEntity) || !(sup instanceof OWLEntity)
+                || !((OWLEntity) sub).isType(type) || !((OWLEntity) sup).isType(type)) {
+            return null;
+        }
+        return new OWLEntity[]{(OWLEntity) sub, (OWLEntity) sup};
+    }
+
+    private static long key(int sub, int sup) {
+        return ((long) sub << 32) | (sup & 0xFFFFFFFFL);
+    }
+
+    @SuppressWarnings("unchecked")
+    private int id(OWLEntity entity) {
+        Integer res = ids.get(entity);
+        if (res != null) {
+            return res;
+        }
+        ids.put((E) entity, res = entities.size());
+        entities.add((E) entity);
+        return res;
+    }
+
+    /**
+     * Builds the CSR arrays from the given edges (with repetitions) and resets the delta.
+     *
+     * @param edges {@code long[]} of edge keys
+     */
+    protected void build(long[] edges) {
+        int n = entities.size();
+        Arrays.sort(edges);
+        int[] start = new int[n + 1];
+        int distinct = 0;
+        for (int i = 0; i < edges.length; i++) {
+            if (i == 0 || edges[i] != edges[i - 1]) {
+                start[(int) (edges[i] >>> 32) + 1]++;
+                distinct++;
+            }
+        }
+        for (int i = 0; i < n; i++) {
+            start[i + 1] += start[i];
+        }
+        int[] sup = new int[distinct];
+        int[] counts = new int[distinct];
+        int[] subStarts = new int[n + 1];
+        for (int i = 0, j = -1; i < edges.length; i++) {
+            if (i == 0 || edges[i] != edges[i - 1]) {
+                sup[++j] = (int) edges[i];
+                subStarts[sup[j] + 1]++;
+            }
+            counts[j]++;
+        }
+        for (int i = 0; i < n; i++) {
+            subStarts[i + 1] += subStarts[i];
+        }
+        int[] sub = new int[distinct];
+        int[] fill = Arrays.copyOf(subStarts, n);
+        for (int s = 0; s < n; s++) {
+            for (int k = start[s]; k < start[s + 1]; k++) {
+                sub[fill[sup[k]]++] = s;
+            }
+        }
+        this.superStart = start;
+        this.supers = sup;
+        this.superCounts = counts;
+        this.subStart = subStarts;
+        this.subs = sub;
+        delta.clear();
+        extraSupers.clear();
+        extraSubs.clear();
+    }
+
+    /**
+     * Rebuilds the CSR arrays taking into account the delta.
+     */
+    protected void compact() {
+        List<Long> res = new ArrayList<>();
+        for (int s = 0; s < entities.size(); s++) {
+            int sub = s;
+            superIds(s).forEach(p -> {
+                long k = key(sub, p);
+                for (int i = count(sub, p); i > 0; i--) {
+                    res.add(k);
+                }
+            });
+        }
+        build(res.stream().mapToLong(Long::longValue).toArray());
+    }
+
+    /**
+     * Registers a new axiom.
+     *
+     * @param axiom {@link OWLAxiom}
+     */
+    public void add(OWLAxiom axiom) {
+        change(axiom, 1);
+    }
+
+    /**
+     * Unregisters the removed axiom.
+     *
+     * @param axiom {@link OWLAxiom}
+     */
+    public void remove(OWLAxiom axiom) {
+        change(axiom, -1);
+    }
+
+    protected void change(OWLAxiom axiom, int diff) {
+        OWLEntity[] edge = toEdge(axiom);
+        if (edge == null) {
+            return;
+        }
+        int sub = id(edge[0]);
+        int sup = id(edge[1]);
+        long k = key(sub, sup);
+        Integer d = delta.merge(k, diff, Integer::sum);
+        if (d != null && d == 0) {
+            delta.remove(k);
+        }
+        if (baseCount(sub, sup) == 0 && diff > 0) {
+            extraSupers.computeIfAbsent(sub, x -> new HashSet<>()).add(sup);
+            extraSubs.computeIfAbsent(sup, x -> new HashSet<>()).add(sub);
+        }
+        if (delta.size() > Math.max(MIN_DELTA_SIZE, supers.length / 4)) {
+            compact();
+        }
+    }
+
+    private int baseCount(int sub, int sup) {
+        if (sub + 1 >= superStart.length) {
+            return 0;
+        }
+        int i = Arrays.binarySearch(supers, superStart[sub], superStart[sub + 1], sup);
+        return i < 0 ? 0 : superCounts[i];
+    }
+
+    private int count(int sub, int sup) {
+        return baseCount(sub, sup) + delta.getOrDefault(key(sub, sup), 0);
+    }
+
+    protected IntStream superIds(int id) {
+        IntStream base = id + 1 < superStart.length ? IntStream.range(superStart[id], superStart[id + 1])
+                .map(i -> supers[i]) : IntStream.empty();
+        Set<Integer> extra = extraSupers.getOrDefault(id, Collections.emptySet());
+        return IntStream.concat(base, extra.stream().mapToInt(Integer::intValue))
+                .filter(p -> count(id, p) > 0).distinct();
+    }
+
+    protected IntStream subIds(int id) {
+        IntStream base = id + 1 < subStart.length ? IntStream.range(subStart[id], subStart[id + 1])
+                .map(i -> subs[i]) : IntStream.empty();
+        Set<Integer> extra = extraSubs.getOrDefault(id, Collections.emptySet());
+        return IntStream.concat(base, extra.stream().mapToInt(Integer::intValue))
+                .filter(c -> count(c, id) > 0).distinct();
+    }
+
+    /**
+     * Lists the direct told super-entities.
+     *
+     * @param entity {@link E}
+     * @return {@code Stream} of {@link E}
+     */
+    public Stream<E> parents(E entity) {
+        Integer id = ids.get(entity);
+        return id == null ? Stream.empty() : superIds(id).mapToObj(entities::get);
+    }
+
+    /**
+     * Lists the direct told sub-entities.
+     *
+     * @param entity {@link E}
+     * @return {@code Stream} of {@link E}
+     */
+    public Stream<E> children(E entity) {
+        Integer id = ids.get(entity);
+        return id == null ? Stream.empty() : subIds(id).mapToObj(entities::get);
+    }
+
+    /**
+     * Lists all told super-entities (transitive closure), the entity itself is included only in case of a cycle.
+     *
+     * @param entity {@link E}
+     * @return {@code Stream} of {@link E}
+     */
+    public Stream<E> ancestors(E entity) {
+        return closure(entity, true);
+    }
+
+    /**
+     * Lists all told sub-entities (transitive closure), the entity itself is included only in case of a cycle.
+     *
+     * @param entity {@link E}
+     * @return {@code Stream} of {@link E}
+     */
+    public Stream<E> descendants(E entity) {
+        return closure(entity, false);
+    }
+
+    protected Stream<E> closure(E entity, boolean up) {
+        Integer id = ids.get(entity);
+        if (id == null) {
+            return Stream.empty();
+        }
+        BitSet seen = new BitSet(entities.size());
+        int[] queue = new int[16];
+        int head = 0;
+        int tail = 0;
+        queue[tail++] = id;
+        while (head < tail) {
+            int current = queue[head++];
+            int[] next = (up ? superIds(current) : subIds(current)).toArray();
+            for (int x : next) {
+                if (seen.get(x)) {
+                    continue;
+                }
+                seen.set(x);
+                if (tail == queue.length) {
+                    queue = Arrays.copyOf(queue, queue.length * 2);
+                }
+                queue[tail++] = x;
+            }
+        }
+        return seen.stream().mapToObj(entities::get);
+    }
+
+    /**
+     * Lists the roots, i.e. those entities that have told sub-entities, but have no told super-entities.
+     *
+     * @return {@code Stream} of {@link E}
+     */
+    public Stream<E> roots() {
+        return IntStream.range(0, entities.size())
+                .filter(i -> superIds(i).findFirst().isEmpty() && subIds(i).findFirst().isPresent())
+                .mapToObj(entities::get);
+    }
+
+    /**
+     * Returns the length of the shortest told path from the entity to some root.
+     *
+     * @param entity {@link E}
+     * @return int, {@code 0} for a root or an entity that is not in the hierarchy,
+     * {@code -1} if all the super-entities form a cycle
+     */
+    public int depth(E entity) {
+        Integer id = ids.get(entity);
+        if (id == null) {
+            return 0;
+        }
+        BitSet seen = new BitSet(entities.size());
+        seen.set(id);
+        int[] level = new int[]{id};
+        int res = 0;
+        while (level.length != 0) {
+            IntStream.Builder next = IntStream.builder();
+            for (int x : level) {
+                int[] parents = superIds(x).toArray();
+                if (parents.length == 0) {
+                    return res;
+                }
+                for (int p : parents) {
+                    if (!seen.get(p)) {
+                        seen.set(p);
+                        next.add(p);
+                    }
+                }
+            }
+            level = next.build().toArray();
+            res++;
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the number of entities, that are (or were) involved in the hierarchy.
+     *
+     * @return int
+     */
+    public int size() {
+        return entities.size();
+    }
+}
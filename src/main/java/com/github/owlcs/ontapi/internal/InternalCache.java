@@ -17,12 +17,19 @@ package com.github.owlcs.ontapi.internal;
 import com.github.benmanes.caffeine.cache.Cache;
 import com.github.benmanes.caffeine.cache.Caffeine;
 import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.github.benmanes.caffeine.cache.RemovalCause;
 
 import java.lang.ref.SoftReference;
 import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.function.ToIntFunction;
 
 /**
  * The simplest common Cache Adapter interface for internal use.
@@ -40,6 +47,9 @@ import java.util.function.Function;
  * whatever single- or multi- thread environment is used it.
  * This fact allows to make some read operations to be simpler and a little faster,
  * then it would be with direct use particular caches.
+ * Where locking is still needed (e.g. to load a singleton value only once), a {@link ReentrantLock} is used
+ * instead of {@code synchronized} blocks: loaders may perform long graph scans,
+ * and a thread waiting on a monitor would pin the carrier thread when running as a virtual thread.
  * <p>
  * Created by @ssz on 18.02.2019.
  *
@@ -276,6 +286,87 @@ public interface InternalCache<K, V> {
         return res.asLoading(loader);
     }
 
+    /**
+     * Creates a bounded {@link Cache Caffeine} cache, which limits the total weight of its values, not their number.
+     * Caffeine uses the Window TinyLFU policy, so values that are least frequently and recently used are evicted first.
+     * The eviction is performed synchronously in the caller thread,
+     * so the {@code listener} receives all evicted entries before the modifying operation completes.
+     * Caffeine weighs a value only when it is put,
+     * so a mutable value must be put again after each change of its size.
+     *
+     * @param maxWeight long, the maximum total weight of the cache, positive
+     * @param weigher   a {@code ToIntFunction} to estimate the weight of a value, not {@code null}
+     * @param listener  a {@code BiConsumer} to receive evicted (not explicitly removed) entries, not {@code null}
+     * @param <K>       the type of keys maintained by the return cache
+     * @param <V>       the type of mapped values
+     * @return {@link InternalCache}
+     * @since 3.5.0
+     */
+    static <K, V> InternalCache<K, V> createWeighted(long maxWeight,
+                                                     ToIntFunction<? super V> weigher,
+                                                     BiConsumer<? super K, ? super V> listener) {
+        Objects.requireNonNull(weigher);
+        Objects.requireNonNull(listener);
+        return new CaffeineWrapper<>(Caffeine.newBuilder()
+                .executor(Runnable::run)
+                .maximumWeight(maxWeight)
+                .weigher((K k, V v) -> weigher.applyAsInt(v))
+                .evictionListener((K k, V v, RemovalCause c) -> {
+                    if (k != null && v != null) listener.accept(k, v);
+                })
+                .build());
+    }
+
+    /**
+     * Creates a {@link Loading Loading cache} that contains only one value, derived by the specified {@code loader},
+     * but the value itself is stored in the given shared {@code store} under the given {@code id}.
+     * So the value can be evicted from the {@code store} at any time,
+     * e.g. if the store is {@link #createWeighted(long, ToIntFunction, BiConsumer) weighted},
+     * and then it will be recomputed on demand.
+     * Note: unlike {@link Cache Caffeine}'s {@code get(key, mappingFunction)}, the value is computed outside the store,
+     * so the {@code loader} is allowed to access other singletons backed by the same store.
+     *
+     * @param store  {@link InternalCache} to hold the value, not {@code null}
+     * @param id     the key of the value in the {@code store}, unique within the store
+     *               (the store's eviction listener receives it), not {@code null}
+     * @param loader a {@link Function}-loaded to derive the value
+     * @param <K>    the type of {@code loader} parameter
+     * @param <V>    the type of the value wrapped by the returned cache
+     * @return {@link Loading}
+     * @since 3.5.0
+     */
+    static <K, V> Loading<K, V> createSharedSingleton(InternalCache<Object, Object> store,
+                                                      Object id,
+                                                      Function<? super K, ? extends V> loader) {
+        Objects.requireNonNull(store);
+        Objects.requireNonNull(id);
+        Objects.requireNonNull(loader);
+        return new SingletonLoading<>() {
+            @SuppressWarnings("unchecked")
+            @Override
+            public V get(K key) {
+                V res;
+                if ((res = (V) store.get(id)) != null) return res;
+                return load(key, k -> (V) store.get(id), loader);
+            }
+
+            @Override
+            public void clear() {
+                store.remove(id);
+            }
+
+            @Override
+            public void put(K key, V value) {
+                store.put(id, Objects.requireNonNull(value));
+            }
+
+            @Override
+            public boolean isEmpty() {
+                return store.get(id) == null;
+            }
+        };
+    }
+
     /**
      * Creates a {@link Loading Loading cache} that contains only one value, derived by the specified {@code loader}.
      * Can be used as a value-wrapper with configurable state.
@@ -290,23 +381,14 @@ public interface InternalCache<K, V> {
      */
     static <K, V> Loading<K, V> createSingleton(Function<? super K, ? extends V> loader) {
         Objects.requireNonNull(loader);
-        return new Loading<>() {
+        return new SingletonLoading<>() {
             private volatile V value;
 
             @Override
             public V get(K key) {
-                if (value != null) return value;
-                synchronized (this) {
-                    if (value != null) return value;
-                    V res;
-                    put(key, res = loader.apply(key));
-                    return res;
-                }
-            }
-
-            @Override
-            public InternalCache<K, V> asCache() {
-                throw new UnsupportedOperationException();
+                V res;
+                if ((res = value) != null) return res;
+                return load(key, k -> value, loader);
             }
 
             @Override
@@ -340,23 +422,19 @@ public interface InternalCache<K, V> {
      */
     static <K, V> Loading<K, V> createSoftSingleton(Function<? super K, ? extends V> loader) {
         Objects.requireNonNull(loader);
-        return new Loading<>() {
+        return new SingletonLoading<>() {
             private volatile SoftReference<V> value;
 
             @Override
             public V get(K key) {
                 V res;
-                if (value != null && (res = value.get()) != null) return res;
-                synchronized (this) {
-                    if (value != null && (res = value.get()) != null) return res;
-                    put(key, res = loader.apply(key));
-                    return res;
-                }
+                if ((res = getValue()) != null) return res;
+                return load(key, k -> getValue(), loader);
             }
 
-            @Override
-            public InternalCache<K, V> asCache() {
-                throw new UnsupportedOperationException();
+            private V getValue() {
+                SoftReference<V> res = value;
+                return res == null ? null : res.get();
             }
 
             @Override
@@ -388,6 +466,23 @@ public interface InternalCache<K, V> {
         return new MapWrapper<>(map);
     }
 
+    /**
+     * Wraps the given {@code cache} so that each {@link #get(Object, Function)} call is reported to the {@code listener}:
+     * {@code true} is passed in case of cache hit, and {@code false} if the value had to be computed.
+     * Other operations are delegated to the underlying cache as is.
+     *
+     * @param cache    {@link InternalCache} to monitor, not {@code null}
+     * @param listener a {@code Consumer} to receive hit ({@code true}) or miss ({@code false}) events, not {@code null}
+     * @param <K>      the type of keys maintained by the return cache
+     * @param <V>      the type of mapped values
+     * @return {@link InternalCache}
+     * @see com.github.owlcs.ontapi.OntMetrics#onCacheAccess(String, com.github.owlcs.ontapi.OntMetrics.Cache, boolean)
+     * @since 3.5.0
+     */
+    static <K, V> InternalCache<K, V> monitor(InternalCache<K, V> cache, Consumer<Boolean> listener) {
+        return new MonitoringWrapper<>(cache, listener);
+    }
+
     /**
      * Loading cache.
      * Values are automatically loaded by the cache,
@@ -444,6 +539,63 @@ public interface InternalCache<K, V> {
 
     }
 
+    /**
+     * A base for the single-value {@link Loading} caches.
+     * It loads the value only once even if there are many concurrent callers,
+     * but, unlike a {@code synchronized} block, it does not pin the carrier thread of a waiting virtual thread.
+     * There are a lot of such singletons (e.g. one per each model object), and most of them hold a value,
+     * so the {@link ReentrantLock} is created only for the time of loading and is dropped right after,
+     * if no other thread is waiting for it.
+     * The lock is reentrant, so a loader may access the same singleton.
+     *
+     * @param <K> the type of {@code loader} parameter
+     * @param <V> the type of the value
+     * @since 3.5.0
+     */
+    abstract class SingletonLoading<K, V> implements Loading<K, V> {
+        @SuppressWarnings("rawtypes")
+        private static final AtomicReferenceFieldUpdater<SingletonLoading, ReentrantLock> LOCK =
+                AtomicReferenceFieldUpdater.newUpdater(SingletonLoading.class, ReentrantLock.class, "lock");
+        private volatile ReentrantLock lock;
+
+        /**
+         * Loads and puts the value under the lock, unless it is already present.
+         *
+         * @param key     the {@code loader} parameter
+         * @param current a {@link Function} to get the current value or {@code null}
+         * @param loader  a {@link Function} to derive the value
+         * @return the value
+         */
+        protected V load(K key, Function<? super K, ? extends V> current, Function<? super K, ? extends V> loader) {
+            ReentrantLock lock = lock();
+            lock.lock();
+            try {
+                V res;
+                if ((res = current.apply(key)) != null) return res;
+                put(key, res = loader.apply(key));
+                return res;
+            } finally {
+                lock.unlock();
+                if (lock.getHoldCount() == 0 && !lock.hasQueuedThreads()) {
+                    LOCK.compareAndSet(this, lock, null);
+                }
+            }
+        }
+
+        private ReentrantLock lock() {
+            ReentrantLock res;
+            while ((res = lock) == null) {
+                LOCK.compareAndSet(this, null, new ReentrantLock());
+            }
+            return res;
+        }
+
+        @Override
+        public InternalCache<K, V> asCache() {
+            throw new UnsupportedOperationException();
+        }
+    }
+
     /**
      * A {@code InternalCache} implementation that wraps a {@code Map} with {@link SoftReference} values.
      * It is partially synchronized: only read operations are not thread safe.
@@ -454,6 +606,7 @@ public interface InternalCache<K, V> {
     @SuppressWarnings("WeakerAccess")
     class SoftMapWrapper<K, V> implements InternalCache<K, V> {
         protected final Map<K, SoftReference<V>> map;
+        protected final Lock lock = new ReentrantLock();
 
         protected SoftMapWrapper(Map<K, SoftReference<V>> map) {
             this.map = Objects.requireNonNull(map);
@@ -461,8 +614,11 @@ public interface InternalCache<K, V> {
 
         @Override
         public void put(K key, V value) {
-            synchronized (map) {
+            lock.lock();
+            try {
                 map.put(key, new SoftReference<>(value));
+            } finally {
+                lock.unlock();
             }
         }
 
@@ -474,27 +630,36 @@ public interface InternalCache<K, V> {
 
         @Override
         public void remove(K key) {
-            synchronized (map) {
+            lock.lock();
+            try {
                 map.remove(key);
+            } finally {
+                lock.unlock();
             }
         }
 
         @Override
         public void clear() {
-            synchronized (map) {
+            lock.lock();
+            try {
                 map.clear();
+            } finally {
+                lock.unlock();
             }
         }
 
         @Override
         public boolean isEmpty() {
             if (map.isEmpty()) return true;
-            synchronized (map) {
+            lock.lock();
+            try {
                 if (map.isEmpty()) return true;
                 for (K k : map.keySet()) {
                     if (get(k) != null) return false;
                 }
                 return true;
+            } finally {
+                lock.unlock();
             }
         }
 
@@ -510,13 +675,16 @@ public interface InternalCache<K, V> {
             if ((res = get(key)) != null) {
                 return res;
             }
-            synchronized (map) {
+            lock.lock();
+            try {
                 if ((res = get(key)) != null) {
                     return res;
                 }
                 if ((res = mappingFunction.apply(key)) != null) {
                     put(key, res);
                 }
+            } finally {
+                lock.unlock();
             }
             return res;
         }
@@ -532,6 +700,7 @@ public interface InternalCache<K, V> {
     @SuppressWarnings("WeakerAccess")
     class MapWrapper<K, V> implements InternalCache<K, V> {
         protected final Map<K, V> map;
+        protected final Lock lock = new ReentrantLock();
 
         protected MapWrapper(Map<K, V> map) {
             this.map = Objects.requireNonNull(map);
@@ -539,8 +708,11 @@ public interface InternalCache<K, V> {
 
         @Override
         public void put(K key, V value) {
-            synchronized (map) {
+            lock.lock();
+            try {
                 map.put(key, value);
+            } finally {
+                lock.unlock();
             }
         }
 
@@ -551,15 +723,21 @@ public interface InternalCache<K, V> {
 
         @Override
         public void remove(K key) {
-            synchronized (map) {
+            lock.lock();
+            try {
                 map.remove(key);
+            } finally {
+                lock.unlock();
             }
         }
 
         @Override
         public void clear() {
-            synchronized (map) {
+            lock.lock();
+            try {
                 map.clear();
+            } finally {
+                lock.unlock();
             }
         }
 
@@ -580,13 +758,16 @@ public interface InternalCache<K, V> {
             if ((res = get(key)) != null) {
                 return res;
             }
-            synchronized (map) {
+            lock.lock();
+            try {
                 if ((res = get(key)) != null) {
                     return res;
                 }
                 if ((res = mappingFunction.apply(key)) != null) {
                     put(key, res);
                 }
+            } finally {
+                lock.unlock();
             }
             return res;
         }
@@ -680,4 +861,63 @@ public interface InternalCache<K, V> {
             };
         }
     }
+
+    /**
+     * A {@code InternalCache} implementation that reports cache hits and misses to a listener.
+     *
+     * @param <K> the type of keys maintained by this cache
+     * @param <V> the type of mapped values
+     * @since 3.5.0
+     */
+    @SuppressWarnings("WeakerAccess")
+    class MonitoringWrapper<K, V> implements InternalCache<K, V> {
+        protected final InternalCache<K, V> cache;
+        protected final Consumer<Boolean> listener;
+
+        protected MonitoringWrapper(InternalCache<K, V> cache, Consumer<Boolean> listener) {
+            this.cache = Objects.requireNonNull(cache);
+            this.listener = Objects.requireNonNull(listener);
+        }
+
+        @Override
+        public void put(K key, V value) {
+            cache.put(key, value);
+        }
+
+        @Override
+        public V get(K key) {
+            return cache.get(key);
+        }
+
+        @Override
+        public void remove(K key) {
+            cache.remove(key);
+        }
+
+        @Override
+        public void clear() {
+            cache.clear();
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return cache.isEmpty();
+        }
+
+        @Override
+        public long size() {
+            return cache.size();
+        }
+
+        @Override
+        public V get(K key, Function<? super K, ? extends V> mappingFunction) {
+            V res = cache.get(key);
+            if (res != null) {
+                listener.accept(Boolean.TRUE);
+                return res;
+            }
+            listener.accept(Boolean.FALSE);
+            return cache.get(key, mappingFunction);
+        }
+    }
 }
@@ -14,6 +14,7 @@
 
 package com.github.owlcs.ontapi.internal;
 
+import com.github.owlcs.ontapi.OntMetrics;
 import com.github.owlcs.ontapi.config.AxiomsSettings;
 import com.github.owlcs.ontapi.config.CacheSettings;
 import com.github.owlcs.ontapi.config.OntConfig;
@@ -41,6 +42,40 @@ public interface InternalConfig extends CacheSettings, AxiomsSettings {
         return false;
     }
 
+    /**
+     * Returns the metrics to report caches behaviour and search strategies.
+     *
+     * @return {@link OntMetrics}, not {@code null}
+     * @since 3.5.0
+     */
+    default OntMetrics getMetrics() {
+        return OntMetrics.NO_OP;
+    }
+
+    /**
+     * Returns the shared store to hold content cache buckets within the memory budget.
+     *
+     * @return {@link InternalCache} or {@code null} if there is no budget
+     * and the buckets should be held by soft references
+     * @see com.github.owlcs.ontapi.config.OntConfig#getManagerContentCacheBudget()
+     * @since 3.5.0
+     */
+    default InternalCache<Object, Object> getContentCacheStore() {
+        return null;
+    }
+
+    /**
+     * Answers whether the anonymous expressions, that are already present in the graph, should be reused while writing.
+     * Unlike the other settings, this one is a writing option, and it is not fixed by the {@link #snapshot()}.
+     *
+     * @return boolean
+     * @see com.github.owlcs.ontapi.config.OntWriterConfiguration#isReuseAnonymousExpressions()
+     * @since 3.5.0
+     */
+    default boolean isReuseAnonymousExpressions() {
+        return false;
+    }
+
     /**
      * Gets a fixed state of this config as immutable instance.
      *
@@ -56,9 +91,15 @@ public interface InternalConfig extends CacheSettings, AxiomsSettings {
     class Snapshot implements InternalConfig {
         private final EnumMap<Key, Object> map = new EnumMap<>(Key.class);
         private final boolean parallel;
+        private final OntMetrics metrics;
+        private final InternalCache<Object, Object> store;
+        private final boolean reuseExpressions;
 
         Snapshot(InternalConfig delegate) {
             parallel = Objects.requireNonNull(delegate, "Null config").parallel();
+            metrics = delegate.getMetrics();
+            store = delegate.getContentCacheStore();
+            reuseExpressions = delegate.isReuseAnonymousExpressions();
             map.put(Key.LOAD_ANNOTATIONS, delegate.isLoadAnnotationAxioms());
             map.put(Key.ALLOW_DECLARATION_BULK_ANNOTATIONS, delegate.isAllowBulkAnnotationAssertions());
             map.put(Key.IGNORE_ANNOTATION_OVERLAPS, delegate.isIgnoreAnnotationAxiomOverlaps());
@@ -131,6 +172,21 @@ public interface InternalConfig extends CacheSettings, AxiomsSettings {
             return parallel;
         }
 
+        @Override
+        public OntMetrics getMetrics() {
+            return metrics;
+        }
+
+        @Override
+        public InternalCache<Object, Object> getContentCacheStore() {
+            return store;
+        }
+
+        @Override
+        public boolean isReuseAnonymousExpressions() {
+            return reuseExpressions;
+        }
+
         @Override
         public Snapshot snapshot() {
             return this;
@@ -14,13 +14,18 @@
 
 package com.github.owlcs.ontapi.internal;
 
+import com.github.owlcs.ontapi.AxiomsPage;
 import com.github.owlcs.ontapi.ID;
+import com.github.owlcs.ontapi.OntApiException;
 import com.github.sszuev.jena.ontapi.UnionGraph;
 import com.github.sszuev.jena.ontapi.common.OntEnhGraph;
 import com.github.sszuev.jena.ontapi.common.OntPersonality;
 import com.github.sszuev.jena.ontapi.model.OntModel;
+import org.apache.jena.graph.Node;
+import org.apache.jena.graph.Triple;
 import org.apache.jena.rdf.model.Model;
 import org.semanticweb.owlapi.model.AxiomType;
+import org.semanticweb.owlapi.model.EntityType;
 import org.semanticweb.owlapi.model.HasOntologyID;
 import org.semanticweb.owlapi.model.IRI;
 import org.semanticweb.owlapi.model.OWLAnnotation;
@@ -40,6 +45,9 @@ import org.semanticweb.owlapi.model.OWLObjectProperty;
 import org.semanticweb.owlapi.model.OWLOntologyID;
 import org.semanticweb.owlapi.model.OWLPrimitive;
 
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Stream;
 
 /**
@@ -246,6 +254,22 @@ public interface InternalGraphModel extends OntModel, OntEnhGraph, HasOntologyID
      */
     <A extends OWLAxiom> Stream<A> listOWLAxioms(AxiomType<A> type);
 
+    /**
+     * Lists a page of axioms of the given axiom-type reading them directly from the graph, bypassing the content cache.
+     * The traversal can be resumed using the token from the previous page,
+     * it goes over the subjects in the {@link AxiomsPage#subjectKey(org.apache.jena.graph.Graph, org.apache.jena.graph.Node) stable order}.
+     *
+     * @param type  {@link AxiomType}, not {@code null}
+     * @param token {@code String} continuation token,
+     *              or {@code null} to start from the beginning, see also {@link AxiomsPage#startToken(int, int)}
+     * @param limit int, positive, the maximum number of statements to process within the page
+     * @param <A>   type of axiom
+     * @return {@link AxiomsPage}
+     * @throws com.github.owlcs.ontapi.OntApiException.IllegalArgument if the token is broken
+     * @since 3.5.0
+     */
+    <A extends OWLAxiom> AxiomsPage<A> listOWLAxioms(AxiomType<A> type, String token, int limit);
+
     /**
      * Lists axioms for the specified types.
      *
@@ -279,6 +303,29 @@ public interface InternalGraphModel extends OntModel, OntEnhGraph, HasOntologyID
      */
     long getOWLAxiomCount();
 
+    /**
+     * Lists all content objects (axioms and ontology header annotations),
+     * that own at least one of the given triples.
+     * The triples are traced to their root statements, so there is no need to read the whole content.
+     * Note: an object is listed only if some of its own triples are given;
+     * objects, whose reading just depends on the triples (e.g. on declarations), are not listed.
+     *
+     * @param triples a {@code Collection} of {@link Triple}s from the base graph, not {@code null}
+     * @return {@code Stream} of {@link OWLObject}s - {@link OWLAxiom}s and {@link OWLAnnotation}s
+     * @since 3.5.0
+     */
+    Stream<OWLObject> listOWLContainers(Collection<Triple> triples);
+
+    /**
+     * Lists all triples of the given content object (an axiom or an ontology header annotation),
+     * including the declarations of the used entities.
+     *
+     * @param container {@link OWLAxiom} or {@link OWLAnnotation}, not {@code null}
+     * @return {@code Stream} of {@link Triple}s, empty if there is no such object in the model
+     * @since 3.5.0
+     */
+    Stream<Triple> listTriples(OWLObject container);
+
     /**
      * Answers {@code true} if the given axiom is present within this buffer-model.
      * It is equivalent to the expression {@code this.listOWLAxioms().anyMatch(a::equals)}.
@@ -336,6 +383,28 @@ public interface InternalGraphModel extends OntModel, OntEnhGraph, HasOntologyID
      */
     boolean add(OWLAnnotation annotation);
 
+    /**
+     * Writes the specified axiom directly into the graph, bypassing the content and components caches.
+     * This is a bulk-loading facility: unlike {@link #add(OWLAxiom)}, there is no tracking of the written triples,
+     * and no cache updates per axiom, the caches are just invalidated.
+     * Note: if the operation fails, the graph may contain some of the axiom's triples.
+     *
+     * @param axiom {@link OWLAxiom}
+     * @see #add(OWLAxiom)
+     * @since 3.5.0
+     */
+    void write(OWLAxiom axiom);
+
+    /**
+     * Writes the given annotation into the ontology header directly, bypassing the caches.
+     *
+     * @param annotation {@link OWLAnnotation}
+     * @see #write(OWLAxiom)
+     * @see #add(OWLAnnotation)
+     * @since 3.5.0
+     */
+    void write(OWLAnnotation annotation);
+
     /**
      * Removes the given axiom from the model.
      * Also, clears the cache for the entity type, if the entity has been belonged to the removed axiom.
@@ -355,11 +424,54 @@ public interface InternalGraphModel extends OntModel, OntEnhGraph, HasOntologyID
      */
     boolean remove(OWLAnnotation annotation);
 
+    /**
+     * Renames URI nodes in the base graph in a single pass over its triples.
+     * Each triple, that has a node from the {@code mapping} keys at any position,
+     * is replaced by a triple with the corresponding node from the {@code mapping} values.
+     * Unlike removing and adding axioms one by one, this does not require to search for the used triples
+     * and keeps loaded those content caches, which do not refer to any renamed node.
+     *
+     * @param mapping {@code Map} of URI {@link Node}s to URI {@link Node}s, not {@code null}
+     * @return long, the number of rewritten triples
+     * @throws com.github.owlcs.ontapi.OntApiException.IllegalArgument if some node is not an URI
+     *                                                                 or belongs to a built-in vocabulary
+     * @since 3.5.0
+     */
+    long renameNodes(Map<Node, Node> mapping);
+
     /**
      * Invalidates all caches.
      */
     void clearCache();
 
+    /**
+     * Returns the index of anonymous expressions, that is used to reuse existing b-nodes while writing.
+     *
+     * @return {@link ExpressionIndex} or {@code null} if this writing mode is disabled
+     * @see InternalConfig#isReuseAnonymousExpressions()
+     */
+    ExpressionIndex getExpressionIndex();
+
+    /**
+     * Returns the text index over the literal values of annotation assertions with the given properties.
+     * The index is built on the first call and then is maintained while adding and removing axioms.
+     *
+     * @param properties a {@code Set} of annotation property {@link IRI}s, not {@code null}
+     * @return {@link LabelIndex}, not {@code null}
+     */
+    LabelIndex getLabelIndex(Set<IRI> properties);
+
+    /**
+     * Returns the told hierarchy index for the entities of the given type.
+     * The index is built on the first call and then is maintained while adding and removing axioms.
+     *
+     * @param type {@link EntityType}: a class, an object, a data or an annotation property, not {@code null}
+     * @param <E>  subtype of {@link OWLEntity}
+     * @return {@link HierarchyIndex}, not {@code null}
+     * @throws OntApiException.Unsupported if there is no hierarchy for the given entity type
+     */
+    <E extends OWLEntity> HierarchyIndex<E> getHierarchyIndex(EntityType<E> type);
+
     /**
      * Forcibly loads the whole content cache.
      */
@@ -28,15 +28,23 @@ import com.github.sszuev.jena.ontapi.model.OntModel;
 import com.github.sszuev.jena.ontapi.model.OntObject;
 import com.github.sszuev.jena.ontapi.utils.Graphs;
 import com.github.sszuev.jena.ontapi.utils.Iterators;
+import com.github.sszuev.jena.ontapi.vocabulary.OWL;
+import com.github.sszuev.jena.ontapi.vocabulary.RDF;
+import com.github.sszuev.jena.ontapi.vocabulary.XSD;
 import javax.annotation.Nonnull;
+import org.apache.jena.datatypes.TypeMapper;
 import org.apache.jena.graph.Graph;
 import org.apache.jena.graph.GraphEventManager;
 import org.apache.jena.graph.Node;
+import org.apache.jena.graph.NodeFactory;
 import org.apache.jena.graph.Triple;
 import org.apache.jena.rdf.model.Model;
+import org.apache.jena.vocabulary.RDFS;
 import org.semanticweb.owlapi.model.AxiomType;
+import org.semanticweb.owlapi.model.EntityType;
 import org.semanticweb.owlapi.model.IRI;
 import org.semanticweb.owlapi.model.OWLAnnotation;
+import org.semanticweb.owlapi.model.OWLAnnotationAssertionAxiom;
 import org.semanticweb.owlapi.model.OWLAxiom;
 import org.semanticweb.owlapi.model.OWLDeclarationAxiom;
 import org.semanticweb.owlapi.model.OWLEntity;
@@ -44,10 +52,16 @@ import org.semanticweb.owlapi.model.OWLObject;
 import org.semanticweb.owlapi.model.OWLOntologyID;
 import org.semanticweb.owlapi.model.OWLPrimitive;
 
+import java.util.EnumMap;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * A Buffer Graph OWL model, which supports both listing OWL-API objects (OWL Axioms, Entities and Annotations)
@@ -79,11 +93,51 @@ import java.util.Set;
  * Created by @ssz on 26.10.2016.
  */
 public class InternalGraphModelImpl extends InternalReadGraphModel implements InternalGraphModel {
+    /**
+     * The maximum number of simultaneously kept {@link LabelIndex label indexes}.
+     */
+    protected static final int MAX_LABEL_INDEXES = 4;
+    /**
+     * The namespaces of the built-in vocabularies, their IRIs cannot be renamed.
+     */
+    protected static final List<String> RESERVED_NAMESPACES = List.of(RDF.getURI(), RDFS.getURI(), OWL.NS, XSD.NS);
 
     /**
      * The direct listener, it monitors changes that occur through the main (Jena) interface.
      */
     protected final DirectListener directListener;
+    /**
+     * The index of anonymous expressions to reuse b-nodes while writing, {@code null} if not built yet.
+     *
+     * @see InternalConfig#isReuseAnonymousExpressions()
+     */
+    protected volatile ExpressionIndex expressionIndex;
+    /**
+     * The reference counts for the {@link #components} caches:
+     * for each component type, a {@code Map} of component to the number of content containers
+     * (axioms and header annotations), that contain that component.
+     * Built lazily on the first removal, maintained on adding and removing, {@code null} if not built yet.
+     *
+     * @see #clearComponents(OWLObject)
+     */
+    protected volatile Map<OWLComponentType, Map<OWLObject, Integer>> componentCounts;
+    /**
+     * The text indexes over annotation assertions, one for each requested set of annotation properties.
+     * Built lazily, maintained on adding and removing, dropped on any other change.
+     * Each index is updated on every annotation assertion change and holds a copy of the labels,
+     * so there are no more than {@link #MAX_LABEL_INDEXES} of them:
+     * a request for a new property set beyond this limit drops all the existing indexes.
+     *
+     * @see #getLabelIndex(Set)
+     */
+    protected final Map<Set<IRI>, LabelIndex> labelIndexes = new ConcurrentHashMap<>();
+    /**
+     * The told hierarchy indexes, one for each hierarchical axiom type.
+     * Built lazily, maintained on adding and removing, dropped on any other change.
+     *
+     * @see #getHierarchyIndex(EntityType)
+     */
+    protected final Map<AxiomType<?>, HierarchyIndex<?>> hierarchyIndexes = new ConcurrentHashMap<>();
 
     /**
      * Constructs a model instance.
@@ -178,6 +232,16 @@ public class InternalGraphModelImpl extends InternalReadGraphModel implements In
         return add(OWLTopObjectType.ANNOTATION, annotation);
     }
 
+    @Override
+    public void write(OWLAxiom axiom) {
+        write(OWLTopObjectType.get(axiom.getAxiomType()), axiom);
+    }
+
+    @Override
+    public void write(OWLAnnotation annotation) {
+        write(OWLTopObjectType.ANNOTATION, annotation);
+    }
+
     @Override
     public boolean remove(OWLAxiom axiom) {
         return remove(OWLTopObjectType.get(axiom.getAxiomType()), axiom);
@@ -221,6 +285,10 @@ public class InternalGraphModelImpl extends InternalReadGraphModel implements In
             return false;
         }
         map.add(value);
+        if (container instanceof OWLAnnotationAssertionAxiom) {
+            labelIndexes.values().forEach(x -> x.add((OWLAnnotationAssertionAxiom) container));
+        }
+        updateHierarchyIndex(container, true);
         // put new components into objects cache
         cacheComponents(container);
         // clear search model and object factory
@@ -228,6 +296,33 @@ public class InternalGraphModelImpl extends InternalReadGraphModel implements In
         return true;
     }
 
+    /**
+     * Writes the specified {@code OWLObject} into the graph without any cache updates.
+     * If the content cache is loaded, all caches are invalidated first,
+     * so a sequence of writes costs only one invalidation.
+     *
+     * @param key       {@link OWLTopObjectType}, not {@code null}
+     * @param container either {@link OWLAxiom} or {@link OWLAnnotation},
+     *                  that corresponds to the {@code key}, not {@code null}
+     * @throws OntApiException in case the object cannot be written into the model
+     * @see #add(OWLTopObjectType, OWLObject)
+     */
+    protected void write(OWLTopObjectType key, OWLObject container) throws OntApiException {
+        if (!content.isEmpty() || !components.isEmpty()) {
+            clearCache();
+        }
+        try {
+            disableDirectListening();
+            key.write(this, container);
+        } catch (OntApiException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new OntApiException(String.format("OWLObject: %s, message: '%s'", container, e.getMessage()), e);
+        } finally {
+            enableDirectListening();
+        }
+    }
+
     /**
      * Removes the given {@code container} from the corresponding {@link ObjectMap cache} and the model.
      * In case some container's triple is associated with other object, it cannot be deleted from the graph.
@@ -251,8 +346,19 @@ public class InternalGraphModelImpl extends InternalReadGraphModel implements In
                 // they, sometimes, do not be aware what they do
                 return false;
             }
+            // must be done before removing, so that the removed container is taken into account
+            prepareComponentCounts();
             map.remove(container);
+            if (container instanceof OWLAnnotationAssertionAxiom) {
+                OWLAnnotationAssertionAxiom axiom = (OWLAnnotationAssertionAxiom) container;
+                labelIndexes.values().forEach(x -> x.remove(axiom));
+            }
+            updateHierarchyIndex(container, false);
             container = value.getOWLObject();
+            ExpressionIndex index = expressionIndex;
+            // the b-nodes of the container, they are candidates to be dropped from the expression index:
+            Set<Node> anonymous = index == null ? Set.of() : value.triples().map(Triple::getSubject)
+                    .filter(Node::isBlank).collect(Collectors.toSet());
             OntModel m = toModel(value);
             // triples that are used by other content objects:
             Set<Triple> used = getUsedTriples(m, container);
@@ -265,6 +371,9 @@ public class InternalGraphModelImpl extends InternalReadGraphModel implements In
             long size = g.size();
             g.find().filterDrop(used::contains).forEachRemaining(this::delete);
             boolean res = size != g.size();
+            if (index != null) {
+                index.remove(anonymous);
+            }
             // clear search model and object factory
             clearOtherCaches();
             return res;
@@ -394,6 +503,104 @@ public class InternalGraphModelImpl extends InternalReadGraphModel implements In
         getBaseGraph().delete(triple);
     }
 
+    @Override
+    public Stream<Triple> listTriples(OWLObject container) {
+        OWLTopObjectType key = container instanceof OWLAxiom ?
+                OWLTopObjectType.get(((OWLAxiom) container).getAxiomType()) : OWLTopObjectType.ANNOTATION;
+        ONTObject<OWLObject> res = getContentCache(key).get(container);
+        return res == null ? Stream.empty() : res.triples();
+    }
+
+    /**
+     * Renames URI nodes in the base graph in a single pass, and then updates the caches.
+     * Built-in IRIs (those of {@link #RESERVED_NAMESPACES}) are prohibited on both sides of the mapping,
+     * since they change the meaning of the whole content (e.g. {@code owl:Class} or {@code rdfs:label}).
+     * The content cache buckets, that do not contain any affected triple, stay loaded.
+     * If some new node is already present in the graph (i.e. entities are merged),
+     * the meaning of other axioms may change, so the whole cache is invalidated in that case.
+     *
+     * @param mapping {@code Map} of URI {@link Node}s to URI {@link Node}s, not {@code null}
+     * @return long, the number of rewritten triples
+     */
+    @Override
+    public long renameNodes(Map<Node, Node> mapping) {
+        mapping.forEach((k, v) -> {
+            if (!k.isURI() || !v.isURI()) {
+                throw new OntApiException.IllegalArgument("Not an URI: " + (k.isURI() ? v : k));
+            }
+            if (isReserved(k) || isReserved(v)) {
+                throw new OntApiException.IllegalArgument("Can't rename the built-in IRI " + (isReserved(k) ? k : v));
+            }
+        });
+        if (mapping.isEmpty()) {
+            return 0;
+        }
+        Graph base = getBaseGraph();
+        List<Triple> found = base.find().filterKeep(t -> isRenamed(t, mapping)).toList();
+        if (found.isEmpty()) {
+            return 0;
+        }
+        Graph union = getGraph();
+        boolean merge = mapping.values().stream().anyMatch(x -> !mapping.containsKey(x) && (
+                union.contains(x, Node.ANY, Node.ANY) || union.contains(Node.ANY, x, Node.ANY)
+                        || union.contains(Node.ANY, Node.ANY, x)));
+        List<ObjectMap<?>> affected = merge || content.isEmpty() ? List.of() : contentCaches()
+                .filter(x -> x.isLoaded() && x.values().anyMatch(o -> o.triples().anyMatch(t -> isRenamed(t, mapping))))
+                .collect(Collectors.toList());
+        try {
+            disableDirectListening();
+            found.forEach(base::delete);
+            found.forEach(t -> base.add(Triple.create(rename(t.getSubject(), mapping),
+                    rename(t.getPredicate(), mapping), rename(t.getObject(), mapping))));
+        } finally {
+            enableDirectListening();
+        }
+        if (merge) {
+            clearCache();
+            return found.size();
+        }
+        cachedID = null;
+        expressionIndex = null;
+        componentCounts = null;
+        labelIndexes.clear();
+        hierarchyIndexes.clear();
+        affected.forEach(ObjectMap::clear);
+        clearComponentsCaches();
+        return found.size();
+    }
+
+    private static boolean isReserved(Node uri) {
+        String res = uri.getURI();
+        return RESERVED_NAMESPACES.stream().anyMatch(res::startsWith);
+    }
+
+    private static boolean isRenamed(Triple t, Map<Node, Node> mapping) {
+        return rename(t.getSubject(), mapping) != t.getSubject()
+                || rename(t.getPredicate(), mapping) != t.getPredicate()
+                || rename(t.getObject(), mapping) != t.getObject();
+    }
+
+    /**
+     * Maps the node, also renames the datatype of a literal.
+     *
+     * @param n       {@link Node}
+     * @param mapping {@code Map} of URI {@link Node}s to URI {@link Node}s
+     * @return the same {@link Node} if it is not affected by the mapping, or a new {@link Node}
+     */
+    private static Node rename(Node n, Map<Node, Node> mapping) {
+        if (n.isURI()) {
+            return mapping.getOrDefault(n, n);
+        }
+        if (!n.isLiteral() || n.getLiteralLanguage() != null && !n.getLiteralLanguage().isEmpty()) {
+            return n;
+        }
+        Node dt = mapping.get(NodeFactory.createURI(n.getLiteralDatatypeURI()));
+        if (dt == null) {
+            return n;
+        }
+        return NodeFactory.createLiteral(n.getLiteralLexicalForm(), TypeMapper.getInstance().getSafeTypeByName(dt.getURI()));
+    }
+
     /**
      * The overridden jena method.
      * Makes this ontology empty given its caches.
@@ -415,10 +622,73 @@ public class InternalGraphModelImpl extends InternalReadGraphModel implements In
         }
     }
 
+    @Override
+    public ExpressionIndex getExpressionIndex() {
+        if (!getConfig().isReuseAnonymousExpressions()) {
+            return expressionIndex = null;
+        }
+        ExpressionIndex res = expressionIndex;
+        if (res == null) {
+            expressionIndex = res = ExpressionIndex.create(this, getObjectFactory());
+        }
+        return res;
+    }
+
+    @Override
+    public LabelIndex getLabelIndex(Set<IRI> properties) {
+        Set<IRI> key = Set.copyOf(properties);
+        LabelIndex res = labelIndexes.get(key);
+        if (res != null) {
+            return res;
+        }
+        if (labelIndexes.size() >= MAX_LABEL_INDEXES) {
+            labelIndexes.clear();
+        }
+        return labelIndexes.computeIfAbsent(key, x -> LabelIndex.create(x, listOWLAxioms(AxiomType.ANNOTATION_ASSERTION)));
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public <E extends OWLEntity> HierarchyIndex<E> getHierarchyIndex(EntityType<E> type) {
+        AxiomType<?> axiomType = HierarchyIndex.getAxiomType(type);
+        if (axiomType == null) {
+            throw new OntApiException.Unsupported("No told hierarchy for " + type);
+        }
+        return (HierarchyIndex<E>) hierarchyIndexes.computeIfAbsent(axiomType,
+                x -> HierarchyIndex.create(type, listOWLAxioms(x)));
+    }
+
+    /**
+     * Updates the corresponding told hierarchy index, if it is already built.
+     *
+     * @param container {@link OWLObject} - axiom or annotation
+     * @param add       boolean, {@code true} if the object has been added, {@code false} if removed
+     */
+    protected void updateHierarchyIndex(OWLObject container, boolean add) {
+        if (!(container instanceof OWLAxiom)) {
+            return;
+        }
+        OWLAxiom axiom = (OWLAxiom) container;
+        HierarchyIndex<?> index = hierarchyIndexes.get(axiom.getAxiomType());
+        if (index == null) {
+            return;
+        }
+        if (add) {
+            index.add(axiom);
+        } else {
+            index.remove(axiom);
+        }
+    }
+
     @Override
     public void clearCache() {
         cachedID = null;
-        content.clear();
+        expressionIndex = null;
+        componentCounts = null;
+        labelIndexes.clear();
+        hierarchyIndexes.clear();
+        clearObjectMaps(content);
+        clearObjectMaps(components);
         config.clear();
         clearComponentsCaches();
     }
@@ -428,40 +698,104 @@ public class InternalGraphModelImpl extends InternalReadGraphModel implements In
      * Auxiliary method.
      */
     protected void clearComponentsCaches() {
-        components.clear();
+        clearObjectMaps(components);
         clearOtherCaches();
     }
 
     /**
-     * Invalidates search model and object factory caches.
+     * Invalidates search model and object factory caches, and also the pending components batch.
      * Auxiliary method.
      */
     protected void clearOtherCaches() {
+        componentsBatch = null;
         objectFactory.clear();
         searchModel.clear();
     }
 
     /**
-     * Invalidates the {@link #components cache} for all components parsed from the given {@code container}.
-     * todo: is a smarter mechanism to invalidate the related components possible here?
+     * Updates the {@link #components cache} for all components parsed from the given (removed) {@code container}.
+     * The reference count of each component is decremented,
+     * and the component is removed from the cache only if there are no more containers that hold it.
+     * So the component caches stay loaded and exact under editing.
+     * If there are no reference counts for some type (which is not expected), the whole cache of that type is cleared.
      *
      * @param container {@link OWLObject}, not {@code null}
      * @see #clearComponentsCaches()
+     * @see #prepareComponentCounts()
      * @see OWLComponentType
      */
     protected void clearComponents(OWLObject container) {
         if (components.isEmpty()) return;
         Map<OWLComponentType, ObjectMap<OWLObject>> cache = components.get(this);
+        Map<OWLComponentType, Map<OWLObject, Integer>> counts = componentCounts;
         OWLComponentType.keys().forEach(type -> {
             ObjectMap<OWLObject> map = cache.get(type);
-            if (!map.isLoaded()) {
+            Map<OWLObject, Integer> refs = counts == null ? null : counts.get(type);
+            if (refs == null) {
+                if (map.isLoaded() && type.select(container).findFirst().isPresent()) {
+                    map.clear();
+                }
                 return;
             }
-            if (type.select(container).findFirst().isEmpty()) return;
-            map.clear();
+            type.select(container).distinct().forEach(x -> {
+                Integer n = refs.get(x);
+                if (n != null && n > 1) {
+                    refs.put(x, n - 1);
+                    return;
+                }
+                refs.remove(x);
+                if (map.isLoaded()) {
+                    map.remove(x);
+                }
+            });
         });
     }
 
+    /**
+     * Builds the reference counts for those component types, whose caches are loaded, but not counted yet.
+     * This requires a pass over the content for each such type, after that the counts are maintained incrementally.
+     *
+     * @see #componentCounts
+     */
+    protected void prepareComponentCounts() {
+        if (components.isEmpty()) return;
+        Map<OWLComponentType, ObjectMap<OWLObject>> cache = components.get(this);
+        Map<OWLComponentType, Map<OWLObject, Integer>> counts = componentCounts;
+        if (counts == null) {
+            counts = new EnumMap<>(OWLComponentType.class);
+        }
+        Map<OWLComponentType, Map<OWLObject, Integer>> res = counts;
+        List<OWLComponentType> types = OWLComponentType.keys()
+                .filter(x -> !res.containsKey(x) && cache.get(x).isLoaded())
+                .collect(Collectors.toList());
+        if (types.isEmpty()) {
+            componentCounts = res;
+            return;
+        }
+        types.forEach(type -> {
+            Map<OWLObject, Integer> refs = new HashMap<>();
+            selectContentObjects(type).forEach(container -> countComponents(refs, type, container, 1));
+            res.put(type, refs);
+        });
+        componentCounts = res;
+    }
+
+    /**
+     * Adds the given {@code delta} to the reference counts of all components of the {@code type}
+     * from the {@code container}.
+     *
+     * @param counts    a {@code Map} of counts, not {@code null}
+     * @param type      {@link OWLComponentType}, not {@code null}
+     * @param container {@link OWLObject}, not {@code null}
+     * @param delta     int
+     */
+    protected static void countComponents(Map<OWLObject, Integer> counts,
+                                          OWLComponentType type,
+                                          OWLObject container,
+                                          int delta) {
+        type.select(container).distinct().forEach(x -> counts.merge(x, delta, Integer::sum));
+    }
+
     /**
      * Extracts all components from the given {@code container} and puts them into the {@link #components} cache.
      *
@@ -472,6 +806,10 @@ public class InternalGraphModelImpl extends InternalReadGraphModel implements In
     protected void cacheComponents(OWLObject container) {
         if (components.isEmpty()) return;
         Map<OWLComponentType, ObjectMap<OWLObject>> cache = components.get(this);
+        Map<OWLComponentType, Map<OWLObject, Integer>> counts = componentCounts;
+        if (counts != null) {
+            counts.forEach((type, refs) -> countComponents(refs, type, container, 1));
+        }
         ModelObjectFactory df = getObjectFactory();
         OntModel m = getSearchModel();
         OWLComponentType.keys().forEach(type -> {
@@ -43,6 +43,7 @@ import com.github.sszuev.jena.ontapi.model.OntObjectProperty;
 import com.github.sszuev.jena.ontapi.model.OntSWRL;
 import com.github.sszuev.jena.ontapi.model.OntStatement;
 import org.apache.jena.graph.BlankNodeId;
+import org.apache.jena.graph.Node;
 import org.apache.jena.graph.impl.LiteralLabel;
 import org.semanticweb.owlapi.model.IRI;
 import org.semanticweb.owlapi.model.OWLAnnotation;
@@ -64,14 +65,21 @@ import org.semanticweb.owlapi.model.SWRLDArgument;
 import org.semanticweb.owlapi.model.SWRLIArgument;
 import org.semanticweb.owlapi.model.SWRLVariable;
 
+import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Supplier;
 
 /**
  * An extended Object Factory impl which maps {@link OntObject OntObject}s
- * to {@link OWLObject OWLObject}s directly having no cache.
+ * to {@link OWLObject OWLObject}s directly having no cache for OWL entities.
  * Unlike {@link SimpleObjectFactory}, every object created by this factory is
  * an {@link ONTObject} with a reference to the concrete model obtained from this factory.
+ * Anonymous class expressions and data ranges are cached by their blank nodes,
+ * so a b-node expression, that is shared by several axioms, is decoded only once, even by concurrent readers.
+ * Since any change in the graph resets the object factory, these caches are always consistent with the graph.
  * <p>
  * Created by @ssz on 07.08.2019.
  *
@@ -80,10 +88,37 @@ import java.util.function.Supplier;
 public class InternalObjectFactory implements ModelObjectFactory {
     protected final Supplier<OntModel> model;
     protected final DataFactory factory;
+    protected final InternalCache<Node, ONTObject<? extends OWLClassExpression>> classExpressions;
+    protected final InternalCache<Node, ONTObject<? extends OWLDataRange>> dataRanges;
+    // the b-node expressions, that are being decoded right now:
+    private final Map<Node, Decoding> decodingClassExpressions = new ConcurrentHashMap<>();
+    private final Map<Node, Decoding> decodingDataRanges = new ConcurrentHashMap<>();
 
+    /**
+     * Creates a factory, that keeps anonymous expressions in unbounded caches with soft values.
+     *
+     * @param factory {@link DataFactory}, not {@code null}
+     * @param model   a facility (as {@code Supplier}) to provide nonnull {@link OntModel} instance, not {@code null}
+     */
     public InternalObjectFactory(DataFactory factory, Supplier<OntModel> model) {
+        this(factory, model, () -> InternalCache.createSoft(true));
+    }
+
+    /**
+     * Creates a factory, that keeps anonymous expressions in the caches produced by the given {@code cacheFactory}.
+     *
+     * @param factory      {@link DataFactory}, not {@code null}
+     * @param model        a facility (as {@code Supplier}) to provide nonnull {@link OntModel} instance, not {@code null}
+     * @param cacheFactory a facility ({@code Supplier}) to produce new cache instances, not {@code null}
+     */
+    @SuppressWarnings("unchecked")
+    protected InternalObjectFactory(DataFactory factory,
+                                    Supplier<OntModel> model,
+                                    Supplier<InternalCache<?, ?>> cacheFactory) {
         this.factory = Objects.requireNonNull(factory);
         this.model = Objects.requireNonNull(model);
+        this.classExpressions = (InternalCache<Node, ONTObject<? extends OWLClassExpression>>) cacheFactory.get();
+        this.dataRanges = (InternalCache<Node, ONTObject<? extends OWLDataRange>>) cacheFactory.get();
     }
 
     /**
@@ -131,7 +166,8 @@ public class InternalObjectFactory implements ModelObjectFactory {
     public ONTObject<? extends OWLClassExpression> getClass(OntClass ce) {
         if (ce.isURIResource())
             return getClass((OntClass.Named) ce);
-        return (ONTObject<? extends OWLClassExpression>) ONTAnonymousClassExpressionImpl.create(ce, this, model);
+        return get(classExpressions, decodingClassExpressions, ce.asNode(),
+                () -> (ONTObject<? extends OWLClassExpression>) ONTAnonymousClassExpressionImpl.create(ce, this, model));
     }
 
     @SuppressWarnings("unchecked")
@@ -139,7 +175,53 @@ public class InternalObjectFactory implements ModelObjectFactory {
     public ONTObject<? extends OWLDataRange> getDatatype(OntDataRange dr) {
         if (dr.isURIResource())
             return getDatatype((OntDataRange.Named) dr);
-        return (ONTObject<? extends OWLDataRange>) ONTAnonymousDataRangeImpl.create(dr, this, model);
+        return get(dataRanges, decodingDataRanges, dr.asNode(),
+                () -> (ONTObject<? extends OWLDataRange>) ONTAnonymousDataRangeImpl.create(dr, this, model));
+    }
+
+    /**
+     * Gets the value from the {@code cache} or decodes it, if it is absent.
+     * Like a computing get, the value is decoded only once even if several threads ask for it at the same time:
+     * the others wait for the first one.
+     * But the decoding is performed outside the cache,
+     * since decoding a nested expression re-enters this method with another node.
+     * If the same thread meets the same node again (a b-node cycle), the value is decoded without caching.
+     *
+     * @param cache    {@link InternalCache}
+     * @param decoding a {@code Map} with the nodes that are being decoded right now
+     * @param key      {@link Node} blank node
+     * @param loader   {@code Supplier} to decode the value
+     * @param <X>      the type of value
+     * @return the value, not {@code null}
+     */
+    @SuppressWarnings("unchecked")
+    private static <X> X get(InternalCache<Node, X> cache,
+                             Map<Node, Decoding> decoding,
+                             Node key,
+                             Supplier<X> loader) {
+        X res = cache.get(key);
+        if (res != null) {
+            return res;
+        }
+        Decoding task = new Decoding();
+        Decoding prev = decoding.putIfAbsent(key, task);
+        if (prev != null) {
+            return prev.owner == Thread.currentThread() ? loader.get() : (X) prev.await();
+        }
+        try {
+            // the value could be put by a thread, that has finished decoding after the first check
+            res = cache.get(key);
+            if (res == null) {
+                cache.put(key, res = loader.get());
+            }
+            task.complete(res);
+            return res;
+        } catch (RuntimeException | Error e) {
+            task.completeExceptionally(e);
+            throw e;
+        } finally {
+            decoding.remove(key, task);
+        }
     }
 
     @Override
@@ -235,4 +317,26 @@ public class InternalObjectFactory implements ModelObjectFactory {
     public ONTObject<? extends SWRLIArgument> getSWRLArgument(BlankNodeId id) {
         return new ONTSWRLIndividualImpl(id, model);
     }
+
+    /**
+     * A decoding of a b-node expression, that is in progress.
+     */
+    private static final class Decoding extends CompletableFuture<Object> {
+        private final Thread owner = Thread.currentThread();
+
+        private Object await() {
+            try {
+                return join();
+            } catch (CompletionException e) {
+                Throwable cause = e.getCause();
+                if (cause instanceof RuntimeException) {
+                    throw (RuntimeException) cause;
+                }
+                if (cause instanceof Error) {
+                    throw (Error) cause;
+                }
+                throw e;
+            }
+        }
+    }
 }
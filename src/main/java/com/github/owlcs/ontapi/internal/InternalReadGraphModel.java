@@ -14,9 +14,11 @@
 
 package com.github.owlcs.ontapi.internal;
 
+import com.github.owlcs.ontapi.AxiomsPage;
 import com.github.owlcs.ontapi.DataFactory;
 import com.github.owlcs.ontapi.ID;
 import com.github.owlcs.ontapi.OntApiException;
+import com.github.owlcs.ontapi.OntMetrics;
 import com.github.owlcs.ontapi.internal.axioms.AbstractNaryTranslator;
 import com.github.owlcs.ontapi.internal.objects.ModelObject;
 import com.github.owlcs.ontapi.internal.searchers.axioms.AnnotationAssertionBySubject;
@@ -29,6 +31,7 @@ import com.github.owlcs.ontapi.internal.searchers.axioms.ByIRI;
 import com.github.owlcs.ontapi.internal.searchers.axioms.ByLiteral;
 import com.github.owlcs.ontapi.internal.searchers.axioms.ByNamedIndividual;
 import com.github.owlcs.ontapi.internal.searchers.axioms.ByObjectProperty;
+import com.github.owlcs.ontapi.internal.searchers.axioms.ByTriples;
 import com.github.owlcs.ontapi.internal.searchers.axioms.ClassAssertionByObject;
 import com.github.owlcs.ontapi.internal.searchers.axioms.ClassAssertionBySubject;
 import com.github.owlcs.ontapi.internal.searchers.axioms.DataAssertionBySubject;
@@ -61,16 +64,19 @@ import com.github.sszuev.jena.ontapi.model.OntObject;
 import com.github.sszuev.jena.ontapi.model.OntObjectProperty;
 import com.github.sszuev.jena.ontapi.model.OntStatement;
 import com.github.sszuev.jena.ontapi.utils.Graphs;
+import com.github.sszuev.jena.ontapi.utils.Iterators;
 import com.github.sszuev.jena.ontapi.vocabulary.OWL;
 import com.github.sszuev.jena.ontapi.vocabulary.RDF;
 import javax.annotation.Nonnull;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.jena.graph.Graph;
 import org.apache.jena.graph.Node;
+import org.apache.jena.graph.Triple;
 import org.apache.jena.rdf.model.RDFNode;
 import org.apache.jena.rdf.model.Resource;
 import org.apache.jena.shared.Lock;
 import org.apache.jena.util.iterator.ExtendedIterator;
+import org.apache.jena.util.iterator.WrappedIterator;
 import org.semanticweb.owlapi.model.AxiomType;
 import org.semanticweb.owlapi.model.IRI;
 import org.semanticweb.owlapi.model.OWLAnnotation;
@@ -106,24 +112,29 @@ import org.semanticweb.owlapi.model.OWLSubClassOfAxiom;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.time.Duration;
-import java.time.Instant;
+import java.lang.ref.SoftReference;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.EnumMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.BiPredicate;
+import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.function.Supplier;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 /**
@@ -154,7 +165,8 @@ abstract class InternalReadGraphModel extends OntGraphModelImpl implements ListA
      * It is used while collecting axioms, may be reset to release memory.
      * Any change in the base graph must reset this cache.
      * Designed as a {@link java.lang.ref.SoftReference}
-     * since it is mostly needed only to optimize reading operations and may contain huge number of objects.
+     * since it is mostly needed only to optimize reading operations and may contain huge number of objects,
+     * but if there is a content cache budget, it is a strong reference.
      *
      * @see InternalConfig#useLoadObjectsCache()
      * @see CacheObjectFactory
@@ -164,7 +176,8 @@ abstract class InternalReadGraphModel extends OntGraphModelImpl implements ListA
      * A model for axiom/object's search optimizations, containing {@link Node node}s cache.
      * Any change in the base graph must also reset this cache.
      * Designed as a {@link java.lang.ref.SoftReference}
-     * since it is mostly needed only to optimize reading operations and may contain huge number of objects.
+     * since it is mostly needed only to optimize reading operations and may contain huge number of objects,
+     * but if there is a content cache budget, it is a strong reference.
      *
      * @see InternalConfig#useLoadNodesCache()
      * @see SearchModel
@@ -187,6 +200,17 @@ abstract class InternalReadGraphModel extends OntGraphModelImpl implements ListA
      * @see ObjectMap
      */
     protected final InternalCache.Loading<InternalReadGraphModel, Map<OWLComponentType, ObjectMap<OWLObject>>> components;
+    /**
+     * The components, that have been extracted from the {@link #content} in the same pass with some other type,
+     * but whose {@link #components} buckets have not been loaded yet.
+     * Each bucket takes its part while loading.
+     * The store is softly reachable: it is only a shortcut,
+     * and if it is collected, the bucket is extracted from the {@link #content} again.
+     * Any change must reset this store.
+     *
+     * @see #selectComponents(OWLComponentType, InternalConfig)
+     */
+    protected volatile SoftReference<Map<OWLComponentType, Collection<ONTObject<OWLObject>>>> componentsBatch;
 
     // Helpers to provide searching axioms by some objects (referencing by primitives).
     protected final ByObjectSearcher<OWLAxiom, OWLClass> byClass = new ByClass();
@@ -198,6 +222,7 @@ abstract class InternalReadGraphModel extends OntGraphModelImpl implements ListA
     protected final ByObjectSearcher<OWLAxiom, OWLLiteral> byLiteral = new ByLiteral();
     protected final ByObjectSearcher<OWLAxiom, OWLAnonymousIndividual> byAnonymousIndividual = new ByAnonymousIndividual();
     protected final ByObjectSearcher<OWLAxiom, IRI> byIRI = new ByIRI();
+    protected final ByTriples byTriples = new ByTriples();
     // Other searchers
     protected final ByObjectSearcher<OWLDeclarationAxiom, OWLEntity> declarationsByEntity = new DeclarationByEntity();
     protected final ByObjectSearcher<OWLAnnotationAssertionAxiom, OWLAnnotationSubject> annotationAssertionsBySubject
@@ -238,8 +263,15 @@ abstract class InternalReadGraphModel extends OntGraphModelImpl implements ListA
         Objects.requireNonNull(dataFactory);
         Objects.requireNonNull(config);
         this.config = InternalCache.createSingleton(x -> config.snapshot());
-        this.objectFactory = InternalCache.createSoftSingleton(x -> createObjectFactory(dataFactory, fromManager));
-        this.searchModel = InternalCache.createSoftSingleton(x -> createSearchModel());
+        if (config.getContentCacheStore() == null) {
+            this.objectFactory = InternalCache.createSoftSingleton(x -> createObjectFactory(dataFactory, fromManager));
+            this.searchModel = InternalCache.createSoftSingleton(x -> createSearchModel());
+        } else {
+            // with memory budget, the content is controlled by the manager's store,
+            // while these caches are bounded by their own size settings, and there is no need to drop them at once:
+            this.objectFactory = InternalCache.createSingleton(x -> createObjectFactory(dataFactory, fromManager));
+            this.searchModel = InternalCache.createSingleton(x -> createSearchModel());
+        }
         this.content = InternalCache.createSingleton(x -> createContentStore());
         this.components = InternalCache.createSingleton(x -> createComponentStore());
     }
@@ -252,6 +284,35 @@ abstract class InternalReadGraphModel extends OntGraphModelImpl implements ListA
         return cachedID = new ID(getID());
     }
 
+    /**
+     * Returns the name of this ontology to be used as a key in {@link OntMetrics metrics}.
+     * It is the current name: listeners should call this method on each event rather than capture the result,
+     * since the ontology id can be changed.
+     *
+     * @return {@code String}
+     * @see OntMetrics#name(org.semanticweb.owlapi.model.OWLOntologyID)
+     */
+    protected String getMetricsName() {
+        return OntMetrics.name(getOntologyID());
+    }
+
+    /**
+     * Reports the search strategy chosen for some query, if metrics is enabled.
+     *
+     * @param config      {@link InternalConfig}
+     * @param query       {@code String} short query description
+     * @param graphSearch {@code true} if a direct graph search is chosen, {@code false} for a cache scan
+     * @return the same {@code graphSearch} flag
+     */
+    protected boolean reportQuery(InternalConfig config, String query, boolean graphSearch) {
+        OntMetrics metrics = config.getMetrics();
+        if (metrics.isEnabled()) {
+            metrics.onQuery(getMetricsName(), query,
+                    graphSearch ? OntMetrics.Strategy.GRAPH_SEARCH : OntMetrics.Strategy.CACHE_SCAN);
+        }
+        return graphSearch;
+    }
+
     /**
      * Returns the model's {@link InternalConfig} snapshot instance, which is an immutable object.
      *
@@ -262,6 +323,22 @@ abstract class InternalReadGraphModel extends OntGraphModelImpl implements ListA
         return config.get(this);
     }
 
+    /**
+     * Clears the given store of {@link ObjectMap}s.
+     * If there is a content cache budget, the loaded buckets are released explicitly,
+     * otherwise they would occupy the manager's shared store until evicted.
+     * Must be called before the {@link #config} is reset.
+     *
+     * @param store {@link InternalCache.Loading} with {@link ObjectMap}s, not {@code null}
+     * @see InternalConfig#getContentCacheStore()
+     */
+    protected void clearObjectMaps(InternalCache.Loading<InternalReadGraphModel, ? extends Map<?, ? extends ObjectMap<?>>> store) {
+        if (!store.isEmpty() && !config.isEmpty() && getConfig().getContentCacheStore() != null) {
+            store.get(this).values().forEach(ObjectMap::clear);
+        }
+        store.clear();
+    }
+
     /**
      * Returns the {@code InternalDataFactory}, a helper (possibly, with cache) to read OWL-API objects.
      *
@@ -296,7 +373,14 @@ abstract class InternalReadGraphModel extends OntGraphModelImpl implements ListA
         long size = conf.getLoadObjectsCacheSize();
         boolean parallel = conf.parallel();
         Map<Class<? extends OWLPrimitive>, InternalCache<?, ?>> map = external == null ? Collections.emptyMap() : external;
-        return new CacheObjectFactory(df, model, map, () -> InternalCache.createBounded(parallel, size));
+        OntMetrics metrics = conf.getMetrics();
+        if (!metrics.isEnabled()) {
+            return new CacheObjectFactory(df, model, map, () -> InternalCache.createBounded(parallel, size));
+        }
+        // the name is resolved on each event, so that it follows the ontology id changes:
+        Consumer<Boolean> listener = hit -> metrics.onCacheAccess(getMetricsName(), OntMetrics.Cache.OBJECTS, hit);
+        return new CacheObjectFactory(df, model, map,
+                () -> InternalCache.monitor(InternalCache.createBounded(parallel, size), listener));
     }
 
     /**
@@ -323,10 +407,16 @@ abstract class InternalReadGraphModel extends OntGraphModelImpl implements ListA
      * @see com.github.owlcs.ontapi.config.CacheSettings#getLoadNodesCacheSize()
      */
     protected OntGraphModelImpl createSearchModel() {
-        if (!useModelSearchOptimization(getConfig())) {
+        InternalConfig conf = getConfig();
+        if (!useModelSearchOptimization(conf)) {
             return this;
         }
-        return new SearchModel(getGraph(), getOntPersonality(), getConfig()) {
+        OntMetrics metrics = conf.getMetrics();
+        Consumer<Boolean> listener = null;
+        if (metrics.isEnabled()) {
+            listener = hit -> metrics.onCacheAccess(getMetricsName(), OntMetrics.Cache.NODES, hit);
+        }
+        return new SearchModel(getGraph(), getOntPersonality(), conf, true, listener) {
 
             @Override
             public String toString() {
@@ -692,7 +782,7 @@ abstract class InternalReadGraphModel extends OntGraphModelImpl implements ListA
     public Stream<OWLAxiom> listOWLAxioms(OWLPrimitive primitive) {
         OWLComponentType filter = OWLComponentType.get(primitive);
         InternalConfig config = getConfig();
-        if (useReferencingAxiomsSearchOptimization(filter, config)) {
+        if (reportQuery(config, "referencingAxioms", useReferencingAxiomsSearchOptimization(filter, config))) {
             ExtendedIterator<ONTObject<OWLAxiom>> res;
             OntModel model = getSearchModel();
             ModelObjectFactory factory = getObjectFactory();
@@ -733,6 +823,27 @@ abstract class InternalReadGraphModel extends OntGraphModelImpl implements ListA
                 k -> keys(k, config).filter(x -> filter.contains(x, primitive)), config);
     }
 
+    /**
+     * Lists all axioms and header annotations, that own at least one of the given triples.
+     *
+     * @param triples a {@code Collection} of {@link Triple}s from the base graph, not {@code null}
+     * @return {@code Stream} of {@link OWLObject}s
+     * @see ByTriples
+     */
+    public Stream<OWLObject> listOWLContainers(Collection<Triple> triples) {
+        if (triples.isEmpty()) {
+            return Stream.empty();
+        }
+        Set<Triple> set = triples instanceof Set ? (Set<Triple>) triples : new HashSet<>(triples);
+        InternalConfig config = getConfig();
+        Stream<OWLObject> header = getHeaderCache().values()
+                .filter(x -> x.triples().anyMatch(set::contains))
+                .map(x -> getOWLObject(x, config));
+        Stream<OWLObject> axioms = Iterators.asStream(byTriples.listONTAxioms(set, getSearchModel(), getObjectFactory(), config)
+                .mapWith(x -> getOWLObject(x, config)));
+        return Stream.concat(header, axioms).distinct();
+    }
+
     /**
      * Answers {@code true} if the graph optimization for referencing axiom functionality is allowed and makes sense.
      *
@@ -789,7 +900,7 @@ abstract class InternalReadGraphModel extends OntGraphModelImpl implements ListA
      * @see #useReferencingAxiomsSearchOptimization(OWLComponentType, InternalConfig)
      */
     protected boolean useAxiomsSearchOptimization(InternalConfig config) {
-        return !config.useContentCache() || !hasManuallyAddedAxioms();
+        return reportQuery(config, "axiomsByObject", !config.useContentCache() || !hasManuallyAddedAxioms());
     }
 
     public Stream<OWLAxiom> listOWLAxioms() {
@@ -833,6 +944,64 @@ abstract class InternalReadGraphModel extends OntGraphModelImpl implements ListA
         return listOWLAxioms(OWLTopObjectType.get(type));
     }
 
+    @Override
+    public <A extends OWLAxiom> AxiomsPage<A> listOWLAxioms(AxiomType<A> type, String token, int limit) {
+        if (limit <= 0) {
+            throw new OntApiException.IllegalArgument("Limit must be positive: " + limit);
+        }
+        AxiomsPage.Cursor cursor = AxiomsPage.Cursor.parse(token);
+        InternalConfig config = getConfig();
+        AxiomTranslator<A> translator = AxiomTranslator.get(type);
+        OntGraphModelImpl model = getSearchModel();
+        Graph graph = model.getGraph();
+        // since each subject has at least one statement, the page cannot contain more than limit keys:
+        TreeMap<String, Set<Node>> window = new TreeMap<>();
+        boolean more = false;
+        Node prevSubject = null;
+        String prevKey = null;
+        ExtendedIterator<OntStatement> it = translator.listStatements(model, config);
+        try {
+            while (it.hasNext()) {
+                Node subject = it.next().getSubject().asNode();
+                String key = subject.equals(prevSubject) ? prevKey : AxiomsPage.subjectKey(graph, subject);
+                prevSubject = subject;
+                prevKey = key;
+                if (!cursor.accepts(key)) {
+                    continue;
+                }
+                if (window.size() == limit && key.compareTo(window.lastKey()) > 0) {
+                    more = true;
+                    continue;
+                }
+                window.computeIfAbsent(key, k -> new HashSet<>()).add(subject);
+                if (window.size() > limit) {
+                    window.pollLastEntry();
+                    more = true;
+                }
+            }
+        } finally {
+            it.close();
+        }
+        List<OntStatement> statements = new ArrayList<>(Math.min(limit, 1024));
+        String last = null;
+        for (Map.Entry<String, Set<Node>> e : window.entrySet()) {
+            List<OntStatement> next = new ArrayList<>();
+            e.getValue().forEach(subject -> translator.listBySubject(model, model.wrapAsResource(subject))
+                    .filterKeep(s -> translator.testStatement(s, config)).forEachRemaining(next::add));
+            if (!statements.isEmpty() && statements.size() + next.size() > limit) {
+                more = true;
+                break;
+            }
+            statements.addAll(next);
+            last = e.getKey();
+        }
+        String next = more ? cursor.next(last).toToken() : null;
+        ModelObjectFactory factory = getObjectFactory();
+        List<A> res = BaseSearcher.translate(translator, WrappedIterator.create(statements.iterator()), factory, config)
+                .mapWith(x -> getOWLObject(x, config)).toList();
+        return new AxiomsPage<>(Collections.unmodifiableList(res), next);
+    }
+
     public long getOWLAxiomCount() {
         return getContentStore().entrySet().stream()
                 .filter(x -> x.getKey().isAxiom())
@@ -977,7 +1146,8 @@ abstract class InternalReadGraphModel extends OntGraphModelImpl implements ListA
         }
         boolean parallel = conf.parallel();
         boolean fastIterator = conf.useIteratorCache();
-        return new CacheObjectMapImpl<>(loader, false, parallel, fastIterator);
+        return new CacheObjectMapImpl<>(loader, false, parallel, fastIterator,
+                conf.getContentCacheStore(), this::getMetricsName);
     }
 
     /**
@@ -995,9 +1165,89 @@ abstract class InternalReadGraphModel extends OntGraphModelImpl implements ListA
             return searcher.listONTObjects(model, factory, conf);
         }
         // if content cache is loaded, then its parsing is faster than graph-optimization (at least for classes)
+        if (conf.useComponentCache()) {
+            return selectComponents(type, conf);
+        }
         return selectContentObjects(type).flatMap(x -> type.select(x, model, factory)).iterator();
     }
 
+    /**
+     * Lists all components of the specified {@code type} from the {@link #content} cache.
+     * To avoid walking through the whole content for each type,
+     * the components of all types, whose buckets are not loaded yet, are extracted at once,
+     * and the rest are kept in the {@link #componentsBatch} until the corresponding bucket is requested
+     * or the memory is needed.
+     *
+     * @param type {@link OWLComponentType}, not {@code null}
+     * @param conf {@link InternalConfig}, not {@code null}
+     * @return an {@code Iterator} of {@link ONTObject} with the given type
+     */
+    protected Iterator<ONTObject<OWLObject>> selectComponents(OWLComponentType type, InternalConfig conf) {
+        SoftReference<Map<OWLComponentType, Collection<ONTObject<OWLObject>>>> ref = componentsBatch;
+        Map<OWLComponentType, Collection<ONTObject<OWLObject>>> batch = ref == null ? null : ref.get();
+        Collection<ONTObject<OWLObject>> res = batch == null ? null : batch.remove(type);
+        if (res != null) {
+            return res.iterator();
+        }
+        Map<OWLComponentType, ObjectMap<OWLObject>> cache = components.get(this);
+        List<OWLComponentType> types = OWLComponentType.keys()
+                .filter(x -> x == type || !cache.get(x).isLoaded())
+                .collect(Collectors.toList());
+        Map<OWLComponentType, Collection<ONTObject<OWLObject>>> all = extractComponents(types, conf);
+        res = all.remove(type);
+        if (!all.isEmpty()) {
+            componentsBatch = new SoftReference<>(new ConcurrentHashMap<>(all));
+        }
+        return res.iterator();
+    }
+
+    /**
+     * Extracts the components of all the given {@code types} walking through the {@link #content} cache only once.
+     * The walk is sequential even for a concurrent model:
+     * the search model and the object factory are shared, and their node caches are not safe for parallel access.
+     *
+     * @param types a {@code List} of {@link OWLComponentType}s, not {@code null}
+     * @param conf  {@link InternalConfig}, not {@code null}
+     * @return a {@code Map} with {@code Collection}s of {@link ONTObject}s for each of the given {@code types}
+     */
+    protected Map<OWLComponentType, Collection<ONTObject<OWLObject>>> extractComponents(List<OWLComponentType> types,
+                                                                                       InternalConfig conf) {
+        ModelObjectFactory factory = getObjectFactory();
+        OntModel model = getSearchModel();
+        Map<OWLComponentType, Map<OWLObject, ONTObject<OWLObject>>> res = new EnumMap<>(OWLComponentType.class);
+        types.forEach(x -> res.put(x, new LinkedHashMap<>()));
+        OWLTopObjectType.all().forEach(k -> {
+            // the axiom-type (k) definitely contains these component types:
+            List<OWLComponentType> direct = types.stream()
+                    .filter(k::hasComponent)
+                    .collect(Collectors.toList());
+            // the axiom-type (k) does not contain these component types, but they can be present in its annotations:
+            List<OWLComponentType> annotated = types.stream()
+                    .filter(x -> !k.hasComponent(x) && OWLTopObjectType.ANNOTATION.hasComponent(x))
+                    .collect(Collectors.toList());
+            if (direct.isEmpty() && annotated.isEmpty()) {
+                return;
+            }
+            keys(getContentCache(k), conf).forEach(container -> {
+                direct.forEach(t -> selectComponents(res.get(t), t, container, model, factory));
+                if (!annotated.isEmpty() && k.hasAnnotations(container)) {
+                    annotated.forEach(t -> selectComponents(res.get(t), t, container, model, factory));
+                }
+            });
+        });
+        Map<OWLComponentType, Collection<ONTObject<OWLObject>>> values = new EnumMap<>(OWLComponentType.class);
+        res.forEach((k, v) -> values.put(k, v.values()));
+        return values;
+    }
+
+    private static void selectComponents(Map<OWLObject, ONTObject<OWLObject>> res,
+                                         OWLComponentType type,
+                                         OWLObject container,
+                                         OntModel model,
+                                         ModelObjectFactory factory) {
+        type.select(container, model, factory).forEach(x -> res.putIfAbsent(x.getOWLObject(), x));
+    }
+
     private ObjectsSearcher<OWLObject> getEntitySearcher(OWLComponentType type) {
         switch (type) {
             case CLASS:
@@ -1185,22 +1435,30 @@ abstract class InternalReadGraphModel extends OntGraphModelImpl implements ListA
         boolean parallel = conf.parallel();
         boolean fastIterator = conf.useIteratorCache();
         boolean withMerge = !key.isDistinct();
-        if (!LOGGER.isDebugEnabled()) {
-            return new CacheObjectMapImpl<>(toLoader(searcher), withMerge, parallel, fastIterator);
+        InternalCache<Object, Object> store = conf.getContentCacheStore();
+        boolean debug = LOGGER.isDebugEnabled();
+        OntMetrics metrics = conf.getMetrics();
+        if (!debug && !metrics.isEnabled()) {
+            return new CacheObjectMapImpl<>(toLoader(searcher), withMerge, parallel, fastIterator, store, this::getMetricsName);
         }
-        OntID id = getID();
-        return new CacheObjectMapImpl<>(toLoader(searcher), withMerge, parallel, fastIterator) {
+        OntID id = debug ? getID() : null;
+        return new CacheObjectMapImpl<>(toLoader(searcher), withMerge, parallel, fastIterator, store, this::getMetricsName) {
             @Override
             protected CachedMap<OWLObject, ONTObject<OWLObject>> loadMap() {
-                Instant start = Instant.now();
+                boolean reload = isCollected();
+                long start = System.nanoTime();
                 CachedMap<OWLObject, ONTObject<OWLObject>> res = super.loadMap();
-                Duration d = Duration.between(start, Instant.now());
-                if (res.size() == 0) return res;
+                long nanos = System.nanoTime() - start;
+                if (metrics.isEnabled()) {
+                    metrics.onTimer(getMetricsName(),
+                            reload ? OntMetrics.Timer.CACHE_RELOAD : OntMetrics.Timer.CACHE_LOAD, nanos);
+                }
+                if (!debug || res.size() == 0) return res;
                 // commons-lang3 is included in jena-arq (3.6.0)
                 LOGGER.debug("[{}]{}:::{}{}", id,
                         StringUtils.rightPad("[" + key + "]", 42),
                         StringUtils.rightPad(String.valueOf(res.size()), 8),
-                        "(" + String.format(Locale.ENGLISH, "%.3f", d.toMillis() / 1000.0) + "s)");
+                        "(" + String.format(Locale.ENGLISH, "%.3f", nanos / 1_000_000_000.0) + "s)");
                 return res;
             }
         };
@@ -0,0 +1,196 @@
+/*
+ * This file is part of the ONT API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright (c) 2023, owl.cs group.
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package com.github.owlcs.ontapi.internal;
+
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLAnnotationAssertionAxiom;
+import org.semanticweb.owlapi.model.OWLLiteral;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+/**
+ * An in-memory text index over the literal values of annotation assertions
+ * with the given annotation properties (e.g. {@code rdfs:label}, {@code skos:prefLabel}).
+ * It maps a normalized (lower-cased) literal lexical form to the set of annotation assertion axioms,
+ * and allows to find the subject IRIs by a prefix or by a substring of the label.
+ * <p>
+ * The prefix search uses a sorted map of the labels, so it costs {@code O(log(n) + k)}.
+ * The substring search uses a trigram index: only labels, which contain the rarest trigram of the query,
+ * are checked; queries shorter than three characters fall back to a scan of the distinct labels.
+ * <p>
+ * The index is built from the annotation assertion content cache on the first access,
+ * then it is maintained incrementally while adding and removing axioms,
+ * and it is discarded on any other change of the graph.
+ * The class has no synchronization of its own:
+ * a concurrent ontology reaches it only under its lock, just like the content caches.
+ * The memory footprint is roughly the size of the indexed literals plus about one trigram entry per character,
+ * that is why the model keeps only a few indexes (one per property set) at a time.
+ *
+ * @see com.github.owlcs.ontapi.Ontology#findIRIsByLabel(String, boolean, Collection, org.semanticweb.owlapi.model.parameters.Imports)
+ * @since 3.5.0
+ */
+public class LabelIndex {
+    protected static final int GRAM_SIZE = 3;
+
+    protected final Set<IRI> properties;
+    protected final NavigableMap<String, Set<OWLAnnotationAssertionAxiom>> labels = new TreeMap<>();
+    protected final Map<String, Set<String>> grams = new HashMap<>();
+
+    protected LabelIndex(Set<IRI> properties) {
+        this.properties = Set.copyOf(Objects.requireNonNull(properties, "Null properties"));
+    }
+
+    /**
+     * Builds the index.
+     *
+     * @param properties a {@code Set} of annotation property {@link IRI}s to index, not {@code null}
+     * @param axioms     {@code Stream} of all annotation assertion axioms, not {@code null}
+     * @return {@link LabelIndex}
+     */
+    public static LabelIndex create(Set<IRI> properties, Stream<OWLAnnotationAssertionAxiom> axioms) {
+        LabelIndex res = new LabelIndex(properties);
+        axioms.forEach(res::add);
+        return res;
+    }
+
+    /**
+     * Returns the annotation properties this index is built for.
+     *
+     * @return unmodifiable {@code Set} of {@link IRI}s
+     */
+    public Set<IRI> getProperties() {
+        return properties;
+    }
+
+    /**
+     * Normalizes the given text for the index key or query.
+     *
+     * @param text {@code String}
+     * @return {@code String}
+     */
+    public static String normalize(String text) {
+        return text.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Adds the axiom into the index, if it has a suitable property and a literal value.
+     *
+     * @param axiom {@link OWLAnnotationAssertionAxiom}, not {@code null}
+     */
+    public void add(OWLAnnotationAssertionAxiom axiom) {
+        String key = getKey(axiom);
+        if (key == null) {
+            return;
+        }
+        Set<OWLAnnotationAssertionAxiom> set = labels.get(key);
+        if (set == null) {
+            labels.put(key, set = new HashSet<>());
+            grams(key).forEach(g -> grams.computeIfAbsent(g, x -> new HashSet<>()).add(key));
+        }
+        set.add(axiom);
+    }
+
+    /**
+     * Removes the axiom from the index.
+     *
+     * @param axiom {@link OWLAnnotationAssertionAxiom}, not {@code null}
+     */
+    public void remove(OWLAnnotationAssertionAxiom axiom) {
+        String key = getKey(axiom);
+        if (key == null) {
+            return;
+        }
+        Set<OWLAnnotationAssertionAxiom> set = labels.get(key);
+        if (set == null || !set.remove(axiom) || !set.isEmpty()) {
+            return;
+        }
+        labels.remove(key);
+        grams(key).forEach(g -> {
+            Set<String> keys = grams.get(g);
+            if (keys != null && keys.remove(key) && keys.isEmpty()) {
+                grams.remove(g);
+            }
+        });
+    }
+
+    /**
+     * Finds subject IRIs of the annotation assertions, whose labels match the given text (case-insensitive).
+     *
+     * @param text      {@code String} a query, not {@code null}
+     * @param substring if {@code true} the label must contain the text, otherwise it must start with the text
+     * @return distinct {@code Stream} of {@link IRI}s
+     */
+    public Stream<IRI> find(String text, boolean substring) {
+        String q = normalize(Objects.requireNonNull(text, "Null text"));
+        Stream<String> keys;
+        if (!substring || q.isEmpty()) {
+            keys = labels.subMap(q, true, q + Character.MAX_VALUE, false).keySet().stream();
+        } else if (q.length() < GRAM_SIZE) {
+            keys = labels.keySet().stream().filter(x -> x.contains(q));
+        } else {
+            Set<String> candidates = null;
+            for (String g : (Iterable<String>) grams(q)::iterator) {
+                Set<String> set = grams.getOrDefault(g, Collections.emptySet());
+                if (candidates == null || set.size() < candidates.size()) {
+                    candidates = set;
+                }
+                if (set.isEmpty()) {
+                    break;
+                }
+            }
+            keys = Objects.requireNonNull(candidates).stream().filter(x -> x.contains(q));
+        }
+        return keys.flatMap(k -> labels.get(k).stream())
+                .map(x -> x.getSubject().asIRI())
+                .flatMap(Optional::stream)
+                .distinct();
+    }
+
+    /**
+     * Returns the number of distinct labels in the index.
+     *
+     * @return int
+     */
+    public int size() {
+        return labels.size();
+    }
+
+    protected String getKey(OWLAnnotationAssertionAxiom axiom) {
+        if (!properties.contains(axiom.getProperty().getIRI())) {
+            return null;
+        }
+        return axiom.getValue().asLiteral().map(OWLLiteral::getLiteral).map(LabelIndex::normalize).orElse(null);
+    }
+
+    protected static Stream<String> grams(String key) {
+        if (key.length() < GRAM_SIZE) {
+            return Stream.empty();
+        }
+        return Stream.iterate(0, i -> i <= key.length() - GRAM_SIZE, i -> i + 1)
+                .map(i -> key.substring(i, i + GRAM_SIZE))
+                .distinct();
+    }
+}
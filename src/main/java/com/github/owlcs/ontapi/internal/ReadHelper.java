@@ -24,14 +24,22 @@ import com.github.sszuev.jena.ontapi.model.OntDataProperty;
 import com.github.sszuev.jena.ontapi.model.OntDataRange;
 import com.github.sszuev.jena.ontapi.model.OntFacetRestriction;
 import com.github.sszuev.jena.ontapi.model.OntIndividual;
+import com.github.sszuev.jena.ontapi.model.OntList;
 import com.github.sszuev.jena.ontapi.model.OntObject;
 import com.github.sszuev.jena.ontapi.model.OntObjectProperty;
 import com.github.sszuev.jena.ontapi.model.OntSWRL;
 import com.github.sszuev.jena.ontapi.model.OntStatement;
 import com.github.sszuev.jena.ontapi.utils.Iterators;
 import com.github.sszuev.jena.ontapi.utils.OntModels;
+import org.apache.jena.graph.Graph;
+import org.apache.jena.graph.Node;
+import org.apache.jena.graph.Triple;
+import org.apache.jena.rdf.model.Literal;
+import org.apache.jena.rdf.model.Model;
+import org.apache.jena.rdf.model.RDFNode;
 import org.apache.jena.rdf.model.Resource;
 import org.apache.jena.util.iterator.ExtendedIterator;
+import org.apache.jena.vocabulary.RDF;
 import org.apache.jena.vocabulary.RDFS;
 import org.semanticweb.owlapi.model.AxiomType;
 import org.semanticweb.owlapi.model.IRI;
@@ -56,8 +64,16 @@ import org.semanticweb.owlapi.model.SWRLIArgument;
 import org.semanticweb.owlapi.model.SWRLVariable;
 import org.semanticweb.owlapi.vocab.OWLFacet;
 
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -266,7 +282,12 @@ public class ReadHelper {
 
     /**
      * Calculates an {@link OWLDataRange} wrapped by {@link ONTObject}.
-     * Note: this method is recursive.
+     * Note: this method is not recursive, the nested anonymous data ranges are collected using an explicit stack
+     * and then mapped bottom-up, so a deep nesting cannot cause {@code StackOverflowError} here.
+     * This applies only to the {@link SimpleObjectFactory}, which delegates to this method;
+     * the model objects of the default (cached) factory read their operands recursively on demand,
+     * and their depth is limited by the thread stack, as well as for the OWL-API objects
+     * (e.g. the structural {@code hashCode} and {@code equals} are recursive).
      *
      * @param dr   {@link OntDataRange Ontology Data Range} to map
      * @param of   {@link ONTObjectFactory}
@@ -274,36 +295,90 @@ public class ReadHelper {
      * @return {@link ONTObject} around {@link OWLDataRange}
      * @throws OntApiException if something is wrong.
      */
-    @SuppressWarnings("unchecked")
     public static ONTObject<? extends OWLDataRange> calcDataRange(OntDataRange dr,
                                                                   ONTObjectFactory of,
                                                                   Set<Resource> seen) {
         if (OntApiException.notNull(dr, "Null data range").isURIResource()) {
             return of.getDatatype(dr.as(OntDataRange.Named.class));
         }
-        if (seen.contains(dr)) {
-            throw new OntApiException("Recursive loop on data range " + dr);
+        Map<OntDataRange, ONTObject<? extends OWLDataRange>> res = new HashMap<>();
+        Function<OntDataRange, ONTObject<? extends OWLDataRange>> operands = x -> x.isURIResource() ?
+                of.getDatatype(x.as(OntDataRange.Named.class)) : res.get(x);
+        Deque<OntDataRange> stack = new ArrayDeque<>();
+        stack.push(dr);
+        while (!stack.isEmpty()) {
+            OntDataRange next = stack.peek();
+            if (res.containsKey(next)) {
+                stack.pop();
+                continue;
+            }
+            if (seen.add(next)) {
+                // the first visit: schedule all anonymous operands
+                for (OntDataRange x : listDataRangeOperands(next)) {
+                    if (x.isURIResource() || res.containsKey(x)) continue;
+                    if (seen.contains(x)) {
+                        throw new OntApiException("Recursive loop on data range " + x);
+                    }
+                    stack.push(x);
+                }
+                continue;
+            }
+            // the second visit: all operands are ready
+            stack.pop();
+            res.put(next, mapDataRange(next, of, operands));
+        }
+        return res.get(dr);
+    }
+
+    /**
+     * Lists the data ranges, that are direct operands of the given anonymous data range.
+     *
+     * @param dr {@link OntDataRange}, not {@code null}
+     * @return {@code List} of {@link OntDataRange}s
+     */
+    @SuppressWarnings("unchecked")
+    private static List<OntDataRange> listDataRangeOperands(OntDataRange dr) {
+        if (dr instanceof OntDataRange.ComplementOf) {
+            return List.of(((OntDataRange.ComplementOf) dr).getValue());
+        }
+        if (dr instanceof OntDataRange.UnionOf || dr instanceof OntDataRange.IntersectionOf) {
+            return listMembers(((OntDataRange.Combination<OntDataRange>) dr).getList(), OntDataRange.class);
         }
-        seen.add(dr);
+        return List.of();
+    }
+
+    /**
+     * Maps the given anonymous data range, whose operands are already calculated.
+     *
+     * @param dr       {@link OntDataRange}, not {@code null}
+     * @param of       {@link ONTObjectFactory}, not {@code null}
+     * @param operands a {@code Function} to get the already calculated operands, not {@code null}
+     * @return {@link ONTObject} around {@link OWLDataRange}
+     * @throws OntApiException if something is wrong.
+     */
+    @SuppressWarnings("unchecked")
+    private static ONTObject<? extends OWLDataRange> mapDataRange(OntDataRange dr,
+                                                                  ONTObjectFactory of,
+                                                                  Function<OntDataRange, ONTObject<? extends OWLDataRange>> operands) {
         DataFactory df = of.getOWLDataFactory();
         if (dr instanceof OntDataRange.Restriction) {
             OntDataRange.Restriction _dr = (OntDataRange.Restriction) dr;
             ONTObject<OWLDatatype> d = of.getDatatype(_dr.getValue());
-            Set<ONTObject<OWLFacetRestriction>> restrictions = OntModels.listMembers(_dr.getList())
-                    .mapWith(of::getFacetRestriction).toSet();
+            Set<ONTObject<OWLFacetRestriction>> restrictions = listMembers(_dr.getList(), OntFacetRestriction.class)
+                    .stream().map(of::getFacetRestriction).collect(Collectors.toSet());
             OWLDataRange res = df.getOWLDatatypeRestriction(d.getOWLObject(),
                     restrictions.stream().map(ONTObject::getOWLObject).collect(Collectors.toList()));
             return ONTWrapperImpl.create(res, dr).append(restrictions);
         }
         if (dr instanceof OntDataRange.ComplementOf) {
             OntDataRange.ComplementOf _dr = (OntDataRange.ComplementOf) dr;
-            ONTObject<? extends OWLDataRange> d = calcDataRange(_dr.getValue(), of, seen);
+            ONTObject<? extends OWLDataRange> d = operands.apply(_dr.getValue());
             return ONTWrapperImpl.create(df.getOWLDataComplementOf(d.getOWLObject()), _dr).append(d);
         }
         if (dr instanceof OntDataRange.UnionOf || dr instanceof OntDataRange.IntersectionOf) {
             OntDataRange.Combination<OntDataRange> _dr = (OntDataRange.Combination<OntDataRange>) dr;
-            Set<ONTObject<OWLDataRange>> dataRanges = OntModels.listMembers(_dr.getList())
-                    .mapWith(d -> (ONTObject<OWLDataRange>) calcDataRange(d, of, seen)).toSet();
+            Set<ONTObject<OWLDataRange>> dataRanges = listMembers(_dr.getList(), OntDataRange.class).stream()
+                    .map(d -> (ONTObject<OWLDataRange>) operands.apply(d)).collect(Collectors.toSet());
             OWLDataRange res = dr instanceof OntDataRange.UnionOf ?
                     df.getOWLDataUnionOf(dataRanges.stream().map(ONTObject::getOWLObject)) :
                     df.getOWLDataIntersectionOf(dataRanges.stream().map(ONTObject::getOWLObject));
@@ -311,8 +386,8 @@ public class ReadHelper {
         }
         if (dr instanceof OntDataRange.OneOf) {
             OntDataRange.OneOf _dr = (OntDataRange.OneOf) dr;
-            Set<ONTObject<OWLLiteral>> literals = _dr.getList().members().map(of::getLiteral)
-                    .collect(Collectors.toSet());
+            Set<ONTObject<OWLLiteral>> literals = listMembers(_dr.getList(), Literal.class).stream()
+                    .map(of::getLiteral).collect(Collectors.toSet());
             OWLDataRange res = df.getOWLDataOneOf(literals.stream().map(ONTObject::getOWLObject));
             return ONTWrapperImpl.create(res, _dr);
         }
@@ -321,7 +396,12 @@ public class ReadHelper {
 
     /**
      * Calculates an {@link OWLClassExpression} wrapped by {@link ONTObject}.
-     * Note: this method is recursive.
+     * Note: this method is not recursive, the nested anonymous class expressions are collected using an explicit stack
+     * and then mapped bottom-up, so a deep nesting cannot cause {@code StackOverflowError} here.
+     * This applies only to the {@link SimpleObjectFactory}, which delegates to this method;
+     * the model objects of the default (cached) factory read their operands recursively on demand,
+     * and their depth is limited by the thread stack, as well as for the OWL-API objects
+     * (e.g. the structural {@code hashCode} and {@code equals} are recursive).
      *
      * @param ce   {@link OntClass Ontology Class Expression} to map
      * @param of   {@link ONTObjectFactory}
@@ -331,22 +411,89 @@ public class ReadHelper {
      * @return {@link ONTObject} around {@link OWLClassExpression}
      * @throws OntApiException if something is wrong.
      */
-    @SuppressWarnings("unchecked")
     public static ONTObject<? extends OWLClassExpression> calcClassExpression(OntClass ce,
                                                                               ONTObjectFactory of,
                                                                               Set<Resource> seen) {
         if (OntApiException.notNull(ce, "Null class expression").isURIResource()) {
             return of.getClass(ce.as(OntClass.Named.class));
         }
-        if (!seen.add(ce)) {
-            throw new OntApiException("Recursive loop on class expression " + ce);
+        Map<OntClass, ONTObject<? extends OWLClassExpression>> res = new HashMap<>();
+        Function<OntClass, ONTObject<? extends OWLClassExpression>> operands = x -> x.isURIResource() ?
+                of.getClass(x.as(OntClass.Named.class)) : res.get(x);
+        Deque<OntClass> stack = new ArrayDeque<>();
+        stack.push(ce);
+        while (!stack.isEmpty()) {
+            OntClass next = stack.peek();
+            if (res.containsKey(next)) {
+                stack.pop();
+                continue;
+            }
+            Class<? extends OntObject> type = OntModels.getOntType(next);
+            if (seen.add(next)) {
+                // the first visit: schedule all anonymous operands
+                for (OntClass x : listClassOperands(next, type)) {
+                    if (x.isURIResource() || res.containsKey(x)) continue;
+                    if (seen.contains(x)) {
+                        throw new OntApiException("Recursive loop on class expression " + x);
+                    }
+                    stack.push(x);
+                }
+                continue;
+            }
+            // the second visit: all operands are ready
+            stack.pop();
+            res.put(next, mapClassExpression(next, type, of, operands));
+        }
+        return res.get(ce);
+    }
+
+    /**
+     * Lists the class expressions, that are direct operands of the given anonymous class expression.
+     *
+     * @param ce   {@link OntClass}, not {@code null}
+     * @param type {@code Class}-type of {@code ce}
+     * @return {@code List} of {@link OntClass}es
+     */
+    @SuppressWarnings("unchecked")
+    private static List<OntClass> listClassOperands(OntClass ce, Class<? extends OntObject> type) {
+        if (OntClass.ObjectSomeValuesFrom.class.equals(type) || OntClass.ObjectAllValuesFrom.class.equals(type)) {
+            return List.of(((OntClass.ComponentRestriction<OntClass, OntObjectProperty>) ce).getValue());
+        }
+        if (OntClass.ObjectMinCardinality.class.equals(type)
+                || OntClass.ObjectMaxCardinality.class.equals(type)
+                || OntClass.ObjectCardinality.class.equals(type)) {
+            OntClass res = ((OntClass.CardinalityRestriction<OntClass, OntObjectProperty>) ce).getValue();
+            return res == null ? List.of() : List.of(res);
+        }
+        if (OntClass.UnionOf.class.equals(type) || OntClass.IntersectionOf.class.equals(type)) {
+            return listMembers(((OntClass.CollectionOf<OntClass>) ce).getList(), OntClass.class);
         }
+        if (ce instanceof OntClass.ComplementOf) {
+            return List.of(((OntClass.ComplementOf) ce).getValue());
+        }
+        return List.of();
+    }
+
+    /**
+     * Maps the given anonymous class expression, whose operands are already calculated.
+     *
+     * @param ce       {@link OntClass}, not {@code null}
+     * @param type     {@code Class}-type of {@code ce}
+     * @param of       {@link ONTObjectFactory}, not {@code null}
+     * @param operands a {@code Function} to get the already calculated operands, not {@code null}
+     * @return {@link ONTObject} around {@link OWLClassExpression}
+     * @throws OntApiException if something is wrong.
+     */
+    @SuppressWarnings("unchecked")
+    private static ONTObject<? extends OWLClassExpression> mapClassExpression(OntClass ce,
+                                                                              Class<? extends OntObject> type,
+                                                                              ONTObjectFactory of,
+                                                                              Function<OntClass, ONTObject<? extends OWLClassExpression>> operands) {
         DataFactory df = of.getOWLDataFactory();
-        Class<? extends OntObject> type = OntModels.getOntType(ce);
         if (OntClass.ObjectSomeValuesFrom.class.equals(type) || OntClass.ObjectAllValuesFrom.class.equals(type)) {
             OntClass.ComponentRestriction<OntClass, OntObjectProperty> _ce = (OntClass.ComponentRestriction<OntClass, OntObjectProperty>) ce;
             ONTObject<? extends OWLObjectPropertyExpression> p = of.getProperty(_ce.getProperty());
-            ONTObject<? extends OWLClassExpression> c = calcClassExpression(_ce.getValue(), of, seen);
+            ONTObject<? extends OWLClassExpression> c = operands.apply(_ce.getValue());
             OWLClassExpression owl;
             if (OntClass.ObjectSomeValuesFrom.class.equals(type)) {
                 owl = df.getOWLObjectSomeValuesFrom(p.getOWLObject(), c.getOWLObject());
@@ -384,8 +531,8 @@ public class ReadHelper {
                 || OntClass.ObjectCardinality.class.equals(type)) {
             OntClass.CardinalityRestriction<OntClass, OntObjectProperty> _ce = (OntClass.CardinalityRestriction<OntClass, OntObjectProperty>) ce;
             ONTObject<? extends OWLObjectPropertyExpression> p = of.getProperty(_ce.getProperty());
-            ONTObject<? extends OWLClassExpression> c = calcClassExpression(_ce.getValue() == null ?
-                    _ce.getModel().getOWLThing() : _ce.getValue(), of, seen);
+            ONTObject<? extends OWLClassExpression> c = operands.apply(_ce.getValue() == null ?
+                    _ce.getModel().getOWLThing() : _ce.getValue());
             OWLObjectCardinalityRestriction owl;
             if (OntClass.ObjectMinCardinality.class.equals(type)) {
                 owl = df.getOWLObjectMinCardinality(_ce.getCardinality(), p.getOWLObject(), c.getOWLObject());
@@ -420,9 +567,9 @@ public class ReadHelper {
         }
         if (OntClass.UnionOf.class.equals(type) || OntClass.IntersectionOf.class.equals(type)) {
             OntClass.CollectionOf<OntClass> _ce = (OntClass.CollectionOf<OntClass>) ce;
-            Set<ONTObject<OWLClassExpression>> components = OntModels.listMembers(_ce.getList())
-                    .mapWith(c -> (ONTObject<OWLClassExpression>) calcClassExpression(c, of, seen))
-                    .toSet();
+            Set<ONTObject<OWLClassExpression>> components = listMembers(_ce.getList(), OntClass.class).stream()
+                    .map(c -> (ONTObject<OWLClassExpression>) operands.apply(c))
+                    .collect(Collectors.toSet());
             OWLClassExpression owl;
             if (OntClass.UnionOf.class.equals(type)) {
                 owl = df.getOWLObjectUnionOf(components.stream().map(ONTObject::getOWLObject));
@@ -433,14 +580,14 @@ public class ReadHelper {
         }
         if (OntClass.OneOf.class.equals(type)) {
             OntClass.OneOf _ce = (OntClass.OneOf) ce;
-            Set<ONTObject<OWLIndividual>> components = OntModels.listMembers(_ce.getList())
-                    .mapWith(i -> (ONTObject<OWLIndividual>) of.getIndividual(i)).toSet();
+            Set<ONTObject<OWLIndividual>> components = listMembers(_ce.getList(), OntIndividual.class).stream()
+                    .map(i -> (ONTObject<OWLIndividual>) of.getIndividual(i)).collect(Collectors.toSet());
             OWLClassExpression owl = df.getOWLObjectOneOf(components.stream().map(ONTObject::getOWLObject));
             return ONTWrapperImpl.create(owl, _ce).append(components);
         }
         if (ce instanceof OntClass.ComplementOf) {
             OntClass.ComplementOf _ce = (OntClass.ComplementOf) ce;
-            ONTObject<? extends OWLClassExpression> c = calcClassExpression(_ce.getValue(), of, seen);
+            ONTObject<? extends OWLClassExpression> c = operands.apply(_ce.getValue());
             return ONTWrapperImpl.create(df.getOWLObjectComplementOf(c.getOWLObject()), _ce).append(c);
         }
         if (ce instanceof OntClass.NaryRestriction) {
@@ -459,6 +606,70 @@ public class ReadHelper {
         throw new OntApiException("Unsupported class expression " + ce);
     }
 
+
+    /**
+     * Lists all members of the given {@link OntList} of the specified {@code type}.
+     * Unlike {@link OntList#members()}, it walks through the {@code rdf:first}/{@code rdf:rest} chain
+     * directly in the graph, performing only two indexed lookups per item and no intermediate Jena objects,
+     * which is significantly faster for long lists (e.g. huge {@code owl:oneOf} enumerations).
+     * Members that cannot be viewed as the {@code type} are skipped, as it is done by {@code OntList}.
+     *
+     * @param list {@link OntList}, not {@code null}
+     * @param type {@code Class}-type of members, not {@code null}
+     * @param <R>  subtype of {@link RDFNode}
+     * @return a {@code List} of {@link R}s in the list order
+     */
+    public static <R extends RDFNode> List<R> listMembers(OntList<?> list, Class<R> type) {
+        Model m = list.getModel();
+        Node[] nodes = listMembers(m.getGraph(), list.asNode());
+        List<R> res = new ArrayList<>(nodes.length);
+        for (Node n : nodes) {
+            RDFNode r = m.asRDFNode(n);
+            if (r.canAs(type)) {
+                res.add(r.as(type));
+            }
+        }
+        return res;
+    }
+
+    /**
+     * Collects all items of the RDF list starting with the given {@code head} node into an array.
+     * A broken or cyclic list is read up to the first wrong cell.
+     *
+     * @param graph {@link Graph}, not {@code null}
+     * @param head  {@link Node}, not {@code null}
+     * @return {@code Array} of {@link Node}s
+     */
+    public static Node[] listMembers(Graph graph, Node head) {
+        Node[] res = new Node[16];
+        int size = 0;
+        Set<Node> seen = new HashSet<>();
+        Node cell = head;
+        while (!RDF.Nodes.nil.equals(cell) && seen.add(cell)) {
+            Node first = getObject(graph, cell, RDF.Nodes.first);
+            if (first == null) {
+                break;
+            }
+            if (size == res.length) {
+                res = Arrays.copyOf(res, size << 1);
+            }
+            res[size++] = first;
+            if ((cell = getObject(graph, cell, RDF.Nodes.rest)) == null) {
+                break;
+            }
+        }
+        return size == res.length ? res : Arrays.copyOf(res, size);
+    }
+
+    private static Node getObject(Graph graph, Node subject, Node predicate) {
+        ExtendedIterator<Triple> it = graph.find(subject, predicate, Node.ANY);
+        try {
+            return it.hasNext() ? it.next().getObject() : null;
+        } finally {
+            it.close();
+        }
+    }
+
     /**
      * @param var {@link OntSWRL.Variable}
      * @param of  {@link ONTObjectFactory}
@@ -24,6 +24,7 @@ import com.github.sszuev.jena.ontapi.common.OntObjectPersonalityBuilder;
 import com.github.sszuev.jena.ontapi.common.OntPersonality;
 import com.github.sszuev.jena.ontapi.impl.OntGraphModelImpl;
 import com.github.sszuev.jena.ontapi.impl.UnionGraphImpl;
+import com.github.sszuev.jena.ontapi.model.OntAnnotation;
 import com.github.sszuev.jena.ontapi.model.OntModel;
 import com.github.sszuev.jena.ontapi.model.OntObject;
 import com.github.sszuev.jena.ontapi.model.OntSWRL;
@@ -34,18 +35,26 @@ import org.apache.jena.enhanced.EnhGraph;
 import org.apache.jena.enhanced.EnhNode;
 import org.apache.jena.graph.Graph;
 import org.apache.jena.graph.Node;
+import org.apache.jena.graph.Triple;
 import org.apache.jena.rdf.model.Property;
 import org.apache.jena.rdf.model.RDFNode;
 import org.apache.jena.rdf.model.Resource;
 import org.apache.jena.reasoner.InfGraph;
 import org.apache.jena.util.iterator.ExtendedIterator;
 import org.apache.jena.util.iterator.NullIterator;
+import org.apache.jena.util.iterator.WrappedIterator;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -72,6 +81,8 @@ public abstract class SearchModel extends OntGraphModelImpl implements HasObject
     private Boolean hasSubAnnotations;
     // all URIs
     private Set<String> systemURIs;
+    // reification index (annotated triple => annotation b-nodes), it is built once, on demand
+    private volatile AnnotationsIndex annotationsIndex;
 
     public SearchModel(Graph graph, OntPersonality personality, InternalConfig conf) {
         this(graph, personality, conf, true);
@@ -81,7 +92,25 @@ public abstract class SearchModel extends OntGraphModelImpl implements HasObject
                           OntPersonality personality,
                           InternalConfig conf,
                           boolean withCache) {
-        super(makeSearchModelGraph(graph), withCache ? cachedPersonality(personality, conf) : personality);
+        this(graph, personality, conf, withCache, null);
+    }
+
+    /**
+     * Creates a search model.
+     *
+     * @param graph         {@link Graph}, not {@code null}
+     * @param personality   {@link OntPersonality}, not {@code null}
+     * @param conf          {@link InternalConfig}, not {@code null}
+     * @param withCache     if {@code true} the nodes' cache is used
+     * @param nodesListener a {@code Consumer} to receive nodes' cache hit/miss events, can be {@code null}
+     * @since 3.5.0
+     */
+    protected SearchModel(Graph graph,
+                          OntPersonality personality,
+                          InternalConfig conf,
+                          boolean withCache,
+                          Consumer<Boolean> nodesListener) {
+        super(makeSearchModelGraph(graph), withCache ? cachedPersonality(personality, conf, nodesListener) : personality);
         this.conf = Objects.requireNonNull(conf);
         this.personality = personality;
     }
@@ -115,6 +144,22 @@ public abstract class SearchModel extends OntGraphModelImpl implements HasObject
      * @return {@link OntPersonality}
      */
     public static OntPersonality cachedPersonality(OntPersonality from, InternalConfig conf) {
+        return cachedPersonality(from, conf, null);
+    }
+
+    /**
+     * Creates a {@link OntPersonality} with nodes' cache inside, which access is reported to the given listener.
+     *
+     * @param from     {@link OntPersonality} to inherit all settings
+     * @param conf     {@link InternalConfig} to get all control options
+     * @param listener a {@code Consumer} to receive cache hit/miss events, can be {@code null}
+     * @return {@link OntPersonality}
+     * @see InternalCache#monitor(InternalCache, Consumer)
+     * @since 3.5.0
+     */
+    public static OntPersonality cachedPersonality(OntPersonality from,
+                                                   InternalConfig conf,
+                                                   Consumer<Boolean> listener) {
         if (!conf.useLoadNodesCache()) {
             throw new IllegalArgumentException("Negative cache size is specified");
         }
@@ -124,7 +169,7 @@ public abstract class SearchModel extends OntGraphModelImpl implements HasObject
                 // do not cache SWRL.DArg (and, therefore, SWRL.Arg) since an instance of this type
                 // can be Literal with unpredictable length
                 .filter(x -> x != OntSWRL.DArg.class && x != OntSWRL.Arg.class)
-                .forEach(x -> CachedFactory.cache(res, from, x, size));
+                .forEach(x -> CachedFactory.cache(res, from, x, size, listener));
         return res.build();
     }
 
@@ -191,13 +236,54 @@ public abstract class SearchModel extends OntGraphModelImpl implements HasObject
                 hasSubAnnotations;
     }
 
+    /**
+     * Returns the reification index, building it if necessary.
+     * Since any change in the graph resets the whole search model, the index is built once per cache generation.
+     *
+     * @return {@link AnnotationsIndex}
+     * @since 3.5.0
+     */
+    protected AnnotationsIndex getAnnotationsIndex() {
+        AnnotationsIndex res = annotationsIndex;
+        if (res == null) {
+            annotationsIndex = res = AnnotationsIndex.build(getGraph());
+        }
+        return res;
+    }
+
     @Override
     public ExtendedIterator<Resource> listAnnotations(Resource t, Resource s, Property p, RDFNode o) {
         if (!hasAnnotations()) return NullIterator.instance();
         if (OWL.Annotation == t && !hasSubAnnotations()) {
             return NullIterator.instance();
         }
-        return super.listAnnotations(t, s, p, o);
+        if ((OWL.Axiom != t && OWL.Annotation != t) || s == null || p == null || o == null) {
+            return super.listAnnotations(t, s, p, o);
+        }
+        List<Node> res = getAnnotationsIndex().get(t.asNode(), Triple.create(s.asNode(), p.asNode(), o.asNode()));
+        if (res.isEmpty()) return NullIterator.instance();
+        return WrappedIterator.create(res.iterator()).mapWith(this::toAnnotationResource);
+    }
+
+    /**
+     * Finds the root (top-level) annotation resource for the given (sub-)annotation using the reification index.
+     *
+     * @param annotation {@link OntAnnotation}, not {@code null}
+     * @return root or the same input annotation - a resource with {@code owl:Axiom} as {@code rdf:type}
+     * @since 3.5.0
+     */
+    public OntAnnotation getRootAnnotation(OntAnnotation annotation) {
+        Node root = getAnnotationsIndex().getRoot(annotation.asNode());
+        if (root.equals(annotation.asNode())) {
+            return annotation;
+        }
+        OntAnnotation res = safeFindNodeAs(root, OntAnnotation.class);
+        return res == null ? annotation : res;
+    }
+
+    private Resource toAnnotationResource(Node node) {
+        OntAnnotation res = safeFindNodeAs(node, OntAnnotation.class);
+        return res != null ? res : wrapAsResource(node);
     }
 
     @Override
@@ -209,6 +295,105 @@ public abstract class SearchModel extends OntGraphModelImpl implements HasObject
         }
     }
 
+    /**
+     * A hash index over the reification structure of the graph:
+     * it maps each annotated triple {@code (s, p, o)} to the b-nodes
+     * that have {@code owl:annotatedSource s}, {@code owl:annotatedProperty p} and {@code owl:annotatedTarget o},
+     * separately for {@code owl:Axiom} (axiom annotations) and {@code owl:Annotation} (sub-annotations) types.
+     * Since a sub-annotation refers to its parent b-node as {@code owl:annotatedSource},
+     * the same index also describes the whole sub-annotation trees.
+     * The index is immutable once built.
+     *
+     * @since 3.5.0
+     */
+    protected static class AnnotationsIndex {
+        private final Map<Triple, List<Node>> axioms;
+        private final Map<Triple, List<Node>> annotations;
+        // sub-annotation b-node => annotated source (i.e. parent)
+        private final Map<Node, Node> sources;
+        // all reification b-nodes
+        private final Set<Node> nodes;
+
+        protected AnnotationsIndex(Map<Triple, List<Node>> axioms,
+                                   Map<Triple, List<Node>> annotations,
+                                   Map<Node, Node> sources,
+                                   Set<Node> nodes) {
+            this.axioms = axioms;
+            this.annotations = annotations;
+            this.sources = sources;
+            this.nodes = nodes;
+        }
+
+        /**
+         * Builds the index by a single scan over all {@code owl:annotatedSource} triples.
+         *
+         * @param graph {@link Graph}, not {@code null}
+         * @return {@link AnnotationsIndex}
+         */
+        public static AnnotationsIndex build(Graph graph) {
+            Map<Triple, List<Node>> axioms = new HashMap<>();
+            Map<Triple, List<Node>> annotations = new HashMap<>();
+            Map<Node, Node> sources = new HashMap<>();
+            Set<Node> nodes = new HashSet<>();
+            graph.find(Node.ANY, OWL.annotatedSource.asNode(), Node.ANY).forEachRemaining(t -> {
+                Node a = t.getSubject();
+                boolean isAxiom = graph.contains(a, RDF.Nodes.type, OWL.Axiom.asNode());
+                boolean isAnnotation = graph.contains(a, RDF.Nodes.type, OWL.Annotation.asNode());
+                if (!isAxiom && !isAnnotation) {
+                    return;
+                }
+                nodes.add(a);
+                if (isAnnotation) {
+                    sources.put(a, t.getObject());
+                }
+                List<Node> properties = graph.find(a, OWL.annotatedProperty.asNode(), Node.ANY)
+                        .mapWith(Triple::getObject).toList();
+                List<Node> targets = graph.find(a, OWL.annotatedTarget.asNode(), Node.ANY)
+                        .mapWith(Triple::getObject).toList();
+                for (Node p : properties) {
+                    for (Node o : targets) {
+                        Triple key = Triple.create(t.getObject(), p, o);
+                        if (isAxiom) {
+                            axioms.computeIfAbsent(key, x -> new ArrayList<>(1)).add(a);
+                        }
+                        if (isAnnotation) {
+                            annotations.computeIfAbsent(key, x -> new ArrayList<>(1)).add(a);
+                        }
+                    }
+                }
+            });
+            return new AnnotationsIndex(axioms, annotations, sources, nodes);
+        }
+
+        /**
+         * Lists all reification b-nodes of the given type for the given annotated triple.
+         *
+         * @param type   {@link Node}, either {@code owl:Axiom} or {@code owl:Annotation}
+         * @param triple {@link Triple} the annotated triple
+         * @return unmodifiable {@code List} of {@link Node}s
+         */
+        public List<Node> get(Node type, Triple triple) {
+            Map<Triple, List<Node>> map = OWL.Axiom.asNode().equals(type) ? axioms : annotations;
+            return map.getOrDefault(triple, List.of());
+        }
+
+        /**
+         * Finds the top-level reification b-node for the given one.
+         *
+         * @param annotation {@link Node} reification b-node
+         * @return {@link Node}, possibly the same
+         */
+        public Node getRoot(Node annotation) {
+            Node res = annotation;
+            Node parent;
+            // the length guard protects against cycles in a broken graph
+            for (int i = 0; i <= sources.size() && (parent = sources.get(res)) != null && nodes.contains(parent); i++) {
+                res = parent;
+            }
+            return res;
+        }
+    }
+
     /**
      * A {@link EnhNodeFactory} impl with nodes' cache.
      */
@@ -218,27 +403,39 @@ public abstract class SearchModel extends OntGraphModelImpl implements HasObject
         private final InternalCache<Node, Boolean> canWrapCache;
 
         public CachedFactory(Class<? extends OntObject> type, EnhNodeFactory from, int limit, boolean parallel) {
+            this(type, from, limit, parallel, null);
+        }
+
+        protected CachedFactory(Class<? extends OntObject> type,
+                                EnhNodeFactory from,
+                                int limit,
+                                boolean parallel,
+                                Consumer<Boolean> listener) {
             this.type = Objects.requireNonNull(type);
             this.from = Objects.requireNonNull(from);
-            this.canWrapCache = InternalCache.createBounded(parallel, limit);
+            InternalCache<Node, Boolean> cache = InternalCache.createBounded(parallel, limit);
+            this.canWrapCache = listener == null ? cache : InternalCache.monitor(cache, listener);
         }
 
         private static CachedFactory create(Class<? extends OntObject> type,
                                             EnhNodeFactory from,
-                                            int limit) {
+                                            int limit,
+                                            Consumer<Boolean> listener) {
 
             // Do not use caffeine due to danger of LiveLock
             return new CachedFactory(type,
                     from instanceof CachedFactory ? ((CachedFactory) from).from : from,
                     limit,
-                    false);
+                    false,
+                    listener);
         }
 
         static void cache(OntObjectPersonalityBuilder res,
                           OntPersonality from,
                           Class<? extends OntObject> type,
-                          int limit) {
-            res.add(type, create(type, from.getObjectFactory(type), limit));
+                          int limit,
+                          Consumer<Boolean> listener) {
+            res.add(type, create(type, from.getObjectFactory(type), limit, listener));
         }
 
         @Override
@@ -392,24 +392,64 @@ public class WriteHelper {
         return model.createFacetRestriction(getFRType(fr.getFacet()), addLiteral(model, fr.getFacetValue()));
     }
 
+    /**
+     * Adds the class expression into the model.
+     * If the model supports {@link ExpressionIndex}, and it is enabled,
+     * then a structurally equal anonymous expression already present in the base graph is reused.
+     *
+     * @param model {@link OntModel}, not {@code null}
+     * @param ce    {@link OWLClassExpression}, not {@code null}
+     * @return {@link OntClass}
+     */
     public static OntClass addClassExpression(OntModel model, OWLClassExpression ce) {
         if (ce.isOWLClass()) {
             return addOntEntity(model, ce.asOWLClass()).as(OntClass.Named.class);
         }
+        ExpressionIndex index = ExpressionIndex.get(model);
+        if (index != null) {
+            OntClass found = index.reuse(model, ce);
+            if (found != null) {
+                return found;
+            }
+        }
         ClassExpressionType type = ce.getClassExpressionType();
         CETranslator cet = OntApiException.notNull(CETranslator.valueOf(type),
                 "Unsupported class-expression " + ce + "/" + type);
-        return cet.translator.add(model, ce).as(OntClass.class);
+        OntClass res = cet.translator.add(model, ce).as(OntClass.class);
+        if (index != null) {
+            index.put(ce, res.asNode());
+        }
+        return res;
     }
 
+    /**
+     * Adds the data range into the model.
+     * If the model supports {@link ExpressionIndex}, and it is enabled,
+     * then a structurally equal anonymous data range already present in the base graph is reused.
+     *
+     * @param model {@link OntModel}, not {@code null}
+     * @param dr    {@link OWLDataRange}, not {@code null}
+     * @return {@link OntDataRange}
+     */
     public static OntDataRange addDataRange(OntModel model, OWLDataRange dr) {
         if (dr.isOWLDatatype()) {
             return addOntEntity(model, dr.asOWLDatatype()).as(OntDataRange.Named.class);
         }
+        ExpressionIndex index = ExpressionIndex.get(model);
+        if (index != null) {
+            OntDataRange found = index.reuse(model, dr);
+            if (found != null) {
+                return found;
+            }
+        }
         DataRangeType type = dr.getDataRangeType();
         DRTranslator drt = OntApiException.notNull(DRTranslator.valueOf(type),
                 "Unsupported data-range expression " + dr + "/" + type);
-        return drt.translator.add(model, dr).as(OntDataRange.class);
+        OntDataRange res = drt.translator.add(model, dr).as(OntDataRange.class);
+        if (index != null) {
+            index.put(dr, res.asNode());
+        }
+        return res;
     }
 
     public static OntIndividual.Anonymous getAnonymousIndividual(OntModel model, OWLAnonymousIndividual ai) {
@@ -19,6 +19,7 @@ import com.github.owlcs.ontapi.OntApiException;
 import com.github.owlcs.ontapi.internal.ModelObjectFactory;
 import com.github.owlcs.ontapi.internal.ONTObject;
 import com.github.owlcs.ontapi.internal.ONTObjectFactory;
+import com.github.owlcs.ontapi.internal.ReadHelper;
 import com.github.owlcs.ontapi.owlapi.OWLObjectImpl;
 import com.github.owlcs.ontapi.owlapi.objects.AnonymousIndividualImpl;
 import com.github.sszuev.jena.ontapi.model.OntClass;
@@ -81,6 +82,8 @@ import java.util.stream.Stream;
 /**
  * An abstraction for any anonymous class expressions
  * (i.e. for all class expressions with except of {@code OWLClass}es).
+ * Note: nested operands are read on demand through the {@link ONTObjectFactory}, i.e. recursively,
+ * so, unlike {@code ReadHelper}, very deep nesting of anonymous class expressions is limited by the thread stack.
  * <p>
  * Created by @ssz on 10.08.2019.
  *
@@ -938,6 +941,11 @@ public abstract class ONTAnonymousClassExpressionImpl<ONT extends OntClass, OWL
             return factory.getIndividual(member);
         }
 
+        @Override
+        protected Class<OntIndividual> memberType() {
+            return OntIndividual.class;
+        }
+
         @Override
         protected Object toContentItem(ONTObject<? extends OWLIndividual> individual) {
             if (!individual.getOWLObject().isOWLNamedIndividual()) {
@@ -1119,6 +1127,11 @@ public abstract class ONTAnonymousClassExpressionImpl<ONT extends OntClass, OWL
         protected ONTObject<? extends OWLClassExpression> map(OntClass member, ONTObjectFactory factory) {
             return factory.getClass(member);
         }
+
+        @Override
+        protected Class<OntClass> memberType() {
+            return OntClass.class;
+        }
     }
 
     /**
@@ -1149,6 +1162,13 @@ public abstract class ONTAnonymousClassExpressionImpl<ONT extends OntClass, OWL
          */
         protected abstract ONTObject<? extends OWL_M> map(ONT_M member, ONTObjectFactory factory);
 
+        /**
+         * Returns the type of list members.
+         *
+         * @return {@code Class} of {@link ONT_M}
+         */
+        protected abstract Class<ONT_M> memberType();
+
         /**
          * Prepares an {@link OWL_M} to store in cache (content array).
          *
@@ -1223,7 +1243,7 @@ public abstract class ONTAnonymousClassExpressionImpl<ONT extends OntClass, OWL
 
         protected Set<ONTObject<? extends OWL_M>> operands(ONT_C ce, ONTObjectFactory factory) {
             Set<ONTObject<? extends OWL_M>> res = createContentSet();
-            OntModels.listMembers(ce.getList()).forEachRemaining(e -> res.add(map(e, factory)));
+            ReadHelper.listMembers(ce.getList(), memberType()).forEach(e -> res.add(map(e, factory)));
             return res;
         }
     }
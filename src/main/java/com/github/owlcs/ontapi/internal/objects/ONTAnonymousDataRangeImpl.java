@@ -18,6 +18,7 @@ import com.github.owlcs.ontapi.OntApiException;
 import com.github.owlcs.ontapi.internal.ModelObjectFactory;
 import com.github.owlcs.ontapi.internal.ONTObject;
 import com.github.owlcs.ontapi.internal.ONTObjectFactory;
+import com.github.owlcs.ontapi.internal.ReadHelper;
 import com.github.owlcs.ontapi.owlapi.objects.LiteralImpl;
 import com.github.owlcs.ontapi.owlapi.objects.dr.AnonymousDataRangeImpl;
 import com.github.owlcs.ontapi.owlapi.objects.dr.DataComplementOfImpl;
@@ -26,6 +27,7 @@ import com.github.owlcs.ontapi.owlapi.objects.dr.DataOneOfImpl;
 import com.github.owlcs.ontapi.owlapi.objects.dr.DataUnionOfImpl;
 import com.github.owlcs.ontapi.owlapi.objects.dr.DatatypeRestrictionImpl;
 import com.github.sszuev.jena.ontapi.model.OntDataRange;
+import com.github.sszuev.jena.ontapi.model.OntFacetRestriction;
 import com.github.sszuev.jena.ontapi.model.OntModel;
 import com.github.sszuev.jena.ontapi.utils.OntModels;
 import org.apache.jena.graph.BlankNodeId;
@@ -54,6 +56,8 @@ import java.util.stream.Stream;
 /**
  * An abstraction for any anonymous data range expressions
  * (i.e. for all data ranges with except of {@code OWLDatatype}s).
+ * Note: nested operands are read on demand through the {@link ONTObjectFactory}, i.e. recursively,
+ * so, unlike {@code ReadHelper}, very deep nesting of anonymous data ranges is limited by the thread stack.
  * <p>
  * Created by @ssz on 20.08.2019.
  *
@@ -227,6 +231,11 @@ public abstract class ONTAnonymousDataRangeImpl<ONT extends OntDataRange, OWL ex
             return factory.getLiteral(literal);
         }
 
+        @Override
+        protected Class<Literal> memberType() {
+            return Literal.class;
+        }
+
         @Override
         public Stream<OWLLiteral> values() {
             return operands();
@@ -337,7 +346,8 @@ public abstract class ONTAnonymousDataRangeImpl<ONT extends OntDataRange, OWL ex
         protected Set<ONTObject<OWLFacetRestriction>> facetRestrictions(OntDataRange.Restriction dr,
                                                                         ONTObjectFactory factory) {
             Set<ONTObject<OWLFacetRestriction>> res = createContentSet();
-            OntModels.listMembers(dr.getList()).mapWith(factory::getFacetRestriction).forEachRemaining(res::add);
+            ReadHelper.listMembers(dr.getList(), OntFacetRestriction.class)
+                    .forEach(x -> res.add(factory.getFacetRestriction(x)));
             return res;
         }
 
@@ -412,6 +422,11 @@ public abstract class ONTAnonymousDataRangeImpl<ONT extends OntDataRange, OWL ex
             return factory.getDatatype(dr);
         }
 
+        @Override
+        protected Class<OntDataRange> memberType() {
+            return OntDataRange.class;
+        }
+
         @Override
         protected Object toContentItem(ONTObject<? extends OWLDataRange> dr) {
             OWLDataRange res = dr.getOWLObject();
@@ -444,6 +459,13 @@ public abstract class ONTAnonymousDataRangeImpl<ONT extends OntDataRange, OWL ex
          */
         protected abstract ONTObject<? extends OWL_M> map(ONT_M member, ONTObjectFactory factory);
 
+        /**
+         * Returns the type of list members.
+         *
+         * @return {@code Class} of {@link ONT_M}
+         */
+        protected abstract Class<ONT_M> memberType();
+
         /**
          * Prepares an {@link OWL_M} to store in cache (content array).
          *
@@ -518,7 +540,7 @@ public abstract class ONTAnonymousDataRangeImpl<ONT extends OntDataRange, OWL ex
 
         protected Set<ONTObject<? extends OWL_M>> operands(ONT_D dr, ONTObjectFactory factory) {
             Set<ONTObject<? extends OWL_M>> res = createContentSet();
-            OntModels.listMembers(dr.getList()).forEachRemaining(e -> res.add(map(e, factory)));
+            ReadHelper.listMembers(dr.getList(), memberType()).forEach(e -> res.add(map(e, factory)));
             return res;
         }
     }
@@ -69,6 +69,9 @@ public abstract class ByPrimitive<P extends OWLPrimitive> extends BaseByObject<O
      * @return root or the same input annotation - a resource with {@code owl:Axiom} as {@code rdf:type}
      */
     public static OntAnnotation getRoot(OntAnnotation annotation) {
+        if (annotation.getModel() instanceof SearchModel) {
+            return ((SearchModel) annotation.getModel()).getRootAnnotation(annotation);
+        }
         OntAnnotation parent = annotation.parent().orElse(null);
         return parent == null ? annotation : getRoot(parent);
     }
@@ -0,0 +1,96 @@
+/*
+ * This file is part of the ONT API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright (c) 2023, owl.cs group.
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package com.github.owlcs.ontapi.internal.searchers.axioms;
+
+import com.github.owlcs.ontapi.config.AxiomsSettings;
+import com.github.owlcs.ontapi.internal.AxiomTranslator;
+import com.github.owlcs.ontapi.internal.ONTObject;
+import com.github.owlcs.ontapi.internal.ONTObjectFactory;
+import com.github.owlcs.ontapi.internal.searchers.WithRootStatement;
+import com.github.sszuev.jena.ontapi.model.OntAnnotation;
+import com.github.sszuev.jena.ontapi.model.OntModel;
+import com.github.sszuev.jena.ontapi.model.OntObject;
+import com.github.sszuev.jena.ontapi.model.OntStatement;
+import com.github.sszuev.jena.ontapi.utils.Iterators;
+import org.apache.jena.graph.Triple;
+import org.apache.jena.util.iterator.ExtendedIterator;
+import org.semanticweb.owlapi.model.OWLAxiom;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * A searcher for axioms that own (i.e. consist of, fully or partially) the given triples.
+ * Each triple is traced up to its root statements (axiom-candidates), which are then translated into axioms.
+ * So the time depends on the number of triples, not on the size of the ontology.
+ *
+ * @since 3.5.0
+ */
+public class ByTriples extends WithRootStatement {
+
+    /**
+     * All translators.
+     */
+    private static final Set<AxiomTranslator<OWLAxiom>> TRANSLATORS = selectTranslators(null);
+
+    /**
+     * Lists all axioms, that contain at least one of the given triples.
+     *
+     * @param triples a {@code Set} of {@link Triple}s from the base graph of the {@code model}, not {@code null}
+     * @param model   a {@link OntModel}, not {@code null}
+     * @param factory an {@link ONTObjectFactory}, not {@code null}
+     * @param config  {@link AxiomsSettings}, not {@code null}
+     * @return an {@link ExtendedIterator} of {@link OWLAxiom}s wrapped with {@link ONTObject}
+     */
+    public ExtendedIterator<ONTObject<OWLAxiom>> listONTAxioms(Set<Triple> triples,
+                                                               OntModel model,
+                                                               ONTObjectFactory factory,
+                                                               AxiomsSettings config) {
+        Set<OntStatement> roots = new LinkedHashSet<>();
+        triples.forEach(t -> listRootStatements(model, model.asStatement(t)).forEachRemaining(roots::add));
+        ExtendedIterator<ONTObject<OWLAxiom>> res;
+        if (config.isSplitAxiomAnnotations()) {
+            res = Iterators.flatMap(Iterators.create(roots),
+                    s -> Iterators.flatMap(listTranslators(s, config), t -> split(t, s, factory, config)));
+        } else {
+            res = Iterators.flatMap(Iterators.create(roots),
+                    s -> listTranslators(s, config).mapWith(t -> toAxiom(t, s, factory, config)));
+        }
+        return res.filterKeep(x -> x.triples().anyMatch(triples::contains));
+    }
+
+    private static ExtendedIterator<AxiomTranslator<OWLAxiom>> listTranslators(OntStatement statement,
+                                                                              AxiomsSettings conf) {
+        return Iterators.create(TRANSLATORS).filterKeep(t -> t.testStatement(statement, conf));
+    }
+
+    /**
+     * Lists the base statement for an annotation resource (i.e. {@code owl:Axiom}),
+     * or all statements of the given anonymous root otherwise.
+     *
+     * @param model {@link OntModel}
+     * @param root  {@link OntObject} - an anonymous resource
+     * @return an {@link ExtendedIterator} of {@link OntStatement}s
+     */
+    @Override
+    protected ExtendedIterator<OntStatement> listProperties(OntModel model, OntObject root) {
+        OntAnnotation a = root.getAs(OntAnnotation.class);
+        if (a == null) {
+            return listBySubject(model, root);
+        }
+        OntStatement base = ByPrimitive.getRoot(a).getBase();
+        return base != null ? Iterators.of(base) : listBySubject(model, root);
+    }
+}
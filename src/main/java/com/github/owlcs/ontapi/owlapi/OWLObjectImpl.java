@@ -113,7 +113,38 @@ public abstract class OWLObjectImpl implements OWLObject, Serializable {
      * @throws NullPointerException if {@code input} or any element is {@code null}
      */
     protected static <X> List<X> toContentList(Collection<? extends X> input, String msg) {
-        return forOutput(Objects.requireNonNull(input, msg).stream()).collect(Collectors.toUnmodifiableList());
+        return toSortedDistinctList(Objects.requireNonNull(input, msg));
+    }
+
+    /**
+     * Makes an unmodifiable sorted distinct {@code List} from the given collection.
+     * Collections with zero, one or two elements (which is the most common case, e.g. for annotations)
+     * are processed directly, without involving streams.
+     *
+     * @param input a nonnull {@code Collection} of {@link X}, without {@code null}s
+     * @param <X>   anything comparable
+     * @return an unmodifiable sorted, distinct, nonnull {@code List} of {@link X}s
+     * @throws NullPointerException if any element is {@code null}
+     */
+    @SuppressWarnings("unchecked")
+    protected static <X> List<X> toSortedDistinctList(Collection<? extends X> input) {
+        int size = input.size();
+        if (size == 0) {
+            return List.of();
+        }
+        if (size > 2) {
+            return forOutput(input.stream()).collect(Collectors.toUnmodifiableList());
+        }
+        Iterator<? extends X> it = input.iterator();
+        X first = Objects.requireNonNull(it.next());
+        if (size == 1) {
+            return List.of(first);
+        }
+        X second = Objects.requireNonNull(it.next());
+        if (first.equals(second)) {
+            return List.of(first);
+        }
+        return ((Comparable<Object>) first).compareTo(second) <= 0 ? List.of(first, second) : List.of(second, first);
     }
 
     /**
@@ -157,7 +188,7 @@ public abstract class OWLObjectImpl implements OWLObject, Serializable {
         if (Objects.requireNonNull(annotations, "Annotations cannot be null").isEmpty()) {
             return NO_ANNOTATIONS;
         }
-        return forOutput(annotations.stream()).collect(Collectors.toUnmodifiableList());
+        return toSortedDistinctList(annotations);
     }
 
     /**
@@ -514,7 +545,43 @@ public abstract class OWLObjectImpl implements OWLObject, Serializable {
 
     @Override
     public int compareTo(@Nullable OWLObject o) {
-        return DEFAULT_COMPARATOR.compare(this, Objects.requireNonNull(o));
+        if (Objects.requireNonNull(o) == this) {
+            return 0;
+        }
+        int res = Integer.compare(typeIndex(), o.typeIndex());
+        return res != 0 ? res : compareSameType(o);
+    }
+
+    /**
+     * Compares this object with the given one, which has the same {@link #typeIndex() type}.
+     * The order must be the same as the {@link #DEFAULT_COMPARATOR default} one (i.e. by {@link #components()}),
+     * but the subclasses may provide a faster implementation, that does not involve streams.
+     *
+     * @param other {@link OWLObject} with the same type, not {@code null}
+     * @return {@code int}
+     */
+    protected int compareSameType(OWLObject other) {
+        return compareIterators(components().iterator(), other.components().iterator());
+    }
+
+    /**
+     * Compares lists element by element (sensitive to order), without creating iterators.
+     *
+     * @param left  {@code List} to compare, not {@code null}
+     * @param right {@code List} to compare, not {@code null}
+     * @param <X>   subtype of {@link OWLObject}
+     * @return {@code int}
+     * @see #compareIterators(Iterator, Iterator)
+     */
+    protected static <X extends OWLObject> int compareLists(List<? extends X> left, List<? extends X> right) {
+        int size = Math.min(left.size(), right.size());
+        for (int i = 0; i < size; i++) {
+            int res = left.get(i).compareTo(right.get(i));
+            if (res != 0) {
+                return res;
+            }
+        }
+        return Integer.compare(left.size(), right.size());
     }
 
     @Override
@@ -16,11 +16,22 @@ package com.github.owlcs.ontapi.owlapi.axioms;
 import com.github.owlcs.ontapi.DataFactoryImpl;
 import com.github.owlcs.ontapi.owlapi.OWLObjectImpl;
 import org.semanticweb.owlapi.model.OWLAnnotation;
+import org.semanticweb.owlapi.model.OWLAnnotationProperty;
 import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLDataProperty;
+import org.semanticweb.owlapi.model.OWLDatatype;
+import org.semanticweb.owlapi.model.OWLEntity;
+import org.semanticweb.owlapi.model.OWLNamedIndividual;
+import org.semanticweb.owlapi.model.OWLObjectProperty;
 import org.semanticweb.owlapi.util.NNF;
 
+import javax.annotation.Nullable;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
+import java.util.Set;
+import java.util.function.Predicate;
 import java.util.stream.Stream;
 
 
@@ -28,6 +39,15 @@ import java.util.stream.Stream;
 public abstract class AxiomImpl extends OWLObjectImpl implements OWLAxiom {
 
     protected final List<OWLAnnotation> annotations;
+    /**
+     * The signature of this axiom, which is calculated once on demand:
+     * an immutable array of entities, sorted in the natural order.
+     */
+    protected transient volatile OWLEntity[] signature;
+    /**
+     * A small (64-bit) bloom filter for the {@link #signature}, to answer negative queries quickly.
+     */
+    protected transient volatile long signatureBloom;
 
     /**
      * @param annotations a {@code Collection} of {@link OWLAnnotation annotation}s on the axiom
@@ -56,4 +76,96 @@ public abstract class AxiomImpl extends OWLObjectImpl implements OWLAxiom {
     public OWLAxiom getNNF() {
         return accept(new NNF(new DataFactoryImpl()));
     }
+
+    /**
+     * Returns the signature of this axiom as a sorted array.
+     * The array is calculated only once, the axiom is immutable.
+     *
+     * @return an {@code Array} of {@link OWLEntity}s, must not be modified
+     */
+    protected OWLEntity[] getSignatureArray() {
+        OWLEntity[] res = signature;
+        if (res != null) {
+            return res;
+        }
+        res = super.getSignatureSet().toArray(new OWLEntity[0]);
+        long bloom = 0;
+        for (OWLEntity e : res) {
+            bloom |= bloomMask(e);
+        }
+        signatureBloom = bloom;
+        return signature = res;
+    }
+
+    private static long bloomMask(OWLEntity entity) {
+        int h = entity.hashCode();
+        h ^= h >>> 16;
+        return 1L << (h & 63) | 1L << ((h >>> 6) & 63);
+    }
+
+    @Override
+    public boolean containsEntityInSignature(@Nullable OWLEntity entity) {
+        if (entity == null) {
+            return false;
+        }
+        OWLEntity[] res = getSignatureArray();
+        long mask = bloomMask(entity);
+        if ((signatureBloom & mask) != mask) {
+            return false;
+        }
+        return Arrays.binarySearch(res, entity) >= 0;
+    }
+
+    @Override
+    protected Set<OWLEntity> getSignatureSet() {
+        return selectFromSignature(x -> true);
+    }
+
+    @Override
+    protected Set<OWLClass> getNamedClassSet() {
+        return selectFromSignature(OWLEntity::isOWLClass);
+    }
+
+    @Override
+    protected Set<OWLNamedIndividual> getNamedIndividualSet() {
+        return selectFromSignature(OWLEntity::isOWLNamedIndividual);
+    }
+
+    @Override
+    protected Set<OWLDatatype> getDatatypeSet() {
+        return selectFromSignature(OWLEntity::isOWLDatatype);
+    }
+
+    @Override
+    protected Set<OWLObjectProperty> getObjectPropertySet() {
+        return selectFromSignature(OWLEntity::isOWLObjectProperty);
+    }
+
+    @Override
+    protected Set<OWLDataProperty> getDataPropertySet() {
+        return selectFromSignature(OWLEntity::isOWLDataProperty);
+    }
+
+    @Override
+    protected Set<OWLAnnotationProperty> getAnnotationPropertySet() {
+        return selectFromSignature(OWLEntity::isOWLAnnotationProperty);
+    }
+
+    /**
+     * Selects the entities from the cached signature into a fresh modifiable sorted {@code Set}.
+     *
+     * @param filter {@code Predicate} to select entities of the required type
+     * @param <E>    subtype of {@link OWLEntity}
+     * @return a modifiable sorted {@code Set}
+     */
+    @SuppressWarnings("unchecked")
+    protected <E extends OWLEntity> Set<E> selectFromSignature(Predicate<OWLEntity> filter) {
+        Set<E> res = createSortedSet();
+        for (OWLEntity e : getSignatureArray()) {
+            if (filter.test(e)) {
+                res.add((E) e);
+            }
+        }
+        return res;
+    }
 }
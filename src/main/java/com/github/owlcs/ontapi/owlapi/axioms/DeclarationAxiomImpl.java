@@ -17,6 +17,7 @@ import org.semanticweb.owlapi.model.OWLAnnotation;
 import org.semanticweb.owlapi.model.OWLAxiom;
 import org.semanticweb.owlapi.model.OWLDeclarationAxiom;
 import org.semanticweb.owlapi.model.OWLEntity;
+import org.semanticweb.owlapi.model.OWLObject;
 
 import javax.annotation.Nonnull;
 import java.util.Collection;
@@ -56,4 +57,11 @@ public class DeclarationAxiomImpl extends AxiomImpl implements OWLDeclarationAxi
     public OWLEntity getEntity() {
         return entity;
     }
+
+    @Override
+    protected int compareSameType(OWLObject other) {
+        OWLDeclarationAxiom axiom = (OWLDeclarationAxiom) other;
+        int res = entity.compareTo(axiom.getEntity());
+        return res != 0 ? res : compareLists(annotations, axiom.annotationsAsList());
+    }
 }
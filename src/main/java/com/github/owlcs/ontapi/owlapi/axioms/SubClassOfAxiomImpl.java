@@ -16,6 +16,7 @@ package com.github.owlcs.ontapi.owlapi.axioms;
 import org.semanticweb.owlapi.model.OWLAnnotation;
 import org.semanticweb.owlapi.model.OWLAxiom;
 import org.semanticweb.owlapi.model.OWLClassExpression;
+import org.semanticweb.owlapi.model.OWLObject;
 import org.semanticweb.owlapi.model.OWLSubClassOfAxiom;
 
 import javax.annotation.Nonnull;
@@ -71,4 +72,15 @@ public class SubClassOfAxiomImpl extends ClassAxiomImpl implements OWLSubClassOf
     public boolean isGCI() {
         return subClass.isAnonymous();
     }
+
+    @Override
+    protected int compareSameType(OWLObject other) {
+        OWLSubClassOfAxiom axiom = (OWLSubClassOfAxiom) other;
+        int res = subClass.compareTo(axiom.getSubClass());
+        if (res != 0) {
+            return res;
+        }
+        res = superClass.compareTo(axiom.getSuperClass());
+        return res != 0 ? res : compareLists(annotations, axiom.annotationsAsList());
+    }
 }
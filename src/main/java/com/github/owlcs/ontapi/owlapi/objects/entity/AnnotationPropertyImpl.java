@@ -17,6 +17,7 @@ import com.github.owlcs.ontapi.owlapi.OWLObjectImpl;
 import org.apache.jena.rdf.model.Resource;
 import org.semanticweb.owlapi.model.IRI;
 import org.semanticweb.owlapi.model.OWLAnnotationProperty;
+import org.semanticweb.owlapi.model.OWLObject;
 
 import java.util.Objects;
 
@@ -52,4 +53,9 @@ public class AnnotationPropertyImpl extends OWLObjectImpl implements OWLAnnotati
     public String toStringID() {
         return iri.toString();
     }
+
+    @Override
+    protected int compareSameType(OWLObject other) {
+        return iri.compareTo(((OWLAnnotationProperty) other).getIRI());
+    }
 }
@@ -19,6 +19,7 @@ import org.apache.jena.rdf.model.Resource;
 import org.semanticweb.owlapi.model.IRI;
 import org.semanticweb.owlapi.model.OWLClass;
 import org.semanticweb.owlapi.model.OWLClassExpression;
+import org.semanticweb.owlapi.model.OWLObject;
 
 import javax.annotation.Nonnull;
 import java.io.Serializable;
@@ -117,4 +118,9 @@ public class ClassImpl extends OWLObjectImpl implements OWLClass, Serializable {
     public Stream<OWLClassExpression> disjunctSet() {
         return Stream.of(this);
     }
+
+    @Override
+    protected int compareSameType(OWLObject other) {
+        return iri.compareTo(((OWLClass) other).getIRI());
+    }
 }
@@ -17,6 +17,7 @@ import com.github.owlcs.ontapi.owlapi.OWLObjectImpl;
 import org.apache.jena.rdf.model.Resource;
 import org.semanticweb.owlapi.model.IRI;
 import org.semanticweb.owlapi.model.OWLDataProperty;
+import org.semanticweb.owlapi.model.OWLObject;
 import org.semanticweb.owlapi.vocab.OWLRDFVocabulary;
 
 import java.util.Objects;
@@ -61,4 +62,9 @@ public class DataPropertyImpl extends OWLObjectImpl implements OWLDataProperty {
     public boolean isBuiltIn() {
         return builtin;
     }
+
+    @Override
+    protected int compareSameType(OWLObject other) {
+        return iri.compareTo(((OWLDataProperty) other).getIRI());
+    }
 }
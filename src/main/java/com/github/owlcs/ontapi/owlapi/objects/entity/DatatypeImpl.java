@@ -17,6 +17,7 @@ import com.github.owlcs.ontapi.owlapi.OWLObjectImpl;
 import org.semanticweb.owlapi.model.IRI;
 import org.semanticweb.owlapi.model.OWLDatatype;
 import org.semanticweb.owlapi.model.OWLEntity;
+import org.semanticweb.owlapi.model.OWLObject;
 import org.semanticweb.owlapi.model.OWLRuntimeException;
 import org.semanticweb.owlapi.vocab.OWL2Datatype;
 import org.semanticweb.owlapi.vocab.OWLRDFVocabulary;
@@ -119,4 +120,9 @@ public class DatatypeImpl extends OWLObjectImpl implements OWLDatatype {
     public boolean isOWLDatatype() {
         return true;
     }
+
+    @Override
+    protected int compareSameType(OWLObject other) {
+        return iri.compareTo(((OWLDatatype) other).getIRI());
+    }
 }
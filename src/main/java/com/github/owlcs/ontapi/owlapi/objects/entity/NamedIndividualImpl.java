@@ -16,6 +16,7 @@ package com.github.owlcs.ontapi.owlapi.objects.entity;
 import com.github.owlcs.ontapi.owlapi.OWLObjectImpl;
 import org.semanticweb.owlapi.model.IRI;
 import org.semanticweb.owlapi.model.OWLNamedIndividual;
+import org.semanticweb.owlapi.model.OWLObject;
 
 import java.util.Objects;
 
@@ -40,4 +41,9 @@ public class NamedIndividualImpl extends OWLObjectImpl implements OWLNamedIndivi
     public IRI getIRI() {
         return iri;
     }
+
+    @Override
+    protected int compareSameType(OWLObject other) {
+        return iri.compareTo(((OWLNamedIndividual) other).getIRI());
+    }
 }
@@ -17,6 +17,7 @@ import com.github.owlcs.ontapi.owlapi.OWLObjectImpl;
 import com.github.owlcs.ontapi.owlapi.objects.ObjectInverseOfImpl;
 import org.apache.jena.rdf.model.Resource;
 import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLObject;
 import org.semanticweb.owlapi.model.OWLObjectInverseOf;
 import org.semanticweb.owlapi.model.OWLObjectProperty;
 import org.semanticweb.owlapi.vocab.OWLRDFVocabulary;
@@ -68,4 +69,9 @@ public class ObjectPropertyImpl extends OWLObjectImpl implements OWLObjectProper
     public OWLObjectInverseOf getInverseProperty() {
         return new ObjectInverseOfImpl(this);
     }
+
+    @Override
+    protected int compareSameType(OWLObject other) {
+        return iri.compareTo(((OWLObjectProperty) other).getIRI());
+    }
 }
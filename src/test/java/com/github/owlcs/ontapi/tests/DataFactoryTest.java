@@ -20,6 +20,7 @@ import com.github.owlcs.ontapi.TestDataCollection;
 import com.github.owlcs.ontapi.TestDataCollection.AxiomData;
 import com.github.owlcs.ontapi.TestDataCollection.Data;
 import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.MethodSource;
 import org.semanticweb.owlapi.model.OWLAnnotation;
@@ -48,6 +49,7 @@ import java.io.ByteArrayOutputStream;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
 import java.util.List;
+import java.util.stream.Collectors;
 
 /**
  * Test for {@link DataFactory ONT-API Data Factory} functionality.
@@ -159,6 +161,48 @@ public class DataFactoryTest {
         Assertions.assertEquals(data.isSWRLAtom(), object instanceof SWRLAtom);
     }
 
+    @ParameterizedTest
+    @MethodSource("getObjects")
+    public void testAxiomSignature(Data data) {
+        if (!data.isAxiom()) {
+            return;
+        }
+        OWLObject sample = data.create(OWL_DATA_FACTORY);
+        OWLObject test = data.create(ONT_DATA_FACTORY);
+        // twice: the second time the signature is taken from the cache
+        for (int i = 0; i < 2; i++) {
+            Assertions.assertEquals(sample.getSignature(), test.getSignature());
+            Assertions.assertEquals(sample.getClassesInSignature(), test.getClassesInSignature());
+            Assertions.assertEquals(sample.getIndividualsInSignature(), test.getIndividualsInSignature());
+            Assertions.assertEquals(sample.getDatatypesInSignature(), test.getDatatypesInSignature());
+            Assertions.assertEquals(sample.getObjectPropertiesInSignature(), test.getObjectPropertiesInSignature());
+            Assertions.assertEquals(sample.getDataPropertiesInSignature(), test.getDataPropertiesInSignature());
+            Assertions.assertEquals(sample.getAnnotationPropertiesInSignature(),
+                    test.getAnnotationPropertiesInSignature());
+            sample.signature().forEach(x -> Assertions.assertTrue(test.containsEntityInSignature(x)));
+            Assertions.assertFalse(test.containsEntityInSignature(OWL_DATA_FACTORY.getOWLClass("http://absent#C")));
+            // the returned sets are modifiable copies:
+            test.getSignature().clear();
+        }
+    }
+
+    @Test
+    public void testSortOrder() {
+        List<OWLObject> sample = getObjects().stream().map(x -> x.create(OWL_DATA_FACTORY))
+                .sorted().collect(Collectors.toList());
+        List<OWLObject> test = getObjects().stream().map(x -> x.create(ONT_DATA_FACTORY))
+                .sorted().collect(Collectors.toList());
+        Assertions.assertEquals(sample, test);
+        for (int i = 0; i < sample.size(); i++) {
+            OWLObject a = test.get(i);
+            for (int j = 0; j < sample.size(); j++) {
+                OWLObject b = sample.get(j);
+                Assertions.assertEquals(Integer.signum(Integer.compare(i, j)), Integer.signum(a.compareTo(b)),
+                        "Wrong order for " + a + " and " + b);
+            }
+        }
+    }
+
     @ParameterizedTest
     @MethodSource("getObjects")
     public void testSerialization(Data data) throws Exception {
@@ -17,17 +17,23 @@ package com.github.owlcs.ontapi.tests.internal;
 import com.github.owlcs.ontapi.OntBaseModel;
 import com.github.owlcs.ontapi.OntFormat;
 import com.github.owlcs.ontapi.OntManagers;
+import com.github.owlcs.ontapi.Ontology;
+import com.github.owlcs.ontapi.OntologyManager;
 import com.github.owlcs.ontapi.TestOntSpecifications;
 import com.github.owlcs.ontapi.internal.AxiomTranslator;
+import com.github.owlcs.ontapi.internal.ExpressionIndex;
 import com.github.owlcs.ontapi.internal.InternalConfig;
 import com.github.owlcs.ontapi.internal.InternalGraphModel;
 import com.github.owlcs.ontapi.internal.ONTObject;
+import com.github.owlcs.ontapi.internal.SimpleObjectFactory;
 import com.github.owlcs.ontapi.testutils.MiscTestUtils;
 import com.github.owlcs.ontapi.testutils.OWLIOUtils;
 import com.github.owlcs.ontapi.transforms.GraphTransformers;
 import com.github.sszuev.jena.ontapi.OntModelFactory;
 import com.github.sszuev.jena.ontapi.common.OntPersonality;
 import com.github.sszuev.jena.ontapi.common.PunningsMode;
+import com.github.sszuev.jena.ontapi.model.OntClass;
+import com.github.sszuev.jena.ontapi.model.OntDataRange;
 import com.github.sszuev.jena.ontapi.model.OntModel;
 import com.github.sszuev.jena.ontapi.vocabulary.OWL;
 import com.github.sszuev.jena.ontapi.vocabulary.RDF;
@@ -48,14 +54,19 @@ import org.semanticweb.owlapi.model.OWLAnnotationProperty;
 import org.semanticweb.owlapi.model.OWLAnonymousIndividual;
 import org.semanticweb.owlapi.model.OWLAxiom;
 import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLClassExpression;
+import org.semanticweb.owlapi.model.OWLDataComplementOf;
 import org.semanticweb.owlapi.model.OWLDataFactory;
 import org.semanticweb.owlapi.model.OWLDataProperty;
+import org.semanticweb.owlapi.model.OWLDataRange;
 import org.semanticweb.owlapi.model.OWLDatatype;
 import org.semanticweb.owlapi.model.OWLNamedIndividual;
 import org.semanticweb.owlapi.model.OWLObject;
+import org.semanticweb.owlapi.model.OWLObjectComplementOf;
 import org.semanticweb.owlapi.model.OWLObjectProperty;
 import org.semanticweb.owlapi.model.OWLOntology;
 import org.semanticweb.owlapi.model.OWLOntologyManager;
+import org.semanticweb.owlapi.model.OWLSubClassOfAxiom;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -65,6 +76,7 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
 /**
@@ -149,6 +161,207 @@ public class InternalGraphModelTest {
         Assertions.assertEquals(4, annotations.size());
     }
 
+    @Test
+    public void testReadAnnotatedAxioms() {
+        OWLDataFactory df = OntManagers.getDataFactory();
+        String ns = "http://ex.com#";
+        OWLClass a = df.getOWLClass(ns + "A");
+        OWLClass b = df.getOWLClass(ns + "B");
+        OWLAnnotationProperty p = df.getOWLAnnotationProperty(ns + "p");
+        OWLAnnotation nested = df.getOWLAnnotation(p, df.getOWLLiteral("a"),
+                Stream.of(df.getOWLAnnotation(df.getRDFSLabel(), df.getOWLLiteral("b"),
+                        Stream.of(df.getRDFSComment("c")))));
+        Set<OWLAxiom> expected = Set.of(
+                df.getOWLDeclarationAxiom(a, List.of(df.getRDFSComment("x"))),
+                df.getOWLDeclarationAxiom(b),
+                df.getOWLDeclarationAxiom(p),
+                df.getOWLSubClassOfAxiom(a, b, List.of(nested, df.getRDFSLabel("d"))),
+                df.getOWLSubClassOfAxiom(b, df.getOWLThing(), List.of(df.getRDFSLabel("d"))),
+                df.getOWLAnnotationAssertionAxiom(a.getIRI(), df.getOWLAnnotation(p, df.getOWLLiteral("e")),
+                        List.of(df.getRDFSComment("f"))));
+
+        Ontology o = OntManagers.createManager().createOntology();
+        o.add(expected);
+        Ontology res = OntManagers.createManager().addOntology(o.asGraphModel().getGraph());
+        Assertions.assertEquals(expected, res.axioms().collect(Collectors.toSet()));
+        // the rdfs:comment is used in the third-level sub-annotation only:
+        Set<OWLAxiom> referencing = res.referencingAxioms(df.getRDFSComment()).collect(Collectors.toSet());
+        Assertions.assertTrue(referencing.contains(df.getOWLSubClassOfAxiom(a, b, List.of(nested, df.getRDFSLabel("d")))));
+        Assertions.assertFalse(referencing.contains(df.getOWLDeclarationAxiom(b)));
+    }
+
+    @Test
+    public void testReuseAnonymousExpressions() {
+        OntologyManager m = OntManagers.createManager();
+        m.setOntologyWriterConfiguration(m.getOntologyWriterConfiguration().setReuseAnonymousExpressions(true));
+        OWLDataFactory df = m.getOWLDataFactory();
+        String ns = "http://ex.com#";
+        OWLObjectProperty p = df.getOWLObjectProperty(ns + "partOf");
+        OWLDataProperty d = df.getOWLDataProperty(ns + "d");
+        OWLClassExpression ce = df.getOWLObjectSomeValuesFrom(p, df.getOWLClass(ns + "X"));
+        OWLClassExpression dce = df.getOWLDataAllValuesFrom(d, df.getOWLDataOneOf(df.getOWLLiteral(1)));
+        List<OWLSubClassOfAxiom> axioms = IntStream.range(0, 10).mapToObj(i -> df.getOWLClass(ns + "C" + i))
+                .flatMap(c -> Stream.of(df.getOWLSubClassOfAxiom(c, ce), df.getOWLSubClassOfAxiom(c, dce)))
+                .collect(Collectors.toList());
+
+        Ontology o = m.createOntology();
+        axioms.forEach(o::add);
+        OntModel g = o.asGraphModel();
+        Assertions.assertEquals(2, g.statements(null, RDF.type, OWL.Restriction).count());
+        Assertions.assertEquals(1, g.statements(null, OWL.oneOf, null).count());
+        Assertions.assertEquals(Set.copyOf(axioms), o.axioms(AxiomType.SUBCLASS_OF).collect(Collectors.toSet()));
+        ExpressionIndex index = ((InternalGraphModel) g).getExpressionIndex();
+        // two restrictions and the nested data-one-of:
+        Assertions.assertEquals(3, index.size());
+
+        // removing of an axiom must not damage the shared expression:
+        o.remove(axioms.get(0));
+        Assertions.assertEquals(2, g.statements(null, RDF.type, OWL.Restriction).count());
+        Assertions.assertSame(index, ((InternalGraphModel) g).getExpressionIndex());
+        Assertions.assertEquals(3, index.size());
+        Ontology reloaded = OntManagers.createManager().addOntology(g.getGraph());
+        Assertions.assertEquals(Set.copyOf(axioms.subList(1, axioms.size())),
+                reloaded.axioms(AxiomType.SUBCLASS_OF).collect(Collectors.toSet()));
+
+        // the last reference removes the expression:
+        axioms.stream().filter(x -> x.getSuperClass().equals(ce)).forEach(o::remove);
+        Assertions.assertEquals(1, g.statements(null, RDF.type, OWL.Restriction).count());
+        Assertions.assertEquals(10, o.axioms(AxiomType.SUBCLASS_OF).count());
+
+        // the setting is fixed in the config snapshot, which must be reset on change:
+        m.setOntologyWriterConfiguration(m.getOntologyWriterConfiguration().setReuseAnonymousExpressions(false));
+        o.add(df.getOWLSubClassOfAxiom(df.getOWLClass(ns + "A"), ce));
+        o.add(df.getOWLSubClassOfAxiom(df.getOWLClass(ns + "B"), ce));
+        Assertions.assertEquals(3, g.statements(null, RDF.type, OWL.Restriction).count());
+        // the index is updated in place, not rebuilt:
+        Assertions.assertSame(index, ((InternalGraphModel) g).getExpressionIndex());
+        Assertions.assertEquals(2, index.size());
+    }
+
+    @Test
+    public void testComponentsCacheUnderEditing() {
+        OntologyManager m = OntManagers.createManager();
+        OWLDataFactory df = m.getOWLDataFactory();
+        String ns = "http://ex.com#";
+        OWLClass a = df.getOWLClass(ns + "A");
+        OWLClass b = df.getOWLClass(ns + "B");
+        OWLClass c = df.getOWLClass(ns + "C");
+        OWLObjectProperty p = df.getOWLObjectProperty(ns + "p");
+        OWLAxiom ab = df.getOWLSubClassOfAxiom(a, b);
+        OWLAxiom ac = df.getOWLSubClassOfAxiom(a, df.getOWLObjectSomeValuesFrom(p, c));
+        OWLAxiom bc = df.getOWLSubClassOfAxiom(b, c);
+
+        Ontology o = m.createOntology();
+        o.add(ab);
+        o.add(ac);
+        // warm up the caches:
+        Assertions.assertEquals(Set.of(a, b, c), o.classesInSignature().collect(Collectors.toSet()));
+        Assertions.assertEquals(Set.of(p), o.objectPropertiesInSignature().collect(Collectors.toSet()));
+
+        o.remove(ab);
+        Assertions.assertEquals(Set.of(a, c), o.classesInSignature().collect(Collectors.toSet()));
+        Assertions.assertTrue(o.containsClassInSignature(a.getIRI()));
+        Assertions.assertFalse(o.containsClassInSignature(b.getIRI()));
+
+        o.add(bc);
+        Assertions.assertEquals(Set.of(a, b, c), o.classesInSignature().collect(Collectors.toSet()));
+        o.remove(ac);
+        Assertions.assertEquals(Set.of(b, c), o.classesInSignature().collect(Collectors.toSet()));
+        Assertions.assertEquals(Set.of(), o.objectPropertiesInSignature().collect(Collectors.toSet()));
+        o.remove(bc);
+        Assertions.assertEquals(0, o.classesInSignature().count());
+    }
+
+    @Test
+    public void testComponentsExtractedInOnePass() {
+        Graph g = OWLIOUtils.loadResourceAsModel("/ontapi/pizza.ttl", Lang.TURTLE).getGraph();
+        for (OntologyManager m : List.of(OntManagers.createManager(), OntManagers.createConcurrentManager())) {
+            Ontology o = m.addOntology(g);
+            // load the content cache, so that the components are collected from it:
+            Set<OWLAxiom> axioms = o.axioms().collect(Collectors.toSet());
+            Assertions.assertEquals(axioms.stream().flatMap(OWLAxiom::objectPropertiesInSignature)
+                    .collect(Collectors.toSet()), o.objectPropertiesInSignature().collect(Collectors.toSet()));
+            // the rest of the buckets are taken from the same pass:
+            Assertions.assertEquals(axioms.stream().flatMap(OWLAxiom::classesInSignature)
+                    .collect(Collectors.toSet()), o.classesInSignature().collect(Collectors.toSet()));
+            Assertions.assertEquals(axioms.stream().flatMap(OWLAxiom::individualsInSignature)
+                    .collect(Collectors.toSet()), o.individualsInSignature().collect(Collectors.toSet()));
+            Assertions.assertEquals(axioms.stream().flatMap(OWLAxiom::nestedClassExpressions)
+                    .collect(Collectors.toSet()), o.nestedClassExpressions().collect(Collectors.toSet()));
+
+            // the pending components must not survive a change:
+            OWLClass c = m.getOWLDataFactory().getOWLClass("http://ex.com#New");
+            o.add(m.getOWLDataFactory().getOWLDeclarationAxiom(c));
+            Assertions.assertTrue(o.containsClassInSignature(c.getIRI()));
+            Assertions.assertEquals(axioms.size() + 1, o.getAxiomCount());
+        }
+    }
+
+    @Test
+    public void testLongListsAndDeepNesting() {
+        OntologyManager m = OntManagers.createManager();
+        OWLDataFactory df = m.getOWLDataFactory();
+        String ns = "http://ex.com#";
+        OWLClassExpression oneOf = df.getOWLObjectOneOf(IntStream.range(0, 50_000)
+                .mapToObj(i -> df.getOWLNamedIndividual(ns + "i" + i)));
+        OWLClassExpression unionOf = df.getOWLObjectUnionOf(IntStream.range(0, 10_000)
+                .mapToObj(i -> df.getOWLClass(ns + "C" + i)));
+        OWLClassExpression dataOneOf = df.getOWLDataAllValuesFrom(df.getOWLDataProperty(ns + "d"),
+                df.getOWLDataOneOf(IntStream.range(0, 50_000).mapToObj(df::getOWLLiteral)));
+        OWLClassExpression nested = df.getOWLClass(ns + "X");
+        for (int i = 0; i < 1_000; i++) {
+            nested = i % 2 == 0 ? df.getOWLObjectComplementOf(nested) : df.getOWLObjectIntersectionOf(nested,
+                    df.getOWLClass(ns + "Y" + i));
+        }
+        List<OWLClassExpression> expressions = List.of(oneOf, unionOf, dataOneOf, nested);
+
+        Ontology o = m.createOntology();
+        expressions.forEach(x -> o.add(df.getOWLSubClassOfAxiom(df.getOWLClass(ns + "A"), x)));
+        o.clearCache();
+        Assertions.assertEquals(Set.copyOf(expressions), o.axioms(AxiomType.SUBCLASS_OF)
+                .map(OWLSubClassOfAxiom::getSuperClass).collect(Collectors.toSet()));
+
+        // the same through the simple (non-cached) factory, that uses ReadHelper:
+        OntModel g = o.asGraphModel();
+        SimpleObjectFactory factory = new SimpleObjectFactory(OntManagers.getDataFactory());
+        Set<OWLClassExpression> actual = g.statements(null, RDFS.subClassOf, null)
+                .map(x -> factory.getClass(x.getObject(OntClass.class)).getOWLObject())
+                .collect(Collectors.toSet());
+        Assertions.assertEquals(Set.copyOf(expressions), actual);
+    }
+
+    @Test
+    public void testVeryDeepNestingThroughReadHelper() {
+        int depth = 20_000;
+        String ns = "http://deep.ex.com#";
+        OntModel g = OntModelFactory.createModel();
+        OntClass ce = g.createOntClass(ns + "X");
+        OntDataRange dr = g.createDatatype(ns + "D");
+        for (int i = 0; i < depth; i++) {
+            ce = g.createObjectComplementOf(ce);
+            dr = g.createDataComplementOf(dr);
+        }
+        SimpleObjectFactory factory = new SimpleObjectFactory(OntManagers.getDataFactory());
+
+        OWLClassExpression c = factory.getClass(ce).getOWLObject();
+        int actual = 0;
+        while (c instanceof OWLObjectComplementOf) {
+            c = ((OWLObjectComplementOf) c).getOperand();
+            actual++;
+        }
+        Assertions.assertEquals(depth, actual);
+        Assertions.assertEquals(ns + "X", c.asOWLClass().getIRI().getIRIString());
+
+        OWLDataRange d = factory.getDatatype(dr).getOWLObject();
+        actual = 0;
+        while (d instanceof OWLDataComplementOf) {
+            d = ((OWLDataComplementOf) d).getDataRange();
+            actual++;
+        }
+        Assertions.assertEquals(depth, actual);
+        Assertions.assertEquals(ns + "D", d.asOWLDatatype().getIRI().getIRIString());
+    }
+
     @Test
     public void testPizzaEntities() {
         testEntities("/ontapi/pizza.ttl", OntFormat.TURTLE);
@@ -20,6 +20,8 @@ import com.github.owlcs.ontapi.OntApiException;
 import com.github.owlcs.ontapi.OntBaseModel;
 import com.github.owlcs.ontapi.OntFormat;
 import com.github.owlcs.ontapi.OntManagers;
+import com.github.owlcs.ontapi.OntMetrics;
+import com.github.owlcs.ontapi.OntMetricsCollector;
 import com.github.owlcs.ontapi.Ontology;
 import com.github.owlcs.ontapi.OntologyManager;
 import com.github.owlcs.ontapi.config.CacheSettings;
@@ -30,6 +32,7 @@ import com.github.owlcs.ontapi.internal.CacheObjectFactory;
 import com.github.owlcs.ontapi.internal.InternalCache;
 import com.github.owlcs.ontapi.internal.InternalGraphModelImpl;
 import com.github.owlcs.ontapi.internal.InternalObjectFactory;
+import com.github.owlcs.ontapi.internal.ONTObject;
 import com.github.owlcs.ontapi.internal.ONTObjectFactory;
 import com.github.owlcs.ontapi.internal.OWLComponentType;
 import com.github.owlcs.ontapi.internal.OWLTopObjectType;
@@ -37,24 +40,30 @@ import com.github.owlcs.ontapi.internal.ObjectMap;
 import com.github.owlcs.ontapi.internal.SearchModel;
 import com.github.owlcs.ontapi.testutils.OWLIOUtils;
 import com.github.sszuev.jena.ontapi.impl.OntGraphModelImpl;
+import com.github.sszuev.jena.ontapi.model.OntClass;
 import org.apache.jena.graph.Graph;
 import org.apache.jena.graph.Node;
 import org.apache.jena.graph.Triple;
 import org.apache.jena.graph.impl.WrappedGraph;
+import org.apache.jena.rdf.model.RDFNode;
 import org.apache.jena.riot.Lang;
 import org.apache.jena.util.iterator.ExtendedIterator;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.semanticweb.owlapi.io.OWLOntologyDocumentSource;
+import org.semanticweb.owlapi.model.IRI;
 import org.semanticweb.owlapi.model.OWLAnnotationProperty;
 import org.semanticweb.owlapi.model.OWLAxiom;
 import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLClassExpression;
+import org.semanticweb.owlapi.model.OWLDataFactory;
 import org.semanticweb.owlapi.model.OWLDataProperty;
 import org.semanticweb.owlapi.model.OWLDatatype;
 import org.semanticweb.owlapi.model.OWLEntity;
 import org.semanticweb.owlapi.model.OWLNamedIndividual;
 import org.semanticweb.owlapi.model.OWLObjectProperty;
 import org.semanticweb.owlapi.model.OWLOntologyCreationException;
+import org.semanticweb.owlapi.model.SetOntologyID;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -68,8 +77,15 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
 import java.util.function.Predicate;
+import java.util.stream.IntStream;
 
 /**
  * Created by @ssz on 04.03.2019.
@@ -101,6 +117,15 @@ public class CacheConfigTest {
         Assertions.assertEquals(1, m.getOntologyConfigurator().getManagerIRIsCacheSize());
     }
 
+    private static OntConfig createConfigWithContentCacheBudget(int budget) {
+        return new OntConfig() {
+            @Override
+            protected OntConfig setManagerContentCacheBudget(int budget) {
+                return super.setManagerContentCacheBudget(budget);
+            }
+        }.setManagerContentCacheBudget(budget);
+    }
+
     private static InternalCache<?, ?> getInternalCache(CacheObjectFactory of,
                                                         Class<? extends OWLEntity> type) throws Exception {
         return getPrivateField(of, InternalCache.Loading.class, type).asCache();
@@ -156,6 +181,44 @@ public class CacheConfigTest {
         Assertions.assertEquals(2, o.axioms().peek(x -> LOGGER.debug("{}", x)).count());
     }
 
+    @Test
+    public void testSingletonsLoadOnce() throws Exception {
+        int threads = 16;
+        AtomicInteger calls = new AtomicInteger();
+        Function<String, String> loader = k -> {
+            calls.incrementAndGet();
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return k + "-v";
+        };
+        List<InternalCache.Loading<String, String>> singletons = List.of(InternalCache.createSingleton(loader),
+                InternalCache.createSoftSingleton(loader));
+        ExecutorService service = Executors.newFixedThreadPool(threads);
+        try {
+            for (InternalCache.Loading<String, String> singleton : singletons) {
+                calls.set(0);
+                CountDownLatch start = new CountDownLatch(1);
+                List<Future<String>> res = new ArrayList<>();
+                for (int i = 0; i < threads; i++) {
+                    res.add(service.submit(() -> {
+                        start.await();
+                        return singleton.get("a");
+                    }));
+                }
+                start.countDown();
+                for (Future<String> f : res) {
+                    Assertions.assertEquals("a-v", f.get(10, TimeUnit.SECONDS));
+                }
+                Assertions.assertEquals(1, calls.get());
+            }
+        } finally {
+            service.shutdownNow();
+        }
+    }
+
     @Test
     public void testConfigureManagerIRICacheSize() {
         testConfigureIRICacheSize(OntManagers.createManager());
@@ -182,6 +245,137 @@ public class CacheConfigTest {
         Assertions.assertInstanceOf(SearchModel.class, m2);
     }
 
+    @Test
+    public void testMetrics() throws Exception {
+        String iri = "http://www.co-ode.org/ontologies/pizza/pizza.owl";
+        OntologyManager m = OntManagers.createManager();
+        Assertions.assertSame(OntMetrics.NO_OP, m.getMetrics());
+        OntMetricsCollector metrics = new OntMetricsCollector();
+        m.setMetrics(metrics);
+        Assertions.assertSame(metrics, m.getMetrics());
+
+        Ontology o = m.loadOntologyFromOntologyDocument(OWLIOUtils.getFileDocumentSource("/ontapi/pizza.ttl",
+                OntFormat.TURTLE));
+        Assertions.assertEquals(945, o.axioms().count());
+        OWLClass c = m.getOWLDataFactory().getOWLClass(iri + "#Pizza");
+        Assertions.assertTrue(o.referencingAxioms(c).count() > 0);
+
+        // all events are keyed by the ontology id, the manager-wide ones are under the MANAGER name:
+        Assertions.assertEquals(Set.of(iri, OntMetricsCollector.MANAGER), Set.of(metrics.getOntologies()));
+        Assertions.assertEquals(1, metrics.getCount(iri, OntMetrics.Timer.PARSE));
+        Assertions.assertEquals(1, metrics.getCount(iri, OntMetrics.Timer.TRANSFORM));
+        Assertions.assertTrue(metrics.getCount(iri, OntMetrics.Timer.CACHE_LOAD) > 0);
+        Assertions.assertEquals(0, metrics.getCount(iri, OntMetrics.Timer.CACHE_RELOAD));
+        Assertions.assertTrue(metrics.getQueries(iri, OntMetrics.Strategy.GRAPH_SEARCH)
+                + metrics.getQueries(iri, OntMetrics.Strategy.CACHE_SCAN) > 0);
+        Assertions.assertTrue(metrics.getQueries(iri, "referencingAxioms", OntMetrics.Strategy.GRAPH_SEARCH)
+                + metrics.getQueries(iri, "referencingAxioms", OntMetrics.Strategy.CACHE_SCAN) > 0);
+        Assertions.assertEquals(0, metrics.getQueries(iri, "unknown", OntMetrics.Strategy.CACHE_SCAN));
+        Assertions.assertTrue(metrics.getHits(iri, OntMetrics.Cache.OBJECTS) > 0);
+        Assertions.assertTrue(metrics.getMisses(iri, OntMetrics.Cache.OBJECTS) > 0);
+        Assertions.assertTrue(metrics.getHits(iri, OntMetrics.Cache.NODES) > 0);
+        Assertions.assertTrue(metrics.getMisses(null, OntMetrics.Cache.IRIS) > 0);
+
+        // after renaming, the events go to the new name:
+        String renamed = "http://renamed.pizza";
+        m.applyChange(new SetOntologyID(o, IRI.create(renamed)));
+        metrics.reset();
+        Assertions.assertEquals(945, o.axioms().count());
+        Assertions.assertTrue(o.referencingAxioms(c).count() > 0);
+        Assertions.assertTrue(metrics.getHits(renamed, OntMetrics.Cache.OBJECTS)
+                + metrics.getMisses(renamed, OntMetrics.Cache.OBJECTS) > 0);
+        Assertions.assertEquals(Set.of(renamed, OntMetricsCollector.MANAGER), Set.of(metrics.getOntologies()));
+
+        metrics.reset();
+        Assertions.assertEquals(0, metrics.getOntologies().length);
+        m.setMetrics(null);
+        Assertions.assertSame(OntMetrics.NO_OP, m.getMetrics());
+        getBase(o).clearCache();
+        Assertions.assertEquals(945, o.axioms().count());
+        Assertions.assertEquals(0, metrics.getOntologies().length);
+    }
+
+    @Test
+    public void testContentCacheBudget() throws Exception {
+        String iri = "http://www.co-ode.org/ontologies/pizza/pizza.owl";
+        OntologyManager m = OntManagers.createManager();
+        Assertions.assertEquals(-1, m.getOntologyConfigurator().getManagerContentCacheBudget());
+        m.setOntologyConfigurator(createConfigWithContentCacheBudget(200));
+        Assertions.assertEquals(200, m.getOntologyConfigurator().getManagerContentCacheBudget());
+        OntMetricsCollector metrics = new OntMetricsCollector();
+        m.setMetrics(metrics);
+
+        Ontology o = m.loadOntologyFromOntologyDocument(OWLIOUtils.getFileDocumentSource("/ontapi/pizza.ttl",
+                OntFormat.TURTLE));
+        Assertions.assertEquals(945, o.axioms().count());
+        Assertions.assertEquals(945, o.axioms().count());
+        Assertions.assertTrue(metrics.getEvictions(iri, OntMetrics.Cache.CONTENT) > 0);
+        Assertions.assertTrue(metrics.getCount(iri, OntMetrics.Timer.CACHE_RELOAD) > 0);
+
+        m.setOntologyConfigurator(createConfigWithContentCacheBudget(100_000));
+        metrics.reset();
+        getBase(o).clearCache();
+        Assertions.assertEquals(945, o.axioms().count());
+        Assertions.assertEquals(945, o.axioms().count());
+        Assertions.assertEquals(0, metrics.getEvictions(iri, OntMetrics.Cache.CONTENT));
+        Assertions.assertEquals(0, metrics.getCount(iri, OntMetrics.Timer.CACHE_RELOAD));
+
+        // the buckets of a removed ontology must not occupy the shared store:
+        InternalCache<Object, Object> store = getBase(o).getConfig().getContentCacheStore();
+        Assertions.assertFalse(store.isEmpty());
+        m.removeOntology(o);
+        Assertions.assertTrue(store.isEmpty());
+    }
+
+    @Test
+    public void testContentCacheBudgetOnEditing() {
+        String iri = "http://budget.test";
+        OntologyManager m = OntManagers.createManager();
+        m.setOntologyConfigurator(createConfigWithContentCacheBudget(60));
+        OntMetricsCollector metrics = new OntMetricsCollector();
+        m.setMetrics(metrics);
+        OWLDataFactory df = m.getOWLDataFactory();
+
+        Ontology o = m.createOntology(IRI.create(iri));
+        // all buckets are loaded, but they are empty and fit the budget:
+        Assertions.assertEquals(0, o.axioms().count());
+        Assertions.assertEquals(0, metrics.getEvictions(iri, OntMetrics.Cache.CONTENT));
+
+        // the declaration bucket grows beyond the budget, it must be re-weighed and evicted:
+        IntStream.range(0, 100).forEach(i -> o.add(df.getOWLDeclarationAxiom(df.getOWLClass(iri + "#C" + i))));
+        Assertions.assertTrue(metrics.getEvictions(iri, OntMetrics.Cache.CONTENT) > 0);
+        Assertions.assertEquals(0, metrics.getEvictions(null, OntMetrics.Cache.CONTENT));
+        Assertions.assertEquals(100, o.axioms().count());
+    }
+
+    @Test
+    public void testAnonymousExpressionsCache() throws Exception {
+        OntologyManager m = OntManagers.createManager();
+        Ontology o = m.loadOntologyFromOntologyDocument(OWLIOUtils.getFileDocumentSource("/ontapi/pizza.ttl",
+                OntFormat.TURTLE));
+        OntClass ce = o.asGraphModel().ontObjects(OntClass.class).filter(RDFNode::isAnon).findFirst()
+                .orElseThrow(AssertionError::new);
+        ONTObjectFactory of1 = getBase(o).getObjectFactory();
+        Assertions.assertInstanceOf(CacheObjectFactory.class, of1);
+        ONTObject<? extends OWLClassExpression> res1 = of1.getClass(ce);
+        Assertions.assertSame(res1, of1.getClass(ce));
+
+        getBase(o).clearCache();
+        ONTObjectFactory of2 = getBase(o).getObjectFactory();
+        Assertions.assertNotSame(of1, of2);
+        ONTObject<? extends OWLClassExpression> res2 = of2.getClass(ce);
+        Assertions.assertNotSame(res1, res2);
+        Assertions.assertEquals(res1.getOWLObject(), res2.getOWLObject());
+
+        // the objects cache is disabled, but the anonymous expressions are still cached:
+        m.setOntologyLoaderConfiguration(m.getOntologyLoaderConfiguration().setLoadObjectsCacheSize(-1));
+        ONTObjectFactory of3 = getBase(o).getObjectFactory();
+        Assertions.assertFalse(of3 instanceof CacheObjectFactory);
+        ONTObject<? extends OWLClassExpression> res3 = of3.getClass(ce);
+        Assertions.assertSame(res3, of3.getClass(ce));
+        Assertions.assertEquals(res1.getOWLObject(), res3.getOWLObject());
+    }
+
     @Test
     public void testObjectsCacheSize() throws Exception {
         long axioms = 945;
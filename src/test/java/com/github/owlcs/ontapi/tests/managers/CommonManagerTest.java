@@ -61,6 +61,8 @@ import org.semanticweb.owlapi.model.OWLOntology;
 import org.semanticweb.owlapi.model.OWLOntologyCreationException;
 import org.semanticweb.owlapi.model.OWLOntologyID;
 import org.semanticweb.owlapi.model.OWLOntologyManager;
+import org.semanticweb.owlapi.model.RemoveImport;
+import org.semanticweb.owlapi.model.UnknownOWLOntologyException;
 import org.semanticweb.owlapi.model.parameters.Imports;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -503,4 +505,41 @@ public class CommonManagerTest {
         Assertions.assertFalse(bareOutputStreamIsClosed.get());
     }
 
+    @Test
+    public void testImportsClosureCache() {
+        OntologyManagerImpl m = (OntologyManagerImpl) OntManagers.createManager();
+        OWLDataFactory df = m.getOWLDataFactory();
+        Ontology a = m.createOntology(IRI.create("urn:a"));
+        Ontology b = m.createOntology(IRI.create("urn:b"));
+        Ontology c = m.createOntology(IRI.create("urn:c"));
+        a.applyChange(new AddImport(a, df.getOWLImportsDeclaration(IRI.create("urn:c"))));
+        a.applyChange(new AddImport(a, df.getOWLImportsDeclaration(IRI.create("urn:b"))));
+        b.applyChange(new AddImport(b, df.getOWLImportsDeclaration(IRI.create("urn:c"))));
+
+        OntologyManagerImpl.ImportsClosure res = m.getImportsClosure(a);
+        Assertions.assertEquals(List.of(a, b, c), res.closure());
+        Assertions.assertEquals(List.of(b, c), res.imports());
+        Assertions.assertSame(res, m.getImportsClosure(a));
+        Assertions.assertEquals(Set.of(a, b, c), a.importsClosure().collect(Collectors.toSet()));
+
+        // change through the manager
+        b.applyChange(new RemoveImport(b, df.getOWLImportsDeclaration(IRI.create("urn:c"))));
+        Assertions.assertNotSame(res, res = m.getImportsClosure(a));
+        Assertions.assertEquals(Set.of(a, b, c), Set.copyOf(res.closure()));
+        Assertions.assertEquals(List.of(b), m.getImportsClosure(b).imports());
+
+        // change directly in the graph
+        a.asGraphModel().getID().removeImport("urn:b");
+        Assertions.assertEquals(List.of(a, c), m.getImportsClosure(a).closure());
+
+        m.removeOntology(c);
+        Assertions.assertEquals(List.of(a), m.getImportsClosure(a).closure());
+        Assertions.assertEquals(0, a.imports().count());
+
+        // unmanaged ontologies are not accepted
+        Assertions.assertThrows(UnknownOWLOntologyException.class, () -> m.getImportsClosure(c));
+        Ontology other = OntManagers.createManager().createOntology(IRI.create("urn:a"));
+        Assertions.assertThrows(UnknownOWLOntologyException.class, () -> m.getImportsClosure(other));
+    }
+
 }
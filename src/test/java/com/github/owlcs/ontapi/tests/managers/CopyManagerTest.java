@@ -20,11 +20,13 @@ import com.github.owlcs.ontapi.OntGraphDocumentSourceImpl;
 import com.github.owlcs.ontapi.OntManagers;
 import com.github.owlcs.ontapi.Ontology;
 import com.github.owlcs.ontapi.OntologyManager;
+import com.github.owlcs.ontapi.OverlayGraph;
 import com.github.owlcs.ontapi.testutils.FileMap;
 import com.github.owlcs.ontapi.testutils.OWLIOUtils;
 import com.github.sszuev.jena.ontapi.UnionGraph;
 import com.github.sszuev.jena.ontapi.model.OntModel;
 import com.github.sszuev.jena.ontapi.utils.Graphs;
+import org.apache.jena.graph.Graph;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.semanticweb.owlapi.model.AddImport;
@@ -479,6 +481,100 @@ public class CopyManagerTest {
         testManagerWithAnonymousOntologies(m2);
     }
 
+    @Test
+    public void testOverlayCopying() {
+        OntologyManager m1 = OntManagers.createManager();
+        OntologyManager m2 = OntManagers.createManager();
+        OWLDataFactory df = m1.getOWLDataFactory();
+        OWLClass a = df.getOWLClass("urn:A");
+        OWLClass b = df.getOWLClass("urn:B");
+        OWLClass c = df.getOWLClass("urn:C");
+        Ontology src = m1.createOntology(IRI.create("urn:x"));
+        src.add(df.getOWLDeclarationAxiom(a));
+        src.add(df.getOWLSubClassOfAxiom(a, b));
+        long srcSize = src.asGraphModel().getBaseGraph().size();
+
+        Ontology dst = m2.overlayOntology(src);
+        Assertions.assertInstanceOf(OverlayGraph.class, dst.asGraphModel().getBaseGraph());
+        Assertions.assertEquals(src.axioms().collect(Collectors.toSet()), dst.axioms().collect(Collectors.toSet()));
+
+        dst.remove(df.getOWLSubClassOfAxiom(a, b));
+        dst.add(df.getOWLSubClassOfAxiom(a, c));
+        Assertions.assertEquals(2, dst.getAxiomCount());
+        Assertions.assertTrue(dst.containsAxiom(df.getOWLSubClassOfAxiom(a, c)));
+        Assertions.assertFalse(dst.containsAxiom(df.getOWLSubClassOfAxiom(a, b)));
+        // the source is untouched:
+        Assertions.assertEquals(srcSize, src.asGraphModel().getBaseGraph().size());
+        Assertions.assertTrue(src.containsAxiom(df.getOWLSubClassOfAxiom(a, b)));
+        Assertions.assertFalse(src.containsAxiom(df.getOWLSubClassOfAxiom(a, c)));
+
+        OverlayGraph overlay = (OverlayGraph) dst.asGraphModel().getBaseGraph();
+        Assertions.assertEquals(1, overlay.getDeletions().size());
+        Assertions.assertEquals(1, overlay.getAdditions().size());
+        Assertions.assertTrue(m2.materializeOntology(dst));
+        Assertions.assertFalse(m2.materializeOntology(dst));
+        Assertions.assertTrue(overlay.isMaterialized());
+        Assertions.assertEquals(0, overlay.getDeletions().size());
+        Assertions.assertEquals(srcSize, overlay.size());
+
+        // now changes in the source do not affect the copy:
+        src.remove(df.getOWLDeclarationAxiom(a));
+        Assertions.assertTrue(dst.containsAxiom(df.getOWLDeclarationAxiom(a)));
+        Assertions.assertEquals(2, dst.getAxiomCount());
+    }
+
+    @Test
+    public void testOverlayFailsOnSourceChange() {
+        OntologyManager m1 = OntManagers.createManager();
+        OntologyManager m2 = OntManagers.createManager();
+        OWLDataFactory df = m1.getOWLDataFactory();
+        Ontology src = m1.createOntology(IRI.create("urn:source"));
+        src.add(df.getOWLDeclarationAxiom(df.getOWLClass("urn:X")));
+
+        Ontology dst = m2.overlayOntology(src);
+        OverlayGraph overlay = (OverlayGraph) dst.asGraphModel().getBaseGraph();
+        Assertions.assertFalse(overlay.isStale());
+        Assertions.assertEquals(1, dst.axioms().count());
+
+        src.add(df.getOWLDeclarationAxiom(df.getOWLClass("urn:Y")));
+        Assertions.assertTrue(overlay.isStale());
+        Assertions.assertThrows(OntApiException.IllegalState.class, overlay::size);
+        Assertions.assertThrows(OntApiException.IllegalState.class, () -> overlay.find().toList());
+        Assertions.assertThrows(OntApiException.IllegalState.class, () -> m2.materializeOntology(dst));
+        Assertions.assertFalse(overlay.isMaterialized());
+
+        // a materialized copy does not watch the source anymore:
+        Ontology other = m2.overlayOntology(m1.createOntology(IRI.create("urn:another-source")));
+        OverlayGraph materialized = (OverlayGraph) other.asGraphModel().getBaseGraph();
+        Assertions.assertTrue(m2.materializeOntology(other));
+        m1.getOntology(IRI.create("urn:another-source")).add(df.getOWLDeclarationAxiom(df.getOWLClass("urn:Z")));
+        Assertions.assertFalse(materialized.isStale());
+        Assertions.assertEquals(0, other.axioms().count());
+    }
+
+    @Test
+    public void testOverlayReleasedOnRemove() {
+        OntologyManager m1 = OntManagers.createManager();
+        OntologyManager m2 = OntManagers.createManager();
+        OWLDataFactory df = m1.getOWLDataFactory();
+        Ontology src = m1.createOntology(IRI.create("urn:released-source"));
+        src.add(df.getOWLDeclarationAxiom(df.getOWLClass("urn:X")));
+        Graph source = src.asGraphModel().getBaseGraph();
+        // detach the source from its manager, so that its listener does not interfere:
+        m1.removeOntology(src);
+        boolean listening = source.getEventManager().listening();
+
+        Ontology dst = m2.overlayOntology(src);
+        OverlayGraph overlay = (OverlayGraph) dst.asGraphModel().getBaseGraph();
+        Assertions.assertTrue(source.getEventManager().listening());
+
+        m2.removeOntology(dst);
+        Assertions.assertEquals(listening, source.getEventManager().listening());
+        Assertions.assertTrue(overlay.isClosed());
+        src.asGraphModel().createOntClass("urn:Y");
+        Assertions.assertFalse(overlay.isStale());
+    }
+
     private void setupManagerWithAnonymousOntologies(OntologyManager m) {
         m.createGraphModel("A").addImport(m.createGraphModel("B"));
         m.createGraphModel(null).addImport(m.createGraphModel("C"));
@@ -172,6 +172,38 @@ public class InternalManagerTest {
         Assertions.assertSame(a, list2.get(ID.create("y", null)).orElseThrow(AssertionError::new));
     }
 
+    @Test
+    public void testRefreshKeyInOntologyCollection() {
+        OntologyCollection<IDHolder> list = new OntologyCollectionImpl<>();
+        IDHolder a = IDHolder.of("a");
+        IDHolder b = IDHolder.of("b");
+        list.add(a).add(b).add(a);
+        Assertions.assertEquals(2, list.size());
+
+        // change id in a controlled way and refresh the key:
+        a.setOntologyID(ID.create("c", null));
+        list.add(a);
+        Assertions.assertEquals(2, list.size());
+        Assertions.assertFalse(list.contains(ID.create("a", null)));
+        Assertions.assertSame(a, list.get(ID.create("c", null)).orElseThrow(AssertionError::new));
+
+        // the same key-id: the previous element-container is replaced
+        IDHolder c = IDHolder.of("c");
+        list.add(c);
+        Assertions.assertEquals(2, list.size());
+        Assertions.assertSame(c, list.get(ID.create("c", null)).orElseThrow(AssertionError::new));
+
+        // an external change is found by the fallback re-check:
+        b.setOntologyID(ID.create("d", null));
+        Assertions.assertSame(b, list.get(ID.create("d", null)).orElseThrow(AssertionError::new));
+        Assertions.assertFalse(list.contains(ID.create("b", null)));
+
+        list.delete(a);
+        Assertions.assertEquals(2, list.size());
+        list.delete(c).delete(b);
+        Assertions.assertTrue(list.isEmpty());
+    }
+
     @Test
     public void testConcurrentModificationOfNonSynchronizedList() {
         Assertions.assertThrows(Exception.class,
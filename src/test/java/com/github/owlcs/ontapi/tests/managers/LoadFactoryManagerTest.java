@@ -360,6 +360,23 @@ public class LoadFactoryManagerTest {
         Assertions.assertNotNull(m.loadOntologyFromOntologyDocument(src));
     }
 
+    @Test
+    public void testStreamingLoadNativeOWLAPIFormats() throws Exception {
+        for (OntFormat f : List.of(OntFormat.OWL_XML, OntFormat.FUNCTIONAL_SYNTAX)) {
+            OWLOntology owl = OntManagers.createOWLAPIImplManager().loadOntologyFromOntologyDocument(
+                    OWLIOUtils.getFileDocumentSource("/owlapi/primer.owlxml.xml", OntFormat.OWL_XML));
+            String txt = OWLIOUtils.asString(owl, f);
+            Ontology ont = OntManagers.createManager()
+                    .loadOntologyFromOntologyDocument(OWLIOUtils.getStringDocumentSource(txt, f));
+            // the same axioms added in the ordinary way, with cache updates:
+            Ontology expected = OntManagers.createManager().createOntology();
+            owl.axioms().forEach(expected::add);
+            expected.clearCache();
+            Assertions.assertEquals(expected.axioms().collect(Collectors.toSet()),
+                    ont.axioms().collect(Collectors.toSet()));
+        }
+    }
+
     /**
      * Moved from {@link CommonManagerTest}
      *
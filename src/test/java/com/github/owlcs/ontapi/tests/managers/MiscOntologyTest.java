@@ -15,10 +15,12 @@
 package com.github.owlcs.ontapi.tests.managers;
 
 import com.github.owlcs.TempDirectory;
+import com.github.owlcs.ontapi.AxiomsPage;
 import com.github.owlcs.ontapi.DataFactory;
 import com.github.owlcs.ontapi.OntApiException;
 import com.github.owlcs.ontapi.OntFormat;
 import com.github.owlcs.ontapi.OntManagers;
+import com.github.owlcs.ontapi.OntModuleExtractor;
 import com.github.owlcs.ontapi.Ontology;
 import com.github.owlcs.ontapi.OntologyManager;
 import com.github.owlcs.ontapi.OntologyModelImpl;
@@ -31,25 +33,37 @@ import com.github.sszuev.jena.ontapi.vocabulary.RDF;
 import org.apache.jena.graph.Graph;
 import org.apache.jena.rdf.model.Model;
 import org.apache.jena.rdf.model.Resource;
+import org.apache.jena.riot.RDFParser;
 import org.apache.jena.vocabulary.OWL;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
 import org.semanticweb.owlapi.io.FileDocumentSource;
 import org.semanticweb.owlapi.io.OWLOntologyDocumentSource;
 import org.semanticweb.owlapi.model.AddImport;
+import org.semanticweb.owlapi.model.AxiomType;
 import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLAxiom;
 import org.semanticweb.owlapi.model.OWLDocumentFormat;
+import org.semanticweb.owlapi.model.OWLEntity;
 import org.semanticweb.owlapi.model.OWLOntology;
 import org.semanticweb.owlapi.model.OWLOntologyCreationException;
 import org.semanticweb.owlapi.model.OWLOntologyStorageException;
+import org.semanticweb.owlapi.model.OWLSubClassOfAxiom;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import uk.ac.manchester.cs.owlapi.modularity.ModuleType;
+import uk.ac.manchester.cs.owlapi.modularity.SyntacticLocalityModuleExtractor;
 
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Objects;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 /**
@@ -67,6 +81,87 @@ public class MiscOntologyTest {
         return m.getGraph();
     }
 
+    private static List<OWLSubClassOfAxiom> readPages(Ontology o, String token, int limit) {
+        List<OWLSubClassOfAxiom> res = new ArrayList<>();
+        AxiomsPage<OWLSubClassOfAxiom> page;
+        do {
+            page = o.axioms(AxiomType.SUBCLASS_OF, token, limit);
+            Assertions.assertTrue(page.getAxioms().size() <= limit
+                    || page.getAxioms().stream().map(OWLSubClassOfAxiom::getSubClass).distinct().count() == 1);
+            res.addAll(page.getAxioms());
+            token = page.getNextToken();
+        } while (!page.isLast());
+        return res;
+    }
+
+    @Test
+    public void testAxiomsPaging() throws Exception {
+        OntologyManager m = OntManagers.createConcurrentManager();
+        Ontology o = m.loadOntologyFromOntologyDocument(OWLIOUtils.getFileDocumentSource("/ontapi/pizza.ttl",
+                OntFormat.TURTLE));
+        Set<OWLSubClassOfAxiom> expected = o.axioms(AxiomType.SUBCLASS_OF).collect(Collectors.toSet());
+        Assertions.assertTrue(expected.size() > 100);
+
+        List<OWLSubClassOfAxiom> all = readPages(o, null, 17);
+        Assertions.assertEquals(expected, new HashSet<>(all));
+
+        // resume from the middle:
+        AxiomsPage<OWLSubClassOfAxiom> first = o.axioms(AxiomType.SUBCLASS_OF, null, 50);
+        Assertions.assertFalse(first.isLast());
+        List<OWLSubClassOfAxiom> resumed = new ArrayList<>(first.getAxioms());
+        resumed.addAll(readPages(o, first.getNextToken(), 50));
+        Assertions.assertEquals(all, resumed);
+
+        // disjoint segments:
+        List<OWLSubClassOfAxiom> segments = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            segments.addAll(readPages(o, AxiomsPage.startToken(i, 3), 10));
+        }
+        Assertions.assertEquals(all.size(), segments.size());
+        Assertions.assertEquals(expected, new HashSet<>(segments));
+
+        // the token points to a URI subject, so it can be used with a reloaded copy of the same document:
+        Ontology copy = OntManagers.createManager().loadOntologyFromOntologyDocument(
+                OWLIOUtils.getFileDocumentSource("/ontapi/pizza.ttl", OntFormat.TURTLE));
+        Set<OWLSubClassOfAxiom> fromCopy = new HashSet<>(first.getAxioms());
+        fromCopy.addAll(readPages(copy, first.getNextToken(), 50));
+        Assertions.assertEquals(expected, fromCopy);
+
+        // the resume is a seek, so it survives changes in the already processed part:
+        OWLSubClassOfAxiom processed = first.getAxioms().get(0);
+        o.remove(processed);
+        Set<OWLSubClassOfAxiom> afterChange = new HashSet<>(first.getAxioms());
+        afterChange.addAll(readPages(o, first.getNextToken(), 50));
+        Assertions.assertEquals(expected, afterChange);
+
+        // blank node subjects are keyed by their content, so the token survives reloading too:
+        StringBuilder ttl = new StringBuilder("@prefix : <http://ex#> . @prefix owl: <http://www.w3.org/2002/07/owl#> . "
+                + "@prefix rdfs: <http://www.w3.org/2000/01/rdf-schema#> .\n");
+        for (int i = 0; i < 10; i++) {
+            ttl.append("[ a owl:Restriction ; owl:onProperty :p ; owl:someValuesFrom :C").append(i)
+                    .append(" ] rdfs:subClassOf :D .\n");
+        }
+        Ontology b1 = OntManagers.createManager().loadOntologyFromOntologyDocument(
+                OWLIOUtils.getStringDocumentSource(ttl.toString(), OntFormat.TURTLE));
+        Ontology b2 = OntManagers.createManager().loadOntologyFromOntologyDocument(
+                OWLIOUtils.getStringDocumentSource(ttl.toString(), OntFormat.TURTLE));
+        Set<OWLSubClassOfAxiom> anonymous = b1.axioms(AxiomType.SUBCLASS_OF).collect(Collectors.toSet());
+        Assertions.assertEquals(10, anonymous.size());
+        AxiomsPage<OWLSubClassOfAxiom> firstAnonymous = b1.axioms(AxiomType.SUBCLASS_OF, null, 3);
+        Assertions.assertEquals(3, firstAnonymous.getAxioms().size());
+        List<OWLSubClassOfAxiom> restAnonymous = readPages(b2, firstAnonymous.getNextToken(), 3);
+        Assertions.assertEquals(7, restAnonymous.size());
+        Set<OWLSubClassOfAxiom> fromReloaded = new HashSet<>(firstAnonymous.getAxioms());
+        fromReloaded.addAll(restAnonymous);
+        Assertions.assertEquals(anonymous, fromReloaded);
+
+        Assertions.assertThrows(OntApiException.IllegalArgument.class,
+                () -> o.axioms(AxiomType.SUBCLASS_OF, "wrong token", 10));
+        Assertions.assertThrows(OntApiException.IllegalArgument.class,
+                () -> o.axioms(AxiomType.SUBCLASS_OF, null, 0));
+        Assertions.assertThrows(OntApiException.IllegalArgument.class, () -> AxiomsPage.startToken(3, 3));
+    }
+
     @Test
     public void testImportsOnConcurrentManager() {
         Class<? extends OWLOntology> expected = OntologyModelImpl.Concurrent.class;
@@ -173,4 +268,46 @@ public class MiscOntologyTest {
                 format2 != null ? format2.asPrefixOWLDocumentFormat().getPrefix(prefName + ":") : null, "Wrong prefix");
     }
 
+    @ParameterizedTest
+    @EnumSource(ModuleType.class)
+    public void testModuleExtraction(ModuleType type) throws Exception {
+        OntologyManager m = OntManagers.createManager();
+        Ontology o = m.loadOntologyFromOntologyDocument(OWLIOUtils.getFileDocumentSource("/ontapi/pizza.ttl",
+                OntFormat.TURTLE));
+        String ns = "http://www.co-ode.org/ontologies/pizza/pizza.owl#";
+        DataFactory df = m.getOWLDataFactory();
+        OntModuleExtractor extractor = new OntModuleExtractor(o, type);
+        SyntacticLocalityModuleExtractor sample = new SyntacticLocalityModuleExtractor(m, o, type);
+        for (Set<OWLEntity> signature : List.of(Set.<OWLEntity>of(df.getOWLClass(ns + "Margherita")),
+                Set.<OWLEntity>of(df.getOWLClass(ns + "Pizza"), df.getOWLObjectProperty(ns + "hasTopping")),
+                Set.<OWLEntity>of(df.getOWLClass(ns + "VegetarianTopping")))) {
+            Set<OWLAxiom> expected = sample.extract(signature).stream()
+                    .filter(OWLAxiom::isLogicalAxiom).collect(Collectors.toSet());
+            Set<OWLAxiom> actual = extractor.extract(signature);
+            LOGGER.debug("{}: {} => {}", type, signature, actual.size());
+            Assertions.assertEquals(expected, actual.stream().filter(OWLAxiom::isLogicalAxiom).collect(Collectors.toSet()));
+            signature.forEach(e -> Assertions.assertTrue(actual.containsAll(o.declarationAxioms(e).collect(Collectors.toSet()))));
+
+            Ontology module = extractor.extractAsOntology(signature, m, IRI.create("http://module#" + type));
+            Assertions.assertEquals(expected, module.logicalAxioms().collect(Collectors.toSet()));
+            m.removeOntology(module);
+        }
+    }
+
+    @ParameterizedTest
+    @EnumSource(value = OntFormat.class, names = {"TURTLE", "RDF_XML"})
+    public void testStreamingWriter(OntFormat format) throws Exception {
+        OntologyManager m = OntManagers.createManager();
+        m.setOntologyWriterConfiguration(m.getOntologyWriterConfiguration().setUseStreamingWriter(true));
+        Ontology o = m.loadOntologyFromOntologyDocument(OWLIOUtils.getFileDocumentSource("/ontapi/pizza.ttl",
+                OntFormat.TURTLE));
+        String txt = OWLIOUtils.asString(o, format);
+        LOGGER.debug("\n{}", txt);
+        if (format == OntFormat.TURTLE) {
+            Assertions.assertTrue(txt.contains(" [ "));
+            Assertions.assertTrue(txt.contains(" ( "));
+        }
+        Graph actual = RDFParser.fromString(txt).lang(format.getLang()).toGraph();
+        Assertions.assertTrue(o.asGraphModel().getBaseGraph().isIsomorphicWith(actual));
+    }
 }
@@ -15,21 +15,42 @@
 package com.github.owlcs.ontapi.tests.managers;
 
 import com.github.owlcs.ontapi.DataFactory;
+import com.github.owlcs.ontapi.OntApiException;
+import com.github.owlcs.ontapi.OntHierarchy;
 import com.github.owlcs.ontapi.OntManagers;
 import com.github.owlcs.ontapi.Ontology;
+import com.github.owlcs.ontapi.OntologyDiff;
 import com.github.owlcs.ontapi.OntologyManager;
 import com.github.owlcs.ontapi.testutils.OWLIOUtils;
 import com.github.sszuev.jena.ontapi.model.OntModel;
+import org.apache.jena.graph.Graph;
+import org.apache.jena.graph.GraphUtil;
+import org.apache.jena.graph.Node;
+import org.apache.jena.graph.NodeFactory;
+import org.apache.jena.graph.Triple;
+import org.apache.jena.sparql.graph.GraphFactory;
+import org.apache.jena.vocabulary.RDFS;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.semanticweb.owlapi.model.AddAxiom;
+import org.semanticweb.owlapi.model.AddImport;
+import org.semanticweb.owlapi.model.EntityType;
+import org.semanticweb.owlapi.model.IRI;
 import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLObjectProperty;
+import org.semanticweb.owlapi.model.OWLOntologyChange;
 import org.semanticweb.owlapi.model.RemoveAxiom;
+import org.semanticweb.owlapi.model.parameters.Imports;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 /**
@@ -76,4 +97,222 @@ public class ModifyOntologyTest {
         Assertions.assertEquals(4, o.axioms().peek(x -> LOGGER.debug("(1): {}", x)).count());
         Assertions.assertEquals(7, o.asGraphModel().size());
     }
+
+    @Test
+    public void testRenameIRIs() {
+        String ns = "http://x#";
+        OntologyManager m = OntManagers.createManager();
+        DataFactory df = m.getOWLDataFactory();
+        Ontology a = m.createOntology(IRI.create("http://a"));
+        Ontology b = m.createOntology(IRI.create("http://b"));
+        m.applyChange(new AddImport(b, df.getOWLImportsDeclaration(IRI.create("http://a"))));
+
+        a.add(df.getOWLDeclarationAxiom(df.getOWLClass(ns + "X")));
+        a.add(df.getOWLDeclarationAxiom(df.getOWLObjectProperty(ns + "P")));
+        a.add(df.getOWLFunctionalObjectPropertyAxiom(df.getOWLObjectProperty(ns + "P")));
+        b.add(df.getOWLSubClassOfAxiom(df.getOWLClass(ns + "Y"), df.getOWLClass(ns + "X")));
+        b.add(df.getOWLDeclarationAxiom(df.getOWLClass(ns + "Y")));
+        b.add(df.getOWLAnnotationAssertionAxiom(df.getRDFSSeeAlso(), IRI.create(ns + "Y"), IRI.create(ns + "X")));
+        a.clearCache();
+        b.clearCache();
+        Assertions.assertEquals(3, a.getAxiomCount());
+        Assertions.assertEquals(3, b.getAxiomCount());
+
+        Map<IRI, IRI> mapping = Map.of(IRI.create(ns + "X"), IRI.create(ns + "Z"));
+        Assertions.assertEquals(3, b.renameIRIs(mapping, Imports.INCLUDED));
+        OWLIOUtils.print(b);
+
+        Assertions.assertEquals(Set.of(df.getOWLDeclarationAxiom(df.getOWLClass(ns + "Z")),
+                df.getOWLDeclarationAxiom(df.getOWLObjectProperty(ns + "P")),
+                df.getOWLFunctionalObjectPropertyAxiom(df.getOWLObjectProperty(ns + "P"))), a.axioms().collect(Collectors.toSet()));
+        Assertions.assertEquals(Set.of(df.getOWLSubClassOfAxiom(df.getOWLClass(ns + "Y"), df.getOWLClass(ns + "Z")),
+                        df.getOWLDeclarationAxiom(df.getOWLClass(ns + "Y")),
+                        df.getOWLAnnotationAssertionAxiom(df.getRDFSSeeAlso(), IRI.create(ns + "Y"), IRI.create(ns + "Z"))),
+                b.axioms().collect(Collectors.toSet()));
+        Assertions.assertEquals(Set.of(df.getOWLClass(ns + "Y"), df.getOWLClass(ns + "Z")),
+                b.classesInSignature(Imports.INCLUDED).collect(Collectors.toSet()));
+
+        Assertions.assertEquals(0, b.renameIRIs(Map.of(IRI.create(ns + "X"), IRI.create(ns + "W")), Imports.EXCLUDED));
+        Assertions.assertThrows(OntApiException.IllegalArgument.class,
+                () -> b.renameIRIs(Map.of(IRI.create("http://a"), IRI.create("http://c")), Imports.EXCLUDED));
+        Assertions.assertThrows(OntApiException.IllegalArgument.class,
+                () -> b.renameIRIs(Map.of(df.getOWLThing().getIRI(), IRI.create(ns + "T")), Imports.EXCLUDED));
+        Assertions.assertThrows(OntApiException.IllegalArgument.class,
+                () -> b.renameIRIs(Map.of(IRI.create(ns + "Y"), df.getRDFSLabel().getIRI()), Imports.EXCLUDED));
+        Assertions.assertEquals(3, b.getAxiomCount());
+        Assertions.assertEquals(2, m.ontologies().count());
+    }
+
+    @Test
+    public void testDiffAndPatch() {
+        String ns = "http://x#";
+        OntologyManager m = OntManagers.createManager();
+        DataFactory df = m.getOWLDataFactory();
+        OWLObjectProperty p = df.getOWLObjectProperty(ns + "P");
+        OWLClass a = df.getOWLClass(ns + "A");
+        OWLClass b = df.getOWLClass(ns + "B");
+        OWLClass c = df.getOWLClass(ns + "C");
+        List<OWLAxiom> common = List.of(df.getOWLDeclarationAxiom(p), df.getOWLDeclarationAxiom(a),
+                df.getOWLDeclarationAxiom(b), df.getOWLDeclarationAxiom(c),
+                df.getOWLSubClassOfAxiom(b, df.getOWLObjectAllValuesFrom(p, df.getOWLObjectUnionOf(a, c))));
+        OWLAxiom removed = df.getOWLSubClassOfAxiom(a, df.getOWLObjectSomeValuesFrom(p, b),
+                List.of(df.getRDFSComment("x")));
+        OWLAxiom added = df.getOWLSubClassOfAxiom(a, df.getOWLObjectSomeValuesFrom(p, c),
+                List.of(df.getRDFSComment("x")));
+
+        Ontology left = m.createOntology();
+        common.forEach(left::add);
+        left.add(removed);
+        Ontology right = m.createOntology();
+        right.add(added);
+        common.forEach(right::add);
+
+        OntologyDiff diff = OntologyDiff.compute(left, right);
+        LOGGER.debug("Diff: {}", diff);
+        Assertions.assertFalse(diff.isEmpty());
+        List<OWLOntologyChange> changes = diff.changes(left, right);
+        Assertions.assertEquals(List.of(new RemoveAxiom(left, removed), new AddAxiom(left, added)), changes);
+
+        ByteArrayOutputStream patch = new ByteArrayOutputStream();
+        diff.write(patch);
+        LOGGER.debug("Patch:\n{}", patch);
+        Graph g = GraphFactory.createGraphMem();
+        GraphUtil.addInto(g, left.asGraphModel().getBaseGraph());
+        OntologyDiff.read(new ByteArrayInputStream(patch.toByteArray())).apply(g);
+        Assertions.assertTrue(g.isIsomorphicWith(right.asGraphModel().getBaseGraph()));
+
+        m.applyChanges(changes);
+        Assertions.assertEquals(right.axioms().collect(Collectors.toSet()), left.axioms().collect(Collectors.toSet()));
+        Assertions.assertEquals(List.of(), OntologyDiff.compute(left, right).changes(left, right));
+
+        // a copy of an existing b-node structure is added with fresh b-nodes:
+        Node s = NodeFactory.createURI(ns + "s");
+        Node q = NodeFactory.createURI(ns + "q");
+        Graph one = GraphFactory.createGraphMem();
+        Node x = NodeFactory.createBlankNode();
+        one.add(Triple.create(s, RDFS.seeAlso.asNode(), x));
+        one.add(Triple.create(x, q, s));
+        Graph two = GraphFactory.createGraphMem();
+        GraphUtil.addInto(two, one);
+        Node y = NodeFactory.createBlankNode();
+        two.add(Triple.create(s, RDFS.seeAlso.asNode(), y));
+        two.add(Triple.create(y, q, s));
+        OntologyDiff copy = OntologyDiff.compute(one, two);
+        Assertions.assertEquals(2, copy.getAddedTriples().size());
+        Assertions.assertEquals(0, copy.getRemovedTriples().size());
+        patch = new ByteArrayOutputStream();
+        copy.write(patch);
+        Graph target = GraphFactory.createGraphMem();
+        GraphUtil.addInto(target, one);
+        OntologyDiff.read(new ByteArrayInputStream(patch.toByteArray())).apply(target);
+        Assertions.assertTrue(target.isIsomorphicWith(two));
+    }
+
+    @Test
+    public void testFindIRIsByLabel() {
+        String menu = "http://pizza.example.org/menu#";
+        IRI margherita = IRI.create(menu + "Margherita");
+        IRI base = IRI.create(menu + "Base");
+        IRI americana = IRI.create(menu + "Americana");
+        IRI note = IRI.create(menu + "Note");
+        IRI prefLabel = IRI.create("http://www.w3.org/2004/02/skos/core#prefLabel");
+        OntologyManager m = OntManagers.createManager();
+        DataFactory df = m.getOWLDataFactory();
+        List<IRI> labels = List.of(df.getRDFSLabel().getIRI(), prefLabel);
+        OWLAxiom margheritaLabel = df.getOWLAnnotationAssertionAxiom(df.getRDFSLabel(), margherita,
+                df.getOWLLiteral("Margherita Pizza"));
+        Ontology menuOntology = m.createOntology(IRI.create("http://pizza.example.org/menu"));
+        menuOntology.add(margheritaLabel);
+        menuOntology.add(df.getOWLAnnotationAssertionAxiom(df.getRDFSLabel(), base, df.getOWLLiteral("Pizza base", "en")));
+        menuOntology.add(df.getOWLAnnotationAssertionAxiom(df.getOWLAnnotationProperty(prefLabel), americana,
+                df.getOWLLiteral("American")));
+        menuOntology.add(df.getOWLAnnotationAssertionAxiom(df.getRDFSComment(), note, df.getOWLLiteral("pizza")));
+
+        // prefix search is case-insensitive and matches only the beginning of a label:
+        Assertions.assertEquals(Set.of(base), findByLabel(menuOntology, "piz", false, labels));
+        Assertions.assertEquals(Set.of(americana), findByLabel(menuOntology, "AMER", false, labels));
+        // substring search uses trigrams, the short query scans the labels:
+        Assertions.assertEquals(Set.of(margherita, base), findByLabel(menuOntology, "PIZZA", true, labels));
+        Assertions.assertEquals(Set.of(americana), findByLabel(menuOntology, "am", true, labels));
+        Assertions.assertEquals(Set.of(), findByLabel(menuOntology, "calzone", true, labels));
+        // only the given properties are taken into account:
+        Assertions.assertEquals(Set.of(note),
+                findByLabel(menuOntology, "pi", false, List.of(df.getRDFSComment().getIRI())));
+
+        IRI topping = IRI.create(menu + "Topping");
+        menuOntology.add(df.getOWLAnnotationAssertionAxiom(df.getRDFSLabel(), topping, df.getOWLLiteral("Pizza topping")));
+        menuOntology.remove(margheritaLabel);
+        Assertions.assertEquals(Set.of(base, topping), findByLabel(menuOntology, "pizza", false, labels));
+        Assertions.assertEquals(Set.of(), findByLabel(menuOntology, "margh", true, labels));
+
+        // more property sets than the model keeps indexes for, the answers must not change:
+        List<List<IRI>> sets = List.of(List.of(df.getRDFSLabel().getIRI()), List.of(prefLabel),
+                List.of(df.getRDFSComment().getIRI()), List.of(df.getRDFSSeeAlso().getIRI()), labels);
+        sets.forEach(x -> findByLabel(menuOntology, "a", true, x));
+        Assertions.assertEquals(Set.of(americana), findByLabel(menuOntology, "ameri", false, List.of(prefLabel)));
+        Assertions.assertEquals(Set.of(base, topping, americana), findByLabel(menuOntology, "a", true, labels));
+
+        menuOntology.asGraphModel().createResource(menu + "Pizzeria").addProperty(RDFS.label, "Pizzeria");
+        Assertions.assertEquals(Set.of(base, topping, IRI.create(menu + "Pizzeria")),
+                findByLabel(menuOntology, "pizz", false, labels));
+    }
+
+    @Test
+    public void testToldHierarchy() {
+        OntologyManager m = OntManagers.createConcurrentManager();
+        DataFactory df = m.getOWLDataFactory();
+        OWLClass animal = df.getOWLClass("urn:zoo:Animal");
+        OWLClass mammal = df.getOWLClass("urn:zoo:Mammal");
+        OWLClass dog = df.getOWLClass("urn:zoo:Dog");
+        OWLClass bird = df.getOWLClass("urn:zoo:Bird");
+        OWLClass egg = df.getOWLClass("urn:zoo:Egg");
+        OWLClass chicken = df.getOWLClass("urn:zoo:Chicken");
+        OWLObjectProperty eats = df.getOWLObjectProperty("urn:zoo:eats");
+        OWLObjectProperty interactsWith = df.getOWLObjectProperty("urn:zoo:interactsWith");
+        OWLAxiom dogIsMammal = df.getOWLSubClassOfAxiom(dog, mammal);
+        OWLAxiom dogIsMammalWithComment = df.getOWLSubClassOfAxiom(dog, mammal, Set.of(df.getRDFSComment("told twice")));
+        Ontology zoo = m.createOntology(IRI.create("urn:zoo"));
+        zoo.add(dogIsMammal);
+        zoo.add(dogIsMammalWithComment);
+        zoo.add(df.getOWLSubClassOfAxiom(mammal, animal));
+        zoo.add(df.getOWLSubClassOfAxiom(bird, animal));
+        // not a named-to-named edge, ignored:
+        zoo.add(df.getOWLSubClassOfAxiom(dog, df.getOWLObjectSomeValuesFrom(eats, bird)));
+        zoo.add(df.getOWLSubObjectPropertyOfAxiom(eats, interactsWith));
+
+        OntHierarchy<OWLClass> h = zoo.toldHierarchy(EntityType.CLASS);
+        Assertions.assertEquals(Set.of(mammal), h.parents(dog).collect(Collectors.toSet()));
+        Assertions.assertEquals(Set.of(mammal, animal), h.ancestors(dog).collect(Collectors.toSet()));
+        Assertions.assertEquals(Set.of(mammal, bird), h.children(animal).collect(Collectors.toSet()));
+        Assertions.assertEquals(Set.of(mammal, bird, dog), h.descendants(animal).collect(Collectors.toSet()));
+        Assertions.assertEquals(Set.of(animal), h.roots().collect(Collectors.toSet()));
+        Assertions.assertEquals(2, h.depth(dog));
+        Assertions.assertEquals(1, h.depth(bird));
+        Assertions.assertEquals(0, h.depth(animal));
+        // an unknown class is a standalone node:
+        Assertions.assertEquals(0, h.depth(egg));
+        Assertions.assertEquals(Set.of(interactsWith), zoo.toldHierarchy(EntityType.OBJECT_PROPERTY).parents(eats)
+                .collect(Collectors.toSet()));
+
+        // the edge is told by two axioms, it disappears only with the last of them:
+        zoo.remove(dogIsMammalWithComment);
+        Assertions.assertEquals(2, h.depth(dog));
+        zoo.remove(dogIsMammal);
+        Assertions.assertEquals(0, h.parents(dog).count());
+        // a class without told edges is not a root:
+        Assertions.assertEquals(Set.of(animal), h.roots().collect(Collectors.toSet()));
+
+        // a told cycle has no depth:
+        zoo.add(df.getOWLSubClassOfAxiom(chicken, egg));
+        zoo.add(df.getOWLSubClassOfAxiom(egg, chicken));
+        Assertions.assertEquals(Set.of(chicken, egg), h.ancestors(chicken).collect(Collectors.toSet()));
+        Assertions.assertEquals(-1, h.depth(egg));
+        Assertions.assertEquals(Set.of(animal), h.roots().collect(Collectors.toSet()));
+
+        Assertions.assertThrows(OntApiException.Unsupported.class, () -> zoo.toldHierarchy(EntityType.DATATYPE));
+    }
+
+    private static Set<IRI> findByLabel(Ontology o, String text, boolean substring, List<IRI> properties) {
+        return o.findIRIsByLabel(text, substring, properties, Imports.INCLUDED).collect(Collectors.toSet());
+    }
 }
@@ -1,17 +1,43 @@
 package com.github.owlcs.ontapi.tests.managers;
 
+import com.github.owlcs.TempDirectory;
+import com.github.owlcs.ontapi.DocumentCompression;
+import com.github.owlcs.ontapi.OntFormat;
 import com.github.owlcs.ontapi.OntGraphUtils;
+import com.github.owlcs.ontapi.OntManagers;
+import com.github.owlcs.ontapi.OntTurtleWriter;
+import com.github.owlcs.ontapi.Ontology;
+import com.github.owlcs.ontapi.OntologyManager;
 import com.github.owlcs.ontapi.testutils.OWLIOUtils;
 import org.apache.jena.graph.Graph;
+import org.apache.jena.graph.Node;
+import org.apache.jena.graph.NodeFactory;
+import org.apache.jena.graph.Triple;
 import org.apache.jena.riot.Lang;
+import org.apache.jena.riot.RDFDataMgr;
+import org.apache.jena.riot.RDFParser;
 import org.apache.jena.sparql.graph.GraphFactory;
+import org.apache.jena.vocabulary.RDF;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.semanticweb.owlapi.io.FileDocumentSource;
+import org.semanticweb.owlapi.model.IRI;
 
+import java.io.InputStream;
 import java.io.OutputStream;
+import java.io.StringWriter;
 import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Set;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
 
+@ExtendWith(TempDirectory.class)
 public class OntGraphUtilsTest {
 
     @Test
@@ -33,4 +59,116 @@ public class OntGraphUtilsTest {
         // ensure the output-stream is NOT closed
         Assertions.assertFalse(outputStreamIsClosed.get());
     }
+
+    @Test
+    public void testReadNTriplesInParallel() throws Exception {
+        Path file = TempDirectory.createFile("parallel-read.", ".nt");
+        int lines = 200_000;
+        try (Writer w = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            w.write("_:first <http://x#p> \"head\" .\n");
+            for (int i = 0; i < lines; i++) {
+                w.write(String.format("<http://x#s%d> <http://x#p> \"some long enough literal value number %d\" .\n", i, i));
+                if (i % 10_000 == 0) {
+                    w.write(String.format("_:b%d <http://x#q> _:first .\n", i));
+                }
+            }
+            w.write("_:first <http://x#p> \"tail\"");
+        }
+        Assertions.assertTrue(Files.size(file) > 16L << 20);
+
+        Graph expected = GraphFactory.createGraphMem();
+        RDFDataMgr.read(expected, file.toUri().toString(), Lang.NTRIPLES);
+        Graph actual = GraphFactory.createGraphMem();
+        OntGraphUtils.readGraphInParallel(actual, file, file.toUri().toString(), Lang.NTRIPLES);
+
+        Assertions.assertEquals(expected.size(), actual.size());
+        Assertions.assertTrue(actual.isIsomorphicWith(expected));
+        Node p = NodeFactory.createURI("http://x#p");
+        Set<Node> first = actual.find(Node.ANY, p, Node.ANY).filterKeep(t -> t.getSubject().isBlank())
+                .mapWith(Triple::getSubject).toSet();
+        Assertions.assertEquals(1, first.size());
+        Assertions.assertEquals(lines / 10_000,
+                actual.find(Node.ANY, NodeFactory.createURI("http://x#q"), first.iterator().next()).toList().size());
+    }
+
+    @Test
+    public void testStreamingTurtleWriterWithCyclesAndDeepTrees() {
+        String ns = "http://x#";
+        Graph g = GraphFactory.createGraphMem();
+        g.getPrefixMapping().setNsPrefix("x", ns);
+        Node p = NodeFactory.createURI(ns + "p");
+        // a cycle of b-nodes, each is referenced once
+        Node a = NodeFactory.createBlankNode();
+        Node b = NodeFactory.createBlankNode();
+        g.add(Triple.create(a, p, b));
+        g.add(Triple.create(b, p, a));
+        g.add(Triple.create(b, p, NodeFactory.createBlankNode()));
+        // a self-reference
+        Node c = NodeFactory.createBlankNode();
+        g.add(Triple.create(c, p, c));
+        // a deep tree
+        Node s = NodeFactory.createURI(ns + "s");
+        for (int i = 0; i < 200; i++) {
+            Node o = NodeFactory.createBlankNode();
+            g.add(Triple.create(s, p, o));
+            g.add(Triple.create(o, p, NodeFactory.createLiteral("v" + i)));
+            s = o;
+        }
+        // a list with a shared cell, which cannot be written as a collection
+        Node list = NodeFactory.createBlankNode();
+        Node cell = NodeFactory.createBlankNode();
+        g.add(Triple.create(NodeFactory.createURI(ns + "l"), p, list));
+        g.add(Triple.create(list, RDF.first.asNode(), NodeFactory.createURI(ns + "i1")));
+        g.add(Triple.create(list, RDF.rest.asNode(), cell));
+        g.add(Triple.create(cell, RDF.first.asNode(), NodeFactory.createURI(ns + "i2")));
+        g.add(Triple.create(cell, RDF.rest.asNode(), RDF.nil.asNode()));
+        g.add(Triple.create(NodeFactory.createURI(ns + "m"), p, cell));
+
+        StringWriter sw = new StringWriter();
+        OntTurtleWriter.write(g, sw);
+        String txt = sw.toString();
+        Graph actual = RDFParser.fromString(txt).lang(Lang.TURTLE).toGraph();
+        Assertions.assertEquals(g.size(), actual.size(), txt);
+        Assertions.assertTrue(g.isIsomorphicWith(actual), txt);
+    }
+
+    @ParameterizedTest
+    @EnumSource(value = DocumentCompression.class, names = {"GZIP", "BZIP2"})
+    public void testSaveAndLoadCompressed(DocumentCompression compression) throws Exception {
+        OntologyManager m = OntManagers.createManager();
+        Ontology o = m.loadOntologyFromOntologyDocument(OWLIOUtils.getFileDocumentSource("/ontapi/pizza.ttl",
+                OntFormat.TURTLE));
+        String ext = compression == DocumentCompression.GZIP ? ".gz" : ".bz2";
+        Path file = TempDirectory.createFile("compressed.", ".ttl" + ext);
+        m.saveOntology(o, OntFormat.TURTLE.createOwlFormat(), IRI.create(file.toUri()));
+
+        byte[] head;
+        try (InputStream in = Files.newInputStream(file)) {
+            head = in.readNBytes(4);
+        }
+        Assertions.assertEquals(compression, DocumentCompression.detect(head, head.length));
+
+        // the format is guessed from the extension, the compression - from the content
+        Ontology res = OntManagers.createManager().loadOntologyFromOntologyDocument(new FileDocumentSource(file.toFile()));
+        Assertions.assertEquals(o.axioms().collect(Collectors.toSet()), res.axioms().collect(Collectors.toSet()));
+    }
+
+    @Test
+    public void testSaveCompressedUsingOWLStorer() throws Exception {
+        OntologyManager m = OntManagers.createManager();
+        Ontology o = m.loadOntologyFromOntologyDocument(OWLIOUtils.getFileDocumentSource("/ontapi/pizza.ttl",
+                OntFormat.TURTLE));
+        Path file = TempDirectory.createFile("compressed.", ".owx.gz");
+        m.saveOntology(o, OntFormat.OWL_XML.createOwlFormat(), IRI.create(file.toUri()));
+
+        Ontology res;
+        try (InputStream in = Files.newInputStream(file)) {
+            byte[] head = in.readNBytes(4);
+            Assertions.assertEquals(DocumentCompression.GZIP, DocumentCompression.detect(head, head.length));
+        }
+        try (InputStream in = DocumentCompression.decompress(Files.newInputStream(file))) {
+            res = OntManagers.createManager().loadOntologyFromOntologyDocument(in);
+        }
+        Assertions.assertEquals(o.axioms().collect(Collectors.toSet()), res.axioms().collect(Collectors.toSet()));
+    }
 }
@@ -606,6 +606,32 @@ public class ImportsOntModelTest extends OntModelTestBase {
         Assertions.assertEquals(1, a.asGraphModel().classes().count());
     }
 
+    @Test
+    public void testConcurrentImportsClosureQueries() {
+        OntologyManager m = OntManagers.createConcurrentManager();
+        OWLDataFactory df = m.getOWLDataFactory();
+        OWLClass shared = df.getOWLClass("urn:shared");
+        Ontology root = m.createOntology(IRI.create("urn:root"));
+        for (int i = 0; i < 5; i++) {
+            Ontology o = m.createOntology(IRI.create("urn:o" + i));
+            o.add(df.getOWLDeclarationAxiom(shared));
+            o.add(df.getOWLDeclarationAxiom(df.getOWLClass("urn:c" + i)));
+            root.applyChange(new AddImport(root, df.getOWLImportsDeclaration(IRI.create("urn:o" + i))));
+        }
+        Assertions.assertEquals(6, root.importsClosure().count());
+
+        List<OWLClass> classes = root.classesInSignature(Imports.INCLUDED).collect(Collectors.toList());
+        Assertions.assertEquals(6, classes.size());
+        Assertions.assertEquals(6, Set.copyOf(classes).size());
+        Assertions.assertEquals(6, root.signature(Imports.INCLUDED).count());
+        Assertions.assertEquals(5, root.referencingAxioms(shared, Imports.INCLUDED).count());
+        Assertions.assertEquals(10, root.getAxiomCount(Imports.INCLUDED));
+        Assertions.assertTrue(root.containsEntityInSignature(df.getOWLClass("urn:c4"), Imports.INCLUDED));
+        Assertions.assertFalse(root.containsEntityInSignature(df.getOWLClass("urn:c5"), Imports.INCLUDED));
+        Assertions.assertTrue(root.isDeclared(shared, Imports.INCLUDED));
+        Assertions.assertEquals(0, root.classesInSignature(Imports.EXCLUDED).count());
+    }
+
     @Test
     public void testCommonDifferentImportsStrategies() {
         oneMoreImportsTest(OntManagers.createManager());